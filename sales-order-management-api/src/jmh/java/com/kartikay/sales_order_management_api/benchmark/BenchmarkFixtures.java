@@ -0,0 +1,138 @@
+package com.kartikay.sales_order_management_api.benchmark;
+
+import com.kartikay.sales_order_management_api.cache.RecentOrderCache;
+import com.kartikay.sales_order_management_api.domain.CatalogItem;
+import com.kartikay.sales_order_management_api.domain.Order;
+import com.kartikay.sales_order_management_api.domain.OrderItem;
+import com.kartikay.sales_order_management_api.repository.CatalogRepository;
+import com.kartikay.sales_order_management_api.repository.OrderLineJdbcRepository;
+import com.kartikay.sales_order_management_api.repository.RevokedTokenRepository;
+import com.kartikay.sales_order_management_api.repository.UserTokenEpochRepository;
+import com.kartikay.sales_order_management_api.search.OrderSearchIndex;
+import com.kartikay.sales_order_management_api.security.JwtTokenUtil;
+import com.kartikay.sales_order_management_api.service.TokenRevocationService;
+
+import org.springframework.jdbc.datasource.DriverManagerDataSource;
+
+import java.lang.reflect.Field;
+import java.lang.reflect.Proxy;
+import java.math.BigDecimal;
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * In-memory stand-ins for the Spring wiring, so benchmarks measure our code rather than a database.
+ */
+public final class BenchmarkFixtures {
+
+    public static final String JWT_SECRET = "benchmark-secret-benchmark-secret-0123456789";
+
+    private BenchmarkFixtures() {}
+
+    public static List<CatalogItem> catalogItems(int count) {
+        List<CatalogItem> items = new ArrayList<>(count);
+        for (int i = 1; i <= count; i++) {
+            CatalogItem item = new CatalogItem();
+            item.setId((long) i);
+            item.setName("Item-" + i);
+            item.setPrice(BigDecimal.valueOf(100L + i * 37L, 2));
+            items.add(item);
+        }
+        return items;
+    }
+
+    /**
+     * Catalog repository whose findAll/findAllById serve the given items.
+     */
+    public static CatalogRepository catalogRepository(List<CatalogItem> items) {
+        return (CatalogRepository) Proxy.newProxyInstance(
+                CatalogRepository.class.getClassLoader(),
+                new Class<?>[]{CatalogRepository.class},
+                (proxy, method, args) -> switch (method.getName()) {
+                    case "findAll", "findAllById" -> items;
+                    case "toString" -> "CatalogRepositoryStub";
+                    case "hashCode" -> System.identityHashCode(proxy);
+                    case "equals" -> proxy == args[0];
+                    default -> throw new UnsupportedOperationException(method.getName());
+                });
+    }
+
+    /**
+     * Search index over an empty orders table, so it is filled by order writes only.
+     */
+    public static OrderSearchIndex orderSearchIndex() {
+        OrderLineJdbcRepository emptyTable = new OrderLineJdbcRepository(new DriverManagerDataSource(), 1) {
+            @Override
+            public long[] idRange() {
+                return null;
+            }
+        };
+        return new OrderSearchIndex(emptyTable, 1);
+    }
+
+    /**
+     * Recent orders cache with the default size, window and TTL.
+     */
+    public static RecentOrderCache recentOrderCache() {
+        return new RecentOrderCache(true, 64, 3, 30);
+    }
+
+    public static Order order(int lines) {
+        Order order = new Order();
+        order.setId(42L);
+        order.setCustomerName("Benchmark Customer Ltd");
+        order.setCreationDate(LocalDate.of(2024, 1, 15));
+        order.setSubtotal(new BigDecimal("1234.50"));
+        order.setVat(new BigDecimal("148.14"));
+        order.setTotal(new BigDecimal("1382.64"));
+        for (int i = 0; i < lines; i++) {
+            OrderItem item = new OrderItem();
+            item.setId((long) i);
+            item.setCatalogItemId((long) i + 1);
+            item.setItemName("Item-" + (i + 1));
+            item.setUnitPrice(new BigDecimal("12.34"));
+            item.setQuantity(i % 7 + 1);
+            order.addItem(item);
+        }
+        return order;
+    }
+
+    /**
+     * A JwtTokenUtil configured as Spring would, without a context.
+     */
+    public static JwtTokenUtil jwtTokenUtil(int cacheEntries) {
+        JwtTokenUtil util = new JwtTokenUtil();
+        setField(util, "secret", JWT_SECRET);
+        setField(util, "jwtExpirationMs", 3_600_000L);
+        setField(util, "cacheMaxEntries", cacheEntries);
+        util.init();
+        return util;
+    }
+
+    /**
+     * Revocation service with empty in-memory state; its repositories are never called on the check path.
+     */
+    public static TokenRevocationService tokenRevocationService() {
+        return new TokenRevocationService(unsupported(RevokedTokenRepository.class),
+                unsupported(UserTokenEpochRepository.class), 3_600_000L, 3_600_000L);
+    }
+
+    @SuppressWarnings("unchecked")
+    private static <T> T unsupported(Class<T> type) {
+        return (T) Proxy.newProxyInstance(type.getClassLoader(), new Class<?>[]{type},
+                (proxy, method, args) -> {
+                    throw new UnsupportedOperationException(method.getName());
+                });
+    }
+
+    public static void setField(Object target, String name, Object value) {
+        try {
+            Field field = target.getClass().getDeclaredField(name);
+            field.setAccessible(true);
+            field.set(target, value);
+        } catch (ReflectiveOperationException ex) {
+            throw new IllegalStateException("Cannot set " + name, ex);
+        }
+    }
+}
@@ -0,0 +1,201 @@
+package com.kartikay.sales_order_management_api.columnar;
+
+import com.kartikay.sales_order_management_api.columnar.OrderColumnStore.AggregateQuery;
+import com.kartikay.sales_order_management_api.columnar.OrderColumnStore.GroupBy;
+import com.kartikay.sales_order_management_api.repository.OrderLineJdbcRepository;
+import com.kartikay.sales_order_management_api.search.OrderSearchIndex.Status;
+import org.flywaydb.core.Flyway;
+import org.openjdk.jmh.annotations.*;
+import org.openjdk.jmh.infra.Blackhole;
+import org.springframework.jdbc.datasource.DriverManagerDataSource;
+
+import java.sql.*;
+import java.time.LocalDate;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Ad hoc aggregates answered by {@link OrderColumnStore} against the same aggregates in SQL over the row
+ * tables, at {@code lines} order lines (two per order, 200 catalog items, every tenth order cancelled).
+ * The store is loaded through its parallel loader from the seeded database.
+ * <p>
+ * Defaults to a file-based H2 database under {@code target/}, seeded once and reused across runs; point
+ * {@code -Dbench.jdbc.url/-Dbench.jdbc.user/-Dbench.jdbc.password} at a scratch Postgres for a realistic
+ * SQL side.
+ * <pre>
+ * mvn -Pjmh test-compile exec:exec -Djmh.args="OrderColumnStore"
+ * </pre>
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(value = 1, jvmArgs = "-Xmx6g")
+public class OrderColumnStoreBenchmark {
+
+    private static final int CUSTOMERS = 50_000;
+    private static final int CATALOG_ITEMS = 200;
+    private static final int DAYS = 1_825;
+    private static final LocalDate FIRST_DAY = LocalDate.of(2020, 1, 1);
+    private static final int SEED_CHUNK = 500_000;
+
+    // a quarter and a year in the middle of the seeded range
+    private static final LocalDate QUARTER_START = FIRST_DAY.plusDays(700);
+    private static final LocalDate QUARTER_END = QUARTER_START.plusDays(89);
+    private static final LocalDate YEAR_END = QUARTER_START.plusDays(364);
+
+    @Param({"10000000"})
+    public int lines;
+
+    private Connection connection;
+    private boolean postgres;
+    private OrderColumnStore store;
+
+    private PreparedStatement sqlQuarterTotals;
+    private PreparedStatement sqlDailyForCustomer;
+    private PreparedStatement sqlYearByItem;
+
+    @Setup
+    public void setUp() throws SQLException {
+        // H2 would otherwise serve a repeated query from its result cache while the table is unchanged
+        String url = System.getProperty("bench.jdbc.url",
+                "jdbc:h2:file:./target/bench/order-columns;DB_CLOSE_DELAY=-1;OPTIMIZE_REUSE_RESULTS=FALSE");
+        String user = System.getProperty("bench.jdbc.user", "sa");
+        String password = System.getProperty("bench.jdbc.password", "sa");
+        postgres = url.startsWith("jdbc:postgresql:");
+
+        Flyway.configure()
+                .dataSource(url, user, password)
+                .locations("classpath:db/migration", "classpath:db/vendor/" + (postgres ? "postgresql" : "h2"))
+                .load()
+                .migrate();
+
+        connection = DriverManager.getConnection(url, user, password);
+        seed();
+
+        store = new OrderColumnStore(new OrderLineJdbcRepository(new DriverManagerDataSource(url, user, password),
+                5_000), true, 0, 0);
+        OrderColumnStore.StoreStats stats = store.rebuild();
+        System.out.printf("loaded %,d lines in %,d ms (%,d MB)%n", stats.lines(), stats.lastRebuildMillis(),
+                stats.bytes() >> 20);
+
+        String lineAmount = "sum(i.unit_price * i.quantity)";
+        sqlQuarterTotals = connection.prepareStatement(
+                "select count(distinct o.id), sum(i.quantity), " + lineAmount
+                        + " from orders o join order_items i on i.order_id = o.id"
+                        + " where o.creation_date between ? and ? and o.cancellation_date is null");
+        sqlDailyForCustomer = connection.prepareStatement(
+                "select o.creation_date, count(distinct o.id), sum(i.quantity), " + lineAmount
+                        + " from orders o join order_items i on i.order_id = o.id"
+                        + " where lower(o.customer_name) = ? and o.cancellation_date is null"
+                        + " group by o.creation_date order by o.creation_date");
+        sqlYearByItem = connection.prepareStatement(
+                "select i.catalog_item_id, count(distinct o.id), sum(i.quantity), " + lineAmount + " as amount"
+                        + " from orders o join order_items i on i.order_id = o.id"
+                        + " where o.creation_date between ? and ? and o.cancellation_date is null"
+                        + " group by i.catalog_item_id order by amount desc fetch first 20 rows only");
+    }
+
+    @TearDown
+    public void tearDown() throws SQLException {
+        store.shutdown();
+        connection.close();
+    }
+
+    /** Orders, units and revenue of one quarter */
+    @Benchmark
+    public Object columnarQuarterTotals() {
+        return store.aggregate(new AggregateQuery(QUARTER_START, QUARTER_END, null, null, Status.OPEN,
+                GroupBy.NONE, 1));
+    }
+
+    @Benchmark
+    public void sqlQuarterTotals(Blackhole bh) throws SQLException {
+        sqlQuarterTotals.setDate(1, Date.valueOf(QUARTER_START));
+        sqlQuarterTotals.setDate(2, Date.valueOf(QUARTER_END));
+        consume(sqlQuarterTotals, bh);
+    }
+
+    /** Daily figures of one customer over the whole history */
+    @Benchmark
+    public Object columnarDailyForCustomer() {
+        return store.aggregate(new AggregateQuery(null, null, "customer-4217", null, Status.OPEN,
+                GroupBy.DAY, OrderColumnStore.MAX_LIMIT));
+    }
+
+    @Benchmark
+    public void sqlDailyForCustomer(Blackhole bh) throws SQLException {
+        sqlDailyForCustomer.setString(1, "customer-4217");
+        consume(sqlDailyForCustomer, bh);
+    }
+
+    /** Top 20 catalog items of one year by revenue */
+    @Benchmark
+    public Object columnarYearByItem() {
+        return store.aggregate(new AggregateQuery(QUARTER_START, YEAR_END, null, null, Status.OPEN,
+                GroupBy.ITEM, 20));
+    }
+
+    @Benchmark
+    public void sqlYearByItem(Blackhole bh) throws SQLException {
+        sqlYearByItem.setDate(1, Date.valueOf(QUARTER_START));
+        sqlYearByItem.setDate(2, Date.valueOf(YEAR_END));
+        consume(sqlYearByItem, bh);
+    }
+
+    private static void consume(PreparedStatement statement, Blackhole bh) throws SQLException {
+        try (ResultSet rs = statement.executeQuery()) {
+            while (rs.next()) {
+                bh.consume(rs.getObject(1));
+                bh.consume(rs.getLong(2));
+            }
+        }
+    }
+
+    /**
+     * Tops the tables up to {@code lines / 2} orders with two lines each, with set-based inserts.
+     */
+    private void seed() throws SQLException {
+        long orders = lines / 2;
+        long existing;
+        try (Statement statement = connection.createStatement();
+             ResultSet rs = statement.executeQuery("select coalesce(max(id), 0) from orders")) {
+            rs.next();
+            existing = rs.getLong(1);
+        }
+        if (existing >= orders) {
+            return;
+        }
+
+        String series = postgres ? "generate_series(?, ?) as s(x)" : "system_range(?, ?) s";
+        String day = postgres
+                ? "date '2020-01-01' + (s.x % " + DAYS + ")::int"
+                : "dateadd('DAY', mod(s.x, " + DAYS + "), date '2020-01-01')";
+        String insertOrders = "insert into orders (id, customer_name, creation_date, cancellation_date,"
+                + " subtotal, vat, total, version)"
+                + " select s.x, concat('Customer-', mod(s.x, " + CUSTOMERS + ")), " + day + ","
+                + " case when mod(s.x, 10) = 0 then " + day + " end, 100.00, 12.00, 112.00, 0"
+                + " from " + series;
+        String insertItems = "insert into order_items (order_id, catalog_item_id, item_name, unit_price, quantity)"
+                + " select s.x / 2 + 1, 1 + mod(s.x, " + CATALOG_ITEMS + "),"
+                + " concat('Item-', 1 + mod(s.x, " + CATALOG_ITEMS + ")), 1.00 + mod(s.x, 50), 1 + mod(s.x, 3)"
+                + " from " + series;
+
+        connection.setAutoCommit(false);
+        for (long from = existing + 1; from <= orders; from += SEED_CHUNK) {
+            long to = Math.min(orders, from + SEED_CHUNK - 1);
+            try (PreparedStatement o = connection.prepareStatement(insertOrders);
+                 PreparedStatement i = connection.prepareStatement(insertItems)) {
+                o.setLong(1, from);
+                o.setLong(2, to);
+                o.executeUpdate();
+                i.setLong(1, (from - 1) * 2);
+                i.setLong(2, to * 2 - 1);
+                i.executeUpdate();
+            }
+            connection.commit();
+            System.out.printf("seeded %,d / %,d orders%n", to, orders);
+        }
+        connection.setAutoCommit(true);
+    }
+}
@@ -0,0 +1,70 @@
+package com.kartikay.sales_order_management_api.controller;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.kartikay.sales_order_management_api.benchmark.BenchmarkFixtures;
+import com.kartikay.sales_order_management_api.cache.RecentOrderCache;
+import com.kartikay.sales_order_management_api.domain.Order;
+import com.kartikay.sales_order_management_api.dto.OrderResponseDTO;
+import org.openjdk.jmh.annotations.*;
+import org.springframework.http.converter.json.Jackson2ObjectMapperBuilder;
+
+import java.time.LocalDate;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Entity to DTO mapping in {@link OrderController#mapToResponse} and JSON serialization of the result,
+ * using an ObjectMapper built the way Spring Boot builds its default one, against reading the same response
+ * back from the off-heap {@link RecentOrderCache}.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class OrderResponseBenchmark {
+
+    @Param({"1", "10", "100"})
+    public int lines;
+
+    private Order order;
+    private OrderResponseDTO response;
+    private ObjectMapper objectMapper;
+    private RecentOrderCache cache;
+
+    @Setup
+    public void setUp() {
+        order = BenchmarkFixtures.order(lines);
+        // only recent orders are cached
+        order.setCreationDate(LocalDate.now());
+        response = OrderController.mapToResponse(order);
+        objectMapper = Jackson2ObjectMapperBuilder.json().build();
+        cache = BenchmarkFixtures.recentOrderCache();
+        cache.fill(response, cache.stamp());
+    }
+
+    @Benchmark
+    public OrderResponseDTO mapToResponse() {
+        return OrderController.mapToResponse(order);
+    }
+
+    @Benchmark
+    public byte[] serialize() throws Exception {
+        return objectMapper.writeValueAsBytes(response);
+    }
+
+    @Benchmark
+    public byte[] mapAndSerialize() throws Exception {
+        return objectMapper.writeValueAsBytes(OrderController.mapToResponse(order));
+    }
+
+    @Benchmark
+    public OrderResponseDTO cachedGet() {
+        return cache.get(order.getId());
+    }
+
+    @Benchmark
+    public byte[] cachedGetAndSerialize() throws Exception {
+        return objectMapper.writeValueAsBytes(cache.get(order.getId()));
+    }
+}
@@ -0,0 +1,246 @@
+package com.kartikay.sales_order_management_api.repository;
+
+import org.flywaydb.core.Flyway;
+import org.openjdk.jmh.annotations.*;
+import org.openjdk.jmh.infra.Blackhole;
+
+import java.sql.*;
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Order listing queries against a large orders table migrated by the application's Flyway scripts.
+ * The SQL mirrors what {@link OrderRepositoryImpl} and {@code findAllWithItemsByIdIn} generate.
+ * <p>
+ * Defaults to a file-based H2 database under {@code target/}, seeded once and reused across runs. Point
+ * {@code -Dbench.jdbc.url/-Dbench.jdbc.user/-Dbench.jdbc.password} at a scratch Postgres to include the
+ * trigram index. {@code indexes=false} drops the V4/V5 listing indexes for a before/after comparison
+ * (and {@code true} recreates them), which takes a while at 10M rows.
+ * <pre>
+ * mvn -Pjmh test-compile exec:exec -Djmh.args="OrderListing -jvmArgs -Xmx4g"
+ * </pre>
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class OrderListingBenchmark {
+
+    private static final int PAGE_SIZE = 20;
+    private static final int CUSTOMERS = 50_000;
+    private static final int DAYS = 1_825;
+    private static final LocalDate FIRST_DAY = LocalDate.of(2020, 1, 1);
+    private static final int SEED_CHUNK = 500_000;
+
+    @Param({"10000000"})
+    public int orders;
+
+    @Param({"true", "false"})
+    public boolean indexes;
+
+    private Connection connection;
+    private boolean postgres;
+
+    private PreparedStatement firstPage;
+    private PreparedStatement deepPage;
+    private PreparedStatement count;
+    private PreparedStatement keysetPage;
+    private PreparedStatement dateRangePage;
+    private PreparedStatement customerSearchPage;
+    private PreparedStatement customerSortPage;
+    private String loadItemsSql;
+
+    private long seekId;
+    private LocalDate seekDate;
+
+    @Setup
+    public void setUp() throws SQLException {
+        // H2 would otherwise serve a repeated query from its result cache while the table is unchanged
+        String url = System.getProperty("bench.jdbc.url",
+                "jdbc:h2:file:./target/bench/order-listing;DB_CLOSE_DELAY=-1;OPTIMIZE_REUSE_RESULTS=FALSE");
+        String user = System.getProperty("bench.jdbc.user", "sa");
+        String password = System.getProperty("bench.jdbc.password", "sa");
+        postgres = url.startsWith("jdbc:postgresql:");
+
+        Flyway.configure()
+                .dataSource(url, user, password)
+                .locations("classpath:db/migration", "classpath:db/vendor/" + (postgres ? "postgresql" : "h2"))
+                .load()
+                .migrate();
+
+        connection = DriverManager.getConnection(url, user, password);
+        seed();
+        applyIndexes();
+
+        firstPage = connection.prepareStatement(
+                "select o.id from orders o order by o.creation_date desc, o.id desc"
+                        + " offset 0 rows fetch first " + PAGE_SIZE + " rows only");
+        deepPage = connection.prepareStatement(
+                "select o.id from orders o order by o.creation_date desc, o.id desc"
+                        + " offset " + (500 * PAGE_SIZE) + " rows fetch first " + PAGE_SIZE + " rows only");
+        count = connection.prepareStatement("select count(o.id) from orders o");
+        keysetPage = connection.prepareStatement(
+                "select o.id from orders o where o.creation_date <= ? and (o.creation_date < ? or o.id < ?)"
+                        + " order by o.creation_date desc, o.id desc fetch first " + PAGE_SIZE + " rows only");
+        dateRangePage = connection.prepareStatement(
+                "select o.id from orders o where o.creation_date between ? and ?"
+                        + " order by o.creation_date desc, o.id desc fetch first " + PAGE_SIZE + " rows only");
+        customerSearchPage = connection.prepareStatement(
+                "select o.id from orders o where lower(o.customer_name) like ?"
+                        + " order by o.creation_date desc, o.id desc fetch first " + PAGE_SIZE + " rows only");
+        customerSortPage = connection.prepareStatement(
+                "select o.id from orders o order by o.customer_name asc, o.id asc"
+                        + " fetch first " + PAGE_SIZE + " rows only");
+        loadItemsSql = "select o.id, o.customer_name, o.creation_date, o.total, i.id, i.item_name, i.quantity"
+                + " from orders o left join order_items i on i.order_id = o.id where o.id in (%s)";
+
+        // Keyset position roughly in the middle of the table
+        seekDate = FIRST_DAY.plusDays(DAYS / 2);
+        seekId = orders / 2;
+    }
+
+    @TearDown
+    public void tearDown() throws SQLException {
+        connection.close();
+    }
+
+    @Benchmark
+    public void firstPageWithItems(Blackhole bh) throws SQLException {
+        loadWithItems(ids(firstPage), bh);
+    }
+
+    @Benchmark
+    public void firstPageWithCount(Blackhole bh) throws SQLException {
+        loadWithItems(ids(firstPage), bh);
+        try (ResultSet rs = count.executeQuery()) {
+            rs.next();
+            bh.consume(rs.getLong(1));
+        }
+    }
+
+    @Benchmark
+    public List<Long> offsetPage500() throws SQLException {
+        return ids(deepPage);
+    }
+
+    @Benchmark
+    public List<Long> keysetPage() throws SQLException {
+        keysetPage.setDate(1, Date.valueOf(seekDate));
+        keysetPage.setDate(2, Date.valueOf(seekDate));
+        keysetPage.setLong(3, seekId);
+        return ids(keysetPage);
+    }
+
+    @Benchmark
+    public List<Long> dateRangePage() throws SQLException {
+        dateRangePage.setDate(1, Date.valueOf(FIRST_DAY.plusDays(100)));
+        dateRangePage.setDate(2, Date.valueOf(FIRST_DAY.plusDays(130)));
+        return ids(dateRangePage);
+    }
+
+    @Benchmark
+    public List<Long> customerSearchPage() throws SQLException {
+        customerSearchPage.setString(1, "%customer-4217%");
+        return ids(customerSearchPage);
+    }
+
+    @Benchmark
+    public List<Long> customerSortPage() throws SQLException {
+        return ids(customerSortPage);
+    }
+
+    private static List<Long> ids(PreparedStatement statement) throws SQLException {
+        List<Long> ids = new ArrayList<>(PAGE_SIZE);
+        try (ResultSet rs = statement.executeQuery()) {
+            while (rs.next()) {
+                ids.add(rs.getLong(1));
+            }
+        }
+        return ids;
+    }
+
+    private void loadWithItems(List<Long> ids, Blackhole bh) throws SQLException {
+        if (ids.isEmpty()) {
+            return;
+        }
+        StringBuilder in = new StringBuilder();
+        for (Long id : ids) {
+            if (!in.isEmpty()) in.append(',');
+            in.append(id);
+        }
+        try (Statement statement = connection.createStatement();
+             ResultSet rs = statement.executeQuery(String.format(loadItemsSql, in))) {
+            while (rs.next()) {
+                bh.consume(rs.getLong(1));
+                bh.consume(rs.getString(6));
+            }
+        }
+    }
+
+    /**
+     * Tops the orders table up to {@code orders} rows, two items each, with set-based inserts.
+     */
+    private void seed() throws SQLException {
+        long existing;
+        try (Statement statement = connection.createStatement();
+             ResultSet rs = statement.executeQuery("select coalesce(max(id), 0) from orders")) {
+            rs.next();
+            existing = rs.getLong(1);
+        }
+        if (existing >= orders) {
+            return;
+        }
+
+        String series = postgres ? "generate_series(?, ?) as s(x)" : "system_range(?, ?) s";
+        String day = postgres
+                ? "date '2020-01-01' + (s.x % " + DAYS + ")::int"
+                : "dateadd('DAY', mod(s.x, " + DAYS + "), date '2020-01-01')";
+        String insertOrders = "insert into orders (id, customer_name, creation_date, subtotal, vat, total, version)"
+                + " select s.x, concat('Customer-', mod(s.x, " + CUSTOMERS + ")), " + day + ", 100.00, 12.00, 112.00, 0"
+                + " from " + series;
+        String insertItems = "insert into order_items (order_id, catalog_item_id, item_name, unit_price, quantity)"
+                + " select s.x / 2 + 1, 1, 'Widget-A', 50.00, 1 + mod(s.x, 3) from " + series;
+
+        connection.setAutoCommit(false);
+        for (long from = existing + 1; from <= orders; from += SEED_CHUNK) {
+            long to = Math.min(orders, from + SEED_CHUNK - 1);
+            try (PreparedStatement o = connection.prepareStatement(insertOrders);
+                 PreparedStatement i = connection.prepareStatement(insertItems)) {
+                o.setLong(1, from);
+                o.setLong(2, to);
+                o.executeUpdate();
+                i.setLong(1, (from - 1) * 2);
+                i.setLong(2, to * 2 - 1);
+                i.executeUpdate();
+            }
+            connection.commit();
+            System.out.printf("seeded %,d / %,d orders%n", to, orders);
+        }
+        connection.setAutoCommit(true);
+    }
+
+    private void applyIndexes() throws SQLException {
+        try (Statement statement = connection.createStatement()) {
+            if (indexes) {
+                statement.execute("create index if not exists idx_orders_creation_date_id on orders (creation_date, id)");
+                statement.execute("create index if not exists idx_orders_customer_name_id on orders (customer_name, id)");
+                statement.execute("create index if not exists idx_order_items_order_id on order_items (order_id)");
+                if (postgres) {
+                    statement.execute("create index if not exists idx_orders_customer_name_trgm"
+                            + " on orders using gin (lower(customer_name) gin_trgm_ops)");
+                    statement.execute("analyze orders");
+                    statement.execute("analyze order_items");
+                }
+            } else {
+                statement.execute("drop index if exists idx_orders_creation_date_id");
+                statement.execute("drop index if exists idx_orders_customer_name_id");
+                statement.execute("drop index if exists idx_order_items_order_id");
+                statement.execute("drop index if exists idx_orders_customer_name_trgm");
+            }
+        }
+    }
+}
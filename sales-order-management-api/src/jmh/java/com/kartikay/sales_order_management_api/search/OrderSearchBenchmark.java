@@ -0,0 +1,76 @@
+package com.kartikay.sales_order_management_api.search;
+
+import com.kartikay.sales_order_management_api.benchmark.BenchmarkFixtures;
+import com.kartikay.sales_order_management_api.domain.Order;
+import com.kartikay.sales_order_management_api.domain.OrderItem;
+import org.openjdk.jmh.annotations.*;
+
+import java.math.BigDecimal;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Query latency of {@link OrderSearchIndex} filled through the incremental path, with 50k distinct customers
+ * and 2k distinct item names.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(value = 1, jvmArgs = "-Xmx4g")
+public class OrderSearchBenchmark {
+
+    @Param({"1000000"})
+    public int orders;
+
+    private OrderSearchIndex index;
+
+    @Setup
+    public void setUp() {
+        index = BenchmarkFixtures.orderSearchIndex();
+        index.rebuild();
+        for (int i = 1; i <= orders; i++) {
+            Order order = new Order();
+            order.setId((long) i);
+            order.setCustomerName("Customer " + (i % 50_000) + " Ltd");
+            for (int line = 0; line < 3; line++) {
+                OrderItem item = new OrderItem();
+                item.setItemName("Product-" + ((i * 7 + line * 13) % 2_000));
+                item.setUnitPrice(BigDecimal.ONE);
+                order.addItem(item);
+            }
+            index.onCreated(order);
+        }
+        if (orders % 10 == 0) {
+            index.onCancelled(orders / 2);
+        }
+    }
+
+    /** One customer: a single posting list of ~orders/50k ids */
+    @Benchmark
+    public Object selectiveCustomer() {
+        return index.search("customer 4217 ", null, OrderSearchIndex.Status.ALL, 50);
+    }
+
+    /** Eleven customers (4217, 42170-42179) */
+    @Benchmark
+    public Object customerPrefixFamily() {
+        return index.search("customer 4217", null, OrderSearchIndex.Status.OPEN, 50);
+    }
+
+    @Benchmark
+    public Object itemName() {
+        return index.search(null, "product-1999", OrderSearchIndex.Status.ALL, 50);
+    }
+
+    @Benchmark
+    public Object customerAndItem() {
+        return index.search("customer 12", "product-19", OrderSearchIndex.Status.ALL, 50);
+    }
+
+    /** Worst case: a term in every customer name, so every order id is decoded, sorted and counted */
+    @Benchmark
+    public Object matchesEverything() {
+        return index.search("ltd", null, OrderSearchIndex.Status.ALL, 50);
+    }
+}
@@ -0,0 +1,84 @@
+package com.kartikay.sales_order_management_api.security;
+
+import com.kartikay.sales_order_management_api.benchmark.BenchmarkFixtures;
+import org.openjdk.jmh.annotations.*;
+import org.springframework.mock.web.MockFilterChain;
+import org.springframework.mock.web.MockHttpServletRequest;
+import org.springframework.mock.web.MockHttpServletResponse;
+import org.springframework.security.core.authority.SimpleGrantedAuthority;
+import org.springframework.security.core.context.SecurityContextHolder;
+import org.springframework.security.core.userdetails.User;
+import org.springframework.security.core.userdetails.UserDetailsService;
+
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Token issuing/verification in {@link JwtTokenUtil} and a full pass through {@link JwtAuthenticationFilter}.
+ * The filter's user lookup is an in-memory stub, so the numbers exclude the database.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class JwtBenchmark {
+
+    private static final List<String> ROLES = List.of("ROLE_USER", "ROLE_ADMIN");
+
+    // 0 disables the verified-token cache, so every verification parses and checks the HMAC
+    @Param({"0", "10000"})
+    public int cacheEntries;
+
+    // false loads the user through the UserDetailsService stub on every request
+    @Param({"true", "false"})
+    public boolean stateless;
+
+    private JwtTokenUtil jwtUtil;
+    private JwtAuthenticationFilter filter;
+    private String token;
+
+    @Setup
+    public void setUp() {
+        jwtUtil = BenchmarkFixtures.jwtTokenUtil(cacheEntries);
+        token = jwtUtil.generateToken("benchmark-user", ROLES);
+
+        UserDetailsService users = username -> new User(username, "{noop}unused",
+                List.of(new SimpleGrantedAuthority("ROLE_USER")));
+        filter = new JwtAuthenticationFilter(jwtUtil, users, BenchmarkFixtures.tokenRevocationService(), stateless);
+    }
+
+    @Benchmark
+    public String generateToken() {
+        return jwtUtil.generateToken("benchmark-user", ROLES);
+    }
+
+    @Benchmark
+    public boolean validateToken() {
+        return jwtUtil.validateToken(token);
+    }
+
+    @Benchmark
+    public JwtPrincipal verify() {
+        return jwtUtil.verify(token);
+    }
+
+    @Benchmark
+    public List<String> getRolesFromToken() {
+        return jwtUtil.getRolesFromToken(token);
+    }
+
+    @Benchmark
+    public Object filterRequest() throws Exception {
+        MockHttpServletRequest request = new MockHttpServletRequest("GET", "/api/v1/orders");
+        request.addHeader("Authorization", "Bearer " + token);
+        MockHttpServletResponse response = new MockHttpServletResponse();
+        try {
+            filter.doFilter(request, response, new MockFilterChain());
+            return SecurityContextHolder.getContext().getAuthentication();
+        } finally {
+            SecurityContextHolder.clearContext();
+        }
+    }
+}
@@ -0,0 +1,49 @@
+package com.kartikay.sales_order_management_api.service;
+
+import com.kartikay.sales_order_management_api.benchmark.BenchmarkFixtures;
+import com.kartikay.sales_order_management_api.domain.Order;
+import org.openjdk.jmh.annotations.*;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * {@link OrderService#buildOrder} against an in-memory catalog snapshot: catalog resolution, pricing and entity
+ * construction for 1/10/100 lines. Persistence and the after-commit hooks are left out, so nothing accumulates
+ * across invocations.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class OrderPricingBenchmark {
+
+    @Param({"1", "10", "100"})
+    public int lines;
+
+    private OrderService orderService;
+    private CatalogService catalogService;
+    private List<OrderService.OrderItemRequest> items;
+
+    @Setup
+    public void setUp() {
+        catalogService = new CatalogService(
+                BenchmarkFixtures.catalogRepository(BenchmarkFixtures.catalogItems(200)));
+        catalogService.refreshSnapshot();
+        // buildOrder never touches the repository or the write-side collaborators
+        orderService = new OrderService(null, catalogService, null, null, null, null, null);
+
+        items = new ArrayList<>(lines);
+        for (int i = 0; i < lines; i++) {
+            items.add(new OrderService.OrderItemRequest((long) (i * 7 % 200) + 1, i % 5 + 1));
+        }
+    }
+
+    @Benchmark
+    public Order buildOrder() {
+        return orderService.buildOrder("Benchmark Customer Ltd", items, catalogService::resolve);
+    }
+}
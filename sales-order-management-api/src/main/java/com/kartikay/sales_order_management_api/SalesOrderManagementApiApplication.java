@@ -2,8 +2,10 @@ package com.kartikay.sales_order_management_api;
 
 import org.springframework.boot.SpringApplication;
 import org.springframework.boot.autoconfigure.SpringBootApplication;
+import org.springframework.scheduling.annotation.EnableScheduling;
 
 @SpringBootApplication
+@EnableScheduling
 public class SalesOrderManagementApiApplication {
 
 	public static void main(String[] args) {
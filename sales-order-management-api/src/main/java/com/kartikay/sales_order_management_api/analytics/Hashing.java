@@ -0,0 +1,34 @@
+package com.kartikay.sales_order_management_api.analytics;
+
+/**
+ * 64-bit hashes with good avalanche for the sketches: FNV-1a over the characters, finished with the
+ * MurmurHash3 mixer.
+ */
+final class Hashing {
+
+    private static final long FNV_OFFSET = 0xcbf29ce484222325L;
+    private static final long FNV_PRIME = 0x100000001b3L;
+
+    private Hashing() {}
+
+    /**
+     * Hash of {@code value} ignoring case, without allocating a lower-cased copy.
+     */
+    static long hashIgnoreCase(CharSequence value) {
+        long hash = FNV_OFFSET;
+        for (int i = 0; i < value.length(); i++) {
+            hash ^= Character.toLowerCase(value.charAt(i));
+            hash *= FNV_PRIME;
+        }
+        return mix(hash);
+    }
+
+    static long mix(long value) {
+        value ^= value >>> 33;
+        value *= 0xff51afd7ed558ccdL;
+        value ^= value >>> 33;
+        value *= 0xc4ceb9fe1a85ec53L;
+        value ^= value >>> 33;
+        return value;
+    }
+}
@@ -0,0 +1,223 @@
+package com.kartikay.sales_order_management_api.analytics;
+
+import com.kartikay.sales_order_management_api.domain.Order;
+import com.kartikay.sales_order_management_api.domain.OrderItem;
+import com.kartikay.sales_order_management_api.exception.InvalidOperationException;
+import com.kartikay.sales_order_management_api.service.Money;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import java.math.BigDecimal;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.atomic.AtomicReferenceArray;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * Live order analytics over sliding windows, fed with committed creations and cancellations by
+ * {@code OrderMetrics}: distinct customers ({@link HyperLogLog}), order total quantiles
+ * ({@link QuantileSketch}) and the catalog items selling the most units ({@link SpaceSaving}).
+ * <p>
+ * Time is cut into buckets of {@code analytics.bucket-seconds}, kept in a ring of {@code analytics.buckets}
+ * slots; a bucket is allocated when its first event arrives and replaced with a CAS once its slot comes
+ * round again, so memory is bounded by the ring. Counters and sketches are lock-free; item summaries are
+ * striped by catalog item id. A window query merges the buckets it covers into fresh sketches and never
+ * blocks writers.
+ */
+@Component
+public class OrderStreamAnalytics {
+
+    public static final int MAX_TOP_ITEMS = 100;
+
+    private static final int ITEM_STRIPES = 8;
+    private static final double[] QUANTILES = {0.5, 0.95, 0.99};
+
+    private final long bucketMillis;
+    private final int itemCapacity;
+    private final AtomicReferenceArray<Bucket> ring;
+
+    public OrderStreamAnalytics(@Value("${analytics.bucket-seconds:30}") int bucketSeconds,
+                                @Value("${analytics.buckets:120}") int buckets,
+                                @Value("${analytics.item-counters:32}") int itemCounters) {
+        if (bucketSeconds < 1 || buckets < 1 || itemCounters < 1) {
+            throw new IllegalArgumentException("analytics.bucket-seconds, buckets and item-counters must be positive");
+        }
+        this.bucketMillis = bucketSeconds * 1_000L;
+        this.itemCapacity = itemCounters;
+        this.ring = new AtomicReferenceArray<>(buckets);
+    }
+
+    public void onCreated(Order order) {
+        onCreated(order, System.currentTimeMillis());
+    }
+
+    void onCreated(Order order, long nowMillis) {
+        Bucket bucket = bucket(nowMillis);
+        bucket.placed.increment();
+        if (order.getCustomerName() != null) {
+            bucket.customers.add(Hashing.hashIgnoreCase(order.getCustomerName()));
+        }
+        if (order.getTotal() != null) {
+            bucket.totals.add(Money.toMinorUnits(order.getTotal()));
+        }
+        for (OrderItem item : order.getItems()) {
+            if (item.getCatalogItemId() != null) {
+                long id = item.getCatalogItemId();
+                SpaceSaving stripe = bucket.items[stripe(id)];
+                synchronized (stripe) {
+                    stripe.add(id, item.getQuantity());
+                }
+            }
+        }
+    }
+
+    public void onCancelled(int count) {
+        onCancelled(count, System.currentTimeMillis());
+    }
+
+    void onCancelled(int count, long nowMillis) {
+        bucket(nowMillis).cancelled.add(count);
+    }
+
+    private static int stripe(long catalogItemId) {
+        return (int) (Hashing.mix(catalogItemId) & (ITEM_STRIPES - 1));
+    }
+
+    private Bucket bucket(long nowMillis) {
+        long epoch = nowMillis / bucketMillis;
+        int slot = (int) Math.floorMod(epoch, (long) ring.length());
+        while (true) {
+            Bucket bucket = ring.get(slot);
+            // a newer bucket means the wall clock stepped back; counting there is close enough
+            if (bucket != null && bucket.epoch >= epoch) {
+                return bucket;
+            }
+            Bucket fresh = new Bucket(epoch, itemCapacity);
+            if (ring.compareAndSet(slot, bucket, fresh)) {
+                return fresh;
+            }
+        }
+    }
+
+    /**
+     * One snapshot per requested window length, each covering the buckets that end within it.
+     */
+    public AnalyticsSnapshot snapshot(List<Integer> windowMinutes, int topItems) {
+        return snapshot(windowMinutes, topItems, System.currentTimeMillis());
+    }
+
+    AnalyticsSnapshot snapshot(List<Integer> windowMinutes, int topItems, long nowMillis) {
+        if (windowMinutes == null || windowMinutes.isEmpty()) {
+            throw new InvalidOperationException("Provide at least one window length in minutes");
+        }
+        if (topItems < 0 || topItems > MAX_TOP_ITEMS) {
+            throw new InvalidOperationException("top must be between 0 and " + MAX_TOP_ITEMS);
+        }
+        long retainedMinutes = ring.length() * bucketMillis / 60_000;
+        List<WindowSnapshot> windows = new ArrayList<>(windowMinutes.size());
+        for (Integer minutes : windowMinutes) {
+            if (minutes == null || minutes < 1 || minutes > retainedMinutes) {
+                throw new InvalidOperationException("Window lengths must be between 1 and " + retainedMinutes
+                        + " minutes");
+            }
+            windows.add(window(minutes, topItems, nowMillis));
+        }
+        return new AnalyticsSnapshot(bucketMillis / 1_000, retainedMinutes, windows);
+    }
+
+    private WindowSnapshot window(int minutes, int topItems, long nowMillis) {
+        long newest = nowMillis / bucketMillis;
+        long oldest = newest - (minutes * 60_000L + bucketMillis - 1) / bucketMillis + 1;
+
+        long placed = 0;
+        long cancelled = 0;
+        HyperLogLog customers = new HyperLogLog();
+        QuantileSketch totals = new QuantileSketch();
+        List<Bucket> covered = new ArrayList<>();
+        for (int slot = 0; slot < ring.length(); slot++) {
+            Bucket bucket = ring.get(slot);
+            if (bucket != null && bucket.epoch >= oldest && bucket.epoch <= newest) {
+                placed += bucket.placed.sum();
+                cancelled += bucket.cancelled.sum();
+                customers.merge(bucket.customers);
+                totals.merge(bucket.totals);
+                covered.add(bucket);
+            }
+        }
+
+        long[] q = totals.quantiles(QUANTILES);
+        boolean empty = placed == 0;
+        return new WindowSnapshot(minutes, placed, cancelled, customers.estimate(),
+                empty ? null : Money.fromMinorUnits(q[0]),
+                empty ? null : Money.fromMinorUnits(q[1]),
+                empty ? null : Money.fromMinorUnits(q[2]),
+                topItems == 0 ? List.of() : topItems(covered, topItems));
+    }
+
+    private List<TopItem> topItems(List<Bucket> covered, int limit) {
+        List<TopItem> all = new ArrayList<>();
+        // stripes partition the item ids, so each stripe is merged across buckets on its own
+        for (int s = 0; s < ITEM_STRIPES; s++) {
+            // id -> {count, error, sum of floors of the summaries tracking it}
+            Map<Long, long[]> merged = new HashMap<>();
+            long floors = 0;
+            for (Bucket bucket : covered) {
+                SpaceSaving stripe = bucket.items[s];
+                synchronized (stripe) {
+                    long floor = stripe.floor();
+                    floors += floor;
+                    stripe.forEach((id, count, error) -> {
+                        long[] m = merged.computeIfAbsent(id, k -> new long[3]);
+                        m[0] += count;
+                        m[1] += error;
+                        m[2] += floor;
+                    });
+                }
+            }
+            // summaries that dropped an id may have seen up to their floor of it
+            long stripeFloors = floors;
+            merged.forEach((id, m) -> all.add(new TopItem(id, m[0], m[0] - m[1], m[0] + stripeFloors - m[2])));
+        }
+        all.sort(Comparator.comparingLong(TopItem::units).reversed().thenComparingLong(TopItem::catalogItemId));
+        return all.size() > limit ? List.copyOf(all.subList(0, limit)) : all;
+    }
+
+    private static final class Bucket {
+        final long epoch;
+        final LongAdder placed = new LongAdder();
+        final LongAdder cancelled = new LongAdder();
+        final HyperLogLog customers = new HyperLogLog();
+        final QuantileSketch totals = new QuantileSketch();
+        final SpaceSaving[] items = new SpaceSaving[ITEM_STRIPES];
+
+        Bucket(long epoch, int itemCapacity) {
+            this.epoch = epoch;
+            for (int i = 0; i < ITEM_STRIPES; i++) {
+                items[i] = new SpaceSaving(itemCapacity);
+            }
+        }
+    }
+
+    public record AnalyticsSnapshot(long bucketSeconds, long retainedMinutes, List<WindowSnapshot> windows) {}
+
+    /**
+     * Approximate figures for orders committed in the last {@code minutes}: distinct customers within about
+     * 1.6%, total quantiles within {@value QuantileSketch#RELATIVE_ACCURACY} relative error
+     */
+    public record WindowSnapshot(
+            int minutes,
+            long ordersPlaced,
+            long ordersCancelled,
+            long distinctCustomers,
+            BigDecimal totalP50,
+            BigDecimal totalP95,
+            BigDecimal totalP99,
+            List<TopItem> topItems
+    ) {}
+
+    /** Units sold of one catalog item; the true figure lies within [minUnits, maxUnits] */
+    public record TopItem(long catalogItemId, long units, long minUnits, long maxUnits) {}
+}
@@ -0,0 +1,81 @@
+package com.kartikay.sales_order_management_api.analytics;
+
+import java.util.concurrent.atomic.AtomicLongArray;
+
+/**
+ * Quantile sketch over non-negative amounts in minor units, with logarithmic buckets so that every
+ * quantile is within {@value #RELATIVE_ACCURACY} of the true value (relative error). Adds are one atomic
+ * increment, memory is fixed (about 12 KiB) and sketches merge by adding their counts.
+ */
+public final class QuantileSketch {
+
+    public static final double RELATIVE_ACCURACY = 0.01;
+
+    // amounts above this (100 billion in major units) share the last bucket
+    static final long MAX_VALUE = 10_000_000_000_000L;
+
+    private static final double GAMMA = (1 + RELATIVE_ACCURACY) / (1 - RELATIVE_ACCURACY);
+    private static final double LOG_GAMMA = Math.log(GAMMA);
+    private static final int BUCKETS = index(MAX_VALUE) + 1;
+
+    // bucket 0 holds zero; bucket i > 0 holds values in (GAMMA^(i-2), GAMMA^(i-1)]
+    private final AtomicLongArray counts = new AtomicLongArray(BUCKETS);
+
+    private static int index(long value) {
+        if (value <= 0) {
+            return 0;
+        }
+        return 1 + (int) Math.ceil(Math.log(Math.min(value, MAX_VALUE)) / LOG_GAMMA);
+    }
+
+    public void add(long value) {
+        counts.incrementAndGet(index(value));
+    }
+
+    /**
+     * Folds {@code other} into this sketch; {@code other} may still be receiving adds.
+     */
+    public void merge(QuantileSketch other) {
+        for (int i = 0; i < BUCKETS; i++) {
+            long count = other.counts.get(i);
+            if (count != 0) {
+                counts.addAndGet(i, count);
+            }
+        }
+    }
+
+    /**
+     * Values at the given quantiles (each in [0, 1]), in one pass; all zero when nothing was added.
+     */
+    public long[] quantiles(double... qs) {
+        long[] snapshot = new long[BUCKETS];
+        long total = 0;
+        for (int i = 0; i < BUCKETS; i++) {
+            snapshot[i] = counts.get(i);
+            total += snapshot[i];
+        }
+
+        long[] values = new long[qs.length];
+        if (total == 0) {
+            return values;
+        }
+        for (int q = 0; q < qs.length; q++) {
+            long rank = (long) (qs[q] * (total - 1));
+            long seen = 0;
+            int bucket = 0;
+            while (bucket < BUCKETS - 1 && (seen += snapshot[bucket]) <= rank) {
+                bucket++;
+            }
+            values[q] = value(bucket);
+        }
+        return values;
+    }
+
+    // the point of the bucket that minimises the worst relative error
+    private static long value(int bucket) {
+        if (bucket == 0) {
+            return 0;
+        }
+        return Math.round(2 * Math.pow(GAMMA, bucket - 1) / (GAMMA + 1));
+    }
+}
@@ -0,0 +1,69 @@
+package com.kartikay.sales_order_management_api.analytics;
+
+import java.util.HashMap;
+import java.util.Map;
+
+/**
+ * Space-saving heavy-hitters summary: at most {@code capacity} counters. An untracked key takes over the
+ * smallest counter and inherits its count as error, so a tracked count overestimates by at most its error
+ * and an untracked key has a count of at most {@link #floor()}.
+ * Not thread-safe; {@link OrderStreamAnalytics} guards every summary with its own monitor.
+ */
+final class SpaceSaving {
+
+    /** Receives one counter: estimated count and the most it may overestimate by */
+    interface CounterVisitor {
+        void visit(long key, long count, long error);
+    }
+
+    private final int capacity;
+    // key -> {count, error}
+    private final Map<Long, long[]> counters;
+
+    SpaceSaving(int capacity) {
+        this.capacity = capacity;
+        this.counters = new HashMap<>(capacity * 2);
+    }
+
+    void add(long key, long weight) {
+        long[] counter = counters.get(key);
+        if (counter != null) {
+            counter[0] += weight;
+            return;
+        }
+        if (counters.size() < capacity) {
+            counters.put(key, new long[]{weight, 0});
+            return;
+        }
+
+        // capacity is small, so a scan for the minimum beats keeping a heap in step
+        Map.Entry<Long, long[]> smallest = null;
+        for (Map.Entry<Long, long[]> entry : counters.entrySet()) {
+            if (smallest == null || entry.getValue()[0] < smallest.getValue()[0]) {
+                smallest = entry;
+            }
+        }
+        long[] reused = counters.remove(smallest.getKey());
+        reused[1] = reused[0];
+        reused[0] += weight;
+        counters.put(key, reused);
+    }
+
+    /**
+     * Upper bound on the count of any key not tracked here: 0 until the summary is full.
+     */
+    long floor() {
+        if (counters.size() < capacity) {
+            return 0;
+        }
+        long floor = Long.MAX_VALUE;
+        for (long[] counter : counters.values()) {
+            floor = Math.min(floor, counter[0]);
+        }
+        return floor;
+    }
+
+    void forEach(CounterVisitor visitor) {
+        counters.forEach((key, counter) -> visitor.visit(key, counter[0], counter[1]));
+    }
+}
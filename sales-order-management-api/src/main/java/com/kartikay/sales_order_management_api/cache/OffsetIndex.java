@@ -0,0 +1,120 @@
+package com.kartikay.sales_order_management_api.cache;
+
+import java.util.Arrays;
+
+/**
+ * Open-addressing map from order id to arena offset over two primitive arrays, with linear probing and
+ * backward-shift deletion so removals leave no tombstones. Not thread-safe; {@link RecentOrderCache}
+ * guards it with its lock.
+ */
+final class OffsetIndex {
+
+    private static final long EMPTY = Long.MIN_VALUE;
+
+    private long[] keys;
+    private long[] values;
+    private int size;
+
+    OffsetIndex(int expected) {
+        int capacity = Integer.highestOneBit(Math.max(16, expected * 2 - 1)) << 1;
+        keys = new long[capacity];
+        values = new long[capacity];
+        Arrays.fill(keys, EMPTY);
+    }
+
+    /** Offset of {@code id}, or -1 if absent */
+    long get(long id) {
+        int slot = find(id);
+        return slot < 0 ? -1 : values[slot];
+    }
+
+    void put(long id, long offset) {
+        if (size * 2 >= keys.length) {
+            resize();
+        }
+        int mask = keys.length - 1;
+        int slot = slot(id, mask);
+        while (keys[slot] != EMPTY && keys[slot] != id) {
+            slot = (slot + 1) & mask;
+        }
+        if (keys[slot] == EMPTY) {
+            size++;
+        }
+        keys[slot] = id;
+        values[slot] = offset;
+    }
+
+    /** Removes {@code id} whatever it maps to; true if it was present */
+    boolean remove(long id) {
+        int slot = find(id);
+        if (slot < 0) {
+            return false;
+        }
+        delete(slot);
+        return true;
+    }
+
+    /** Removes {@code id} only while it still maps to {@code offset} */
+    boolean remove(long id, long offset) {
+        int slot = find(id);
+        if (slot < 0 || values[slot] != offset) {
+            return false;
+        }
+        delete(slot);
+        return true;
+    }
+
+    int size() {
+        return size;
+    }
+
+    private int find(long id) {
+        int mask = keys.length - 1;
+        int slot = slot(id, mask);
+        while (keys[slot] != EMPTY) {
+            if (keys[slot] == id) {
+                return slot;
+            }
+            slot = (slot + 1) & mask;
+        }
+        return -1;
+    }
+
+    /**
+     * Empties {@code slot} and shifts back every later entry of the probe run that may move into the hole.
+     */
+    private void delete(int slot) {
+        int mask = keys.length - 1;
+        keys[slot] = EMPTY;
+        size--;
+        for (int next = (slot + 1) & mask; keys[next] != EMPTY; next = (next + 1) & mask) {
+            int home = slot(keys[next], mask);
+            // the entry may fill the hole if the hole lies on its probe path from home to next
+            if (((next - home) & mask) >= ((next - slot) & mask)) {
+                keys[slot] = keys[next];
+                values[slot] = values[next];
+                keys[next] = EMPTY;
+                slot = next;
+            }
+        }
+    }
+
+    private void resize() {
+        long[] oldKeys = keys;
+        long[] oldValues = values;
+        keys = new long[oldKeys.length * 2];
+        values = new long[oldKeys.length * 2];
+        Arrays.fill(keys, EMPTY);
+        size = 0;
+        for (int i = 0; i < oldKeys.length; i++) {
+            if (oldKeys[i] != EMPTY) {
+                put(oldKeys[i], oldValues[i]);
+            }
+        }
+    }
+
+    private static int slot(long id, int mask) {
+        long h = id * 0x9E3779B97F4A7C15L;
+        return (int) (h ^ (h >>> 32)) & mask;
+    }
+}
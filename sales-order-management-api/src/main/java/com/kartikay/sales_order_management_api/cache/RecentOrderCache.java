@@ -0,0 +1,421 @@
+package com.kartikay.sales_order_management_api.cache;
+
+import com.kartikay.sales_order_management_api.domain.Order;
+import com.kartikay.sales_order_management_api.domain.OrderItem;
+import com.kartikay.sales_order_management_api.dto.OrderItemDTO;
+import com.kartikay.sales_order_management_api.dto.OrderResponseDTO;
+import com.kartikay.sales_order_management_api.support.AfterCommit;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import java.math.BigDecimal;
+import java.math.BigInteger;
+import java.nio.ByteBuffer;
+import java.nio.charset.StandardCharsets;
+import java.time.Clock;
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.concurrent.locks.ReentrantReadWriteLock;
+
+/**
+ * Bounded cache of recently created or read orders for {@code GET /api/v1/orders/{id}}, kept off-heap.
+ * <p>
+ * Each order is stored once as a compact binary record in a direct buffer used as a ring: new records are
+ * appended at the head and the oldest are evicted from the tail when space runs out. A primitive index maps
+ * order ids to record offsets, so cached orders add no per-entry objects to the Java heap. Only orders
+ * created in the last {@code recent-days} days are cached, and each record expires {@code ttl-seconds} after it
+ * was stored, which bounds how stale it can be. Cancellation patches the cached record in place and deletion
+ * removes it, both after the commit; writes made through other instances are only seen once the record expires.
+ */
+@Component
+public class RecentOrderCache {
+
+    // record header: [int length][long id][int creation epoch day][int cancellation epoch day][long stored at ms]
+    static final int HEADER_BYTES = 28;
+    private static final int CANCELLED_OFFSET = 16;
+    private static final int STORED_AT_OFFSET = 20;
+    private static final int NOT_CANCELLED = Integer.MIN_VALUE;
+    // written where a record would not fit before the end of the buffer; reading resumes at offset 0
+    private static final int WRAP = -1;
+    private static final byte NULL_AMOUNT = Byte.MIN_VALUE;
+    private static final long NULL_ID = Long.MIN_VALUE;
+
+    private final boolean enabled;
+    private final int capacity;
+    private final int maxRecordBytes;
+    private final int recentDays;
+    private final long ttlMillis;
+    private final ByteBuffer arena;
+    private final OffsetIndex index;
+    private final ReentrantReadWriteLock lock = new ReentrantReadWriteLock();
+
+    // logical positions: records live in [tail, head), at position % capacity
+    private long head;
+    private long tail;
+
+    private volatile Clock clock = Clock.systemDefaultZone();
+
+    // bumped by every cancel or delete so a fill that read the database before it can be discarded
+    private final AtomicLong stamp = new AtomicLong();
+
+    private final LongAdder hits = new LongAdder();
+    private final LongAdder misses = new LongAdder();
+    private final LongAdder sizeEvictions = new LongAdder();
+    // records dropped on read because they outlived the TTL
+    private final LongAdder ageEvictions = new LongAdder();
+    private final LongAdder staleFills = new LongAdder();
+
+    public RecentOrderCache(@Value("${orders.cache.enabled:false}") boolean enabled,
+                            @Value("${orders.cache.max-mb:64}") int maxMb,
+                            @Value("${orders.cache.recent-days:3}") int recentDays,
+                            @Value("${orders.cache.ttl-seconds:30}") int ttlSeconds) {
+        if (enabled && (maxMb < 1 || maxMb > 1_024)) {
+            throw new IllegalArgumentException("orders.cache.max-mb must be between 1 and 1024");
+        }
+        this.enabled = enabled;
+        this.capacity = enabled ? maxMb << 20 : 0;
+        this.maxRecordBytes = capacity / 8;
+        this.recentDays = Math.max(0, recentDays);
+        this.ttlMillis = TimeUnit.SECONDS.toMillis(Math.max(1, ttlSeconds));
+        this.arena = ByteBuffer.allocateDirect(capacity);
+        // sized for records of about 512 bytes; grows if orders are smaller
+        this.index = new OffsetIndex(Math.max(16, capacity / 512));
+    }
+
+    /** Replaces the clock used for the recent window and the TTL (tests) */
+    void setClock(Clock clock) {
+        this.clock = clock;
+    }
+
+    // ---- reads ----
+
+    /** The cached response for {@code id}, or null on a miss */
+    public OrderResponseDTO get(long id) {
+        if (!enabled) {
+            return null;
+        }
+        byte[] record;
+        long offset;
+        lock.readLock().lock();
+        try {
+            offset = index.get(id);
+            if (offset < 0) {
+                misses.increment();
+                return null;
+            }
+            int position = (int) (offset % capacity);
+            record = new byte[arena.getInt(position)];
+            arena.get(position, record);
+        } finally {
+            lock.readLock().unlock();
+        }
+
+        ByteBuffer in = ByteBuffer.wrap(record);
+        if (clock.millis() - in.getLong(STORED_AT_OFFSET) >= ttlMillis) {
+            lock.writeLock().lock();
+            try {
+                if (index.remove(id, offset)) {
+                    ageEvictions.increment();
+                }
+            } finally {
+                lock.writeLock().unlock();
+            }
+            misses.increment();
+            return null;
+        }
+        hits.increment();
+        return decode(in);
+    }
+
+    /** Value to pass to {@link #fill} for a response about to be loaded from the database */
+    public long stamp() {
+        return stamp.get();
+    }
+
+    /**
+     * Caches a response loaded from the database after a miss, unless an order was cancelled or deleted
+     * since {@code stampBeforeLoad} was taken, in which case the response may already be stale.
+     */
+    public void fill(OrderResponseDTO response, long stampBeforeLoad) {
+        if (!enabled || !isRecent(response.creationDate())) {
+            return;
+        }
+        byte[] record = encode(response);
+        if (record == null) {
+            return;
+        }
+        lock.writeLock().lock();
+        try {
+            if (stamp.get() != stampBeforeLoad) {
+                staleFills.increment();
+                return;
+            }
+            store(response.id(), record);
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    // ---- updates from the order services ----
+
+    public void onCreated(Order order) {
+        if (!enabled || !isRecent(order.getCreationDate())) {
+            return;
+        }
+        byte[] record = encode(toResponse(order));
+        if (record == null) {
+            return;
+        }
+        long id = order.getId();
+        afterCommit(() -> store(id, record));
+    }
+
+    public void onCancelled(long orderId) {
+        onCancelled(List.of(orderId));
+    }
+
+    public void onCancelled(Collection<Long> orderIds) {
+        if (!enabled) {
+            return;
+        }
+        List<Long> ids = List.copyOf(orderIds);
+        int day = (int) LocalDate.now(clock).toEpochDay();
+        afterCommit(() -> {
+            stamp.incrementAndGet();
+            for (long id : ids) {
+                long offset = index.get(id);
+                if (offset >= 0) {
+                    arena.putInt((int) (offset % capacity) + CANCELLED_OFFSET, day);
+                }
+            }
+        });
+    }
+
+    public void onDeleted(long orderId) {
+        onDeleted(List.of(orderId));
+    }
+
+    public void onDeleted(Collection<Long> orderIds) {
+        if (!enabled) {
+            return;
+        }
+        List<Long> ids = List.copyOf(orderIds);
+        afterCommit(() -> {
+            stamp.incrementAndGet();
+            ids.forEach(index::remove);
+        });
+    }
+
+    /** Runs {@code update} under the write lock after the current transaction commits, or now without one */
+    private void afterCommit(Runnable update) {
+        AfterCommit.run("recent orders cache update", () -> {
+            lock.writeLock().lock();
+            try {
+                update.run();
+            } finally {
+                lock.writeLock().unlock();
+            }
+        });
+    }
+
+    // ---- ring buffer ----
+
+    /** Appends {@code record} at the head, evicting from the tail until it fits. Caller holds the write lock. */
+    private void store(long id, byte[] record) {
+        int position = (int) (head % capacity);
+        int skip = position + record.length > capacity ? capacity - position : 0;
+        while (head + skip + record.length - tail > capacity) {
+            evictTail();
+        }
+        if (skip > 0) {
+            if (skip >= Integer.BYTES) {
+                arena.putInt(position, WRAP);
+            }
+            head += skip;
+            position = 0;
+        }
+        arena.put(position, record);
+        arena.putLong(position + STORED_AT_OFFSET, clock.millis());
+        index.put(id, head);
+        head += record.length;
+    }
+
+    private void evictTail() {
+        int position = (int) (tail % capacity);
+        int remaining = capacity - position;
+        if (remaining < Integer.BYTES || arena.getInt(position) == WRAP) {
+            tail += remaining;
+            return;
+        }
+        int length = arena.getInt(position);
+        // replaced or removed records are no longer indexed at this offset
+        if (index.remove(arena.getLong(position + Integer.BYTES), tail)) {
+            sizeEvictions.increment();
+        }
+        tail += length;
+    }
+
+    private boolean isRecent(LocalDate creationDate) {
+        return creationDate != null && creationDate.toEpochDay() >= oldestDay();
+    }
+
+    private long oldestDay() {
+        return LocalDate.now(clock).toEpochDay() - recentDays;
+    }
+
+    // ---- record format ----
+
+    /** The binary record for {@code response}, or null if it is too large or has amounts beyond 64 bits */
+    private byte[] encode(OrderResponseDTO response) {
+        byte[] customer = utf8(response.customerName());
+        List<byte[]> names = new ArrayList<>(response.items().size());
+        int length = HEADER_BYTES + Integer.BYTES + customer.length + 3 * (Long.BYTES + 1) + Integer.BYTES;
+        for (OrderItemDTO item : response.items()) {
+            byte[] name = utf8(item.itemName());
+            names.add(name);
+            length += Long.BYTES + Integer.BYTES + name.length + Long.BYTES + 1 + Integer.BYTES;
+        }
+        if (length > maxRecordBytes) {
+            return null;
+        }
+        try {
+            ByteBuffer out = ByteBuffer.allocate(length);
+            out.putInt(length);
+            out.putLong(response.id());
+            out.putInt((int) response.creationDate().toEpochDay());
+            out.putInt(response.cancellationDate() == null
+                    ? NOT_CANCELLED : (int) response.cancellationDate().toEpochDay());
+            // stored-at time, set when the record is written to the buffer
+            out.putLong(0);
+            putBytes(out, customer);
+            putAmount(out, response.subtotal());
+            putAmount(out, response.vat());
+            putAmount(out, response.total());
+            out.putInt(response.items().size());
+            for (int i = 0; i < names.size(); i++) {
+                OrderItemDTO item = response.items().get(i);
+                out.putLong(item.catalogItemId() == null ? NULL_ID : item.catalogItemId());
+                putBytes(out, names.get(i));
+                putAmount(out, item.unitPrice());
+                out.putInt(item.quantity());
+            }
+            return out.array();
+        } catch (ArithmeticException ex) {
+            return null;
+        }
+    }
+
+    private static OrderResponseDTO decode(ByteBuffer in) {
+        in.position(Integer.BYTES);
+        long id = in.getLong();
+        LocalDate created = LocalDate.ofEpochDay(in.getInt());
+        int cancelled = in.getInt();
+        in.position(HEADER_BYTES);
+        String customer = getString(in);
+        BigDecimal subtotal = getAmount(in);
+        BigDecimal vat = getAmount(in);
+        BigDecimal total = getAmount(in);
+        int lines = in.getInt();
+        List<OrderItemDTO> items = new ArrayList<>(lines);
+        for (int i = 0; i < lines; i++) {
+            long catalogItemId = in.getLong();
+            String name = getString(in);
+            BigDecimal unitPrice = getAmount(in);
+            items.add(new OrderItemDTO(catalogItemId == NULL_ID ? null : catalogItemId, name, unitPrice,
+                    in.getInt()));
+        }
+        return new OrderResponseDTO(id, customer, created,
+                cancelled == NOT_CANCELLED ? null : LocalDate.ofEpochDay(cancelled), subtotal, vat, total,
+                List.copyOf(items));
+    }
+
+    private static OrderResponseDTO toResponse(Order order) {
+        List<OrderItemDTO> items = new ArrayList<>(order.getItems().size());
+        for (OrderItem item : order.getItems()) {
+            items.add(new OrderItemDTO(item.getCatalogItemId(), item.getItemName(), item.getUnitPrice(),
+                    item.getQuantity()));
+        }
+        return new OrderResponseDTO(order.getId(), order.getCustomerName(), order.getCreationDate(),
+                order.getCancellationDate(), order.getSubtotal(), order.getVat(), order.getTotal(), items);
+    }
+
+    private static byte[] utf8(String value) {
+        return value == null ? null : value.getBytes(StandardCharsets.UTF_8);
+    }
+
+    // strings are an int byte length (-1 for null) and UTF-8 bytes
+    private static void putBytes(ByteBuffer out, byte[] bytes) {
+        if (bytes == null) {
+            out.putInt(-1);
+        } else {
+            out.putInt(bytes.length);
+            out.put(bytes);
+        }
+    }
+
+    private static String getString(ByteBuffer in) {
+        int length = in.getInt();
+        if (length < 0) {
+            return null;
+        }
+        String value = new String(in.array(), in.position(), length, StandardCharsets.UTF_8);
+        in.position(in.position() + length);
+        return value;
+    }
+
+    // amounts are a scale byte (NULL_AMOUNT for null) and the unscaled value, so any scale round-trips
+    private static void putAmount(ByteBuffer out, BigDecimal amount) {
+        if (amount == null) {
+            out.put(NULL_AMOUNT);
+            out.putLong(0);
+            return;
+        }
+        if (amount.scale() <= NULL_AMOUNT || amount.scale() > Byte.MAX_VALUE) {
+            throw new ArithmeticException("Scale out of range: " + amount.scale());
+        }
+        out.put((byte) amount.scale());
+        out.putLong(amount.unscaledValue().longValueExact());
+    }
+
+    private static BigDecimal getAmount(ByteBuffer in) {
+        byte scale = in.get();
+        long unscaled = in.getLong();
+        return scale == NULL_AMOUNT ? null : new BigDecimal(BigInteger.valueOf(unscaled), scale);
+    }
+
+    // ---- stats ----
+
+    public CacheStats getStats() {
+        int entries;
+        long bytesUsed;
+        lock.readLock().lock();
+        try {
+            entries = index.size();
+            bytesUsed = head - tail;
+        } finally {
+            lock.readLock().unlock();
+        }
+        long h = hits.sum();
+        long m = misses.sum();
+        return new CacheStats(enabled, entries, bytesUsed, capacity, h, m, h + m == 0 ? 0 : (double) h / (h + m),
+                sizeEvictions.sum(), ageEvictions.sum(), staleFills.sum());
+    }
+
+    public record CacheStats(
+            boolean enabled,
+            int entries,
+            long bytesUsed,
+            long capacityBytes,
+            long hits,
+            long misses,
+            double hitRate,
+            long sizeEvictions,
+            long ageEvictions,
+            long staleFills
+    ) {}
+}
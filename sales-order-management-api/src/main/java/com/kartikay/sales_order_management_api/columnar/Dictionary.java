@@ -0,0 +1,53 @@
+package com.kartikay.sales_order_management_api.columnar;
+
+import java.util.Arrays;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * Append-only dictionary assigning dense int codes to values, so columns store 4-byte codes instead of
+ * references. Lookups of known values are lock-free; new values are coded under the dictionary's monitor,
+ * which lets the parallel loader share one dictionary. A code read from a published column can always be
+ * decoded, since the value is stored before the code is handed out.
+ */
+final class Dictionary<K> {
+
+    private final Map<K, Integer> codes = new ConcurrentHashMap<>();
+    private volatile Object[] values = new Object[256];
+    private volatile int size;
+
+    int encode(K value) {
+        Integer code = codes.get(value);
+        if (code != null) {
+            return code;
+        }
+        synchronized (this) {
+            code = codes.get(value);
+            if (code != null) {
+                return code;
+            }
+            Object[] current = values;
+            if (size == current.length) {
+                current = Arrays.copyOf(current, current.length * 2);
+            }
+            current[size] = value;
+            values = current;
+            codes.put(value, size);
+            return size++;
+        }
+    }
+
+    /** Code of {@code value}, or -1 if it was never encoded */
+    int find(K value) {
+        return codes.getOrDefault(value, -1);
+    }
+
+    @SuppressWarnings("unchecked")
+    K decode(int code) {
+        return (K) values[code];
+    }
+
+    int size() {
+        return size;
+    }
+}
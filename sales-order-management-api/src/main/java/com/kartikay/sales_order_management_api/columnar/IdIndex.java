@@ -0,0 +1,90 @@
+package com.kartikay.sales_order_management_api.columnar;
+
+import java.util.Arrays;
+
+/**
+ * Open-addressing map from order id to its position (segment and row), with linear probing over two
+ * primitive arrays: 16 bytes a slot instead of a boxed {@code HashMap} entry. Not thread-safe; only the
+ * {@link OrderColumnStore} writer touches it.
+ */
+final class IdIndex {
+
+    private static final long EMPTY = Long.MIN_VALUE;
+
+    private long[] keys;
+    private long[] values;
+    private int size;
+
+    IdIndex(int expected) {
+        int capacity = Integer.highestOneBit(Math.max(16, expected * 2 - 1)) << 1;
+        keys = new long[capacity];
+        values = new long[capacity];
+        Arrays.fill(keys, EMPTY);
+    }
+
+    static long position(int segment, int row) {
+        return (long) segment << 32 | row;
+    }
+
+    static int segment(long position) {
+        return (int) (position >>> 32);
+    }
+
+    static int row(long position) {
+        return (int) position;
+    }
+
+    void put(long id, long position) {
+        if (size * 2 >= keys.length) {
+            resize();
+        }
+        int slot = slot(id, keys.length);
+        while (keys[slot] != EMPTY && keys[slot] != id) {
+            slot = (slot + 1) & (keys.length - 1);
+        }
+        if (keys[slot] == EMPTY) {
+            size++;
+        }
+        keys[slot] = id;
+        values[slot] = position;
+    }
+
+    /** Position of {@code id}, or -1 if absent */
+    long get(long id) {
+        int slot = slot(id, keys.length);
+        while (keys[slot] != EMPTY) {
+            if (keys[slot] == id) {
+                return values[slot];
+            }
+            slot = (slot + 1) & (keys.length - 1);
+        }
+        return -1;
+    }
+
+    int size() {
+        return size;
+    }
+
+    private void resize() {
+        long[] oldKeys = keys;
+        long[] oldValues = values;
+        keys = new long[oldKeys.length * 2];
+        values = new long[oldKeys.length * 2];
+        Arrays.fill(keys, EMPTY);
+        for (int i = 0; i < oldKeys.length; i++) {
+            if (oldKeys[i] != EMPTY) {
+                int slot = slot(oldKeys[i], keys.length);
+                while (keys[slot] != EMPTY) {
+                    slot = (slot + 1) & (keys.length - 1);
+                }
+                keys[slot] = oldKeys[i];
+                values[slot] = oldValues[i];
+            }
+        }
+    }
+
+    private static int slot(long id, int capacity) {
+        long h = id * 0x9E3779B97F4A7C15L;
+        return (int) (h ^ (h >>> 32)) & (capacity - 1);
+    }
+}
@@ -0,0 +1,664 @@
+package com.kartikay.sales_order_management_api.columnar;
+
+import com.kartikay.sales_order_management_api.domain.Order;
+import com.kartikay.sales_order_management_api.domain.OrderItem;
+import com.kartikay.sales_order_management_api.exception.InvalidOperationException;
+import com.kartikay.sales_order_management_api.exception.ServiceBusyException;
+import com.kartikay.sales_order_management_api.repository.OrderLineJdbcRepository;
+import com.kartikay.sales_order_management_api.search.OrderSearchIndex.Status;
+import com.kartikay.sales_order_management_api.service.Money;
+import com.kartikay.sales_order_management_api.support.AfterCommit;
+import jakarta.annotation.PreDestroy;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.stereotype.Component;
+
+import java.math.BigDecimal;
+import java.time.LocalDate;
+import java.util.*;
+import java.util.concurrent.*;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.function.Consumer;
+
+/**
+ * Columnar in-memory copy of orders and their lines for ad hoc aggregates (sum and count, filtered by date
+ * range, customer, catalog item and status, grouped by day or item) without touching the row tables.
+ * <p>
+ * Data lives in {@link OrderSegment}s of primitive columns. A query captures how many lines each segment
+ * has published and scans the segments as a fork-join task per segment, each into a dense array of group
+ * sums, so writers are never blocked. The store is loaded from the database at startup, with id ranges
+ * read in parallel, and then kept current after every commit that creates, cancels or deletes an order.
+ * Customer names are matched case-insensitively and exactly.
+ */
+@Component
+public class OrderColumnStore {
+
+    public enum GroupBy {
+        NONE, DAY, ITEM;
+
+        /** Case-insensitive lookup for request parameters */
+        public static GroupBy parse(String value) {
+            for (GroupBy groupBy : values()) {
+                if (groupBy.name().equalsIgnoreCase(value.trim())) {
+                    return groupBy;
+                }
+            }
+            throw new InvalidOperationException("Unknown groupBy: " + value + " (allowed: none, day, item)");
+        }
+    }
+
+    public static final int MAX_LIMIT = 1_000;
+
+    private static final long REBUILD_CHUNK_IDS = 50_000;
+    private static final int MAX_DAY_GROUPS = 100_000;
+
+    // sums kept per group; LABEL is an item name code + 1 for item groups
+    private static final int ORDERS = 0;
+    private static final int ORDERS_TOTAL = 1;
+    private static final int LINES = 2;
+    private static final int UNITS = 3;
+    private static final int AMOUNT = 4;
+    private static final int LABEL = 5;
+    private static final int MEASURES = 6;
+
+    private final OrderLineJdbcRepository orderLineRepository;
+    private final boolean enabled;
+    private final int loadThreads;
+    private final ForkJoinPool queryPool;
+
+    // Guards every mutation of the current columns and pendingDuringRebuild
+    private final Object writeLock = new Object();
+    private final Object rebuildLock = new Object();
+
+    private volatile Columns columns = new Columns();
+    private List<Consumer<Columns>> pendingDuringRebuild;
+
+    private volatile boolean ready;
+    private final LongAdder queries = new LongAdder();
+    private final LongAdder rebuilds = new LongAdder();
+    private volatile long lastRebuildMillis;
+
+    public OrderColumnStore(OrderLineJdbcRepository orderLineRepository,
+                            @Value("${columnar.enabled:true}") boolean enabled,
+                            @Value("${columnar.load-threads:0}") int loadThreads,
+                            @Value("${columnar.query-threads:0}") int queryThreads) {
+        this.orderLineRepository = orderLineRepository;
+        this.enabled = enabled;
+        int cpus = Runtime.getRuntime().availableProcessors();
+        this.loadThreads = loadThreads > 0 ? loadThreads : cpus;
+        this.queryPool = new ForkJoinPool(queryThreads > 0 ? queryThreads : cpus);
+    }
+
+    @PreDestroy
+    public void shutdown() {
+        queryPool.shutdown();
+    }
+
+    @EventListener(ApplicationReadyEvent.class)
+    public void rebuildOnStartup() {
+        if (!enabled) {
+            System.out.println("Order column store disabled (columnar.enabled=false)");
+            return;
+        }
+        try {
+            StoreStats stats = rebuild();
+            System.out.println("Order column store loaded: " + stats.lines() + " lines in "
+                    + stats.lastRebuildMillis() + " ms");
+        } catch (RuntimeException ex) {
+            // aggregates answer 503 until an admin rebuild succeeds; the rest of the API is unaffected
+            System.err.println("Order column store load failed: " + ex.getMessage());
+        }
+    }
+
+    /**
+     * Reloads every order from the database and swaps the result in. Updates committed while the load
+     * runs are applied to the live columns and replayed onto the new ones before they are published.
+     */
+    public StoreStats rebuild() {
+        synchronized (rebuildLock) {
+            long started = System.currentTimeMillis();
+            synchronized (writeLock) {
+                pendingDuringRebuild = new ArrayList<>();
+            }
+
+            Columns built;
+            try {
+                built = load();
+            } catch (RuntimeException ex) {
+                synchronized (writeLock) {
+                    pendingDuringRebuild = null;
+                }
+                throw ex;
+            }
+
+            synchronized (writeLock) {
+                for (Consumer<Columns> update : pendingDuringRebuild) {
+                    update.accept(built);
+                }
+                pendingDuringRebuild = null;
+                columns = built;
+                ready = true;
+            }
+
+            lastRebuildMillis = System.currentTimeMillis() - started;
+            rebuilds.increment();
+            return getStats();
+        }
+    }
+
+    /**
+     * Reads fixed id ranges on a bounded pool into segments that share the new dictionaries, then
+     * concatenates them in id order.
+     */
+    private Columns load() {
+        Columns built = new Columns();
+        long[] range = orderLineRepository.idRange();
+        if (range == null) {
+            return built;
+        }
+
+        ExecutorService pool = Executors.newFixedThreadPool(loadThreads, daemonThreads());
+        try {
+            List<Future<List<OrderSegment>>> chunks = new ArrayList<>();
+            for (long start = range[0]; start <= range[1]; start += REBUILD_CHUNK_IDS) {
+                long from = start;
+                long to = Math.min(range[1], start + REBUILD_CHUNK_IDS - 1);
+                chunks.add(pool.submit(() -> loadRange(from, to, built)));
+            }
+
+            List<OrderSegment> segments = new ArrayList<>();
+            for (Future<List<OrderSegment>> chunk : chunks) {
+                segments.addAll(chunk.get());
+            }
+            built.adopt(segments);
+            return built;
+        } catch (InterruptedException ex) {
+            Thread.currentThread().interrupt();
+            throw new IllegalStateException("Order column store load interrupted", ex);
+        } catch (ExecutionException ex) {
+            throw new IllegalStateException("Order column store load failed", ex.getCause());
+        } finally {
+            pool.shutdownNow();
+        }
+    }
+
+    private List<OrderSegment> loadRange(long from, long to, Columns into) {
+        List<OrderSegment> segments = new ArrayList<>();
+        OrderSegment.Pending order = new OrderSegment.Pending();
+        long[] current = {-1};
+        orderLineRepository.streamLines(from, to, row -> {
+            if (row.getOrderId() != current[0]) {
+                if (current[0] != -1) {
+                    appendTo(segments, order);
+                }
+                current[0] = row.getOrderId();
+                order.reset(row.getOrderId(), epochDay(row.getCreationDate()),
+                        into.customers.encode(customerKey(row.getCustomerName())), minor(row.getTotal()),
+                        cancelledDay(row.getCancellationDate()));
+            }
+            if (row.hasLine()) {
+                into.addLine(order, row.getCatalogItemId(), row.getItemName(), row.getUnitPrice(), row.getQuantity());
+            }
+        });
+        if (current[0] != -1) {
+            appendTo(segments, order);
+        }
+        segments.replaceAll(OrderSegment::trimmed);
+        return segments;
+    }
+
+    private static void appendTo(List<OrderSegment> segments, OrderSegment.Pending order) {
+        OrderSegment tail = segments.isEmpty() ? null : segments.get(segments.size() - 1);
+        if (tail == null || !tail.fits(order)) {
+            tail = OrderSegment.forOrder(order);
+            segments.add(tail);
+        }
+        tail.append(order);
+    }
+
+    private static ThreadFactory daemonThreads() {
+        AtomicInteger counter = new AtomicInteger();
+        return runnable -> {
+            Thread thread = new Thread(runnable, "order-columns-load-" + counter.incrementAndGet());
+            thread.setDaemon(true);
+            return thread;
+        };
+    }
+
+    // ---- incremental updates, applied once the writing transaction has committed ----
+
+    public void onCreated(Order order) {
+        long id = order.getId();
+        String customerName = order.getCustomerName();
+        LocalDate created = order.getCreationDate();
+        BigDecimal total = order.getTotal();
+        LocalDate cancelled = order.getCancellationDate();
+        List<OrderItem> items = List.copyOf(order.getItems());
+        afterCommit(columns -> columns.append(id, customerName, created, total, cancelled, items));
+    }
+
+    public void onCancelled(long orderId) {
+        onCancelled(List.of(orderId));
+    }
+
+    public void onCancelled(Collection<Long> orderIds) {
+        List<Long> ids = List.copyOf(orderIds);
+        int today = epochDay(LocalDate.now());
+        afterCommit(columns -> ids.forEach(id -> columns.cancel(id, today)));
+    }
+
+    public void onDeleted(long orderId) {
+        onDeleted(List.of(orderId));
+    }
+
+    public void onDeleted(Collection<Long> orderIds) {
+        List<Long> ids = List.copyOf(orderIds);
+        afterCommit(columns -> ids.forEach(columns::delete));
+    }
+
+    private void afterCommit(Consumer<Columns> update) {
+        AfterCommit.run("order column store update", () -> apply(update));
+    }
+
+    private void apply(Consumer<Columns> update) {
+        synchronized (writeLock) {
+            Columns current = columns;
+            update.accept(current);
+            // volatile write: publishes cancel and delete flags to queries that read the segments afterwards
+            current.segments = current.segments;
+            if (pendingDuringRebuild != null) {
+                pendingDuringRebuild.add(update);
+            }
+        }
+    }
+
+    // ---- queries ----
+
+    /**
+     * Sums and counts of the lines matching {@code query}, per group. Every group reports the orders with at
+     * least one matching line, the sum of those orders' totals (VAT included), and the matching lines, units
+     * and line amounts (VAT excluded). Day groups are in date order, item groups by line amount, largest first.
+     */
+    public AggregateResult aggregate(AggregateQuery query) {
+        if ((query.start() == null) != (query.end() == null)
+                || (query.start() != null && query.end().isBefore(query.start()))) {
+            throw new InvalidOperationException("Provide both start and end, with start on or before end");
+        }
+        if (query.limit() < 1 || query.limit() > MAX_LIMIT) {
+            throw new InvalidOperationException("Limit must be between 1 and " + MAX_LIMIT);
+        }
+        if (!ready) {
+            throw new ServiceBusyException("Order column store is still being loaded", 5);
+        }
+
+        long started = System.nanoTime();
+        queries.increment();
+        Scan scan = new Scan(columns, query);
+        long[] sums = scan.segments.length == 0
+                ? new long[scan.groups * MEASURES]
+                : queryPool.invoke(new ScanTask(scan, 0, scan.segments.length));
+
+        List<AggregateRow> rows = scan.rows(sums);
+        if (query.groupBy() == GroupBy.ITEM) {
+            rows.sort(Comparator.comparingLong(AggregateRow::amount).reversed());
+        }
+        if (rows.size() > query.limit()) {
+            rows = rows.subList(0, query.limit());
+        }
+        return new AggregateResult(List.copyOf(rows), scan.scannedLines, scan.segments.length,
+                (System.nanoTime() - started) / 1_000);
+    }
+
+    /**
+     * Filters, grouping and the published line count of every segment, fixed when the query starts.
+     */
+    private static final class Scan {
+        final OrderSegment[] segments;
+        final int[] limits;
+        final long scannedLines;
+        final GroupBy groupBy;
+        final Status status;
+        final int fromDay;
+        final int toDay;
+        final int customer;
+        final int catalogItem;
+        final int baseDay;
+        final int catalogGroups;
+        final int groups;
+        final Columns columns;
+
+        Scan(Columns columns, AggregateQuery query) {
+            this.columns = columns;
+            this.segments = columns.segments;
+            this.limits = new int[segments.length];
+            long lines = 0;
+            for (int i = 0; i < segments.length; i++) {
+                limits[i] = segments[i].lines();
+                lines += limits[i];
+            }
+            this.scannedLines = lines;
+            this.groupBy = query.groupBy();
+            this.status = query.status() == null ? Status.ALL : query.status();
+
+            // dictionary sizes and day bounds are read after the line counts, so they cover every line scanned
+            this.fromDay = query.start() == null ? Integer.MIN_VALUE : epochDay(query.start());
+            this.toDay = query.end() == null ? Integer.MAX_VALUE : epochDay(query.end());
+            this.customer = query.customer() == null || query.customer().isBlank()
+                    ? -1 : columns.customers.find(customerKey(query.customer()));
+            this.catalogItem = query.catalogItemId() == null ? -1 : columns.catalogItems.find(query.catalogItemId());
+            boolean unknownFilter = (query.customer() != null && !query.customer().isBlank() && customer < 0)
+                    || (query.catalogItemId() != null && catalogItem < 0);
+
+            this.catalogGroups = columns.catalogItems.size();
+            this.baseDay = query.start() != null ? fromDay : columns.minDay;
+            int groupCount = switch (groupBy) {
+                case NONE -> 1;
+                case ITEM -> catalogGroups + columns.itemNames.size();
+                case DAY -> {
+                    long span = (long) (query.end() != null ? toDay : columns.maxDay) - baseDay + 1;
+                    if (span > MAX_DAY_GROUPS) {
+                        throw new InvalidOperationException("Narrow the date range to group by day");
+                    }
+                    yield (int) Math.max(0, span);
+                }
+            };
+            this.groups = groupCount;
+            if (unknownFilter) {
+                // nothing can match: scan no lines at all
+                Arrays.fill(limits, 0);
+            }
+        }
+
+        long[] scan(int index) {
+            long[] sums = new long[groups * MEASURES];
+            int[] lastOrder = new int[groups];
+            Arrays.fill(lastOrder, -1);
+
+            OrderSegment segment = segments[index];
+            int[] lineOrder = segment.lineOrder;
+            int[] createdDay = segment.createdDay;
+            int[] customers = segment.customer;
+            long[] totals = segment.total;
+            int[] cancelledDay = segment.cancelledDay;
+            boolean[] deleted = segment.deleted;
+            int[] catalogItems = segment.catalogItem;
+            int[] itemNames = segment.itemName;
+            int[] quantities = segment.quantity;
+            long[] amounts = segment.amount;
+
+            for (int line = 0, n = limits[index]; line < n; line++) {
+                int row = lineOrder[line];
+                int day = createdDay[row];
+                if (deleted[row] || day < fromDay || day > toDay) {
+                    continue;
+                }
+                if (customer >= 0 && customers[row] != customer) {
+                    continue;
+                }
+                int item = catalogItems[line];
+                if (catalogItem >= 0 && item != catalogItem) {
+                    continue;
+                }
+                if (status != Status.ALL
+                        && (cancelledDay[row] != OrderSegment.NOT_CANCELLED) != (status == Status.CANCELLED)) {
+                    continue;
+                }
+
+                int group = switch (groupBy) {
+                    case NONE -> 0;
+                    case DAY -> day - baseDay;
+                    case ITEM -> item != OrderSegment.NO_CATALOG_ITEM ? item : catalogGroups + itemNames[line];
+                };
+                if (group < 0 || group >= groups) {
+                    continue;
+                }
+
+                int at = group * MEASURES;
+                // an order's lines are contiguous, so a new row is a new order for this group
+                if (lastOrder[group] != row) {
+                    lastOrder[group] = row;
+                    sums[at + ORDERS]++;
+                    sums[at + ORDERS_TOTAL] += totals[row];
+                }
+                sums[at + LINES]++;
+                sums[at + UNITS] += quantities[line];
+                sums[at + AMOUNT] += amounts[line];
+                sums[at + LABEL] = itemNames[line] + 1;
+            }
+            return sums;
+        }
+
+        static void merge(long[] into, long[] from) {
+            for (int at = 0; at < into.length; at += MEASURES) {
+                for (int m = 0; m < LABEL; m++) {
+                    into[at + m] += from[at + m];
+                }
+                into[at + LABEL] = Math.max(into[at + LABEL], from[at + LABEL]);
+            }
+        }
+
+        List<AggregateRow> rows(long[] sums) {
+            List<AggregateRow> rows = new ArrayList<>();
+            for (int group = 0; group < groups; group++) {
+                int at = group * MEASURES;
+                if (sums[at + LINES] == 0 && groupBy != GroupBy.NONE) {
+                    continue;
+                }
+                LocalDate date = groupBy == GroupBy.DAY ? LocalDate.ofEpochDay(baseDay + (long) group) : null;
+                Long catalogItemId = groupBy == GroupBy.ITEM && group < catalogGroups
+                        ? columns.catalogItems.decode(group) : null;
+                String itemName = groupBy == GroupBy.ITEM && sums[at + LABEL] > 0
+                        ? columns.itemNames.decode((int) sums[at + LABEL] - 1) : null;
+                rows.add(new AggregateRow(date, catalogItemId, itemName, sums[at + ORDERS], sums[at + ORDERS_TOTAL],
+                        sums[at + LINES], sums[at + UNITS], sums[at + AMOUNT]));
+            }
+            return rows;
+        }
+    }
+
+    /**
+     * Halves the segment range until one segment is left; results are merged on the way back up.
+     */
+    private static final class ScanTask extends RecursiveTask<long[]> {
+        private final Scan scan;
+        private final int from;
+        private final int to;
+
+        ScanTask(Scan scan, int from, int to) {
+            this.scan = scan;
+            this.from = from;
+            this.to = to;
+        }
+
+        @Override
+        protected long[] compute() {
+            if (to - from == 1) {
+                return scan.scan(from);
+            }
+            int mid = (from + to) >>> 1;
+            ScanTask left = new ScanTask(scan, from, mid);
+            left.fork();
+            long[] right = new ScanTask(scan, mid, to).compute();
+            long[] sums = left.join();
+            Scan.merge(sums, right);
+            return sums;
+        }
+    }
+
+    public StoreStats getStats() {
+        Columns current = columns;
+        OrderSegment[] segments = current.segments;
+        long orders = 0;
+        long lines = 0;
+        long bytes = 0;
+        for (OrderSegment segment : segments) {
+            orders += segment.orders();
+            lines += segment.lines();
+            bytes += segment.bytes();
+        }
+        return new StoreStats(
+                ready,
+                orders,
+                lines,
+                segments.length,
+                current.customers.size(),
+                current.itemNames.size(),
+                current.catalogItems.size(),
+                bytes,
+                rebuilds.sum(),
+                lastRebuildMillis,
+                queries.sum()
+        );
+    }
+
+    private static int epochDay(LocalDate date) {
+        return date == null ? 0 : (int) date.toEpochDay();
+    }
+
+    private static int cancelledDay(LocalDate date) {
+        return date == null ? OrderSegment.NOT_CANCELLED : epochDay(date);
+    }
+
+    private static long minor(BigDecimal amount) {
+        return amount == null ? 0 : Money.toMinorUnits(amount);
+    }
+
+    private static String customerKey(String customerName) {
+        return customerName == null ? "" : customerName.trim().toLowerCase(Locale.ROOT);
+    }
+
+    /**
+     * Dictionaries, segments and the id index of one load, plus everything appended since.
+     */
+    private static final class Columns {
+        final Dictionary<String> customers = new Dictionary<>();
+        final Dictionary<String> itemNames = new Dictionary<>();
+        final Dictionary<Long> catalogItems = new Dictionary<>();
+
+        volatile OrderSegment[] segments = new OrderSegment[0];
+        volatile int minDay = Integer.MAX_VALUE;
+        volatile int maxDay = Integer.MIN_VALUE;
+
+        // writer only
+        private IdIndex positions = new IdIndex(16);
+        private final OrderSegment.Pending pending = new OrderSegment.Pending();
+
+        void addLine(OrderSegment.Pending order, Long catalogItemId, String itemName, BigDecimal unitPrice,
+                     Integer quantity) {
+            int units = quantity == null ? 0 : quantity;
+            order.addLine(catalogItemId == null ? OrderSegment.NO_CATALOG_ITEM : catalogItems.encode(catalogItemId),
+                    itemNames.encode(itemName == null ? "" : itemName),
+                    units, Money.lineTotal(minor(unitPrice), units));
+        }
+
+        void adopt(List<OrderSegment> loaded) {
+            int orders = 0;
+            for (OrderSegment segment : loaded) {
+                orders += segment.orders();
+            }
+            positions = new IdIndex(orders);
+            for (int s = 0; s < loaded.size(); s++) {
+                OrderSegment segment = loaded.get(s);
+                for (int row = 0; row < segment.orders(); row++) {
+                    positions.put(segment.orderId[row], IdIndex.position(s, row));
+                    widen(segment.createdDay[row]);
+                }
+            }
+            segments = loaded.toArray(new OrderSegment[0]);
+        }
+
+        void append(long id, String customerName, LocalDate created, BigDecimal total, LocalDate cancelled,
+                    List<OrderItem> items) {
+            // replayed creations may already be part of a fresh load
+            if (positions.get(id) != -1) {
+                return;
+            }
+            pending.reset(id, epochDay(created), customers.encode(customerKey(customerName)), minor(total),
+                    cancelledDay(cancelled));
+            for (OrderItem item : items) {
+                addLine(pending, item.getCatalogItemId(), item.getItemName(), item.getUnitPrice(), item.getQuantity());
+            }
+
+            OrderSegment[] current = segments;
+            OrderSegment tail = current.length == 0 ? null : current[current.length - 1];
+            if (tail == null || !tail.fits(pending)) {
+                tail = OrderSegment.forOrder(pending);
+                current = Arrays.copyOf(current, current.length + 1);
+                current[current.length - 1] = tail;
+                segments = current;
+            }
+            // day bounds first, so a query that sees the line also has a day group for it
+            widen(pending.createdDay);
+            int row = tail.append(pending);
+            positions.put(id, IdIndex.position(current.length - 1, row));
+        }
+
+        void cancel(long id, int day) {
+            long position = positions.get(id);
+            if (position != -1) {
+                OrderSegment segment = segments[IdIndex.segment(position)];
+                int row = IdIndex.row(position);
+                if (segment.cancelledDay[row] == OrderSegment.NOT_CANCELLED) {
+                    segment.cancelledDay[row] = day;
+                }
+            }
+        }
+
+        void delete(long id) {
+            long position = positions.get(id);
+            if (position != -1) {
+                segments[IdIndex.segment(position)].deleted[IdIndex.row(position)] = true;
+            }
+        }
+
+        private void widen(int day) {
+            if (day < minDay) {
+                minDay = day;
+            }
+            if (day > maxDay) {
+                maxDay = day;
+            }
+        }
+    }
+
+    /** Filters and grouping of one aggregate; null filters match everything */
+    public record AggregateQuery(
+            LocalDate start,
+            LocalDate end,
+            String customer,
+            Long catalogItemId,
+            Status status,
+            GroupBy groupBy,
+            int limit
+    ) {}
+
+    /** One group; amounts in minor units, date and item fields set only when grouped by them */
+    public record AggregateRow(
+            LocalDate date,
+            Long catalogItemId,
+            String itemName,
+            long orders,
+            long ordersTotal,
+            long lines,
+            long units,
+            long amount
+    ) {}
+
+    public record AggregateResult(List<AggregateRow> rows, long scannedLines, int segments, long tookMicros) {}
+
+    public record StoreStats(
+            boolean ready,
+            long orders,
+            long lines,
+            int segments,
+            int customers,
+            int itemNames,
+            int catalogItems,
+            long bytes,
+            long rebuilds,
+            long lastRebuildMillis,
+            long queries
+    ) {}
+}
@@ -0,0 +1,163 @@
+package com.kartikay.sales_order_management_api.columnar;
+
+import java.util.Arrays;
+
+/**
+ * A block of orders and their lines stored column by column in primitive arrays. Dates are epoch days,
+ * amounts minor units, names and catalog item ids dictionary codes. Each line points at its order's row,
+ * and the lines of one order are always contiguous and in the same segment.
+ * <p>
+ * One writer appends; readers scan up to {@link #lines()}, whose volatile write publishes every column
+ * value written before it. Cancel and delete flags are plain writes published by the store.
+ */
+final class OrderSegment {
+
+    /** Lines (and orders) per segment, which is also the unit of parallel work */
+    static final int CAPACITY = 1 << 16;
+
+    static final int NOT_CANCELLED = Integer.MIN_VALUE;
+    static final int NO_CATALOG_ITEM = -1;
+
+    // order columns, indexed by row
+    final long[] orderId;
+    final int[] createdDay;
+    final int[] customer;
+    final long[] total;
+    final int[] cancelledDay;
+    final boolean[] deleted;
+
+    // line columns
+    final int[] lineOrder;
+    final int[] catalogItem;
+    final int[] itemName;
+    final int[] quantity;
+    final long[] amount;
+
+    private volatile int orderCount;
+    private volatile int lineCount;
+
+    private OrderSegment(int orderCapacity, int lineCapacity) {
+        orderId = new long[orderCapacity];
+        createdDay = new int[orderCapacity];
+        customer = new int[orderCapacity];
+        total = new long[orderCapacity];
+        cancelledDay = new int[orderCapacity];
+        deleted = new boolean[orderCapacity];
+        lineOrder = new int[lineCapacity];
+        catalogItem = new int[lineCapacity];
+        itemName = new int[lineCapacity];
+        quantity = new int[lineCapacity];
+        amount = new long[lineCapacity];
+    }
+
+    /** An empty segment with room for {@code order}, even when it alone has more than {@link #CAPACITY} lines */
+    static OrderSegment forOrder(Pending order) {
+        return new OrderSegment(CAPACITY, Math.max(CAPACITY, order.lines));
+    }
+
+    int orders() {
+        return orderCount;
+    }
+
+    int lines() {
+        return lineCount;
+    }
+
+    boolean fits(Pending order) {
+        return orderCount < orderId.length && lineCount + order.lines <= lineOrder.length;
+    }
+
+    /**
+     * Appends an order with its lines and publishes them; returns the order's row.
+     */
+    int append(Pending order) {
+        int row = orderCount;
+        orderId[row] = order.id;
+        createdDay[row] = order.createdDay;
+        customer[row] = order.customer;
+        total[row] = order.total;
+        cancelledDay[row] = order.cancelledDay;
+
+        int line = lineCount;
+        for (int i = 0; i < order.lines; i++, line++) {
+            lineOrder[line] = row;
+            catalogItem[line] = order.catalogItem[i];
+            itemName[line] = order.itemName[i];
+            quantity[line] = order.quantity[i];
+            amount[line] = order.amount[i];
+        }
+        orderCount = row + 1;
+        lineCount = line;
+        return row;
+    }
+
+    /**
+     * Copy with arrays cut to the current size, for segments that will not be appended to again.
+     */
+    OrderSegment trimmed() {
+        return new OrderSegment(this);
+    }
+
+    private OrderSegment(OrderSegment source) {
+        int orders = source.orderCount;
+        int lines = source.lineCount;
+        orderId = Arrays.copyOf(source.orderId, orders);
+        createdDay = Arrays.copyOf(source.createdDay, orders);
+        customer = Arrays.copyOf(source.customer, orders);
+        total = Arrays.copyOf(source.total, orders);
+        cancelledDay = Arrays.copyOf(source.cancelledDay, orders);
+        deleted = Arrays.copyOf(source.deleted, orders);
+        lineOrder = Arrays.copyOf(source.lineOrder, lines);
+        catalogItem = Arrays.copyOf(source.catalogItem, lines);
+        itemName = Arrays.copyOf(source.itemName, lines);
+        quantity = Arrays.copyOf(source.quantity, lines);
+        amount = Arrays.copyOf(source.amount, lines);
+        orderCount = orders;
+        lineCount = lines;
+    }
+
+    long bytes() {
+        return orderId.length * 33L + lineOrder.length * 24L;
+    }
+
+    /**
+     * One order being assembled from rows or an entity before it is appended. Reused by its owner.
+     */
+    static final class Pending {
+        long id;
+        int createdDay;
+        int customer;
+        long total;
+        int cancelledDay;
+
+        int lines;
+        int[] catalogItem = new int[8];
+        int[] itemName = new int[8];
+        int[] quantity = new int[8];
+        long[] amount = new long[8];
+
+        void reset(long id, int createdDay, int customer, long total, int cancelledDay) {
+            this.id = id;
+            this.createdDay = createdDay;
+            this.customer = customer;
+            this.total = total;
+            this.cancelledDay = cancelledDay;
+            this.lines = 0;
+        }
+
+        void addLine(int catalogItem, int itemName, int quantity, long amount) {
+            if (lines == this.catalogItem.length) {
+                int grown = lines * 2;
+                this.catalogItem = Arrays.copyOf(this.catalogItem, grown);
+                this.itemName = Arrays.copyOf(this.itemName, grown);
+                this.quantity = Arrays.copyOf(this.quantity, grown);
+                this.amount = Arrays.copyOf(this.amount, grown);
+            }
+            this.catalogItem[lines] = catalogItem;
+            this.itemName[lines] = itemName;
+            this.quantity[lines] = quantity;
+            this.amount[lines] = amount;
+            lines++;
+        }
+    }
+}
@@ -0,0 +1,95 @@
+package com.kartikay.sales_order_management_api.config;
+
+import com.kartikay.sales_order_management_api.cache.RecentOrderCache;
+import com.kartikay.sales_order_management_api.security.JwtTokenUtil;
+import com.kartikay.sales_order_management_api.security.PasswordHashingExecutor;
+import com.kartikay.sales_order_management_api.security.RateLimitFilter;
+import com.kartikay.sales_order_management_api.service.CatalogService;
+import com.kartikay.sales_order_management_api.service.TokenRevocationService;
+import io.micrometer.core.instrument.FunctionCounter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.binder.MeterBinder;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+
+/**
+ * Publishes the counters our caches, limiters and pools already keep as Micrometer meters.
+ * Values are read at scrape time, so nothing extra runs on the request path.
+ */
+@Configuration
+public class MetricsConfig {
+
+    @Bean
+    public MeterBinder catalogSnapshotMetrics(CatalogService catalogService) {
+        return registry -> {
+            FunctionCounter.builder("catalog.snapshot.lookups", catalogService, c -> c.getCacheStats().hits())
+                    .tag("result", "hit").register(registry);
+            FunctionCounter.builder("catalog.snapshot.lookups", catalogService, c -> c.getCacheStats().misses())
+                    .tag("result", "miss").register(registry);
+            FunctionCounter.builder("catalog.snapshot.rebuilds", catalogService, c -> c.getCacheStats().rebuilds())
+                    .register(registry);
+            Gauge.builder("catalog.snapshot.size", catalogService, c -> c.getCacheStats().size())
+                    .register(registry);
+            Gauge.builder("catalog.snapshot.version", catalogService, c -> c.getCacheStats().version())
+                    .register(registry);
+        };
+    }
+
+    @Bean
+    public MeterBinder recentOrderCacheMetrics(RecentOrderCache cache) {
+        return registry -> {
+            FunctionCounter.builder("orders.cache.lookups", cache, c -> c.getStats().hits())
+                    .tag("result", "hit").register(registry);
+            FunctionCounter.builder("orders.cache.lookups", cache, c -> c.getStats().misses())
+                    .tag("result", "miss").register(registry);
+            FunctionCounter.builder("orders.cache.evictions", cache, c -> c.getStats().sizeEvictions())
+                    .tag("cause", "size").register(registry);
+            FunctionCounter.builder("orders.cache.evictions", cache, c -> c.getStats().ageEvictions())
+                    .tag("cause", "age").register(registry);
+            Gauge.builder("orders.cache.size", cache, c -> c.getStats().entries())
+                    .register(registry);
+            Gauge.builder("orders.cache.bytes", cache, c -> c.getStats().bytesUsed())
+                    .register(registry);
+        };
+    }
+
+    @Bean
+    public MeterBinder jwtMetrics(JwtTokenUtil jwtUtil, TokenRevocationService revocationService) {
+        return registry -> {
+            FunctionCounter.builder("security.jwt.cache.lookups", jwtUtil, j -> j.getCacheStats().hits())
+                    .tag("result", "hit").register(registry);
+            FunctionCounter.builder("security.jwt.cache.lookups", jwtUtil, j -> j.getCacheStats().misses())
+                    .tag("result", "miss").register(registry);
+            FunctionCounter.builder("security.jwt.cache.evictions", jwtUtil, j -> j.getCacheStats().evictions())
+                    .register(registry);
+            Gauge.builder("security.jwt.cache.size", jwtUtil, j -> j.getCacheStats().size())
+                    .register(registry);
+            Gauge.builder("security.jwt.revoked.tokens", revocationService, r -> r.getStats().revokedTokens())
+                    .register(registry);
+            Gauge.builder("security.jwt.revoked.users", revocationService, r -> r.getStats().userEpochs())
+                    .register(registry);
+        };
+    }
+
+    @Bean
+    public MeterBinder admissionMetrics(RateLimitFilter rateLimitFilter, PasswordHashingExecutor hashingExecutor) {
+        return registry -> {
+            FunctionCounter.builder("admission.rate.limited", rateLimitFilter, f -> f.getStats().rateLimited())
+                    .register(registry);
+            for (RateLimitFilter.EndpointGroup group : RateLimitFilter.EndpointGroup.values()) {
+                String tag = group.name().toLowerCase().replace('_', '-');
+                FunctionCounter.builder("admission.concurrency.rejected", rateLimitFilter,
+                                f -> f.getStats().concurrencyRejected().get(group))
+                        .tag("group", tag).register(registry);
+                Gauge.builder("admission.in.flight", rateLimitFilter, f -> f.getStats().inFlight().get(group))
+                        .tag("group", tag).register(registry);
+            }
+            Gauge.builder("security.password.hashing.queue", hashingExecutor, PasswordHashingExecutor::getQueueDepth)
+                    .register(registry);
+            Gauge.builder("security.password.hashing.active", hashingExecutor, PasswordHashingExecutor::getActiveCount)
+                    .register(registry);
+            FunctionCounter.builder("security.password.hashing.rejected", hashingExecutor,
+                    PasswordHashingExecutor::getRejectedCount).register(registry);
+        };
+    }
+}
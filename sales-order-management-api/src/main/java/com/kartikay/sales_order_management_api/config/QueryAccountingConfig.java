@@ -0,0 +1,28 @@
+package com.kartikay.sales_order_management_api.config;
+
+import com.kartikay.sales_order_management_api.jdbc.AccountingDataSource;
+import org.springframework.beans.factory.config.BeanPostProcessor;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+
+import javax.sql.DataSource;
+
+@Configuration
+public class QueryAccountingConfig {
+
+    /**
+     * Wraps the application DataSource for per-request JDBC accounting; see {@link AccountingDataSource}.
+     */
+    @Bean
+    public static BeanPostProcessor accountingDataSourcePostProcessor() {
+        return new BeanPostProcessor() {
+            @Override
+            public Object postProcessAfterInitialization(Object bean, String beanName) {
+                if (bean instanceof DataSource dataSource && !(bean instanceof AccountingDataSource)) {
+                    return new AccountingDataSource(dataSource);
+                }
+                return bean;
+            }
+        };
+    }
+}
@@ -1,7 +1,9 @@
 package com.kartikay.sales_order_management_api.config;
 
 import com.kartikay.sales_order_management_api.security.JwtAuthenticationFilter;
+import com.kartikay.sales_order_management_api.security.RateLimitFilter;
 import com.kartikay.sales_order_management_api.service.impl.UserDetailsServiceImpl;
+import jakarta.servlet.DispatcherType;
 import org.springframework.context.annotation.Bean;
 import org.springframework.context.annotation.Configuration;
 import org.springframework.security.authentication.AuthenticationManager;
@@ -22,10 +24,13 @@ public class
 SecurityConfig {
 
     private final JwtAuthenticationFilter jwtAuthFilter;
+    private final RateLimitFilter rateLimitFilter;
     private final UserDetailsServiceImpl userDetailsService;
 
-    public SecurityConfig(JwtAuthenticationFilter jwtAuthFilter, UserDetailsServiceImpl userDetailsService) {
+    public SecurityConfig(JwtAuthenticationFilter jwtAuthFilter, RateLimitFilter rateLimitFilter,
+                          UserDetailsServiceImpl userDetailsService) {
         this.jwtAuthFilter = jwtAuthFilter;
+        this.rateLimitFilter = rateLimitFilter;
         this.userDetailsService = userDetailsService;
     }
 
@@ -35,9 +40,16 @@ SecurityConfig {
                 .csrf(csrf -> csrf.disable())
                 .sessionManagement(sess -> sess.sessionCreationPolicy(SessionCreationPolicy.STATELESS))
                 .authorizeHttpRequests(auth -> auth
+                        // Re-dispatches of already authorized requests (streamed responses, error pages)
+                        .dispatcherTypeMatchers(DispatcherType.ASYNC, DispatcherType.ERROR).permitAll()
+
                         // Public endpoints
                         .requestMatchers("/api/v1/auth/**", "/h2-console/**").permitAll()
 
+                        // Health probes are open; every other actuator endpoint, Prometheus included, is ADMIN only
+                        .requestMatchers("/actuator/health/**").permitAll()
+                        .requestMatchers("/actuator/**").hasRole("ADMIN")
+
                         // Catalog GET endpoints accessible by both USER and ADMIN
                         .requestMatchers("/api/v1/catalog", "/api/v1/catalog/**").hasAnyRole("USER", "ADMIN")
 
@@ -46,7 +58,9 @@ SecurityConfig {
                 )
                 .headers(headers -> headers.frameOptions(frame -> frame.sameOrigin())) // for H2 console
                 .authenticationProvider(authenticationProvider())
-                .addFilterBefore(jwtAuthFilter, UsernamePasswordAuthenticationFilter.class);
+                .addFilterBefore(jwtAuthFilter, UsernamePasswordAuthenticationFilter.class)
+                // Admission control needs the authenticated user but must run before any controller
+                .addFilterAfter(rateLimitFilter, JwtAuthenticationFilter.class);
 
         return http.build();
     }
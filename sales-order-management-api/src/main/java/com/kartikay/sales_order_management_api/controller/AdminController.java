@@ -0,0 +1,148 @@
+package com.kartikay.sales_order_management_api.controller;
+
+import com.kartikay.sales_order_management_api.analytics.OrderStreamAnalytics;
+import com.kartikay.sales_order_management_api.cache.RecentOrderCache;
+import com.kartikay.sales_order_management_api.columnar.OrderColumnStore;
+import com.kartikay.sales_order_management_api.report.SalesRollupService;
+import com.kartikay.sales_order_management_api.search.OrderSearchIndex;
+import com.kartikay.sales_order_management_api.security.RateLimitFilter;
+import com.kartikay.sales_order_management_api.service.AsyncOrderService;
+import com.kartikay.sales_order_management_api.service.ProfilingService;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.MediaType;
+import org.springframework.http.ResponseEntity;
+import org.springframework.security.access.prepost.PreAuthorize;
+import org.springframework.web.bind.annotation.*;
+import org.springframework.web.servlet.mvc.method.annotation.StreamingResponseBody;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.time.Duration;
+import java.util.List;
+
+/**
+ * Operational endpoints for administrators
+ */
+@RestController
+@RequestMapping("/api/v1/admin")
+@PreAuthorize("hasRole('ADMIN')")
+public class AdminController {
+
+    private final RateLimitFilter rateLimitFilter;
+    private final ProfilingService profilingService;
+    private final OrderSearchIndex orderSearchIndex;
+    private final SalesRollupService salesRollupService;
+    private final OrderStreamAnalytics orderStreamAnalytics;
+    private final OrderColumnStore orderColumnStore;
+    private final AsyncOrderService asyncOrderService;
+    private final RecentOrderCache recentOrderCache;
+
+    public AdminController(RateLimitFilter rateLimitFilter, ProfilingService profilingService,
+                           OrderSearchIndex orderSearchIndex, SalesRollupService salesRollupService,
+                           OrderStreamAnalytics orderStreamAnalytics, OrderColumnStore orderColumnStore,
+                           AsyncOrderService asyncOrderService, RecentOrderCache recentOrderCache) {
+        this.rateLimitFilter = rateLimitFilter;
+        this.profilingService = profilingService;
+        this.orderSearchIndex = orderSearchIndex;
+        this.salesRollupService = salesRollupService;
+        this.orderStreamAnalytics = orderStreamAnalytics;
+        this.orderColumnStore = orderColumnStore;
+        this.asyncOrderService = asyncOrderService;
+        this.recentOrderCache = recentOrderCache;
+    }
+
+    // GET admission control rejection counters and in-flight requests per endpoint group
+    @GetMapping("/rate-limits")
+    public RateLimitFilter.RateLimitStats rateLimitStats() {
+        return rateLimitFilter.getStats();
+    }
+
+    // GET size and state of the order search index
+    @GetMapping("/search-index")
+    public OrderSearchIndex.IndexStats searchIndexStats() {
+        return orderSearchIndex.getStats();
+    }
+
+    // POST rebuild the order search index from the database (drops delete tombstones)
+    @PostMapping("/search-index/rebuild")
+    public OrderSearchIndex.IndexStats rebuildSearchIndex() {
+        return orderSearchIndex.rebuild();
+    }
+
+    // GET size and state of the in-memory order column store
+    @GetMapping("/order-columns")
+    public OrderColumnStore.StoreStats orderColumnStats() {
+        return orderColumnStore.getStats();
+    }
+
+    // POST reload the order column store from the database
+    @PostMapping("/order-columns/rebuild")
+    public OrderColumnStore.StoreStats rebuildOrderColumns() {
+        return orderColumnStore.rebuild();
+    }
+
+    // GET size, hit and eviction counters of the off-heap recent orders cache
+    @GetMapping("/order-cache")
+    public RecentOrderCache.CacheStats orderCacheStats() {
+        return recentOrderCache.getStats();
+    }
+
+    // GET journal position, group commit and drain counters of asynchronous order acceptance
+    @GetMapping("/order-journal")
+    public AsyncOrderService.AsyncStats orderJournalStats() {
+        return asyncOrderService.getStats();
+    }
+
+    // GET pending deltas and applier counters of the sales rollups
+    @GetMapping("/sales-rollups")
+    public SalesRollupService.RollupStats salesRollupStats() {
+        return salesRollupService.getStats();
+    }
+
+    // POST recompute the sales rollups from the orders table (backfill or repair)
+    @PostMapping("/sales-rollups/rebuild")
+    public SalesRollupService.RebuildResult rebuildSalesRollups() {
+        return salesRollupService.rebuild();
+    }
+
+    // GET approximate live order figures (distinct customers, total quantiles, top items) per sliding window
+    @GetMapping("/order-analytics")
+    public OrderStreamAnalytics.AnalyticsSnapshot orderAnalytics(
+            @RequestParam(defaultValue = "1,5,15,60") List<Integer> minutes,
+            @RequestParam(defaultValue = "10") int top) {
+        return orderStreamAnalytics.snapshot(minutes, top);
+    }
+
+    // POST start a bounded JFR recording; it stops by itself after durationSeconds
+    @PostMapping("/profiling/start")
+    public ProfilingService.RecordingStatus startProfiling(
+            @RequestParam(defaultValue = "60") long durationSeconds,
+            @RequestParam(defaultValue = "profile") String settings) {
+        return profilingService.start(Duration.ofSeconds(durationSeconds), settings);
+    }
+
+    // GET state and size of the current recording
+    @GetMapping("/profiling")
+    public ProfilingService.RecordingStatus profilingStatus() {
+        return profilingService.status();
+    }
+
+    // POST stop the recording and download it as a .jfr file
+    @PostMapping("/profiling/stop")
+    public ResponseEntity<StreamingResponseBody> stopProfiling() throws IOException {
+        Path file = profilingService.stop();
+        StreamingResponseBody body = out -> {
+            try {
+                Files.copy(file, out);
+            } finally {
+                Files.deleteIfExists(file);
+            }
+        };
+        return ResponseEntity.ok()
+                .header(HttpHeaders.CONTENT_DISPOSITION, "attachment; filename=\"" + file.getFileName() + "\"")
+                .contentLength(Files.size(file))
+                .contentType(MediaType.APPLICATION_OCTET_STREAM)
+                .body(body);
+    }
+}
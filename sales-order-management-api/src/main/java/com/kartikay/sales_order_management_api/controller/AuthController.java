@@ -4,13 +4,24 @@ import com.kartikay.sales_order_management_api.domain.Role;
 import com.kartikay.sales_order_management_api.domain.User;
 import com.kartikay.sales_order_management_api.dto.AuthRequest;
 import com.kartikay.sales_order_management_api.dto.AuthResponse;
+import com.kartikay.sales_order_management_api.dto.RefreshRequest;
 import com.kartikay.sales_order_management_api.dto.RegisterRequest;
 import com.kartikay.sales_order_management_api.repository.RoleRepository;
 import com.kartikay.sales_order_management_api.repository.UserRepository;
+import com.kartikay.sales_order_management_api.security.JwtPrincipal;
 import com.kartikay.sales_order_management_api.security.JwtTokenUtil;
+import com.kartikay.sales_order_management_api.security.PasswordHashingExecutor;
+import com.kartikay.sales_order_management_api.security.VerifiedTokenCache;
+import com.kartikay.sales_order_management_api.service.TokenRevocationService;
+import com.kartikay.sales_order_management_api.service.impl.UserDetailsServiceImpl;
+import org.springframework.http.HttpHeaders;
 import org.springframework.http.ResponseEntity;
+import org.springframework.security.access.prepost.PreAuthorize;
 import org.springframework.security.authentication.*;
 import org.springframework.security.core.Authentication;
+import org.springframework.security.core.GrantedAuthority;
+import org.springframework.security.core.userdetails.UserDetails;
+import org.springframework.security.core.userdetails.UsernameNotFoundException;
 import org.springframework.security.crypto.password.PasswordEncoder;
 import org.springframework.web.bind.annotation.*;
 
@@ -26,15 +37,23 @@ public class AuthController {
     private final RoleRepository roleRepository;
     private final PasswordEncoder passwordEncoder;
     private final JwtTokenUtil jwtUtil;
+    private final UserDetailsServiceImpl userDetailsService;
+    private final PasswordHashingExecutor hashingExecutor;
+    private final TokenRevocationService revocationService;
 
     public AuthController(AuthenticationManager authManager, UserRepository userRepository,
                           RoleRepository roleRepository, PasswordEncoder passwordEncoder,
-                          JwtTokenUtil jwtUtil) {
+                          JwtTokenUtil jwtUtil, UserDetailsServiceImpl userDetailsService,
+                          PasswordHashingExecutor hashingExecutor,
+                          TokenRevocationService revocationService) {
         this.authManager = authManager;
         this.userRepository = userRepository;
         this.roleRepository = roleRepository;
         this.passwordEncoder = passwordEncoder;
         this.jwtUtil = jwtUtil;
+        this.userDetailsService = userDetailsService;
+        this.hashingExecutor = hashingExecutor;
+        this.revocationService = revocationService;
     }
 
     @PostMapping("/register")
@@ -45,7 +64,7 @@ public class AuthController {
 
         User user = new User();
         user.setUsername(req.username());
-        user.setPassword(passwordEncoder.encode(req.password()));
+        user.setPassword(hashingExecutor.execute(() -> passwordEncoder.encode(req.password())));
 
         // assigning ROLE_USER by default
         Role userRole = roleRepository.findByName("ROLE_USER")
@@ -53,24 +72,85 @@ public class AuthController {
         user.getRoles().add(userRole);
 
         userRepository.save(user);
+        userDetailsService.evict(user.getUsername());
         return ResponseEntity.ok("User created");
     }
 
     @PostMapping("/login")
     public ResponseEntity<AuthResponse> login(@RequestBody AuthRequest req) {
         try {
-            Authentication auth = authManager.authenticate(
+            // BCrypt check runs on the bounded hashing pool
+            Authentication auth = hashingExecutor.execute(() -> authManager.authenticate(
                     new UsernamePasswordAuthenticationToken(req.username(), req.password())
-            );
+            ));
 
-            // build token
-            User user = userRepository.findByUsername(req.username()).orElseThrow();
-            var roles = user.getRoles().stream().map(Role::getName).collect(Collectors.toList());
-            String token = jwtUtil.generateToken(user.getUsername(), roles);
-            return ResponseEntity.ok(new AuthResponse(token));
+            // build token from the authorities already loaded during authentication
+            return ResponseEntity.ok(issueTokens(auth.getName(), auth.getAuthorities()));
         } catch (BadCredentialsException ex) {
             return ResponseEntity.status(401).build();
         }
     }
-}
 
+    @PostMapping("/refresh")
+    public ResponseEntity<AuthResponse> refresh(@RequestBody RefreshRequest req) {
+        JwtPrincipal refreshToken = req.refreshToken() == null ? null : jwtUtil.verifyRefreshToken(req.refreshToken());
+        if (refreshToken == null || revocationService.isRevoked(refreshToken)) {
+            return ResponseEntity.status(401).build();
+        }
+
+        try {
+            // reload so role changes since the last login are picked up; no password check needed
+            UserDetails user = userDetailsService.loadUserByUsername(refreshToken.username());
+
+            // rotate: each refresh token can be exchanged only once, so of two concurrent refreshes one loses
+            if (!revocationService.revoke(refreshToken)) {
+                return ResponseEntity.status(401).build();
+            }
+            return ResponseEntity.ok(issueTokens(user.getUsername(), user.getAuthorities()));
+        } catch (UsernameNotFoundException ex) {
+            return ResponseEntity.status(401).build();
+        }
+    }
+
+    // Revoke the caller's access token, and the refresh token if one is sent
+    @PostMapping("/logout")
+    public ResponseEntity<Void> logout(@RequestHeader(value = HttpHeaders.AUTHORIZATION, required = false) String authHeader,
+                                       @RequestBody(required = false) RefreshRequest req) {
+        JwtPrincipal accessToken = authHeader != null && authHeader.startsWith("Bearer ")
+                ? jwtUtil.verify(authHeader.substring(7))
+                : null;
+        if (accessToken == null || revocationService.isRevoked(accessToken)) {
+            return ResponseEntity.status(401).build();
+        }
+        revocationService.revoke(accessToken);
+
+        if (req != null && req.refreshToken() != null) {
+            JwtPrincipal refreshToken = jwtUtil.verifyRefreshToken(req.refreshToken());
+            if (refreshToken != null && refreshToken.username().equals(accessToken.username())) {
+                revocationService.revoke(refreshToken);
+            }
+        }
+        return ResponseEntity.noContent().build();
+    }
+
+    // Revoke every token issued to a user so far (ADMIN)
+    @PreAuthorize("hasRole('ADMIN')")
+    @PostMapping("/users/{username}/revoke")
+    public ResponseEntity<Void> revokeAll(@PathVariable String username) {
+        revocationService.revokeAllFor(username);
+        userDetailsService.evict(username);
+        return ResponseEntity.noContent().build();
+    }
+
+    private AuthResponse issueTokens(String username, Collection<? extends GrantedAuthority> authorities) {
+        var roles = authorities.stream().map(GrantedAuthority::getAuthority).collect(Collectors.toList());
+        return new AuthResponse(jwtUtil.generateToken(username, roles), jwtUtil.generateRefreshToken(username));
+    }
+
+    // GET verified-token cache counters (ADMIN)
+    @PreAuthorize("hasRole('ADMIN')")
+    @GetMapping("/token-cache/stats")
+    public VerifiedTokenCache.Stats tokenCacheStats() {
+        return jwtUtil.getCacheStats();
+    }
+}
@@ -30,6 +30,13 @@ public class CatalogController {
                 .toList();
     }
 
+    // GET snapshot cache counters (ADMIN)
+    @PreAuthorize("hasRole('ADMIN')")
+    @GetMapping("/stats")
+    public CatalogService.CatalogCacheStats getCacheStats() {
+        return catalogService.getCacheStats();
+    }
+
     //GET single item by ID
     @GetMapping("/{id}")
     public CatalogDTO getById(@PathVariable Long id) {
@@ -1,27 +1,69 @@
 package com.kartikay.sales_order_management_api.controller;
 
+import com.kartikay.sales_order_management_api.cache.RecentOrderCache;
 import com.kartikay.sales_order_management_api.domain.Order;
+import com.kartikay.sales_order_management_api.dto.AsyncOrderStatusDTO;
+import com.kartikay.sales_order_management_api.dto.BatchOrderResponseDTO;
+import com.kartikay.sales_order_management_api.dto.BulkOrderRequestDTO;
+import com.kartikay.sales_order_management_api.dto.BulkOrderResponseDTO;
+import com.kartikay.sales_order_management_api.dto.CursorPageDTO;
+import com.kartikay.sales_order_management_api.dto.OrderCursor;
 import com.kartikay.sales_order_management_api.dto.OrderItemDTO;
 import com.kartikay.sales_order_management_api.dto.OrderRequestDTO;
 import com.kartikay.sales_order_management_api.dto.OrderResponseDTO;
+import com.kartikay.sales_order_management_api.dto.OrderSearchResponseDTO;
+import com.kartikay.sales_order_management_api.exception.InvalidOperationException;
+import com.kartikay.sales_order_management_api.jfr.OrderMappingEvent;
+import com.kartikay.sales_order_management_api.search.OrderSearchIndex;
+import com.kartikay.sales_order_management_api.service.AsyncOrderService;
+import com.kartikay.sales_order_management_api.service.OrderBatchService;
+import com.kartikay.sales_order_management_api.service.OrderBulkService;
+import com.kartikay.sales_order_management_api.service.OrderExportService;
 import com.kartikay.sales_order_management_api.service.OrderService;
+import jakarta.servlet.http.HttpServletRequest;
 import jakarta.validation.Valid;
 import org.springframework.data.domain.*;
 import org.springframework.format.annotation.DateTimeFormat;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.MediaType;
+import org.springframework.http.ResponseEntity;
 import org.springframework.security.access.prepost.PreAuthorize;
 import org.springframework.web.bind.annotation.*;
+import org.springframework.web.servlet.mvc.method.annotation.StreamingResponseBody;
 
+import java.io.IOException;
+import java.net.URI;
+import java.nio.charset.StandardCharsets;
 import java.time.LocalDate;
 import java.util.List;
+import java.util.Set;
 
 @RestController
 @RequestMapping("/api/v1/orders")
 public class OrderController {
 
     private final OrderService orderService;
+    private final OrderExportService orderExportService;
+    private final OrderBatchService orderBatchService;
+    private final OrderSearchIndex orderSearchIndex;
+    private final OrderBulkService orderBulkService;
+    private final AsyncOrderService asyncOrderService;
+    private final RecentOrderCache recentOrders;
 
-    public OrderController(OrderService orderService) {
+    // Sort fields backed by an index (see V4__order_listing_indexes.sql); id is always appended as tie-breaker
+    static final Set<String> SORTABLE_FIELDS = Set.of("creationDate", "customerName", "id");
+
+    public OrderController(OrderService orderService, OrderExportService orderExportService,
+                           OrderBatchService orderBatchService, OrderSearchIndex orderSearchIndex,
+                           OrderBulkService orderBulkService, AsyncOrderService asyncOrderService,
+                           RecentOrderCache recentOrders) {
         this.orderService = orderService;
+        this.orderExportService = orderExportService;
+        this.orderBatchService = orderBatchService;
+        this.orderSearchIndex = orderSearchIndex;
+        this.orderBulkService = orderBulkService;
+        this.asyncOrderService = asyncOrderService;
+        this.recentOrders = recentOrders;
     }
 
     /**
@@ -39,6 +81,46 @@ public class OrderController {
         return mapToResponse(order);
     }
 
+    /**
+     * Accept an order for asynchronous creation: validated, priced and journaled to local disk, then written
+     * to the database in the background. Returns 202 with a reference to poll under {@code /async/{reference}}.
+     * Accessible by USER or ADMIN
+     */
+    @PostMapping("/async")
+    @PreAuthorize("hasAnyRole('USER','ADMIN')")
+    public ResponseEntity<AsyncOrderStatusDTO> acceptOrder(@Valid @RequestBody OrderRequestDTO request) {
+        List<OrderService.OrderItemRequest> items = request.items().stream()
+                .map(i -> new OrderService.OrderItemRequest(i.catalogItemId(), i.quantity()))
+                .toList();
+
+        String reference = asyncOrderService.accept(request.customerName(), items);
+        return ResponseEntity.accepted()
+                .location(URI.create("/api/v1/orders/async/" + reference))
+                .body(new AsyncOrderStatusDTO(reference, AsyncOrderService.Status.ACCEPTED.name(), null, null));
+    }
+
+    /**
+     * Status of an asynchronously accepted order: ACCEPTED, CREATED (with its id) or FAILED (with the reason)
+     * Accessible by USER or ADMIN
+     */
+    @GetMapping("/async/{reference}")
+    @PreAuthorize("hasAnyRole('USER','ADMIN')")
+    public AsyncOrderStatusDTO getAcceptedOrder(@PathVariable String reference) {
+        AsyncOrderService.AcceptedOrderStatus status = asyncOrderService.status(reference);
+        return new AsyncOrderStatusDTO(status.reference(), status.status().name(), status.orderId(), status.error());
+    }
+
+    /**
+     * Create many orders from one JSON array, parsed incrementally and persisted in chunked transactions.
+     * Returns the outcome of every order by its position in the array.
+     * Accessible by USER or ADMIN
+     */
+    @PostMapping(value = "/batch", consumes = MediaType.APPLICATION_JSON_VALUE)
+    @PreAuthorize("hasAnyRole('USER','ADMIN')")
+    public BatchOrderResponseDTO createOrdersBatch(HttpServletRequest request) throws IOException {
+        return orderBatchService.ingest(request.getInputStream());
+    }
+
     /**
      * List all orders (with optional filters, pagination, and sorting)
      * Accessible by USER or ADMIN
@@ -55,25 +137,111 @@ public class OrderController {
             @RequestParam(defaultValue = "10") int size,
             @RequestParam(defaultValue = "creationDate,desc") String sort) {
 
-        String[] sortParts = sort.split(",");
-        String sortField = sortParts[0];
-        Sort.Direction direction = (sortParts.length > 1 && sortParts[1].equalsIgnoreCase("asc"))
-                ? Sort.Direction.ASC : Sort.Direction.DESC;
-
-        Pageable pageable = PageRequest.of(page, size, Sort.by(direction, sortField));
+        Pageable pageable = PageRequest.of(page, size, parseSort(sort));
 
         Page<Order> orders = orderService.listOrders(customerName, start, end, pageable);
-        return orders.map(this::mapToResponse);
+        return orders.map(OrderController::mapToResponse);
+    }
+
+    /**
+     * Keyset (cursor) listing, newest first, selected by passing {@code cursor} (empty for the first page).
+     * Supports the same filters but skips the total count; sort is always creationDate,id descending.
+     * Accessible by USER or ADMIN
+     */
+    @GetMapping(params = "cursor")
+    @PreAuthorize("hasAnyRole('USER','ADMIN')")
+    public CursorPageDTO<OrderResponseDTO> listOrdersByCursor(
+            @RequestParam(required = false) String customerName,
+            @RequestParam(required = false)
+            @DateTimeFormat(iso = DateTimeFormat.ISO.DATE) LocalDate start,
+            @RequestParam(required = false)
+            @DateTimeFormat(iso = DateTimeFormat.ISO.DATE) LocalDate end,
+            @RequestParam String cursor,
+            @RequestParam(defaultValue = "10") int size) {
+
+        if (size < 1) {
+            throw new InvalidOperationException("Page size must be at least 1");
+        }
+
+        return toCursorPage(
+                orderService.listOrdersAfter(customerName, start, end, OrderCursor.decode(cursor), size));
+    }
+
+    /**
+     * Cursor page for a keyset slice; {@code nextCursor} points at its last order and is null on the last page.
+     */
+    static CursorPageDTO<OrderResponseDTO> toCursorPage(Slice<Order> orders) {
+        List<OrderResponseDTO> content = orders.getContent().stream().map(OrderController::mapToResponse).toList();
+        String nextCursor = null;
+        if (orders.hasNext()) {
+            Order last = orders.getContent().get(orders.getNumberOfElements() - 1);
+            nextCursor = new OrderCursor(last.getCreationDate(), last.getId()).encode();
+        }
+        return new CursorPageDTO<>(content, content.size(), orders.hasNext(), nextCursor);
+    }
+
+    /**
+     * Case-insensitive substring search on customer name and/or item name, served from the in-memory index.
+     * Returns matching order ids newest first; fetch details through {@code GET /{id}}.
+     * Accessible by USER or ADMIN
+     */
+    @GetMapping("/search")
+    @PreAuthorize("hasAnyRole('USER','ADMIN')")
+    public OrderSearchResponseDTO searchOrders(
+            @RequestParam(required = false) String customer,
+            @RequestParam(required = false) String item,
+            @RequestParam(defaultValue = "all") String status,
+            @RequestParam(defaultValue = "50") int limit) {
+
+        OrderSearchIndex.SearchResult result = orderSearchIndex.search(customer, item,
+                OrderSearchIndex.Status.parse(status), limit);
+        return new OrderSearchResponseDTO(result.totalMatches(), result.orderIds().size(),
+                result.orderIds(), result.tookMicros());
+    }
+
+    /**
+     * Stream all matching orders as NDJSON (one order per line) or CSV (one line item per row).
+     * Accepts the same filters as the listing; memory use does not grow with the number of rows.
+     * Accessible by USER or ADMIN
+     */
+    @GetMapping("/export")
+    @PreAuthorize("hasAnyRole('USER','ADMIN')")
+    public ResponseEntity<StreamingResponseBody> exportOrders(
+            @RequestParam(required = false) String customerName,
+            @RequestParam(required = false)
+            @DateTimeFormat(iso = DateTimeFormat.ISO.DATE) LocalDate start,
+            @RequestParam(required = false)
+            @DateTimeFormat(iso = DateTimeFormat.ISO.DATE) LocalDate end,
+            @RequestParam(defaultValue = "ndjson") String format) {
+
+        OrderExportService.Format exportFormat = OrderExportService.Format.parse(format);
+        MediaType mediaType = exportFormat == OrderExportService.Format.CSV
+                ? new MediaType("text", "csv", StandardCharsets.UTF_8)
+                : MediaType.parseMediaType("application/x-ndjson");
+        String filename = "orders." + exportFormat.name().toLowerCase();
+
+        StreamingResponseBody body = out -> orderExportService.export(exportFormat, customerName, start, end, out);
+        return ResponseEntity.ok()
+                .contentType(mediaType)
+                .header(HttpHeaders.CONTENT_DISPOSITION, "attachment; filename=\"" + filename + "\"")
+                .body(body);
     }
 
     /**
      * Get a single order by ID
-     * Returns customer info, items, subtotal, VAT, and total
+     * Returns customer info, items, subtotal, VAT, and total; recent orders are served from the off-heap cache
      */
     @GetMapping("/{id}")
     @PreAuthorize("hasAnyRole('USER','ADMIN')")
     public OrderResponseDTO getOrderById(@PathVariable Long id) {
-        return mapToResponse(orderService.getOrderById(id));
+        OrderResponseDTO cached = recentOrders.get(id);
+        if (cached != null) {
+            return cached;
+        }
+        long stamp = recentOrders.stamp();
+        OrderResponseDTO response = mapToResponse(orderService.getOrderById(id));
+        recentOrders.fill(response, stamp);
+        return response;
     }
 
     /**
@@ -96,8 +264,49 @@ public class OrderController {
         orderService.deleteOrder(id);
     }
 
+    /**
+     * Cancel every order matching the ids and/or filters with set-based updates
+     * Only ADMIN
+     */
+    @PostMapping("/bulk/cancel")
+    @PreAuthorize("hasRole('ADMIN')")
+    public BulkOrderResponseDTO bulkCancel(@Valid @RequestBody BulkOrderRequestDTO request) {
+        return orderBulkService.cancel(request);
+    }
+
+    /**
+     * Permanently delete every order matching the ids and/or filters, items included
+     * Only ADMIN
+     */
+    @PostMapping("/bulk/purge")
+    @PreAuthorize("hasRole('ADMIN')")
+    public BulkOrderResponseDTO bulkPurge(@Valid @RequestBody BulkOrderRequestDTO request) {
+        return orderBulkService.purge(request);
+    }
+
+    /**
+     * Parses {@code field[,asc|desc]} into an index-aligned sort; fields outside {@link #SORTABLE_FIELDS}
+     * are rejected rather than turned into a full sort of the orders table.
+     */
+    static Sort parseSort(String sort) {
+        String[] sortParts = sort.split(",");
+        String sortField = sortParts[0].trim();
+        if (!SORTABLE_FIELDS.contains(sortField)) {
+            throw new InvalidOperationException("Unsupported sort field: " + sortField
+                    + " (allowed: creationDate, customerName, id)");
+        }
+        Sort.Direction direction = (sortParts.length > 1 && sortParts[1].trim().equalsIgnoreCase("asc"))
+                ? Sort.Direction.ASC : Sort.Direction.DESC;
+
+        Sort parsed = Sort.by(direction, sortField);
+        return sortField.equals("id") ? parsed : parsed.and(Sort.by(direction, "id"));
+    }
+
     // Utility mapper to convert domain → DTO
-    private OrderResponseDTO mapToResponse(Order order) {
+    static OrderResponseDTO mapToResponse(Order order) {
+        OrderMappingEvent event = new OrderMappingEvent();
+        event.begin();
+
         List<OrderItemDTO> items = order.getItems().stream()
                 .map(i -> new OrderItemDTO(
                         i.getCatalogItemId(),
@@ -107,7 +316,7 @@ public class OrderController {
                 ))
                 .toList();
 
-        return new OrderResponseDTO(
+        OrderResponseDTO response = new OrderResponseDTO(
                 order.getId(),
                 order.getCustomerName(),
                 order.getCreationDate(),
@@ -117,5 +326,12 @@ public class OrderController {
                 order.getTotal(),
                 items
         );
+
+        if (event.shouldCommit()) {
+            event.orderId = order.getId() == null ? 0 : order.getId();
+            event.lineCount = items.size();
+            event.commit();
+        }
+        return response;
     }
 }
@@ -0,0 +1,121 @@
+package com.kartikay.sales_order_management_api.controller;
+
+import com.kartikay.sales_order_management_api.columnar.OrderColumnStore;
+import com.kartikay.sales_order_management_api.domain.CatalogItem;
+import com.kartikay.sales_order_management_api.dto.AggregateReportDTO;
+import com.kartikay.sales_order_management_api.dto.AggregateRowDTO;
+import com.kartikay.sales_order_management_api.dto.ItemSalesDTO;
+import com.kartikay.sales_order_management_api.dto.ItemSalesReportDTO;
+import com.kartikay.sales_order_management_api.dto.SalesFiguresDTO;
+import com.kartikay.sales_order_management_api.dto.SalesReportDTO;
+import com.kartikay.sales_order_management_api.report.SalesFigures;
+import com.kartikay.sales_order_management_api.report.SalesRollupService;
+import com.kartikay.sales_order_management_api.search.OrderSearchIndex;
+import com.kartikay.sales_order_management_api.service.CatalogService;
+import com.kartikay.sales_order_management_api.service.CatalogSnapshot;
+import com.kartikay.sales_order_management_api.service.Money;
+import org.springframework.format.annotation.DateTimeFormat;
+import org.springframework.security.access.prepost.PreAuthorize;
+import org.springframework.web.bind.annotation.*;
+
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Sales reports answered from the rollup tables or the in-memory order columns, never from the orders themselves.
+ */
+@RestController
+@RequestMapping("/api/v1/reports")
+@PreAuthorize("hasAnyRole('USER','ADMIN')")
+public class ReportController {
+
+    private final SalesRollupService salesRollupService;
+    private final CatalogService catalogService;
+    private final OrderColumnStore orderColumnStore;
+
+    public ReportController(SalesRollupService salesRollupService, CatalogService catalogService,
+                            OrderColumnStore orderColumnStore) {
+        this.salesRollupService = salesRollupService;
+        this.catalogService = catalogService;
+        this.orderColumnStore = orderColumnStore;
+    }
+
+    /**
+     * Revenue per day and in total for orders created between start and end (inclusive)
+     */
+    @GetMapping("/sales")
+    public SalesReportDTO sales(
+            @RequestParam @DateTimeFormat(iso = DateTimeFormat.ISO.DATE) LocalDate start,
+            @RequestParam @DateTimeFormat(iso = DateTimeFormat.ISO.DATE) LocalDate end) {
+        Map<LocalDate, SalesFigures> daily = salesRollupService.daily(start, end);
+
+        SalesFigures totals = new SalesFigures();
+        List<SalesFiguresDTO> days = new ArrayList<>(daily.size());
+        daily.forEach((date, figures) -> {
+            totals.add(figures);
+            days.add(toDto(date, figures));
+        });
+        return new SalesReportDTO(start, end, toDto(null, totals), days);
+    }
+
+    /**
+     * Sales per catalog item for orders created between start and end, best net revenue first
+     */
+    @GetMapping("/items")
+    public ItemSalesReportDTO items(
+            @RequestParam @DateTimeFormat(iso = DateTimeFormat.ISO.DATE) LocalDate start,
+            @RequestParam @DateTimeFormat(iso = DateTimeFormat.ISO.DATE) LocalDate end,
+            @RequestParam(required = false) Long catalogItemId,
+            @RequestParam(defaultValue = "20") int limit) {
+        Map<Long, SalesFigures> byItem = salesRollupService.items(start, end, catalogItemId, limit);
+
+        CatalogSnapshot catalog = catalogService.snapshot();
+        List<ItemSalesDTO> items = new ArrayList<>(byItem.size());
+        byItem.forEach((id, f) -> {
+            CatalogItem item = catalog.get(id);
+            items.add(new ItemSalesDTO(id, item == null ? null : item.getName(),
+                    f.getOrders(), f.getUnits(), Money.fromMinorUnits(f.getSubtotal()),
+                    f.getCancelledOrders(), f.getCancelledUnits(), Money.fromMinorUnits(f.getCancelledSubtotal()),
+                    Money.fromMinorUnits(f.getSubtotal() - f.getCancelledSubtotal())));
+        });
+        return new ItemSalesReportDTO(start, end, items);
+    }
+
+    /**
+     * Ad hoc sums and counts over order lines, filtered by creation date, customer (exact name, any case),
+     * catalog item and status, grouped by none, day or item
+     */
+    @GetMapping("/aggregate")
+    public AggregateReportDTO aggregate(
+            @RequestParam(required = false) @DateTimeFormat(iso = DateTimeFormat.ISO.DATE) LocalDate start,
+            @RequestParam(required = false) @DateTimeFormat(iso = DateTimeFormat.ISO.DATE) LocalDate end,
+            @RequestParam(required = false) String customer,
+            @RequestParam(required = false) Long catalogItemId,
+            @RequestParam(defaultValue = "open") String status,
+            @RequestParam(defaultValue = "none") String groupBy,
+            @RequestParam(defaultValue = "100") int limit) {
+        OrderColumnStore.GroupBy grouping = OrderColumnStore.GroupBy.parse(groupBy);
+        OrderColumnStore.AggregateResult result = orderColumnStore.aggregate(new OrderColumnStore.AggregateQuery(
+                start, end, customer, catalogItemId, OrderSearchIndex.Status.parse(status), grouping, limit));
+
+        List<AggregateRowDTO> rows = new ArrayList<>(result.rows().size());
+        for (OrderColumnStore.AggregateRow row : result.rows()) {
+            rows.add(new AggregateRowDTO(row.date(), row.catalogItemId(), row.itemName(), row.orders(),
+                    Money.fromMinorUnits(row.ordersTotal()), row.lines(), row.units(),
+                    Money.fromMinorUnits(row.amount())));
+        }
+        return new AggregateReportDTO(grouping.name().toLowerCase(), result.scannedLines(), result.tookMicros(),
+                rows);
+    }
+
+    private static SalesFiguresDTO toDto(LocalDate date, SalesFigures f) {
+        return new SalesFiguresDTO(date, f.getOrders(), f.getUnits(),
+                Money.fromMinorUnits(f.getSubtotal()), Money.fromMinorUnits(f.getVat()),
+                Money.fromMinorUnits(f.getTotal()), f.getCancelledOrders(), f.getCancelledUnits(),
+                Money.fromMinorUnits(f.getCancelledSubtotal()), Money.fromMinorUnits(f.getCancelledVat()),
+                Money.fromMinorUnits(f.getCancelledTotal()),
+                Money.fromMinorUnits(f.getTotal() - f.getCancelledTotal()));
+    }
+}
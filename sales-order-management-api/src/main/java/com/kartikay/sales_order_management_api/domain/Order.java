@@ -12,7 +12,8 @@ import java.util.List;
 public class Order {
 
     @Id
-    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    @GeneratedValue(strategy = GenerationType.SEQUENCE, generator = "orders_seq")
+    @SequenceGenerator(name = "orders_seq", sequenceName = "orders_seq", allocationSize = 50)
     private Long id;
 
     @NotBlank
@@ -32,10 +33,14 @@ public class Order {
     @Column(precision = 19, scale = 2)
     private BigDecimal total;
 
+    // set on orders accepted through the journal; unique (V7), so a replay can tell which are already written
+    @Column(length = 36)
+    private String orderReference;
+
     @Version
     private Long version;
 
-    @OneToMany(mappedBy = "order", cascade = CascadeType.ALL, orphanRemoval = true, fetch = FetchType.EAGER)
+    @OneToMany(mappedBy = "order", cascade = CascadeType.ALL, orphanRemoval = true, fetch = FetchType.LAZY)
     private List<OrderItem> items = new ArrayList<>();
 
     // Helper
@@ -100,6 +105,14 @@ public class Order {
         this.total = total;
     }
 
+    public String getOrderReference() {
+        return orderReference;
+    }
+
+    public void setOrderReference(String orderReference) {
+        this.orderReference = orderReference;
+    }
+
     public Long getVersion() {
         return version;
     }
@@ -0,0 +1,55 @@
+package com.kartikay.sales_order_management_api.domain;
+
+import jakarta.persistence.*;
+
+import java.time.Instant;
+
+/**
+ * A single revoked token, kept only until the token would have expired anyway.
+ */
+@Entity
+@Table(name = "revoked_tokens")
+public class RevokedToken {
+
+    @Id
+    @Column(length = 64)
+    private String jti;
+
+    @Column(nullable = false, length = 100)
+    private String username;
+
+    @Column(name = "expires_at", nullable = false)
+    private Instant expiresAt;
+
+    public RevokedToken() {}
+
+    public RevokedToken(String jti, String username, Instant expiresAt) {
+        this.jti = jti;
+        this.username = username;
+        this.expiresAt = expiresAt;
+    }
+
+    public String getJti() {
+        return jti;
+    }
+
+    public void setJti(String jti) {
+        this.jti = jti;
+    }
+
+    public String getUsername() {
+        return username;
+    }
+
+    public void setUsername(String username) {
+        this.username = username;
+    }
+
+    public Instant getExpiresAt() {
+        return expiresAt;
+    }
+
+    public void setExpiresAt(Instant expiresAt) {
+        this.expiresAt = expiresAt;
+    }
+}
@@ -0,0 +1,67 @@
+package com.kartikay.sales_order_management_api.domain;
+
+import jakarta.persistence.*;
+import org.hibernate.annotations.Immutable;
+
+import java.math.BigDecimal;
+import java.time.LocalDate;
+
+/**
+ * Order figures for every order created on one day. Maintained with plain SQL by
+ * {@code SalesRollupRepository}; mapped so generated schemas match V6__sales_rollups.sql.
+ */
+@Entity
+@Immutable
+@Table(name = "sales_daily_rollup")
+public class SalesDailyRollup {
+
+    @Id
+    @Column(name = "sales_date")
+    private LocalDate salesDate;
+
+    @Column(nullable = false)
+    private long orders;
+
+    @Column(nullable = false)
+    private long units;
+
+    @Column(nullable = false, precision = 19, scale = 2)
+    private BigDecimal subtotal;
+
+    @Column(nullable = false, precision = 19, scale = 2)
+    private BigDecimal vat;
+
+    @Column(nullable = false, precision = 19, scale = 2)
+    private BigDecimal total;
+
+    @Column(name = "cancelled_orders", nullable = false)
+    private long cancelledOrders;
+
+    @Column(name = "cancelled_units", nullable = false)
+    private long cancelledUnits;
+
+    @Column(name = "cancelled_subtotal", nullable = false, precision = 19, scale = 2)
+    private BigDecimal cancelledSubtotal;
+
+    @Column(name = "cancelled_vat", nullable = false, precision = 19, scale = 2)
+    private BigDecimal cancelledVat;
+
+    @Column(name = "cancelled_total", nullable = false, precision = 19, scale = 2)
+    private BigDecimal cancelledTotal;
+
+    public LocalDate getSalesDate() {
+        return salesDate;
+    }
+
+    public long getOrders() {
+        return orders;
+    }
+
+    public BigDecimal getTotal() {
+        return total;
+    }
+
+    public BigDecimal getCancelledTotal() {
+        return cancelledTotal;
+    }
+}
@@ -0,0 +1,79 @@
+package com.kartikay.sales_order_management_api.domain;
+
+import jakarta.persistence.*;
+import org.hibernate.annotations.Immutable;
+
+import java.io.Serializable;
+import java.math.BigDecimal;
+import java.time.LocalDate;
+import java.util.Objects;
+
+/**
+ * Line figures for one catalog item over the orders created on one day. Maintained with plain SQL by
+ * {@code SalesRollupRepository}; mapped so generated schemas match V6__sales_rollups.sql.
+ */
+@Entity
+@Immutable
+@IdClass(SalesItemRollup.Key.class)
+@Table(name = "sales_item_rollup", indexes = @Index(name = "idx_sales_item_rollup_date", columnList = "sales_date"))
+public class SalesItemRollup {
+
+    @Id
+    @Column(name = "catalog_item_id")
+    private Long catalogItemId;
+
+    @Id
+    @Column(name = "sales_date")
+    private LocalDate salesDate;
+
+    @Column(nullable = false)
+    private long orders;
+
+    @Column(nullable = false)
+    private long units;
+
+    @Column(nullable = false, precision = 19, scale = 2)
+    private BigDecimal subtotal;
+
+    @Column(name = "cancelled_orders", nullable = false)
+    private long cancelledOrders;
+
+    @Column(name = "cancelled_units", nullable = false)
+    private long cancelledUnits;
+
+    @Column(name = "cancelled_subtotal", nullable = false, precision = 19, scale = 2)
+    private BigDecimal cancelledSubtotal;
+
+    public Long getCatalogItemId() {
+        return catalogItemId;
+    }
+
+    public LocalDate getSalesDate() {
+        return salesDate;
+    }
+
+    public long getUnits() {
+        return units;
+    }
+
+    public BigDecimal getSubtotal() {
+        return subtotal;
+    }
+
+    public static class Key implements Serializable {
+        private Long catalogItemId;
+        private LocalDate salesDate;
+
+        @Override
+        public boolean equals(Object o) {
+            return o instanceof Key other
+                    && Objects.equals(catalogItemId, other.catalogItemId)
+                    && Objects.equals(salesDate, other.salesDate);
+        }
+
+        @Override
+        public int hashCode() {
+            return Objects.hash(catalogItemId, salesDate);
+        }
+    }
+}
@@ -0,0 +1,70 @@
+package com.kartikay.sales_order_management_api.domain;
+
+import jakarta.persistence.*;
+import org.hibernate.annotations.Immutable;
+
+import java.math.BigDecimal;
+import java.time.LocalDate;
+
+/**
+ * A signed change to one rollup cell, written in the same transaction as the order change and folded into
+ * the rollup tables in the background. A null {@code catalogItemId} addresses the daily rollup.
+ * Maintained with plain SQL; mapped so generated schemas match V6__sales_rollups.sql.
+ */
+@Entity
+@Immutable
+@Table(name = "sales_rollup_delta")
+public class SalesRollupDelta {
+
+    @Id
+    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    private Long id;
+
+    @Column(name = "sales_date", nullable = false)
+    private LocalDate salesDate;
+
+    @Column(name = "catalog_item_id")
+    private Long catalogItemId;
+
+    @Column(nullable = false)
+    private long orders;
+
+    @Column(nullable = false)
+    private long units;
+
+    @Column(nullable = false, precision = 19, scale = 2)
+    private BigDecimal subtotal;
+
+    @Column(nullable = false, precision = 19, scale = 2)
+    private BigDecimal vat;
+
+    @Column(nullable = false, precision = 19, scale = 2)
+    private BigDecimal total;
+
+    @Column(name = "cancelled_orders", nullable = false)
+    private long cancelledOrders;
+
+    @Column(name = "cancelled_units", nullable = false)
+    private long cancelledUnits;
+
+    @Column(name = "cancelled_subtotal", nullable = false, precision = 19, scale = 2)
+    private BigDecimal cancelledSubtotal;
+
+    @Column(name = "cancelled_vat", nullable = false, precision = 19, scale = 2)
+    private BigDecimal cancelledVat;
+
+    @Column(name = "cancelled_total", nullable = false, precision = 19, scale = 2)
+    private BigDecimal cancelledTotal;
+
+    public Long getId() {
+        return id;
+    }
+
+    public LocalDate getSalesDate() {
+        return salesDate;
+    }
+
+    public Long getCatalogItemId() {
+        return catalogItemId;
+    }
+}
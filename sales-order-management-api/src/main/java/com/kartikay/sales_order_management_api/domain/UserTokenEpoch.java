@@ -0,0 +1,43 @@
+package com.kartikay.sales_order_management_api.domain;
+
+import jakarta.persistence.*;
+
+import java.time.Instant;
+
+/**
+ * Per-user "not before" epoch: every token issued at or before {@code notBefore} is rejected.
+ */
+@Entity
+@Table(name = "user_token_epochs")
+public class UserTokenEpoch {
+
+    @Id
+    @Column(length = 100)
+    private String username;
+
+    @Column(name = "not_before", nullable = false)
+    private Instant notBefore;
+
+    public UserTokenEpoch() {}
+
+    public UserTokenEpoch(String username, Instant notBefore) {
+        this.username = username;
+        this.notBefore = notBefore;
+    }
+
+    public String getUsername() {
+        return username;
+    }
+
+    public void setUsername(String username) {
+        this.username = username;
+    }
+
+    public Instant getNotBefore() {
+        return notBefore;
+    }
+
+    public void setNotBefore(Instant notBefore) {
+        this.notBefore = notBefore;
+    }
+}
@@ -0,0 +1,13 @@
+package com.kartikay.sales_order_management_api.dto;
+
+import java.util.List;
+
+/**
+ * Result of an ad hoc aggregate over the in-memory order columns.
+ */
+public record AggregateReportDTO(
+        String groupBy,
+        long scannedLines,
+        long tookMicros,
+        List<AggregateRowDTO> rows
+) {}
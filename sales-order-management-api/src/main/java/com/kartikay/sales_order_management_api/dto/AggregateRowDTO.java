@@ -0,0 +1,25 @@
+package com.kartikay.sales_order_management_api.dto;
+
+import com.fasterxml.jackson.annotation.JsonFormat;
+import com.fasterxml.jackson.annotation.JsonInclude;
+import java.math.BigDecimal;
+import java.time.LocalDate;
+
+/**
+ * One group of an ad hoc aggregate: the orders with a matching line and their totals (VAT included),
+ * and the matching lines, units and line amounts (VAT excluded). The key fields are set only when grouped by them.
+ */
+public record AggregateRowDTO(
+        @JsonInclude(JsonInclude.Include.NON_NULL)
+        @JsonFormat(pattern = "dd/MM/yyyy")
+        LocalDate date,
+        @JsonInclude(JsonInclude.Include.NON_NULL)
+        Long catalogItemId,
+        @JsonInclude(JsonInclude.Include.NON_NULL)
+        String itemName,
+        long orders,
+        BigDecimal ordersTotal,
+        long lines,
+        long units,
+        BigDecimal amount
+) {}
@@ -0,0 +1,8 @@
+package com.kartikay.sales_order_management_api.dto;
+
+public record AsyncOrderStatusDTO(
+        String reference,
+        String status,
+        Long orderId,
+        String error
+) {}
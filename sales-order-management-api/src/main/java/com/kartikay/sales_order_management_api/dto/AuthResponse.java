@@ -1,3 +1,3 @@
 package com.kartikay.sales_order_management_api.dto;
 
-public record AuthResponse(String token) {}
\ No newline at end of file
+public record AuthResponse(String token, String refreshToken) {}
\ No newline at end of file
@@ -0,0 +1,10 @@
+package com.kartikay.sales_order_management_api.dto;
+
+import java.util.List;
+
+public record BatchOrderResponseDTO(
+        int received,
+        int created,
+        int failed,
+        List<BatchOrderResultDTO> results
+) {}
@@ -0,0 +1,16 @@
+package com.kartikay.sales_order_management_api.dto;
+
+public record BatchOrderResultDTO(
+        int index,
+        Long orderId,
+        String status,
+        String error
+) {
+    public static BatchOrderResultDTO created(int index, Long orderId) {
+        return new BatchOrderResultDTO(index, orderId, "CREATED", null);
+    }
+
+    public static BatchOrderResultDTO failed(int index, String error) {
+        return new BatchOrderResultDTO(index, null, "FAILED", error);
+    }
+}
@@ -0,0 +1,19 @@
+package com.kartikay.sales_order_management_api.dto;
+
+import jakarta.validation.constraints.Size;
+
+import java.time.LocalDate;
+import java.util.List;
+
+/**
+ * Selects orders for a bulk operation: explicit ids and/or the listing filters. All given criteria must match.
+ */
+public record BulkOrderRequestDTO(
+        @Size(max = 10_000, message = "At most 10000 ids per request")
+        List<Long> ids,
+        String customerName,
+        LocalDate start,
+        LocalDate end,
+        LocalDate cancelledStart,
+        LocalDate cancelledEnd
+) {}
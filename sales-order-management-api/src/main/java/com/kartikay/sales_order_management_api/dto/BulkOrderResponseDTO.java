@@ -0,0 +1,12 @@
+package com.kartikay.sales_order_management_api.dto;
+
+/**
+ * Outcome of a bulk operation: orders selected by the request and rows actually changed.
+ * They differ when another transaction cancelled or deleted some of the selected orders first.
+ * {@code statements} counts the chunked write statements issued.
+ */
+public record BulkOrderResponseDTO(
+        int matched,
+        int affected,
+        int statements
+) {}
@@ -0,0 +1,10 @@
+package com.kartikay.sales_order_management_api.dto;
+
+import java.util.List;
+
+public record CursorPageDTO<T>(
+        List<T> content,
+        int size,
+        boolean hasNext,
+        String nextCursor
+) {}
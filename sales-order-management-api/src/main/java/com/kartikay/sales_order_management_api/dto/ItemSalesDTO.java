@@ -0,0 +1,18 @@
+package com.kartikay.sales_order_management_api.dto;
+
+import java.math.BigDecimal;
+
+/**
+ * Sales of one catalog item over a date range. Revenue is the sum of line totals before VAT.
+ */
+public record ItemSalesDTO(
+        Long catalogItemId,
+        String itemName,
+        long orders,
+        long units,
+        BigDecimal revenue,
+        long cancelledOrders,
+        long cancelledUnits,
+        BigDecimal cancelledRevenue,
+        BigDecimal netRevenue
+) {}
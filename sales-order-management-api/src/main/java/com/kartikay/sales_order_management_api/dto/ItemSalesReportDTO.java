@@ -0,0 +1,13 @@
+package com.kartikay.sales_order_management_api.dto;
+
+import java.time.LocalDate;
+import java.util.List;
+
+/**
+ * Per-item sales over a date range, best net revenue first.
+ */
+public record ItemSalesReportDTO(
+        LocalDate start,
+        LocalDate end,
+        List<ItemSalesDTO> items
+) {}
@@ -0,0 +1,37 @@
+package com.kartikay.sales_order_management_api.dto;
+
+import com.kartikay.sales_order_management_api.exception.InvalidOperationException;
+
+import java.nio.charset.StandardCharsets;
+import java.time.LocalDate;
+import java.util.Base64;
+
+/**
+ * Position of the last order returned by a keyset listing: {@code (creationDate, id)}.
+ * Clients only ever see the opaque {@link #encode()}d form.
+ */
+public record OrderCursor(LocalDate creationDate, long id) {
+
+    public String encode() {
+        String raw = creationDate.toEpochDay() + ":" + id;
+        return Base64.getUrlEncoder().withoutPadding().encodeToString(raw.getBytes(StandardCharsets.US_ASCII));
+    }
+
+    /**
+     * Decodes a cursor previously returned by {@link #encode()}; blank means "start from the newest order".
+     */
+    public static OrderCursor decode(String cursor) {
+        if (cursor == null || cursor.isBlank()) {
+            return null;
+        }
+        try {
+            String raw = new String(Base64.getUrlDecoder().decode(cursor), StandardCharsets.US_ASCII);
+            int sep = raw.indexOf(':');
+            return new OrderCursor(
+                    LocalDate.ofEpochDay(Long.parseLong(raw.substring(0, sep))),
+                    Long.parseLong(raw.substring(sep + 1)));
+        } catch (RuntimeException ex) {
+            throw new InvalidOperationException("Invalid cursor: " + cursor);
+        }
+    }
+}
@@ -0,0 +1,13 @@
+package com.kartikay.sales_order_management_api.dto;
+
+import java.util.List;
+
+/**
+ * Result of an order search: matching ids newest first, capped at the requested limit.
+ */
+public record OrderSearchResponseDTO(
+        long totalMatches,
+        int returned,
+        List<Long> orderIds,
+        long tookMicros
+) {}
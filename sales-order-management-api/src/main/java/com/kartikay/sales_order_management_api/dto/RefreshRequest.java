@@ -0,0 +1,3 @@
+package com.kartikay.sales_order_management_api.dto;
+
+public record RefreshRequest(String refreshToken) {}
\ No newline at end of file
@@ -0,0 +1,27 @@
+package com.kartikay.sales_order_management_api.dto;
+
+import com.fasterxml.jackson.annotation.JsonFormat;
+import com.fasterxml.jackson.annotation.JsonInclude;
+import java.math.BigDecimal;
+import java.time.LocalDate;
+
+/**
+ * Sales figures for one day (or, without a date, a whole range). Orders are counted on the day they were
+ * created; the cancelled figures are the part of those orders cancelled since, and net = total - cancelled.
+ */
+public record SalesFiguresDTO(
+        @JsonInclude(JsonInclude.Include.NON_NULL)
+        @JsonFormat(pattern = "dd/MM/yyyy")
+        LocalDate date,
+        long orders,
+        long units,
+        BigDecimal subtotal,
+        BigDecimal vat,
+        BigDecimal total,
+        long cancelledOrders,
+        long cancelledUnits,
+        BigDecimal cancelledSubtotal,
+        BigDecimal cancelledVat,
+        BigDecimal cancelledTotal,
+        BigDecimal netTotal
+) {}
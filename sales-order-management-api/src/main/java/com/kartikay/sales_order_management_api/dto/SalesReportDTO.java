@@ -0,0 +1,14 @@
+package com.kartikay.sales_order_management_api.dto;
+
+import java.time.LocalDate;
+import java.util.List;
+
+/**
+ * Sales over a date range: the range totals and one entry per day that had orders.
+ */
+public record SalesReportDTO(
+        LocalDate start,
+        LocalDate end,
+        SalesFiguresDTO totals,
+        List<SalesFiguresDTO> days
+) {}
@@ -0,0 +1,116 @@
+package com.kartikay.sales_order_management_api.jdbc;
+
+import org.springframework.jdbc.datasource.DelegatingDataSource;
+
+import javax.sql.DataSource;
+import java.lang.reflect.InvocationHandler;
+import java.lang.reflect.InvocationTargetException;
+import java.lang.reflect.Method;
+import java.lang.reflect.Proxy;
+import java.sql.*;
+
+/**
+ * Wraps the pool so statements created inside a {@link QueryAccounting} scope report into its {@link QueryStats}.
+ * Connections are wrapped lazily and statements only when a scope is open, so code running outside
+ * a request (schedulers, async exports) talks to the driver directly.
+ */
+public class AccountingDataSource extends DelegatingDataSource {
+
+    public AccountingDataSource(DataSource target) {
+        super(target);
+    }
+
+    @Override
+    public Connection getConnection() throws SQLException {
+        return wrapConnection(super.getConnection());
+    }
+
+    @Override
+    public Connection getConnection(String username, String password) throws SQLException {
+        return wrapConnection(super.getConnection(username, password));
+    }
+
+    private static Connection wrapConnection(Connection connection) {
+        return (Connection) Proxy.newProxyInstance(AccountingDataSource.class.getClassLoader(),
+                new Class<?>[]{Connection.class}, new ConnectionHandler(connection));
+    }
+
+    private static Object invoke(Object target, Method method, Object[] args) throws Throwable {
+        try {
+            return method.invoke(target, args);
+        } catch (InvocationTargetException ex) {
+            throw ex.getTargetException();
+        }
+    }
+
+    private record ConnectionHandler(Connection target) implements InvocationHandler {
+
+        @Override
+        public Object invoke(Object proxy, Method method, Object[] args) throws Throwable {
+            Object result = AccountingDataSource.invoke(target, method, args);
+            if (result instanceof Statement statement) {
+                QueryStats stats = QueryAccounting.current();
+                if (stats != null) {
+                    return Proxy.newProxyInstance(AccountingDataSource.class.getClassLoader(),
+                            new Class<?>[]{method.getReturnType()}, new StatementHandler(statement, stats));
+                }
+            }
+            return result;
+        }
+    }
+
+    private record StatementHandler(Statement target, QueryStats stats) implements InvocationHandler {
+
+        @Override
+        public Object invoke(Object proxy, Method method, Object[] args) throws Throwable {
+            String name = method.getName();
+            if (!name.startsWith("execute")) {
+                Object result = AccountingDataSource.invoke(target, method, args);
+                return "getResultSet".equals(name) ? wrapResultSet(result) : result;
+            }
+
+            long start = System.nanoTime();
+            Object result = AccountingDataSource.invoke(target, method, args);
+            stats.statement(System.nanoTime() - start);
+
+            if (result instanceof ResultSet) {
+                return wrapResultSet(result);
+            }
+            if (result instanceof Integer count && count > 0) {
+                stats.rows(count);
+            } else if (result instanceof Long count && count > 0) {
+                stats.rows(count);
+            } else if (result instanceof int[] counts) {
+                for (int count : counts) if (count > 0) stats.rows(count);
+            } else if (result instanceof long[] counts) {
+                for (long count : counts) if (count > 0) stats.rows(count);
+            }
+            return result;
+        }
+
+        private Object wrapResultSet(Object resultSet) {
+            if (!(resultSet instanceof ResultSet rs)) {
+                return resultSet;
+            }
+            return Proxy.newProxyInstance(AccountingDataSource.class.getClassLoader(),
+                    new Class<?>[]{ResultSet.class}, new ResultSetHandler(rs, stats));
+        }
+    }
+
+    private record ResultSetHandler(ResultSet target, QueryStats stats) implements InvocationHandler {
+
+        @Override
+        public Object invoke(Object proxy, Method method, Object[] args) throws Throwable {
+            if (!"next".equals(method.getName())) {
+                return AccountingDataSource.invoke(target, method, args);
+            }
+            long start = System.nanoTime();
+            boolean hasRow = target.next();
+            stats.time(System.nanoTime() - start);
+            if (hasRow) {
+                stats.rows(1);
+            }
+            return hasRow;
+        }
+    }
+}
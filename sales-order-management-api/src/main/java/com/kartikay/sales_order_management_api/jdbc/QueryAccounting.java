@@ -0,0 +1,27 @@
+package com.kartikay.sales_order_management_api.jdbc;
+
+/**
+ * Thread-bound scope for {@link QueryStats}. Statements created while no scope is open run unproxied.
+ */
+public final class QueryAccounting {
+
+    private static final ThreadLocal<QueryStats> CURRENT = new ThreadLocal<>();
+
+    private QueryAccounting() {}
+
+    /** Opens a fresh scope on the current thread and returns its stats */
+    public static QueryStats begin() {
+        QueryStats stats = new QueryStats();
+        CURRENT.set(stats);
+        return stats;
+    }
+
+    /** Stats of the open scope, or {@code null} */
+    public static QueryStats current() {
+        return CURRENT.get();
+    }
+
+    public static void end() {
+        CURRENT.remove();
+    }
+}
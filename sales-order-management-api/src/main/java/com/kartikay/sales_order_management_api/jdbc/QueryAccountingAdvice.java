@@ -0,0 +1,36 @@
+package com.kartikay.sales_order_management_api.jdbc;
+
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.core.MethodParameter;
+import org.springframework.http.MediaType;
+import org.springframework.http.converter.HttpMessageConverter;
+import org.springframework.http.server.ServerHttpRequest;
+import org.springframework.http.server.ServerHttpResponse;
+import org.springframework.http.server.ServletServerHttpResponse;
+import org.springframework.web.bind.annotation.ControllerAdvice;
+import org.springframework.web.servlet.mvc.method.annotation.ResponseBodyAdvice;
+
+/**
+ * Stamps the X-DB-* headers just before a response body is written, i.e. after the controller
+ * (and its transaction) has finished but before the response is committed.
+ */
+@ControllerAdvice
+@ConditionalOnProperty(name = "jdbc.accounting.response-headers", havingValue = "true", matchIfMissing = true)
+public class QueryAccountingAdvice implements ResponseBodyAdvice<Object> {
+
+    @Override
+    public boolean supports(MethodParameter returnType, Class<? extends HttpMessageConverter<?>> converterType) {
+        return true;
+    }
+
+    @Override
+    public Object beforeBodyWrite(Object body, MethodParameter returnType, MediaType selectedContentType,
+                                  Class<? extends HttpMessageConverter<?>> selectedConverterType,
+                                  ServerHttpRequest request, ServerHttpResponse response) {
+        QueryStats stats = QueryAccounting.current();
+        if (stats != null && response instanceof ServletServerHttpResponse servletResponse) {
+            QueryAccountingFilter.writeHeaders(servletResponse.getServletResponse(), stats);
+        }
+        return body;
+    }
+}
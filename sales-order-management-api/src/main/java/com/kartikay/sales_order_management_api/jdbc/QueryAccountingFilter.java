@@ -0,0 +1,88 @@
+package com.kartikay.sales_order_management_api.jdbc;
+
+import io.micrometer.core.instrument.DistributionSummary;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import jakarta.servlet.FilterChain;
+import jakarta.servlet.ServletException;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.core.Ordered;
+import org.springframework.core.annotation.Order;
+import org.springframework.stereotype.Component;
+import org.springframework.web.filter.OncePerRequestFilter;
+import org.springframework.web.servlet.HandlerMapping;
+
+import java.io.IOException;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Opens a {@link QueryAccounting} scope around every request, ahead of the security chain so that
+ * authentication queries are counted too. Totals go to per-route meters, and — unless disabled, as in the
+ * prod profile — to X-DB-* response headers.
+ */
+@Component
+@Order(Ordered.HIGHEST_PRECEDENCE + 10)
+public class QueryAccountingFilter extends OncePerRequestFilter {
+
+    public static final String STATEMENTS_HEADER = "X-DB-Statements";
+    public static final String ROWS_HEADER = "X-DB-Rows";
+    public static final String TIME_HEADER = "X-DB-Time-Ms";
+
+    private final MeterRegistry registry;
+    private final boolean responseHeaders;
+
+    public QueryAccountingFilter(MeterRegistry registry,
+                                 @Value("${jdbc.accounting.response-headers:true}") boolean responseHeaders) {
+        this.registry = registry;
+        this.responseHeaders = responseHeaders;
+    }
+
+    @Override
+    protected void doFilterInternal(HttpServletRequest request,
+                                    HttpServletResponse response,
+                                    FilterChain filterChain)
+            throws ServletException, IOException {
+
+        QueryStats stats = QueryAccounting.begin();
+        try {
+            filterChain.doFilter(request, response);
+        } finally {
+            QueryAccounting.end();
+            // Bodies written by message converters were stamped by QueryAccountingAdvice already
+            if (responseHeaders && !response.isCommitted()) {
+                writeHeaders(response, stats);
+            }
+            record(request, stats);
+        }
+    }
+
+    public static void writeHeaders(HttpServletResponse response, QueryStats stats) {
+        response.setHeader(STATEMENTS_HEADER, String.valueOf(stats.getStatements()));
+        response.setHeader(ROWS_HEADER, String.valueOf(stats.getRows()));
+        response.setHeader(TIME_HEADER, String.format("%.3f", stats.getMillis()));
+    }
+
+    private void record(HttpServletRequest request, QueryStats stats) {
+        Object pattern = request.getAttribute(HandlerMapping.BEST_MATCHING_PATTERN_ATTRIBUTE);
+        String uri = pattern == null ? "UNKNOWN" : pattern.toString();
+        String method = request.getMethod();
+
+        DistributionSummary.builder("http.server.jdbc.statements")
+                .description("JDBC statements executed per request")
+                .tags("method", method, "uri", uri)
+                .register(registry)
+                .record(stats.getStatements());
+        DistributionSummary.builder("http.server.jdbc.rows")
+                .description("Rows read or affected per request")
+                .tags("method", method, "uri", uri)
+                .register(registry)
+                .record(stats.getRows());
+        Timer.builder("http.server.jdbc.time")
+                .description("Time spent in JDBC calls per request")
+                .tags("method", method, "uri", uri)
+                .register(registry)
+                .record(stats.getNanos(), TimeUnit.NANOSECONDS);
+    }
+}
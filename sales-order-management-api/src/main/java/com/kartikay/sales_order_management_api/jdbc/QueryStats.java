@@ -0,0 +1,41 @@
+package com.kartikay.sales_order_management_api.jdbc;
+
+/**
+ * JDBC work done on behalf of one request: statements executed (a JDBC batch counts once),
+ * rows read or affected, and time spent inside the driver. Confined to the request's thread.
+ */
+public final class QueryStats {
+
+    private long statements;
+    private long rows;
+    private long nanos;
+
+    void statement(long elapsedNanos) {
+        statements++;
+        nanos += elapsedNanos;
+    }
+
+    void rows(long count) {
+        rows += count;
+    }
+
+    void time(long elapsedNanos) {
+        nanos += elapsedNanos;
+    }
+
+    public long getStatements() {
+        return statements;
+    }
+
+    public long getRows() {
+        return rows;
+    }
+
+    public long getNanos() {
+        return nanos;
+    }
+
+    public double getMillis() {
+        return nanos / 1_000_000.0;
+    }
+}
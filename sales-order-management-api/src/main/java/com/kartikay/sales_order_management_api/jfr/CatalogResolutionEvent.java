@@ -0,0 +1,21 @@
+package com.kartikay.sales_order_management_api.jfr;
+
+import jdk.jfr.*;
+
+@Name("com.kartikay.orders.CatalogResolution")
+@Label("Catalog Resolution")
+@Description("Resolving the catalog items referenced by an order")
+@Category({"Sales Order API", "Orders"})
+@StackTrace(false)
+public class CatalogResolutionEvent extends Event {
+
+    @Label("Requested Items")
+    public int requestedItems;
+
+    @Label("Snapshot Misses")
+    @Description("Ids not in the in-memory snapshot, re-checked against the database")
+    public int snapshotMisses;
+
+    @Label("Snapshot Version")
+    public long snapshotVersion;
+}
@@ -0,0 +1,17 @@
+package com.kartikay.sales_order_management_api.jfr;
+
+import jdk.jfr.*;
+
+@Name("com.kartikay.orders.OrderMapping")
+@Label("Order Mapping")
+@Description("Mapping an order entity to its response DTO")
+@Category({"Sales Order API", "Orders"})
+@StackTrace(false)
+public class OrderMappingEvent extends Event {
+
+    @Label("Order Id")
+    public long orderId;
+
+    @Label("Line Count")
+    public int lineCount;
+}
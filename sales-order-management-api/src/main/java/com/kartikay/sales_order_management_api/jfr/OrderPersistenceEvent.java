@@ -0,0 +1,17 @@
+package com.kartikay.sales_order_management_api.jfr;
+
+import jdk.jfr.*;
+
+@Name("com.kartikay.orders.OrderPersistence")
+@Label("Order Persistence")
+@Description("Saving a new order and its lines")
+@Category({"Sales Order API", "Orders"})
+@StackTrace(false)
+public class OrderPersistenceEvent extends Event {
+
+    @Label("Order Id")
+    public long orderId;
+
+    @Label("Line Count")
+    public int lineCount;
+}
@@ -0,0 +1,20 @@
+package com.kartikay.sales_order_management_api.jfr;
+
+import jdk.jfr.*;
+
+@Name("com.kartikay.orders.OrderPricing")
+@Label("Order Pricing")
+@Description("Building and pricing the lines of an order")
+@Category({"Sales Order API", "Orders"})
+@StackTrace(false)
+public class OrderPricingEvent extends Event {
+
+    @Label("Line Count")
+    public int lineCount;
+
+    @Label("Distinct Items")
+    public int distinctItems;
+
+    @Label("Total (minor units)")
+    public long totalMinor;
+}
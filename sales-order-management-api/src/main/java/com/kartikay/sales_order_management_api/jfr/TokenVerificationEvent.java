@@ -0,0 +1,17 @@
+package com.kartikay.sales_order_management_api.jfr;
+
+import jdk.jfr.*;
+
+@Name("com.kartikay.security.TokenVerification")
+@Label("Token Verification")
+@Description("Verifying a bearer token, from the verified-token cache or by parsing it")
+@Category({"Sales Order API", "Security"})
+@StackTrace(false)
+public class TokenVerificationEvent extends Event {
+
+    @Label("Cache Hit")
+    public boolean cacheHit;
+
+    @Label("Valid")
+    public boolean valid;
+}
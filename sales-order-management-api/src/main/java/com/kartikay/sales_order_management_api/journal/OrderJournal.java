@@ -0,0 +1,500 @@
+package com.kartikay.sales_order_management_api.journal;
+
+import java.io.Closeable;
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.MappedByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.file.*;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.List;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.concurrent.locks.Condition;
+import java.util.concurrent.locks.LockSupport;
+import java.util.concurrent.locks.ReentrantLock;
+import java.util.stream.Stream;
+import java.util.zip.CRC32C;
+
+/**
+ * Append-only journal of opaque records in memory-mapped segment files, made durable by group commit:
+ * appenders copy their record into the mapped segment and wait, while one flusher thread forces everything
+ * written since the previous flush to disk every {@code flushIntervalNanos} and wakes them all at once.
+ * <p>
+ * Each record is {@code [int length][int crc32c][long sequence][payload]}; sequences start at 1 and have no
+ * gaps. Segments are named after their first sequence. On open, every segment is scanned up to its first
+ * torn or corrupt record, and appends continue in a fresh segment, so a torn tail is never written over.
+ * <p>
+ * One consumer reads durable records through a {@link Cursor} and records its progress with
+ * {@link #markDrained}; segments wholly before that checkpoint are deleted.
+ */
+public final class OrderJournal implements Closeable {
+
+    static final int HEADER_BYTES = 16;
+
+    private static final String SEGMENT_SUFFIX = ".journal";
+    private static final String CHECKPOINT_FILE = "checkpoint";
+
+    private final Path directory;
+    private final int segmentBytes;
+    private final long flushIntervalNanos;
+
+    private final Object writeLock = new Object();
+    private final List<Segment> segments = new CopyOnWriteArrayList<>();
+    private Segment active;
+    private long lastWritten;
+
+    private final ReentrantLock durableLock = new ReentrantLock();
+    private final Condition durableAdvanced = durableLock.newCondition();
+    private volatile long durable;
+    private volatile long drained;
+    private final long recovered;
+
+    private final Thread flusher;
+    private volatile boolean closed;
+
+    private final LongAdder appends = new LongAdder();
+    private final LongAdder groupCommits = new LongAdder();
+    private final LongAdder fsyncFailures = new LongAdder();
+    private volatile long lastGroupCommitMicros;
+
+    /**
+     * Opens (or creates) the journal in {@code directory} and starts its flusher thread.
+     */
+    public OrderJournal(Path directory, int segmentBytes, long flushIntervalNanos) throws IOException {
+        if (segmentBytes <= HEADER_BYTES) {
+            throw new IllegalArgumentException("Segment size must exceed the record header");
+        }
+        this.directory = Files.createDirectories(directory);
+        this.segmentBytes = segmentBytes;
+        this.flushIntervalNanos = flushIntervalNanos;
+
+        this.drained = readCheckpoint();
+        long last = recover();
+        this.recovered = last;
+        this.lastWritten = last;
+        this.durable = last;
+        this.active = createSegment(last + 1);
+        deleteDrainedSegments();
+
+        this.flusher = new Thread(this::flushLoop, "order-journal-flush");
+        this.flusher.setDaemon(true);
+        this.flusher.start();
+    }
+
+    /** Largest payload a single record can carry */
+    public int maxPayloadBytes() {
+        return segmentBytes - HEADER_BYTES;
+    }
+
+    /** Sequence of the last record found on open; records up to it may have been consumed before a crash */
+    public long recoveredSequence() {
+        return recovered;
+    }
+
+    public long drainedSequence() {
+        return drained;
+    }
+
+    public long durableSequence() {
+        return durable;
+    }
+
+    // ---- writing ----
+
+    /**
+     * Copies a record into the active segment, rolling to a new one when it does not fit, and returns its
+     * sequence. The record is not durable until {@link #awaitDurable} says so.
+     */
+    public long append(byte[] payload) throws IOException {
+        if (payload.length > maxPayloadBytes()) {
+            throw new IllegalArgumentException("Journal record of " + payload.length + " bytes exceeds the "
+                    + maxPayloadBytes() + "-byte segment payload");
+        }
+        CRC32C crc = new CRC32C();
+        crc.update(payload);
+        int checksum = (int) crc.getValue();
+
+        synchronized (writeLock) {
+            if (closed) {
+                throw new IOException("Order journal is closed");
+            }
+            if (active.position + HEADER_BYTES + payload.length > segmentBytes) {
+                roll();
+            }
+            long sequence = lastWritten + 1;
+            MappedByteBuffer buffer = active.buffer;
+            int at = active.position;
+            buffer.putInt(at + 4, checksum);
+            buffer.putLong(at + 8, sequence);
+            buffer.put(at + HEADER_BYTES, payload);
+            // length last: a record whose length is still 0 reads as the end of the segment
+            buffer.putInt(at, payload.length);
+            active.position = at + HEADER_BYTES + payload.length;
+            lastWritten = sequence;
+            appends.increment();
+            return sequence;
+        }
+    }
+
+    /**
+     * Waits until the group commit covering {@code sequence} has been forced to disk; false on timeout.
+     */
+    public boolean awaitDurable(long sequence, long timeout, TimeUnit unit) throws InterruptedException {
+        if (durable >= sequence) {
+            return true;
+        }
+        long remaining = unit.toNanos(timeout);
+        durableLock.lock();
+        try {
+            while (durable < sequence) {
+                if (remaining <= 0 || closed) {
+                    return false;
+                }
+                remaining = durableAdvanced.awaitNanos(remaining);
+            }
+            return true;
+        } finally {
+            durableLock.unlock();
+        }
+    }
+
+    /**
+     * Forces the full segment and starts the next one. Caller holds {@code writeLock}.
+     */
+    private void roll() throws IOException {
+        Segment full = active;
+        full.buffer.force(0, full.position);
+        active = createSegment(lastWritten + 1);
+    }
+
+    private void flushLoop() {
+        while (!closed) {
+            LockSupport.parkNanos(flushIntervalNanos);
+            try {
+                flush();
+            } catch (RuntimeException | IOException ex) {
+                // appenders keep waiting and time out; the next round retries
+                fsyncFailures.increment();
+                System.err.println("Order journal flush failed: " + ex.getMessage());
+            }
+        }
+    }
+
+    /**
+     * One group commit: forces what the active segment gained since the last flush (full segments were
+     * forced when they rolled) and releases every appender waiting on it.
+     */
+    void flush() throws IOException {
+        Segment segment;
+        int position;
+        long sequence;
+        synchronized (writeLock) {
+            segment = active;
+            position = segment.position;
+            sequence = lastWritten;
+        }
+        if (sequence == durable) {
+            return;
+        }
+        long started = System.nanoTime();
+        int from = segment.forced;
+        if (position > from) {
+            segment.buffer.force(from, position - from);
+            segment.forced = position;
+        }
+        groupCommits.increment();
+        lastGroupCommitMicros = (System.nanoTime() - started) / 1_000;
+
+        durableLock.lock();
+        try {
+            durable = sequence;
+            durableAdvanced.signalAll();
+        } finally {
+            durableLock.unlock();
+        }
+    }
+
+    // ---- reading ----
+
+    /** A cursor over the durable records after {@code afterSequence} */
+    public Cursor cursor(long afterSequence) {
+        return new Cursor(afterSequence);
+    }
+
+    public record Record(long sequence, byte[] payload) {}
+
+    /**
+     * Reads durable records in sequence order; for a single consumer thread.
+     */
+    public final class Cursor {
+
+        private Segment segment;
+        private int position;
+        private long last;
+
+        private Cursor(long afterSequence) {
+            this.last = afterSequence;
+        }
+
+        /** Up to {@code max} durable records after the last one returned */
+        public List<Record> next(int max) {
+            List<Record> records = new ArrayList<>(Math.min(max, 1_024));
+            long limit = durable;
+            while (records.size() < max && last < limit) {
+                if (segment == null && !seek()) {
+                    break;
+                }
+                ByteBuffer buffer = segment.buffer;
+                int length = position + HEADER_BYTES <= buffer.capacity() ? buffer.getInt(position) : 0;
+                if (length == 0) {
+                    // end of a rolled segment: the next record starts the following one
+                    Segment following = after(segment);
+                    if (following == null) {
+                        break;
+                    }
+                    segment = following;
+                    position = 0;
+                    continue;
+                }
+                long sequence = buffer.getLong(position + 8);
+                byte[] payload = new byte[length];
+                buffer.get(position + HEADER_BYTES, payload);
+                position += HEADER_BYTES + length;
+                if (sequence > last) {
+                    records.add(new Record(sequence, payload));
+                    last = sequence;
+                }
+            }
+            return records;
+        }
+
+        /** Positions on the segment holding the record after {@code last} */
+        private boolean seek() {
+            Segment found = null;
+            for (Segment candidate : segments) {
+                if (candidate.firstSequence <= last + 1) {
+                    found = candidate;
+                }
+            }
+            if (found == null) {
+                return false;
+            }
+            segment = found;
+            position = 0;
+            return true;
+        }
+    }
+
+    private Segment after(Segment segment) {
+        for (Segment candidate : segments) {
+            if (candidate.firstSequence > segment.firstSequence) {
+                return candidate;
+            }
+        }
+        return null;
+    }
+
+    // ---- checkpoint and cleanup ----
+
+    /**
+     * Records that every record up to {@code sequence} has been consumed, durably, and deletes the
+     * segments that only hold such records.
+     */
+    public void markDrained(long sequence) throws IOException {
+        if (sequence <= drained) {
+            return;
+        }
+        Path temporary = directory.resolve(CHECKPOINT_FILE + ".tmp");
+        try (FileChannel channel = FileChannel.open(temporary, StandardOpenOption.CREATE, StandardOpenOption.WRITE,
+                StandardOpenOption.TRUNCATE_EXISTING)) {
+            channel.write(ByteBuffer.allocate(Long.BYTES).putLong(0, sequence));
+            channel.force(true);
+        }
+        Files.move(temporary, directory.resolve(CHECKPOINT_FILE), StandardCopyOption.ATOMIC_MOVE,
+                StandardCopyOption.REPLACE_EXISTING);
+        drained = sequence;
+        deleteDrainedSegments();
+    }
+
+    private long readCheckpoint() throws IOException {
+        Path checkpoint = directory.resolve(CHECKPOINT_FILE);
+        if (!Files.exists(checkpoint)) {
+            return 0;
+        }
+        byte[] bytes = Files.readAllBytes(checkpoint);
+        return bytes.length == Long.BYTES ? ByteBuffer.wrap(bytes).getLong() : 0;
+    }
+
+    private void deleteDrainedSegments() throws IOException {
+        for (Segment segment : segments) {
+            Segment following = after(segment);
+            // a segment is drained once the next one starts at or before the checkpoint; the last one never is
+            if (following == null || following.firstSequence - 1 > drained) {
+                continue;
+            }
+            segments.remove(segment);
+            segment.channel.close();
+            Files.deleteIfExists(segment.path);
+        }
+    }
+
+    // ---- segments ----
+
+    private static final class Segment {
+        final Path path;
+        final long firstSequence;
+        final FileChannel channel;
+        final MappedByteBuffer buffer;
+        // guarded by writeLock
+        int position;
+        // touched by the flusher only
+        int forced;
+
+        Segment(Path path, long firstSequence, FileChannel channel, MappedByteBuffer buffer) {
+            this.path = path;
+            this.firstSequence = firstSequence;
+            this.channel = channel;
+            this.buffer = buffer;
+        }
+    }
+
+    private Segment createSegment(long firstSequence) throws IOException {
+        Path path = directory.resolve(String.format("%020d%s", firstSequence, SEGMENT_SUFFIX));
+        FileChannel channel = FileChannel.open(path, StandardOpenOption.CREATE_NEW, StandardOpenOption.READ,
+                StandardOpenOption.WRITE);
+        Segment segment = new Segment(path, firstSequence, channel,
+                channel.map(FileChannel.MapMode.READ_WRITE, 0, segmentBytes));
+        syncDirectory();
+        segments.add(segment);
+        return segment;
+    }
+
+    /**
+     * Scans the existing segments in order and returns the last intact sequence. Empty segments are removed;
+     * the others stay readable but are never appended to again.
+     */
+    private long recover() throws IOException {
+        List<Path> files;
+        try (Stream<Path> listing = Files.list(directory)) {
+            files = listing.filter(p -> p.getFileName().toString().endsWith(SEGMENT_SUFFIX))
+                    .sorted(Comparator.comparing(p -> p.getFileName().toString()))
+                    .toList();
+        }
+
+        long last = drained;
+        for (Path path : files) {
+            String name = path.getFileName().toString();
+            long firstSequence = Long.parseLong(name.substring(0, name.length() - SEGMENT_SUFFIX.length()));
+            FileChannel channel = FileChannel.open(path, StandardOpenOption.READ, StandardOpenOption.WRITE);
+            int size = (int) Math.min(channel.size(), Integer.MAX_VALUE);
+            MappedByteBuffer buffer = channel.map(FileChannel.MapMode.READ_WRITE, 0, size);
+
+            long expected = firstSequence;
+            int position = 0;
+            while (position + HEADER_BYTES <= size) {
+                int length = buffer.getInt(position);
+                if (length <= 0 || position + HEADER_BYTES + length > size
+                        || buffer.getLong(position + 8) != expected) {
+                    break;
+                }
+                byte[] payload = new byte[length];
+                buffer.get(position + HEADER_BYTES, payload);
+                CRC32C crc = new CRC32C();
+                crc.update(payload);
+                if ((int) crc.getValue() != buffer.getInt(position + 4)) {
+                    break;
+                }
+                position += HEADER_BYTES + length;
+                expected++;
+            }
+            if (position + HEADER_BYTES <= size && buffer.getInt(position) != 0) {
+                System.err.println("Order journal: " + name + " ends in a torn or corrupt record after sequence "
+                        + (expected - 1) + "; the remainder is ignored");
+                // zero the length so readers stop here too
+                buffer.putInt(position, 0);
+                buffer.force();
+            }
+
+            if (expected == firstSequence) {
+                channel.close();
+                Files.delete(path);
+                continue;
+            }
+            Segment segment = new Segment(path, firstSequence, channel, buffer);
+            segment.position = position;
+            segment.forced = position;
+            segments.add(segment);
+            last = Math.max(last, expected - 1);
+        }
+        return last;
+    }
+
+    private void syncDirectory() {
+        try (FileChannel dir = FileChannel.open(directory, StandardOpenOption.READ)) {
+            dir.force(true);
+        } catch (IOException ex) {
+            // not supported on every platform; the segment itself is still forced
+        }
+    }
+
+    // ---- lifecycle and stats ----
+
+    /**
+     * Flushes what has been written, stops the flusher and releases the segment files.
+     */
+    @Override
+    public void close() throws IOException {
+        synchronized (writeLock) {
+            if (closed) {
+                return;
+            }
+            closed = true;
+        }
+        flusher.interrupt();
+        LockSupport.unpark(flusher);
+        try {
+            flusher.join(TimeUnit.SECONDS.toMillis(5));
+        } catch (InterruptedException ex) {
+            Thread.currentThread().interrupt();
+        }
+        flush();
+        durableLock.lock();
+        try {
+            durableAdvanced.signalAll();
+        } finally {
+            durableLock.unlock();
+        }
+        for (Segment segment : segments) {
+            segment.channel.close();
+        }
+    }
+
+    public JournalStats getStats() {
+        long commits = groupCommits.sum();
+        long appended = appends.sum();
+        return new JournalStats(
+                durable,
+                drained,
+                segments.size(),
+                appended,
+                commits,
+                commits == 0 ? 0 : (double) appended / commits,
+                lastGroupCommitMicros,
+                fsyncFailures.sum()
+        );
+    }
+
+    public record JournalStats(
+            long durableSequence,
+            long drainedSequence,
+            int segments,
+            long appends,
+            long groupCommits,
+            double recordsPerGroupCommit,
+            long lastGroupCommitMicros,
+            long fsyncFailures
+    ) {}
+}
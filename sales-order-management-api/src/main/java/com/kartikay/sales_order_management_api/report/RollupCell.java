@@ -0,0 +1,17 @@
+package com.kartikay.sales_order_management_api.report;
+
+import java.time.LocalDate;
+
+/**
+ * Address of one rollup row: a day, optionally narrowed to one catalog item.
+ */
+public record RollupCell(LocalDate date, Long catalogItemId) {
+
+    public static RollupCell daily(LocalDate date) {
+        return new RollupCell(date, null);
+    }
+
+    public boolean isDaily() {
+        return catalogItemId == null;
+    }
+}
@@ -0,0 +1,55 @@
+package com.kartikay.sales_order_management_api.report;
+
+/**
+ * Additive figures of one rollup cell: every order counted in it, and the subset of those orders that has
+ * been cancelled since. Amounts are in minor units (see {@code Money}); deltas may be negative.
+ * Item cells carry no VAT or total, which are only known per order.
+ */
+public final class SalesFigures {
+
+    private long orders;
+    private long units;
+    private long subtotal;
+    private long vat;
+    private long total;
+    private long cancelledOrders;
+    private long cancelledUnits;
+    private long cancelledSubtotal;
+    private long cancelledVat;
+    private long cancelledTotal;
+
+    public SalesFigures addGross(long orders, long units, long subtotal, long vat, long total) {
+        this.orders += orders;
+        this.units += units;
+        this.subtotal = Math.addExact(this.subtotal, subtotal);
+        this.vat = Math.addExact(this.vat, vat);
+        this.total = Math.addExact(this.total, total);
+        return this;
+    }
+
+    public SalesFigures addCancelled(long orders, long units, long subtotal, long vat, long total) {
+        cancelledOrders += orders;
+        cancelledUnits += units;
+        cancelledSubtotal = Math.addExact(cancelledSubtotal, subtotal);
+        cancelledVat = Math.addExact(cancelledVat, vat);
+        cancelledTotal = Math.addExact(cancelledTotal, total);
+        return this;
+    }
+
+    public SalesFigures add(SalesFigures other) {
+        addGross(other.orders, other.units, other.subtotal, other.vat, other.total);
+        return addCancelled(other.cancelledOrders, other.cancelledUnits, other.cancelledSubtotal,
+                other.cancelledVat, other.cancelledTotal);
+    }
+
+    public long getOrders() { return orders; }
+    public long getUnits() { return units; }
+    public long getSubtotal() { return subtotal; }
+    public long getVat() { return vat; }
+    public long getTotal() { return total; }
+    public long getCancelledOrders() { return cancelledOrders; }
+    public long getCancelledUnits() { return cancelledUnits; }
+    public long getCancelledSubtotal() { return cancelledSubtotal; }
+    public long getCancelledVat() { return cancelledVat; }
+    public long getCancelledTotal() { return cancelledTotal; }
+}
@@ -0,0 +1,275 @@
+package com.kartikay.sales_order_management_api.report;
+
+import com.kartikay.sales_order_management_api.domain.Order;
+import com.kartikay.sales_order_management_api.domain.OrderItem;
+import com.kartikay.sales_order_management_api.exception.InvalidOperationException;
+import com.kartikay.sales_order_management_api.repository.SalesRollupRepository;
+import com.kartikay.sales_order_management_api.repository.SalesRollupRepository.Contribution;
+import com.kartikay.sales_order_management_api.repository.SalesRollupRepository.PendingDelta;
+import com.kartikay.sales_order_management_api.service.Money;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.TransactionDefinition;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.math.BigDecimal;
+import java.time.LocalDate;
+import java.time.temporal.ChronoUnit;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.concurrent.locks.ReentrantLock;
+
+/**
+ * Daily and per-catalog-item sales rollups. Order writes add signed deltas in their own transaction, so the
+ * rollups can never disagree with committed orders; a scheduled applier folds the deltas into the rollup
+ * tables in batches, so concurrent orders never contend on today's row. Reads add the deltas not folded in
+ * yet and cost O(days), not O(orders).
+ */
+@Service
+public class SalesRollupService {
+
+    // keeps each IN list well below driver bind-parameter limits
+    private static final int IN_CHUNK = 1_000;
+
+    private final SalesRollupRepository repository;
+    private final TransactionTemplate applyTransaction;
+    private final TransactionTemplate rebuildTransaction;
+    private final int applyBatchSize;
+    private final int maxReportDays;
+
+    // one applier or rebuild at a time in this JVM; other instances are caught by the delete count check
+    private final ReentrantLock applyLock = new ReentrantLock();
+
+    private final LongAdder appliedDeltas = new LongAdder();
+    private final LongAdder applyRuns = new LongAdder();
+    private final LongAdder failedRuns = new LongAdder();
+    private volatile long lastApplyMicros;
+    private volatile long lastRebuildMillis;
+
+    public SalesRollupService(SalesRollupRepository repository, PlatformTransactionManager transactionManager,
+                              @Value("${reports.rollup.apply-batch-size:10000}") int applyBatchSize,
+                              @Value("${reports.max-days:3660}") int maxReportDays) {
+        this.repository = repository;
+        this.applyTransaction = new TransactionTemplate(transactionManager);
+        // one snapshot for the whole rebuild, so orders committed meanwhile are either counted or left as deltas
+        this.rebuildTransaction = new TransactionTemplate(transactionManager);
+        this.rebuildTransaction.setIsolationLevel(TransactionDefinition.ISOLATION_REPEATABLE_READ);
+        this.applyBatchSize = applyBatchSize;
+        this.maxReportDays = maxReportDays;
+    }
+
+    public void recordCreated(Order order) {
+        recordCreated(List.of(order));
+    }
+
+    /**
+     * Adds new orders to the rollups in one batch; must run in the transaction that saves them.
+     */
+    public void recordCreated(List<Order> orders) {
+        Map<RollupCell, SalesFigures> deltas = new HashMap<>();
+        for (Order order : orders) {
+            contribute(order, 1, 0, deltas);
+        }
+        repository.insertDeltas(deltas);
+    }
+
+    /**
+     * Moves a loaded order into the cancelled figures; must run in the transaction that cancels it.
+     */
+    public void recordCancelled(Order order) {
+        Map<RollupCell, SalesFigures> deltas = new HashMap<>();
+        contribute(order, 0, 1, deltas);
+        repository.insertDeltas(deltas);
+    }
+
+    /**
+     * Takes a loaded order out of the rollups; must run in the transaction that deletes it.
+     */
+    public void recordDeleted(Order order) {
+        Map<RollupCell, SalesFigures> deltas = new HashMap<>();
+        contribute(order, -1, order.getCancellationDate() != null ? -1 : 0, deltas);
+        repository.insertDeltas(deltas);
+    }
+
+    /**
+     * Set-based {@link #recordCancelled(Order)} for orders the caller has locked and is about to cancel.
+     */
+    public void recordCancelled(Collection<Long> orderIds) {
+        repository.insertDeltas(orderIds, Contribution.CANCEL);
+    }
+
+    /**
+     * Set-based {@link #recordDeleted(Order)} for orders the caller has locked and is about to delete.
+     */
+    public void recordDeleted(Collection<Long> orderIds) {
+        repository.insertDeltas(orderIds, Contribution.DELETE);
+    }
+
+    private static void contribute(Order order, int grossSign, int cancelledSign,
+                                   Map<RollupCell, SalesFigures> into) {
+        LocalDate date = order.getCreationDate();
+        long units = 0;
+        Map<Long, SalesFigures> items = new HashMap<>();
+        for (OrderItem item : order.getItems()) {
+            units += item.getQuantity();
+            if (item.getCatalogItemId() != null) {
+                long line = Money.lineTotal(Money.toMinorUnits(item.getUnitPrice()), item.getQuantity());
+                items.computeIfAbsent(item.getCatalogItemId(), id -> new SalesFigures())
+                        .addGross(0, item.getQuantity(), line, 0, 0);
+            }
+        }
+
+        long subtotal = minor(order.getSubtotal());
+        long vat = minor(order.getVat());
+        long total = minor(order.getTotal());
+        into.computeIfAbsent(RollupCell.daily(date), c -> new SalesFigures())
+                .addGross(grossSign, grossSign * units, grossSign * subtotal, grossSign * vat, grossSign * total)
+                .addCancelled(cancelledSign, cancelledSign * units, cancelledSign * subtotal,
+                        cancelledSign * vat, cancelledSign * total);
+
+        items.forEach((catalogItemId, line) -> into
+                .computeIfAbsent(new RollupCell(date, catalogItemId), c -> new SalesFigures())
+                .addGross(grossSign, grossSign * line.getUnits(), grossSign * line.getSubtotal(), 0, 0)
+                .addCancelled(cancelledSign, cancelledSign * line.getUnits(), cancelledSign * line.getSubtotal(),
+                        0, 0));
+    }
+
+    private static long minor(BigDecimal amount) {
+        return amount == null ? 0 : Money.toMinorUnits(amount);
+    }
+
+    @Scheduled(fixedDelayString = "${reports.rollup.apply-interval-ms:5000}",
+            initialDelayString = "${reports.rollup.apply-interval-ms:5000}")
+    public void scheduledApply() {
+        try {
+            applyPending();
+        } catch (RuntimeException ex) {
+            // deltas stay in place and are retried on the next run
+            failedRuns.increment();
+            System.err.println("Sales rollup apply failed: " + ex.getMessage());
+        }
+    }
+
+    /**
+     * Folds every pending delta into the rollup tables, one transaction per batch. Returns the deltas applied.
+     */
+    public int applyPending() {
+        if (!applyLock.tryLock()) {
+            return 0;
+        }
+        try {
+            long started = System.nanoTime();
+            int applied = 0;
+            int batch;
+            do {
+                Integer n = applyTransaction.execute(status -> applyBatch());
+                batch = n == null ? 0 : n;
+                applied += batch;
+            } while (batch == applyBatchSize);
+
+            appliedDeltas.add(applied);
+            applyRuns.increment();
+            lastApplyMicros = (System.nanoTime() - started) / 1_000;
+            return applied;
+        } finally {
+            applyLock.unlock();
+        }
+    }
+
+    private int applyBatch() {
+        List<PendingDelta> deltas = repository.findDeltas(applyBatchSize);
+        if (deltas.isEmpty()) {
+            return 0;
+        }
+
+        Map<RollupCell, SalesFigures> folded = new HashMap<>();
+        List<Long> ids = new ArrayList<>(deltas.size());
+        for (PendingDelta delta : deltas) {
+            folded.computeIfAbsent(delta.cell(), c -> new SalesFigures()).add(delta.figures());
+            ids.add(delta.id());
+        }
+
+        // claim the rows first: another instance that read them too deletes fewer and rolls back
+        int deleted = 0;
+        for (int from = 0; from < ids.size(); from += IN_CHUNK) {
+            deleted += repository.deleteDeltas(ids.subList(from, Math.min(ids.size(), from + IN_CHUNK)));
+        }
+        if (deleted != ids.size()) {
+            throw new IllegalStateException("Sales rollup deltas were applied concurrently; retrying later");
+        }
+
+        repository.addToRollups(folded);
+        return deltas.size();
+    }
+
+    /**
+     * Recomputes the rollups from the orders table, for backfills and repairs.
+     */
+    public RebuildResult rebuild() {
+        applyLock.lock();
+        try {
+            long started = System.currentTimeMillis();
+            int[] rows = rebuildTransaction.execute(status -> repository.rebuild());
+            lastRebuildMillis = System.currentTimeMillis() - started;
+            return new RebuildResult(rows[0], rows[1], lastRebuildMillis);
+        } finally {
+            applyLock.unlock();
+        }
+    }
+
+    /**
+     * Figures per day in {@code [start, end]}; days without orders are left out.
+     */
+    public Map<LocalDate, SalesFigures> daily(LocalDate start, LocalDate end) {
+        checkRange(start, end);
+        return repository.findDaily(start, end);
+    }
+
+    /**
+     * Figures per catalog item summed over {@code [start, end]}, best net revenue first.
+     */
+    public Map<Long, SalesFigures> items(LocalDate start, LocalDate end, Long catalogItemId, int limit) {
+        checkRange(start, end);
+        if (limit < 1) {
+            throw new InvalidOperationException("limit must be positive");
+        }
+        return repository.findItems(start, end, catalogItemId, limit);
+    }
+
+    private void checkRange(LocalDate start, LocalDate end) {
+        if (start == null || end == null || end.isBefore(start)) {
+            throw new InvalidOperationException("Provide a date range with start on or before end");
+        }
+        if (ChronoUnit.DAYS.between(start, end) >= maxReportDays) {
+            throw new InvalidOperationException("Date range is limited to " + maxReportDays + " days");
+        }
+    }
+
+    public RollupStats getStats() {
+        return new RollupStats(
+                repository.countDeltas(),
+                appliedDeltas.sum(),
+                applyRuns.sum(),
+                failedRuns.sum(),
+                lastApplyMicros,
+                lastRebuildMillis
+        );
+    }
+
+    public record RebuildResult(int days, int itemDays, long tookMillis) {}
+
+    public record RollupStats(
+            long pendingDeltas,
+            long appliedDeltas,
+            long applyRuns,
+            long failedRuns,
+            long lastApplyMicros,
+            long lastRebuildMillis
+    ) {}
+}
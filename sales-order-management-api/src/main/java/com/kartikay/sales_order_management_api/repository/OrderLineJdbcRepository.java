@@ -0,0 +1,140 @@
+package com.kartikay.sales_order_management_api.repository;
+
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Repository;
+
+import javax.sql.DataSource;
+import java.math.BigDecimal;
+import java.sql.Date;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.function.Consumer;
+
+/**
+ * Forward-only JDBC reads over orders joined with their lines, for bulk paths that must not
+ * materialise entities in a persistence context.
+ */
+@Repository
+public class OrderLineJdbcRepository {
+
+    private static final String SELECT_LINES = """
+            SELECT o.id, o.customer_name, o.creation_date, o.cancellation_date, o.subtotal, o.vat, o.total,
+                   i.catalog_item_id, i.item_name, i.unit_price, i.quantity
+            FROM orders o
+            LEFT JOIN order_items i ON i.order_id = o.id
+            """;
+
+    private final JdbcTemplate jdbcTemplate;
+
+    public OrderLineJdbcRepository(DataSource dataSource,
+                                   @Value("${orders.export.fetch-size:500}") int fetchSize) {
+        this.jdbcTemplate = new JdbcTemplate(dataSource);
+        this.jdbcTemplate.setFetchSize(fetchSize);
+    }
+
+    /**
+     * Streams every order line matching the filters, ordered by order id then line id, to {@code consumer}.
+     * Orders without lines are reported once with null line columns. The {@link OrderLineRow} instance is
+     * reused between calls, so consumers must copy what they keep. Must run inside a transaction for
+     * drivers (PostgreSQL) that only use a server-side cursor with auto-commit off.
+     */
+    public void streamLines(String customerName, LocalDate start, LocalDate end, Consumer<OrderLineRow> consumer) {
+        StringBuilder sql = new StringBuilder(SELECT_LINES).append("WHERE 1 = 1");
+        List<Object> args = new ArrayList<>();
+        if (customerName != null && !customerName.isBlank()) {
+            sql.append(" AND lower(o.customer_name) LIKE ?");
+            args.add("%" + customerName.toLowerCase() + "%");
+        }
+        if (start != null && end != null) {
+            sql.append(" AND o.creation_date BETWEEN ? AND ?");
+            args.add(Date.valueOf(start));
+            args.add(Date.valueOf(end));
+        }
+        sql.append(" ORDER BY o.id, i.id");
+
+        OrderLineRow row = new OrderLineRow();
+        jdbcTemplate.query(sql.toString(), rs -> {
+            row.read(rs);
+            consumer.accept(row);
+        }, args.toArray());
+    }
+
+    /**
+     * Smallest and largest order id, or {@code null} when there are no orders.
+     */
+    public long[] idRange() {
+        return jdbcTemplate.query("SELECT min(id), max(id) FROM orders", rs -> {
+            if (!rs.next() || rs.getObject(1) == null) {
+                return null;
+            }
+            return new long[]{rs.getLong(1), rs.getLong(2)};
+        });
+    }
+
+    /**
+     * Streams the lines of orders with ids in {@code [fromId, toId]}, ordered by order id then line id.
+     * Same row contract as {@link #streamLines}.
+     */
+    public void streamLines(long fromId, long toId, Consumer<OrderLineRow> consumer) {
+        OrderLineRow row = new OrderLineRow();
+        jdbcTemplate.query(SELECT_LINES + "WHERE o.id BETWEEN ? AND ? ORDER BY o.id, i.id", rs -> {
+            row.read(rs);
+            consumer.accept(row);
+        }, fromId, toId);
+    }
+
+    /**
+     * One order line joined with its order header. Mutable and reused across rows.
+     */
+    public static final class OrderLineRow {
+        private long orderId;
+        private String customerName;
+        private LocalDate creationDate;
+        private LocalDate cancellationDate;
+        private BigDecimal subtotal;
+        private BigDecimal vat;
+        private BigDecimal total;
+        private Long catalogItemId;
+        private String itemName;
+        private BigDecimal unitPrice;
+        private Integer quantity;
+
+        void read(ResultSet rs) throws SQLException {
+            orderId = rs.getLong(1);
+            customerName = rs.getString(2);
+            creationDate = toLocalDate(rs.getDate(3));
+            cancellationDate = toLocalDate(rs.getDate(4));
+            subtotal = rs.getBigDecimal(5);
+            vat = rs.getBigDecimal(6);
+            total = rs.getBigDecimal(7);
+            catalogItemId = rs.getObject(8) == null ? null : rs.getLong(8);
+            itemName = rs.getString(9);
+            unitPrice = rs.getBigDecimal(10);
+            quantity = rs.getObject(11) == null ? null : rs.getInt(11);
+        }
+
+        private static LocalDate toLocalDate(Date date) {
+            return date == null ? null : date.toLocalDate();
+        }
+
+        public boolean hasLine() {
+            return itemName != null;
+        }
+
+        public long getOrderId() { return orderId; }
+        public String getCustomerName() { return customerName; }
+        public LocalDate getCreationDate() { return creationDate; }
+        public LocalDate getCancellationDate() { return cancellationDate; }
+        public BigDecimal getSubtotal() { return subtotal; }
+        public BigDecimal getVat() { return vat; }
+        public BigDecimal getTotal() { return total; }
+        public Long getCatalogItemId() { return catalogItemId; }
+        public String getItemName() { return itemName; }
+        public BigDecimal getUnitPrice() { return unitPrice; }
+        public Integer getQuantity() { return quantity; }
+    }
+}
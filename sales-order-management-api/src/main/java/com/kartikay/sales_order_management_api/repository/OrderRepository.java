@@ -3,14 +3,17 @@ package com.kartikay.sales_order_management_api.repository;
 import com.kartikay.sales_order_management_api.domain.Order;
 import org.springframework.data.jpa.repository.JpaRepository;
 import org.springframework.data.jpa.repository.JpaSpecificationExecutor;
+import org.springframework.data.jpa.repository.Modifying;
 import org.springframework.data.jpa.repository.Query;
 import org.springframework.data.repository.query.Param;
 
+import java.time.LocalDate;
+import java.util.Collection;
 import java.util.List;
 import java.util.Optional;
 
 public interface OrderRepository extends JpaRepository<Order, Long>,
-        JpaSpecificationExecutor<Order> {
+        JpaSpecificationExecutor<Order>, OrderRepositoryCustom {
 
     @Query("SELECT o FROM Order o LEFT JOIN FETCH o.items WHERE o.id = :id")
     Optional<Order> findByIdWithItems(@Param("id") Long id);
@@ -18,4 +21,38 @@ public interface OrderRepository extends JpaRepository<Order, Long>,
     @Query("SELECT DISTINCT o FROM Order o LEFT JOIN FETCH o.items")
     List<Order> findAllWithItems();
 
+    @Query("SELECT DISTINCT o FROM Order o LEFT JOIN FETCH o.items WHERE o.id IN :ids")
+    List<Order> findAllWithItemsByIdIn(@Param("ids") Collection<Long> ids);
+
+    @Query("SELECT o.id FROM Order o WHERE o.orderReference = :reference")
+    Optional<Long> findIdByOrderReference(@Param("reference") String reference);
+
+    @Query("SELECT o.orderReference FROM Order o WHERE o.orderReference IN :references")
+    List<String> findOrderReferencesIn(@Param("references") Collection<String> references);
+
+    /**
+     * Cancels the given orders that are not cancelled yet in one UPDATE. The version is bumped so that
+     * a concurrent entity-based update of any of them fails its optimistic lock check instead of
+     * silently undoing the cancellation.
+     */
+    @Modifying(flushAutomatically = true, clearAutomatically = true)
+    @Query("UPDATE Order o SET o.cancellationDate = :date, o.version = o.version + 1 "
+            + "WHERE o.id IN :ids AND o.cancellationDate IS NULL")
+    int cancelByIds(@Param("ids") Collection<Long> ids, @Param("date") LocalDate date);
+
+    /**
+     * Deletes the given orders in one DELETE; their items go with them through ON DELETE CASCADE.
+     */
+    @Modifying(flushAutomatically = true, clearAutomatically = true)
+    @Query("DELETE FROM Order o WHERE o.id IN :ids")
+    int deleteByIds(@Param("ids") Collection<Long> ids);
+
+    /**
+     * Deletes one order if it is still at the given version, in one DELETE; returns 0 when it has been
+     * deleted or changed since it was read.
+     */
+    @Modifying(flushAutomatically = true, clearAutomatically = true)
+    @Query("DELETE FROM Order o WHERE o.id = :id AND o.version = :version")
+    int deleteByIdAndVersion(@Param("id") Long id, @Param("version") Long version);
+
 }
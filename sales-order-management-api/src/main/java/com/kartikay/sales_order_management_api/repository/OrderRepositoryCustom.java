@@ -0,0 +1,31 @@
+package com.kartikay.sales_order_management_api.repository;
+
+import com.kartikay.sales_order_management_api.domain.Order;
+import org.springframework.data.domain.Page;
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.domain.Sort;
+import org.springframework.data.jpa.domain.Specification;
+
+import java.util.List;
+
+/**
+ * Query fragments that Spring Data cannot derive, implemented in {@link OrderRepositoryImpl}.
+ */
+public interface OrderRepositoryCustom {
+
+    /**
+     * Pages over order ids only, applying the given filters and the pageable's sort.
+     */
+    Page<Long> findIds(Specification<Order> spec, Pageable pageable);
+
+    /**
+     * Returns at most {@code limit} order ids matching the filters in the given sort order, without a count query.
+     */
+    List<Long> findIds(Specification<Order> spec, Sort sort, int limit);
+
+    /**
+     * Like {@link #findIds(Specification, Sort, int)}, but write-locks every returned row
+     * (SELECT ... FOR UPDATE) until the transaction ends.
+     */
+    List<Long> lockIds(Specification<Order> spec, Sort sort, int limit);
+}
@@ -3,6 +3,7 @@ package com.kartikay.sales_order_management_api.repository;
 import com.kartikay.sales_order_management_api.domain.Order;
 import org.springframework.data.jpa.domain.Specification;
 import java.time.LocalDate;
+import java.util.Collection;
 
 public class OrderSpecification {
 
@@ -20,10 +21,36 @@ public class OrderSpecification {
         };
     }
 
+    public static Specification<Order> idIn(Collection<Long> ids) {
+        return (root, query, cb) -> {
+            if (ids == null || ids.isEmpty()) return null;
+            return root.get("id").in(ids);
+        };
+    }
+
+    public static Specification<Order> notCancelled() {
+        return (root, query, cb) -> cb.isNull(root.get("cancellationDate"));
+    }
+
     public static Specification<Order> hasCustomerName(String customerName) {
         return (root, query, cb) -> {
             if (customerName == null || customerName.isBlank()) return null;
             return cb.like(cb.lower(root.get("customerName")), "%" + customerName.toLowerCase() + "%");
         };
     }
+
+    /**
+     * Keyset predicate for listings ordered by {@code creationDate DESC, id DESC}:
+     * rows strictly after the given position, i.e. {@code (creation_date, id) < (date, id)}.
+     */
+    public static Specification<Order> seekAfter(LocalDate creationDate, Long id) {
+        return (root, query, cb) -> {
+            if (creationDate == null || id == null) return null;
+            return cb.and(
+                    cb.lessThanOrEqualTo(root.get("creationDate"), creationDate),
+                    cb.or(
+                            cb.lessThan(root.get("creationDate"), creationDate),
+                            cb.lessThan(root.get("id"), id)));
+        };
+    }
 }
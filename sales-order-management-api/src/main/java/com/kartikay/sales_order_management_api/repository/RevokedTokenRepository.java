@@ -0,0 +1,27 @@
+package com.kartikay.sales_order_management_api.repository;
+
+import com.kartikay.sales_order_management_api.domain.RevokedToken;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.time.Instant;
+import java.util.List;
+
+public interface RevokedTokenRepository extends JpaRepository<RevokedToken, String> {
+
+    List<RevokedToken> findByExpiresAtAfter(Instant now);
+
+    /** Plain insert (never a merge), so revoking a jti twice fails on the primary key */
+    @Transactional
+    @Modifying
+    @Query(value = "INSERT INTO revoked_tokens (jti, username, expires_at) VALUES (:jti, :username, :expiresAt)",
+            nativeQuery = true)
+    int insert(String jti, String username, Instant expiresAt);
+
+    @Transactional
+    @Modifying
+    @Query("DELETE FROM RevokedToken t WHERE t.expiresAt <= :now")
+    int deleteExpired(Instant now);
+}
@@ -0,0 +1,328 @@
+package com.kartikay.sales_order_management_api.repository;
+
+import com.kartikay.sales_order_management_api.report.RollupCell;
+import com.kartikay.sales_order_management_api.report.SalesFigures;
+import com.kartikay.sales_order_management_api.service.Money;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.core.namedparam.MapSqlParameterSource;
+import org.springframework.jdbc.core.namedparam.NamedParameterJdbcTemplate;
+import org.springframework.stereotype.Repository;
+
+import javax.sql.DataSource;
+import java.math.BigDecimal;
+import java.sql.Date;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Plain SQL over the sales rollup tables (V6__sales_rollups.sql): delta writes from order transactions,
+ * folding deltas into the rollups, a full rebuild from the orders, and the report reads.
+ */
+@Repository
+public class SalesRollupRepository {
+
+    private static final String FIGURES =
+            "orders, units, subtotal, vat, total, "
+                    + "cancelled_orders, cancelled_units, cancelled_subtotal, cancelled_vat, cancelled_total";
+
+    private static final String ITEM_FIGURES =
+            "orders, units, subtotal, cancelled_orders, cancelled_units, cancelled_subtotal";
+
+    private static final String SUM_FIGURES =
+            "SUM(orders), SUM(units), SUM(subtotal), SUM(vat), SUM(total), SUM(cancelled_orders), "
+                    + "SUM(cancelled_units), SUM(cancelled_subtotal), SUM(cancelled_vat), SUM(cancelled_total)";
+
+    private static final String INSERT_DELTA =
+            "INSERT INTO sales_rollup_delta (sales_date, catalog_item_id, " + FIGURES + ") "
+                    + "VALUES (?, ?, ?, ?, ?, ?, ?, ?, ?, ?, ?, ?)";
+
+    private static final String UPDATE_DAILY = """
+            UPDATE sales_daily_rollup SET orders = orders + ?, units = units + ?, subtotal = subtotal + ?,
+                   vat = vat + ?, total = total + ?, cancelled_orders = cancelled_orders + ?,
+                   cancelled_units = cancelled_units + ?, cancelled_subtotal = cancelled_subtotal + ?,
+                   cancelled_vat = cancelled_vat + ?, cancelled_total = cancelled_total + ?
+            WHERE sales_date = ?
+            """;
+
+    private static final String INSERT_DAILY =
+            "INSERT INTO sales_daily_rollup (" + FIGURES + ", sales_date) VALUES (?, ?, ?, ?, ?, ?, ?, ?, ?, ?, ?)";
+
+    private static final String UPDATE_ITEM = """
+            UPDATE sales_item_rollup SET orders = orders + ?, units = units + ?, subtotal = subtotal + ?,
+                   cancelled_orders = cancelled_orders + ?, cancelled_units = cancelled_units + ?,
+                   cancelled_subtotal = cancelled_subtotal + ?
+            WHERE sales_date = ? AND catalog_item_id = ?
+            """;
+
+    private static final String INSERT_ITEM =
+            "INSERT INTO sales_item_rollup (" + ITEM_FIGURES + ", sales_date, catalog_item_id) "
+                    + "VALUES (?, ?, ?, ?, ?, ?, ?, ?)";
+
+    /**
+     * How a set of orders changes the rollups.
+     */
+    public enum Contribution {
+        /** The orders as they stand: placed, and cancelled where they are. */
+        ADD(1, 1, false),
+        /** The orders are being cancelled: only their cancelled figures grow. */
+        CANCEL(0, 1, true),
+        /** The orders are being deleted: everything they contributed is taken back. */
+        DELETE(-1, -1, false);
+
+        private final int grossSign;
+        private final int cancelledSign;
+        private final boolean allCancelled;
+
+        Contribution(int grossSign, int cancelledSign, boolean allCancelled) {
+            this.grossSign = grossSign;
+            this.cancelledSign = cancelledSign;
+            this.allCancelled = allCancelled;
+        }
+
+        private String cancelled(String alias) {
+            return allCancelled ? "1 = 1" : alias + ".cancellation_date IS NOT NULL";
+        }
+
+        /**
+         * Daily cells of the orders matching {@code where} (alias {@code o}), in delta column order.
+         */
+        String dailySelect(String where) {
+            String g = grossSign + " * ";
+            String c = cancelledSign + " * ";
+            String x = cancelled("d");
+            return "SELECT d.creation_date AS sales_date, CAST(NULL AS BIGINT) AS catalog_item_id, "
+                    + g + "COUNT(*) AS orders, " + g + "SUM(d.units) AS units, "
+                    + g + "SUM(d.subtotal) AS subtotal, " + g + "SUM(d.vat) AS vat, " + g + "SUM(d.total) AS total, "
+                    + c + "SUM(CASE WHEN " + x + " THEN 1 ELSE 0 END) AS cancelled_orders, "
+                    + c + "SUM(CASE WHEN " + x + " THEN d.units ELSE 0 END) AS cancelled_units, "
+                    + c + "SUM(CASE WHEN " + x + " THEN d.subtotal ELSE 0 END) AS cancelled_subtotal, "
+                    + c + "SUM(CASE WHEN " + x + " THEN d.vat ELSE 0 END) AS cancelled_vat, "
+                    + c + "SUM(CASE WHEN " + x + " THEN d.total ELSE 0 END) AS cancelled_total "
+                    + "FROM (SELECT o.creation_date, o.cancellation_date, o.subtotal, "
+                    + "COALESCE(o.vat, 0) AS vat, COALESCE(o.total, 0) AS total, "
+                    + "(SELECT COALESCE(SUM(i.quantity), 0) FROM order_items i WHERE i.order_id = o.id) AS units "
+                    + "FROM orders o WHERE " + where + ") d "
+                    + "GROUP BY d.creation_date";
+        }
+
+        /**
+         * Per-item cells of the orders matching {@code where} (alias {@code o}), in delta column order.
+         */
+        String itemSelect(String where) {
+            String g = grossSign + " * ";
+            String c = cancelledSign + " * ";
+            String x = cancelled("o");
+            return "SELECT o.creation_date AS sales_date, i.catalog_item_id AS catalog_item_id, "
+                    + g + "COUNT(DISTINCT o.id) AS orders, " + g + "SUM(i.quantity) AS units, "
+                    + g + "SUM(i.unit_price * i.quantity) AS subtotal, 0 AS vat, 0 AS total, "
+                    + c + "COUNT(DISTINCT CASE WHEN " + x + " THEN o.id END) AS cancelled_orders, "
+                    + c + "SUM(CASE WHEN " + x + " THEN i.quantity ELSE 0 END) AS cancelled_units, "
+                    + c + "SUM(CASE WHEN " + x + " THEN i.unit_price * i.quantity ELSE 0 END) AS cancelled_subtotal, "
+                    + "0 AS cancelled_vat, 0 AS cancelled_total "
+                    + "FROM orders o JOIN order_items i ON i.order_id = o.id "
+                    + "WHERE " + where + " AND i.catalog_item_id IS NOT NULL "
+                    + "GROUP BY o.creation_date, i.catalog_item_id";
+        }
+    }
+
+    private final JdbcTemplate jdbcTemplate;
+    private final NamedParameterJdbcTemplate namedJdbcTemplate;
+
+    public SalesRollupRepository(DataSource dataSource) {
+        this.jdbcTemplate = new JdbcTemplate(dataSource);
+        this.namedJdbcTemplate = new NamedParameterJdbcTemplate(jdbcTemplate);
+    }
+
+    /**
+     * Writes the given deltas in one JDBC batch.
+     */
+    public void insertDeltas(Map<RollupCell, SalesFigures> deltas) {
+        if (deltas.isEmpty()) {
+            return;
+        }
+        List<Object[]> rows = new ArrayList<>(deltas.size());
+        deltas.forEach((cell, f) -> rows.add(new Object[]{
+                Date.valueOf(cell.date()), cell.catalogItemId(),
+                f.getOrders(), f.getUnits(), money(f.getSubtotal()), money(f.getVat()), money(f.getTotal()),
+                f.getCancelledOrders(), f.getCancelledUnits(), money(f.getCancelledSubtotal()),
+                money(f.getCancelledVat()), money(f.getCancelledTotal())}));
+        jdbcTemplate.batchUpdate(INSERT_DELTA, rows);
+    }
+
+    /**
+     * Writes the deltas for changing the given orders in one INSERT ... SELECT, computed from their rows.
+     * Must run before the orders are changed, while the caller holds their row locks. For {@link
+     * Contribution#CANCEL} only orders that are still open are counted.
+     */
+    public int insertDeltas(Collection<Long> orderIds, Contribution contribution) {
+        String where = contribution == Contribution.CANCEL
+                ? "o.id IN (:ids) AND o.cancellation_date IS NULL"
+                : "o.id IN (:ids)";
+        String sql = "INSERT INTO sales_rollup_delta (sales_date, catalog_item_id, " + FIGURES + ") "
+                + contribution.dailySelect(where) + " UNION ALL " + contribution.itemSelect(where);
+        return namedJdbcTemplate.update(sql, new MapSqlParameterSource("ids", orderIds));
+    }
+
+    /**
+     * Oldest pending deltas, at most {@code limit}.
+     */
+    public List<PendingDelta> findDeltas(int limit) {
+        return jdbcTemplate.query("SELECT id, sales_date, catalog_item_id, " + FIGURES
+                        + " FROM sales_rollup_delta ORDER BY id FETCH FIRST ? ROWS ONLY",
+                (rs, n) -> new PendingDelta(rs.getLong(1),
+                        new RollupCell(rs.getDate(2).toLocalDate(), rs.getObject(3) == null ? null : rs.getLong(3)),
+                        readFigures(rs, 4)),
+                limit);
+    }
+
+    public int deleteDeltas(Collection<Long> ids) {
+        return namedJdbcTemplate.update("DELETE FROM sales_rollup_delta WHERE id IN (:ids)",
+                new MapSqlParameterSource("ids", ids));
+    }
+
+    public long countDeltas() {
+        Long count = jdbcTemplate.queryForObject("SELECT COUNT(*) FROM sales_rollup_delta", Long.class);
+        return count == null ? 0 : count;
+    }
+
+    /**
+     * Adds folded deltas to their rollup rows: one batch of UPDATEs, then one batch of INSERTs for the cells
+     * that had no row yet. Callers must not run concurrently with each other.
+     */
+    public void addToRollups(Map<RollupCell, SalesFigures> cells) {
+        List<Map.Entry<RollupCell, SalesFigures>> daily = new ArrayList<>();
+        List<Map.Entry<RollupCell, SalesFigures>> items = new ArrayList<>();
+        for (Map.Entry<RollupCell, SalesFigures> entry : cells.entrySet()) {
+            (entry.getKey().isDaily() ? daily : items).add(entry);
+        }
+        upsert(daily, UPDATE_DAILY, INSERT_DAILY);
+        upsert(items, UPDATE_ITEM, INSERT_ITEM);
+    }
+
+    private void upsert(List<Map.Entry<RollupCell, SalesFigures>> cells, String update, String insert) {
+        if (cells.isEmpty()) {
+            return;
+        }
+        List<Object[]> rows = cells.stream().map(e -> rollupRow(e.getKey(), e.getValue())).toList();
+        int[] updated = jdbcTemplate.batchUpdate(update, rows);
+
+        List<Object[]> missing = new ArrayList<>();
+        for (int i = 0; i < updated.length; i++) {
+            if (updated[i] == 0) {
+                missing.add(rows.get(i));
+            }
+        }
+        if (!missing.isEmpty()) {
+            jdbcTemplate.batchUpdate(insert, missing);
+        }
+    }
+
+    /**
+     * Replaces the rollups with figures recomputed from the orders and drops all pending deltas.
+     * Returns the number of daily and item rows written.
+     */
+    public int[] rebuild() {
+        jdbcTemplate.update("DELETE FROM sales_rollup_delta");
+        jdbcTemplate.update("DELETE FROM sales_daily_rollup");
+        jdbcTemplate.update("DELETE FROM sales_item_rollup");
+        int days = jdbcTemplate.update("INSERT INTO sales_daily_rollup (sales_date, " + FIGURES + ") "
+                + "SELECT sales_date, " + FIGURES + " FROM (" + Contribution.ADD.dailySelect("1 = 1") + ") c");
+        int items = jdbcTemplate.update("INSERT INTO sales_item_rollup (sales_date, catalog_item_id, "
+                + ITEM_FIGURES + ") SELECT sales_date, catalog_item_id, " + ITEM_FIGURES
+                + " FROM (" + Contribution.ADD.itemSelect("1 = 1") + ") c");
+        return new int[]{days, items};
+    }
+
+    /**
+     * Daily figures in {@code [start, end]}, rollups plus deltas not folded in yet, in one statement.
+     */
+    public Map<LocalDate, SalesFigures> findDaily(LocalDate start, LocalDate end) {
+        String sql = "SELECT sales_date, " + SUM_FIGURES + " FROM ("
+                + "SELECT sales_date, " + FIGURES + " FROM sales_daily_rollup WHERE sales_date BETWEEN ? AND ? "
+                + "UNION ALL "
+                + "SELECT sales_date, " + FIGURES + " FROM sales_rollup_delta "
+                + "WHERE catalog_item_id IS NULL AND sales_date BETWEEN ? AND ?"
+                + ") r GROUP BY sales_date ORDER BY sales_date";
+
+        Map<LocalDate, SalesFigures> days = new LinkedHashMap<>();
+        jdbcTemplate.query(sql, rs -> {
+            days.put(rs.getDate(1).toLocalDate(), readFigures(rs, 2));
+        }, Date.valueOf(start), Date.valueOf(end), Date.valueOf(start), Date.valueOf(end));
+        return days;
+    }
+
+    /**
+     * Per-item figures summed over {@code [start, end]}, optionally for one item, best net revenue first.
+     */
+    public Map<Long, SalesFigures> findItems(LocalDate start, LocalDate end, Long catalogItemId, int limit) {
+        String itemFilter = catalogItemId == null ? "" : " AND catalog_item_id = ?";
+        String sql = "SELECT catalog_item_id, SUM(orders), SUM(units), SUM(subtotal), SUM(cancelled_orders), "
+                + "SUM(cancelled_units), SUM(cancelled_subtotal) FROM ("
+                + "SELECT catalog_item_id, " + ITEM_FIGURES + " FROM sales_item_rollup "
+                + "WHERE sales_date BETWEEN ? AND ?" + itemFilter
+                + " UNION ALL "
+                + "SELECT catalog_item_id, " + ITEM_FIGURES + " FROM sales_rollup_delta "
+                + "WHERE catalog_item_id IS NOT NULL AND sales_date BETWEEN ? AND ?" + itemFilter
+                + ") r GROUP BY catalog_item_id "
+                + "ORDER BY SUM(subtotal) - SUM(cancelled_subtotal) DESC, catalog_item_id "
+                + "FETCH FIRST ? ROWS ONLY";
+
+        List<Object> args = new ArrayList<>();
+        for (int i = 0; i < 2; i++) {
+            args.add(Date.valueOf(start));
+            args.add(Date.valueOf(end));
+            if (catalogItemId != null) {
+                args.add(catalogItemId);
+            }
+        }
+        args.add(limit);
+
+        Map<Long, SalesFigures> items = new LinkedHashMap<>();
+        jdbcTemplate.query(sql, rs -> {
+            items.put(rs.getLong(1), new SalesFigures()
+                    .addGross(rs.getLong(2), rs.getLong(3), minor(rs.getBigDecimal(4)), 0, 0)
+                    .addCancelled(rs.getLong(5), rs.getLong(6), minor(rs.getBigDecimal(7)), 0, 0));
+        }, args.toArray());
+        return items;
+    }
+
+    private static Object[] rollupRow(RollupCell cell, SalesFigures f) {
+        if (cell.isDaily()) {
+            return new Object[]{f.getOrders(), f.getUnits(), money(f.getSubtotal()), money(f.getVat()),
+                    money(f.getTotal()), f.getCancelledOrders(), f.getCancelledUnits(),
+                    money(f.getCancelledSubtotal()), money(f.getCancelledVat()), money(f.getCancelledTotal()),
+                    Date.valueOf(cell.date())};
+        }
+        return new Object[]{f.getOrders(), f.getUnits(), money(f.getSubtotal()), f.getCancelledOrders(),
+                f.getCancelledUnits(), money(f.getCancelledSubtotal()), Date.valueOf(cell.date()),
+                cell.catalogItemId()};
+    }
+
+    // Reads the ten FIGURES columns starting at column {@code from}
+    private static SalesFigures readFigures(ResultSet rs, int from) throws SQLException {
+        return new SalesFigures()
+                .addGross(rs.getLong(from), rs.getLong(from + 1), minor(rs.getBigDecimal(from + 2)),
+                        minor(rs.getBigDecimal(from + 3)), minor(rs.getBigDecimal(from + 4)))
+                .addCancelled(rs.getLong(from + 5), rs.getLong(from + 6), minor(rs.getBigDecimal(from + 7)),
+                        minor(rs.getBigDecimal(from + 8)), minor(rs.getBigDecimal(from + 9)));
+    }
+
+    private static long minor(BigDecimal amount) {
+        return amount == null ? 0 : Money.toMinorUnits(amount);
+    }
+
+    private static BigDecimal money(long minorUnits) {
+        return Money.fromMinorUnits(minorUnits);
+    }
+
+    /**
+     * A delta row waiting to be folded into the rollups.
+     */
+    public record PendingDelta(long id, RollupCell cell, SalesFigures figures) {}
+}
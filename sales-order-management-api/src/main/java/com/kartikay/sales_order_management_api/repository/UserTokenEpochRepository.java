@@ -0,0 +1,20 @@
+package com.kartikay.sales_order_management_api.repository;
+
+import com.kartikay.sales_order_management_api.domain.UserTokenEpoch;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.time.Instant;
+import java.util.List;
+
+public interface UserTokenEpochRepository extends JpaRepository<UserTokenEpoch, String> {
+
+    List<UserTokenEpoch> findByNotBeforeAfter(Instant cutoff);
+
+    @Transactional
+    @Modifying
+    @Query("DELETE FROM UserTokenEpoch e WHERE e.notBefore <= :cutoff")
+    int deleteOlderThan(Instant cutoff);
+}
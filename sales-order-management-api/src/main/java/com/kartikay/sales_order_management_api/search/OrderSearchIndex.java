@@ -0,0 +1,574 @@
+package com.kartikay.sales_order_management_api.search;
+
+import com.kartikay.sales_order_management_api.domain.Order;
+import com.kartikay.sales_order_management_api.domain.OrderItem;
+import com.kartikay.sales_order_management_api.exception.InvalidOperationException;
+import com.kartikay.sales_order_management_api.exception.ServiceBusyException;
+import com.kartikay.sales_order_management_api.repository.OrderLineJdbcRepository;
+import com.kartikay.sales_order_management_api.support.AfterCommit;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.stereotype.Component;
+
+import java.util.*;
+import java.util.concurrent.*;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.concurrent.locks.ReentrantReadWriteLock;
+import java.util.function.Consumer;
+
+/**
+ * In-memory substring search over order customer names and item names.
+ * <p>
+ * Each field keeps a dictionary of distinct lower-cased values, a trigram index from grams to the values
+ * containing them, and a {@link PostingList} of order ids per value. A query picks the value candidates from
+ * its rarest trigram, confirms them with {@code contains}, and unions their posting lists.
+ * <p>
+ * The index is rebuilt from the database at startup, with id ranges scanned in parallel, and then kept
+ * current after every commit that creates, cancels or deletes an order. Deleted orders are tombstoned
+ * until the next rebuild.
+ */
+@Component
+public class OrderSearchIndex {
+
+    public enum Status {
+        ALL, OPEN, CANCELLED;
+
+        /** Case-insensitive lookup for request parameters */
+        public static Status parse(String value) {
+            for (Status status : values()) {
+                if (status.name().equalsIgnoreCase(value.trim())) {
+                    return status;
+                }
+            }
+            throw new InvalidOperationException("Unknown status: " + value + " (allowed: all, open, cancelled)");
+        }
+    }
+
+    private static final int GRAM = 3;
+    private static final int MAX_LIMIT = 1_000;
+    private static final long REBUILD_CHUNK_IDS = 50_000;
+
+    private final OrderLineJdbcRepository orderLineRepository;
+    private final int rebuildThreads;
+
+    private final ReentrantReadWriteLock lock = new ReentrantReadWriteLock();
+    private final Object rebuildLock = new Object();
+
+    // Guarded by lock
+    private Terms customers = new Terms();
+    private Terms items = new Terms();
+    private PostingList cancelled = new PostingList();
+    private PostingList deleted = new PostingList();
+    private List<Consumer<OrderSearchIndex>> pendingDuringRebuild;
+
+    // Decoded views of cancelled/deleted for membership tests, dropped on every change
+    private volatile long[] cancelledView;
+    private volatile long[] deletedView;
+
+    private volatile boolean ready;
+    private final LongAdder queries = new LongAdder();
+    private final LongAdder rebuilds = new LongAdder();
+    private volatile long lastRebuildMillis;
+
+    public OrderSearchIndex(OrderLineJdbcRepository orderLineRepository,
+                            @Value("${search.index.rebuild-threads:0}") int rebuildThreads) {
+        this.orderLineRepository = orderLineRepository;
+        this.rebuildThreads = rebuildThreads > 0 ? rebuildThreads : Runtime.getRuntime().availableProcessors();
+    }
+
+    @EventListener(ApplicationReadyEvent.class)
+    public void rebuildOnStartup() {
+        try {
+            IndexStats stats = rebuild();
+            System.out.println("Order search index built: " + stats.indexedOrders() + " orders in "
+                    + stats.lastRebuildMillis() + " ms");
+        } catch (RuntimeException ex) {
+            // search answers 503 until an admin rebuild succeeds; the rest of the API is unaffected
+            System.err.println("Order search index rebuild failed: " + ex.getMessage());
+        }
+    }
+
+    /**
+     * Reloads every order from the database and swaps the result in. Updates committed while the rebuild
+     * runs are applied to the live index and replayed onto the new one before it is published.
+     */
+    public IndexStats rebuild() {
+        synchronized (rebuildLock) {
+            long started = System.currentTimeMillis();
+            lock.writeLock().lock();
+            try {
+                pendingDuringRebuild = new ArrayList<>();
+            } finally {
+                lock.writeLock().unlock();
+            }
+
+            Partial built;
+            try {
+                built = load();
+            } catch (RuntimeException ex) {
+                lock.writeLock().lock();
+                try {
+                    pendingDuringRebuild = null;
+                } finally {
+                    lock.writeLock().unlock();
+                }
+                throw ex;
+            }
+
+            lock.writeLock().lock();
+            try {
+                customers = built.customers;
+                items = built.items;
+                cancelled = built.cancelled;
+                deleted = new PostingList();
+                for (Consumer<OrderSearchIndex> update : pendingDuringRebuild) {
+                    update.accept(this);
+                }
+                pendingDuringRebuild = null;
+                cancelledView = null;
+                deletedView = null;
+                ready = true;
+            } finally {
+                lock.writeLock().unlock();
+            }
+
+            lastRebuildMillis = System.currentTimeMillis() - started;
+            rebuilds.increment();
+            return getStats();
+        }
+    }
+
+    /**
+     * Scans the orders table in fixed id ranges on a bounded pool and merges the partial indexes in id order,
+     * so every posting list is built by appends only.
+     */
+    private Partial load() {
+        long[] range = orderLineRepository.idRange();
+        if (range == null) {
+            return new Partial();
+        }
+
+        ExecutorService pool = Executors.newFixedThreadPool(rebuildThreads, daemonThreads());
+        try {
+            List<Future<Partial>> chunks = new ArrayList<>();
+            for (long start = range[0]; start <= range[1]; start += REBUILD_CHUNK_IDS) {
+                long from = start;
+                long to = Math.min(range[1], start + REBUILD_CHUNK_IDS - 1);
+                chunks.add(pool.submit(() -> loadRange(from, to)));
+            }
+
+            Partial merged = new Partial();
+            for (Future<Partial> chunk : chunks) {
+                merged.mergeFrom(chunk.get());
+            }
+            merged.customers.trim();
+            merged.items.trim();
+            return merged;
+        } catch (InterruptedException ex) {
+            Thread.currentThread().interrupt();
+            throw new IllegalStateException("Search index rebuild interrupted", ex);
+        } catch (ExecutionException ex) {
+            throw new IllegalStateException("Search index rebuild failed", ex.getCause());
+        } finally {
+            pool.shutdownNow();
+        }
+    }
+
+    private Partial loadRange(long from, long to) {
+        Partial partial = new Partial();
+        long[] lastOrder = {-1};
+        orderLineRepository.streamLines(from, to, row -> {
+            long orderId = row.getOrderId();
+            if (orderId != lastOrder[0]) {
+                lastOrder[0] = orderId;
+                partial.customers.add(row.getCustomerName(), orderId);
+                if (row.getCancellationDate() != null) {
+                    partial.cancelled.add(orderId);
+                }
+            }
+            if (row.hasLine()) {
+                partial.items.add(row.getItemName(), orderId);
+            }
+        });
+        return partial;
+    }
+
+    private static ThreadFactory daemonThreads() {
+        AtomicInteger counter = new AtomicInteger();
+        return runnable -> {
+            Thread thread = new Thread(runnable, "order-search-rebuild-" + counter.incrementAndGet());
+            thread.setDaemon(true);
+            return thread;
+        };
+    }
+
+    // ---- incremental updates, applied once the writing transaction has committed ----
+
+    public void onCreated(Order order) {
+        long id = order.getId();
+        String customerName = order.getCustomerName();
+        List<String> itemNames = order.getItems().stream().map(OrderItem::getItemName).toList();
+        boolean isCancelled = order.getCancellationDate() != null;
+        afterCommit(index -> {
+            index.customers.add(customerName, id);
+            for (String itemName : itemNames) {
+                index.items.add(itemName, id);
+            }
+            if (isCancelled) {
+                index.markCancelled(id);
+            }
+        });
+    }
+
+    public void onCancelled(long orderId) {
+        onCancelled(List.of(orderId));
+    }
+
+    public void onCancelled(Collection<Long> orderIds) {
+        List<Long> ids = List.copyOf(orderIds);
+        afterCommit(index -> ids.forEach(index::markCancelled));
+    }
+
+    public void onDeleted(long orderId) {
+        onDeleted(List.of(orderId));
+    }
+
+    public void onDeleted(Collection<Long> orderIds) {
+        List<Long> ids = List.copyOf(orderIds);
+        afterCommit(index -> {
+            ids.forEach(index.deleted::add);
+            index.deletedView = null;
+        });
+    }
+
+    private void markCancelled(long orderId) {
+        cancelled.add(orderId);
+        cancelledView = null;
+    }
+
+    private void afterCommit(Consumer<OrderSearchIndex> update) {
+        AfterCommit.run("order search index update", () -> apply(update));
+    }
+
+    private void apply(Consumer<OrderSearchIndex> update) {
+        lock.writeLock().lock();
+        try {
+            update.accept(this);
+            if (pendingDuringRebuild != null) {
+                pendingDuringRebuild.add(update);
+            }
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    // ---- queries ----
+
+    /**
+     * Orders whose customer name and/or any item name contains the given text (case-insensitive),
+     * newest first. When both are given an order must match both.
+     */
+    public SearchResult search(String customer, String item, Status status, int limit) {
+        String customerQuery = normalize(customer);
+        String itemQuery = normalize(item);
+        if (customerQuery == null && itemQuery == null) {
+            throw new InvalidOperationException("Provide a customer or item search term");
+        }
+        if (limit < 1 || limit > MAX_LIMIT) {
+            throw new InvalidOperationException("Limit must be between 1 and " + MAX_LIMIT);
+        }
+        if (!ready) {
+            throw new ServiceBusyException("Order search index is still being built", 5);
+        }
+
+        long started = System.nanoTime();
+        queries.increment();
+        lock.readLock().lock();
+        try {
+            long[] ids = null;
+            if (customerQuery != null) {
+                ids = customers.matchingOrders(customerQuery);
+            }
+            if (itemQuery != null && (ids == null || ids.length > 0)) {
+                long[] byItem = items.matchingOrders(itemQuery);
+                ids = ids == null ? byItem : intersect(ids, byItem);
+            }
+
+            long[] deletedIds = deletedView();
+            long[] cancelledIds = status == Status.ALL ? null : cancelledView();
+
+            // Walk newest first, counting every match but keeping only the first page
+            List<Long> page = new ArrayList<>(Math.min(limit, ids.length));
+            long total = 0;
+            for (int i = ids.length - 1; i >= 0; i--) {
+                long id = ids[i];
+                if (deletedIds.length > 0 && Arrays.binarySearch(deletedIds, id) >= 0) {
+                    continue;
+                }
+                if (cancelledIds != null) {
+                    boolean isCancelled = Arrays.binarySearch(cancelledIds, id) >= 0;
+                    if (isCancelled != (status == Status.CANCELLED)) {
+                        continue;
+                    }
+                }
+                total++;
+                if (page.size() < limit) {
+                    page.add(id);
+                }
+            }
+            return new SearchResult(total, page, (System.nanoTime() - started) / 1_000);
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    private long[] deletedView() {
+        long[] view = deletedView;
+        if (view == null) {
+            view = deleted.toArray();
+            deletedView = view;
+        }
+        return view;
+    }
+
+    private long[] cancelledView() {
+        long[] view = cancelledView;
+        if (view == null) {
+            view = cancelled.toArray();
+            cancelledView = view;
+        }
+        return view;
+    }
+
+    private static String normalize(String query) {
+        if (query == null || query.isBlank()) {
+            return null;
+        }
+        return query.trim().toLowerCase(Locale.ROOT);
+    }
+
+    private static long[] intersect(long[] a, long[] b) {
+        long[] out = new long[Math.min(a.length, b.length)];
+        int i = 0, j = 0, n = 0;
+        while (i < a.length && j < b.length) {
+            if (a[i] < b[j]) i++;
+            else if (a[i] > b[j]) j++;
+            else {
+                out[n++] = a[i];
+                i++;
+                j++;
+            }
+        }
+        return Arrays.copyOf(out, n);
+    }
+
+    public IndexStats getStats() {
+        lock.readLock().lock();
+        try {
+            return new IndexStats(
+                    ready,
+                    customers.orderEntries(),
+                    customers.values.size(),
+                    items.values.size(),
+                    customers.grams.size() + items.grams.size(),
+                    customers.postingBytes() + items.postingBytes(),
+                    cancelled.size(),
+                    deleted.size(),
+                    rebuilds.sum(),
+                    lastRebuildMillis,
+                    queries.sum()
+            );
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    public record SearchResult(long totalMatches, List<Long> orderIds, long tookMicros) {}
+
+    public record IndexStats(
+            boolean ready,
+            long indexedOrders,
+            int customerValues,
+            int itemValues,
+            int trigrams,
+            long postingBytes,
+            int cancelledOrders,
+            int deletedTombstones,
+            long rebuilds,
+            long lastRebuildMillis,
+            long queries
+    ) {}
+
+    /**
+     * Index state built by one rebuild chunk, or the merge of all of them.
+     */
+    private static final class Partial {
+        final Terms customers = new Terms();
+        final Terms items = new Terms();
+        final PostingList cancelled = new PostingList();
+
+        void mergeFrom(Partial other) {
+            customers.mergeFrom(other.customers);
+            items.mergeFrom(other.items);
+            for (long id : other.cancelled.toArray()) {
+                cancelled.add(id);
+            }
+        }
+    }
+
+    /**
+     * Distinct values of one field with their trigram index and order postings.
+     */
+    private static final class Terms {
+        final Map<String, Integer> termIds = new HashMap<>();
+        final List<String> values = new ArrayList<>();
+        final List<PostingList> postings = new ArrayList<>();
+        final Map<String, IntList> grams = new HashMap<>();
+
+        void add(String value, long orderId) {
+            if (value == null) {
+                return;
+            }
+            postings.get(termId(value.toLowerCase(Locale.ROOT))).add(orderId);
+        }
+
+        private int termId(String normalized) {
+            Integer existing = termIds.get(normalized);
+            if (existing != null) {
+                return existing;
+            }
+            int id = values.size();
+            termIds.put(normalized, id);
+            values.add(normalized);
+            postings.add(new PostingList());
+            // term ids only grow, so every gram's list stays sorted and duplicate-free by checking its tail
+            for (int i = 0; i + GRAM <= normalized.length(); i++) {
+                grams.computeIfAbsent(normalized.substring(i, i + GRAM), g -> new IntList()).addIfLast(id);
+            }
+            return id;
+        }
+
+        void mergeFrom(Terms other) {
+            for (int i = 0; i < other.values.size(); i++) {
+                PostingList target = postings.get(termId(other.values.get(i)));
+                for (long id : other.postings.get(i).toArray()) {
+                    target.add(id);
+                }
+            }
+        }
+
+        /**
+         * Sorted, distinct ids of orders with a value containing {@code query}.
+         */
+        long[] matchingOrders(String query) {
+            IntList candidates = null;
+            if (query.length() >= GRAM) {
+                for (int i = 0; i + GRAM <= query.length(); i++) {
+                    IntList list = grams.get(query.substring(i, i + GRAM));
+                    if (list == null) {
+                        return new long[0];
+                    }
+                    if (candidates == null || list.size < candidates.size) {
+                        candidates = list;
+                    }
+                }
+            }
+
+            List<PostingList> matched = new ArrayList<>();
+            int total = 0;
+            int count = candidates == null ? values.size() : candidates.size;
+            for (int i = 0; i < count; i++) {
+                int termId = candidates == null ? i : candidates.values[i];
+                if (values.get(termId).contains(query)) {
+                    PostingList list = postings.get(termId);
+                    matched.add(list);
+                    total += list.size();
+                }
+            }
+
+            long[] ids = new long[total];
+            int offset = 0;
+            for (PostingList list : matched) {
+                offset = list.decodeInto(ids, offset);
+            }
+            return matched.size() > 1 ? sortedDistinct(ids) : ids;
+        }
+
+        /**
+         * Sorts and de-duplicates the union of several posting lists. Dense unions (the common case for broad
+         * terms, since order ids are allocated sequentially) go through a bitmap instead of a comparison sort.
+         */
+        private static long[] sortedDistinct(long[] ids) {
+            if (ids.length == 0) {
+                return ids;
+            }
+            long min = Long.MAX_VALUE, max = Long.MIN_VALUE;
+            for (long id : ids) {
+                if (id < min) min = id;
+                if (id > max) max = id;
+            }
+            long span = max - min + 1;
+            if (span >= Integer.MAX_VALUE || span / 64 > 4L * ids.length) {
+                Arrays.sort(ids);
+                int n = 0;
+                for (int i = 0; i < ids.length; i++) {
+                    if (i == 0 || ids[i] != ids[i - 1]) {
+                        ids[n++] = ids[i];
+                    }
+                }
+                return n == ids.length ? ids : Arrays.copyOf(ids, n);
+            }
+
+            BitSet bits = new BitSet((int) span);
+            for (long id : ids) {
+                bits.set((int) (id - min));
+            }
+            long[] sorted = new long[bits.cardinality()];
+            int n = 0;
+            for (int bit = bits.nextSetBit(0); bit >= 0; bit = bits.nextSetBit(bit + 1)) {
+                sorted[n++] = min + bit;
+            }
+            return sorted;
+        }
+
+        void trim() {
+            postings.forEach(PostingList::trim);
+            grams.values().forEach(IntList::trim);
+        }
+
+        long orderEntries() {
+            long total = 0;
+            for (PostingList list : postings) total += list.size();
+            return total;
+        }
+
+        long postingBytes() {
+            long total = 0;
+            for (PostingList list : postings) total += list.byteSize();
+            return total;
+        }
+    }
+
+    private static final class IntList {
+        int[] values = new int[4];
+        int size;
+
+        void addIfLast(int value) {
+            if (size > 0 && values[size - 1] == value) {
+                return;
+            }
+            if (size == values.length) {
+                values = Arrays.copyOf(values, Math.max(4, size * 2));
+            }
+            values[size++] = value;
+        }
+
+        void trim() {
+            if (values.length != size) {
+                values = Arrays.copyOf(values, size);
+            }
+        }
+    }
+}
@@ -0,0 +1,140 @@
+package com.kartikay.sales_order_management_api.search;
+
+import java.util.Arrays;
+
+/**
+ * Sorted set of order ids, stored as varint-encoded gaps (new ids are normally larger than every id
+ * already present, so an append costs a few bytes). Inserts out of order and removals re-encode the list.
+ * Not thread-safe; {@link OrderSearchIndex} guards every list with its lock.
+ */
+public final class PostingList {
+
+    private static final byte[] EMPTY = new byte[0];
+
+    private byte[] bytes = EMPTY;
+    private int length;
+    private int size;
+    private long last;
+
+    public static PostingList of(long... sortedIds) {
+        PostingList list = new PostingList();
+        for (long id : sortedIds) {
+            list.add(id);
+        }
+        return list;
+    }
+
+    /**
+     * Adds {@code id}; returns false if it was already present.
+     */
+    public boolean add(long id) {
+        if (size == 0 || id > last) {
+            append(id);
+            return true;
+        }
+        long[] ids = toArray();
+        int idx = Arrays.binarySearch(ids, id);
+        if (idx >= 0) {
+            return false;
+        }
+        int insertAt = -idx - 1;
+        long[] grown = new long[ids.length + 1];
+        System.arraycopy(ids, 0, grown, 0, insertAt);
+        grown[insertAt] = id;
+        System.arraycopy(ids, insertAt, grown, insertAt + 1, ids.length - insertAt);
+        encode(grown, grown.length);
+        return true;
+    }
+
+    public boolean remove(long id) {
+        if (size == 0 || id > last) {
+            return false;
+        }
+        long[] ids = toArray();
+        int idx = Arrays.binarySearch(ids, id);
+        if (idx < 0) {
+            return false;
+        }
+        System.arraycopy(ids, idx + 1, ids, idx, ids.length - idx - 1);
+        encode(ids, ids.length - 1);
+        return true;
+    }
+
+    public int size() {
+        return size;
+    }
+
+    public boolean isEmpty() {
+        return size == 0;
+    }
+
+    /** Encoded size in bytes, excluding spare capacity */
+    public int byteSize() {
+        return length;
+    }
+
+    /**
+     * Decodes the ids in ascending order.
+     */
+    public long[] toArray() {
+        long[] ids = new long[size];
+        decodeInto(ids, 0);
+        return ids;
+    }
+
+    /**
+     * Decodes the ids in ascending order into {@code target} starting at {@code offset}; returns the new offset.
+     */
+    public int decodeInto(long[] target, int offset) {
+        long value = 0;
+        int pos = 0;
+        for (int i = 0; i < size; i++) {
+            long gap = 0;
+            int shift = 0;
+            byte b;
+            do {
+                b = bytes[pos++];
+                gap |= (long) (b & 0x7F) << shift;
+                shift += 7;
+            } while (b < 0);
+            value += gap;
+            target[offset++] = value;
+        }
+        return offset;
+    }
+
+    /** Releases spare capacity once a bulk build is complete */
+    void trim() {
+        if (bytes.length != length) {
+            bytes = Arrays.copyOf(bytes, length);
+        }
+    }
+
+    private void append(long id) {
+        long gap = size == 0 ? id : id - last;
+        ensureCapacity(length + 10);
+        while ((gap & ~0x7FL) != 0) {
+            bytes[length++] = (byte) ((gap & 0x7F) | 0x80);
+            gap >>>= 7;
+        }
+        bytes[length++] = (byte) gap;
+        last = id;
+        size++;
+    }
+
+    private void encode(long[] ids, int count) {
+        bytes = EMPTY;
+        length = 0;
+        size = 0;
+        last = 0;
+        for (int i = 0; i < count; i++) {
+            append(ids[i]);
+        }
+    }
+
+    private void ensureCapacity(int needed) {
+        if (needed > bytes.length) {
+            bytes = Arrays.copyOf(bytes, Math.max(needed, Math.max(16, bytes.length + (bytes.length >> 1))));
+        }
+    }
+}
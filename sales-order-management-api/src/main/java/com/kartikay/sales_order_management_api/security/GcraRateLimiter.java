@@ -0,0 +1,67 @@
+package com.kartikay.sales_order_management_api.security;
+
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.function.LongSupplier;
+
+/**
+ * Token-bucket rate limiter in its GCRA form: each key holds a single "theoretical arrival time" that is
+ * advanced with a CAS, so admission is lock-free and costs one map lookup plus one atomic per request.
+ */
+public class GcraRateLimiter {
+
+    /** Sustained rate and the number of requests that may arrive back to back */
+    public record Limit(double requestsPerSecond, int burst) {
+
+        long intervalNanos() {
+            return (long) (1_000_000_000L / requestsPerSecond);
+        }
+    }
+
+    private final Map<String, AtomicLong> buckets = new ConcurrentHashMap<>();
+    private final LongSupplier nanoClock;
+    private final long origin;
+
+    public GcraRateLimiter() {
+        this(System::nanoTime);
+    }
+
+    GcraRateLimiter(LongSupplier nanoClock) {
+        this.nanoClock = nanoClock;
+        // Keeps times relative and positive, since nanoTime may be negative
+        this.origin = nanoClock.getAsLong() - 1;
+    }
+
+    /**
+     * Admits one request for {@code key}. Returns 0 if admitted, otherwise the nanoseconds until it would be.
+     */
+    public long tryAcquire(String key, Limit limit) {
+        long interval = limit.intervalNanos();
+        long tolerance = interval * limit.burst();
+        long now = nanoClock.getAsLong() - origin;
+        AtomicLong tat = buckets.computeIfAbsent(key, k -> new AtomicLong());
+
+        while (true) {
+            long current = tat.get();
+            long next = Math.max(current, now) + interval;
+            long wait = next - now - tolerance;
+            if (wait > 0) {
+                return wait;
+            }
+            if (tat.compareAndSet(current, next)) {
+                return 0;
+            }
+        }
+    }
+
+    /** Drops buckets that have fully refilled; they behave exactly like new ones */
+    public void evictIdle() {
+        long now = nanoClock.getAsLong() - origin;
+        buckets.values().removeIf(tat -> tat.get() <= now);
+    }
+
+    public int size() {
+        return buckets.size();
+    }
+}
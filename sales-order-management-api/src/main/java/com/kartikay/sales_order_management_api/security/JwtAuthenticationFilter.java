@@ -5,8 +5,11 @@ import jakarta.servlet.ServletException;
 import jakarta.servlet.http.HttpServletRequest;
 import jakarta.servlet.http.HttpServletResponse;
 
+import com.kartikay.sales_order_management_api.service.TokenRevocationService;
+import org.springframework.beans.factory.annotation.Value;
 import org.springframework.security.authentication.UsernamePasswordAuthenticationToken;
 import org.springframework.security.core.context.SecurityContextHolder;
+import org.springframework.security.core.userdetails.User;
 import org.springframework.security.core.userdetails.UserDetails;
 import org.springframework.security.core.userdetails.UserDetailsService;
 import org.springframework.security.web.authentication.WebAuthenticationDetailsSource;
@@ -24,10 +27,18 @@ public class JwtAuthenticationFilter extends OncePerRequestFilter {
 
     private final JwtTokenUtil jwtUtil;
     private final UserDetailsService userDetailsService;
+    private final TokenRevocationService revocationService;
 
-    public JwtAuthenticationFilter(JwtTokenUtil jwtUtil, UserDetailsService userDetailsService) {
+    // When true the Authentication is built from the verified claims alone, without a users table lookup
+    private final boolean stateless;
+
+    public JwtAuthenticationFilter(JwtTokenUtil jwtUtil, UserDetailsService userDetailsService,
+                                   TokenRevocationService revocationService,
+                                   @Value("${security.jwt.stateless:true}") boolean stateless) {
         this.jwtUtil = jwtUtil;
         this.userDetailsService = userDetailsService;
+        this.revocationService = revocationService;
+        this.stateless = stateless;
     }
 
     @Override
@@ -48,15 +59,10 @@ public class JwtAuthenticationFilter extends OncePerRequestFilter {
             // 2. Extract token from header
             String token = authHeader.substring(7);
 
-            // 3. Validate token
-            if (!jwtUtil.validateToken(token)) {
-                filterChain.doFilter(request, response);
-                return;
-            }
-
-            // Extract username
-            String username = jwtUtil.getUsernameFromToken(token);
-            if (username == null) {
+            // 3. Verify signature and expiry once; claims come back with the result.
+            //    The revocation check is in-memory only.
+            JwtPrincipal principal = jwtUtil.verify(token);
+            if (principal == null || revocationService.isRevoked(principal)) {
                 filterChain.doFilter(request, response);
                 return;
             }
@@ -64,13 +70,16 @@ public class JwtAuthenticationFilter extends OncePerRequestFilter {
             // Proceed only if context is not already authenticated
             if (SecurityContextHolder.getContext().getAuthentication() == null) {
 
-                UserDetails userDetails = userDetailsService.loadUserByUsername(username);
-
                 // Optional: extract roles if stored in token
-                List<SimpleGrantedAuthority> authorities = jwtUtil.getRolesFromToken(token).stream()
+                List<SimpleGrantedAuthority> authorities = principal.roles().stream()
                         .map(SimpleGrantedAuthority::new)
                         .collect(Collectors.toList());
 
+                // Tokens without role claims still need the account's roles from the database
+                UserDetails userDetails = stateless && !authorities.isEmpty()
+                        ? new User(principal.username(), "", authorities)
+                        : userDetailsService.loadUserByUsername(principal.username());
+
                 // Build authentication token
                 UsernamePasswordAuthenticationToken authenticationToken =
                         new UsernamePasswordAuthenticationToken(
@@ -0,0 +1,19 @@
+package com.kartikay.sales_order_management_api.security;
+
+import java.time.Instant;
+import java.util.List;
+
+/**
+ * Claims of a token whose signature and expiry have already been verified.
+ * {@code tokenId} (jti) and {@code issuedAt} are null for tokens issued before they were added.
+ */
+public record JwtPrincipal(String username, List<String> roles, String tokenId, Instant issuedAt, Instant expiresAt) {
+
+    public JwtPrincipal {
+        roles = List.copyOf(roles);
+    }
+
+    public boolean isExpired(Instant now) {
+        return !expiresAt.isAfter(now);
+    }
+}
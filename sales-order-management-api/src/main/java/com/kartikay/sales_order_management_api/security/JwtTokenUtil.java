@@ -1,28 +1,48 @@
 package com.kartikay.sales_order_management_api.security;
 
+import com.kartikay.sales_order_management_api.jfr.TokenVerificationEvent;
 import io.jsonwebtoken.*;
+import io.micrometer.core.annotation.Timed;
 import io.jsonwebtoken.security.Keys;
+import io.jsonwebtoken.security.SecurityException;
 import jakarta.annotation.PostConstruct;
 import org.springframework.beans.factory.annotation.Value;
 import org.springframework.stereotype.Component;
 
 import java.security.Key;
+import java.time.Instant;
 import java.util.*;
 import java.util.stream.Collectors;
 
 @Component
 public class JwtTokenUtil {
 
+    private static final String TOKEN_TYPE_CLAIM = "typ";
+    private static final String REFRESH_TOKEN_TYPE = "refresh";
+    // iat in milliseconds; the standard iat claim only has seconds, too coarse to order against a revoke-all
+    private static final String ISSUED_AT_MS_CLAIM = "iat_ms";
+
     @Value("${jwt.secret}")
     private String secret;
 
     @Value("${jwt.expirationMs}")
     private long jwtExpirationMs;
 
+    @Value("${jwt.refreshExpirationMs:2592000000}")
+    private long refreshExpirationMs;
+
+    @Value("${jwt.cache.max-entries:10000}")
+    private int cacheMaxEntries;
+
     private Key key;
 
+    // Immutable and thread-safe once built, so one instance serves every request
+    private JwtParser parser;
+
+    private VerifiedTokenCache cache;
+
     /**
-     * Initializes the signing key after the bean is constructed.
+     * Initializes the signing key, the shared parser and the verified-token cache after the bean is constructed.
      */
     @PostConstruct
     public void init() {
@@ -30,6 +50,8 @@ public class JwtTokenUtil {
             throw new IllegalArgumentException("JWT secret must be at least 32 characters long for HS256");
         }
         this.key = Keys.hmacShaKeyFor(secret.getBytes());
+        this.parser = Jwts.parserBuilder().setSigningKey(key).build();
+        this.cache = new VerifiedTokenCache(cacheMaxEntries);
     }
 
     /**
@@ -43,33 +65,93 @@ public class JwtTokenUtil {
         Date expiry = new Date(now.getTime() + jwtExpirationMs);
 
         return Jwts.builder()
+                .setId(UUID.randomUUID().toString())
                 .setSubject(username)
                 .setIssuedAt(now)
+                .claim(ISSUED_AT_MS_CLAIM, now.getTime())
                 .setExpiration(expiry)
                 .addClaims(claims)
                 .signWith(key, SignatureAlgorithm.HS256)
                 .compact();
     }
 
+    /**
+     * Generates a long-lived refresh token. It carries no roles and is only accepted by {@link #verifyRefreshToken}.
+     */
+    public String generateRefreshToken(String username) {
+        Date now = new Date();
+        Date expiry = new Date(now.getTime() + refreshExpirationMs);
+
+        return Jwts.builder()
+                .setId(UUID.randomUUID().toString())
+                .setSubject(username)
+                .setIssuedAt(now)
+                .claim(ISSUED_AT_MS_CLAIM, now.getTime())
+                .setExpiration(expiry)
+                .claim(TOKEN_TYPE_CLAIM, REFRESH_TOKEN_TYPE)
+                .signWith(key, SignatureAlgorithm.HS256)
+                .compact();
+    }
+
+    /**
+     * Verifies a refresh token and returns its claims, or {@code null} if it is invalid or not a refresh token.
+     */
+    public JwtPrincipal verifyRefreshToken(String token) {
+        Claims claims = parseOrNull(token);
+        if (claims == null || claims.getSubject() == null || claims.getExpiration() == null
+                || !REFRESH_TOKEN_TYPE.equals(claims.get(TOKEN_TYPE_CLAIM))) {
+            return null;
+        }
+        return toPrincipal(claims);
+    }
+
+    /**
+     * Verifies signature and expiry once and returns the token's claims, or {@code null} if the token is invalid.
+     * Successfully verified tokens are cached (by digest) until they expire.
+     */
+    @Timed(value = "security.jwt.verify", percentiles = {0.5, 0.95, 0.99})
+    public JwtPrincipal verify(String token) {
+        TokenVerificationEvent event = new TokenVerificationEvent();
+        event.begin();
+
+        Instant now = Instant.now();
+        if (cache.isEnabled()) {
+            JwtPrincipal cached = cache.get(token, now);
+            if (cached != null) {
+                return recorded(event, true, cached);
+            }
+        }
+
+        Claims claims = parseOrNull(token);
+        if (claims == null || claims.getSubject() == null || claims.getExpiration() == null) {
+            return recorded(event, false, null);
+        }
+        // Refresh tokens are only good for POST /auth/refresh, never as bearer credentials
+        if (REFRESH_TOKEN_TYPE.equals(claims.get(TOKEN_TYPE_CLAIM))) {
+            return recorded(event, false, null);
+        }
+        JwtPrincipal principal = toPrincipal(claims);
+
+        if (cache.isEnabled()) {
+            cache.put(token, principal, now);
+        }
+        return recorded(event, false, principal);
+    }
+
+    private static JwtPrincipal recorded(TokenVerificationEvent event, boolean cacheHit, JwtPrincipal principal) {
+        if (event.shouldCommit()) {
+            event.cacheHit = cacheHit;
+            event.valid = principal != null;
+            event.commit();
+        }
+        return principal;
+    }
+
     /**
      * Validates the JWT token and checks signature + expiration.
      */
     public boolean validateToken(String token) {
-        try {
-            Jwts.parserBuilder().setSigningKey(key).build().parseClaimsJws(token);
-            return true;
-        } catch (ExpiredJwtException ex) {
-            System.err.println("JWT expired: " + ex.getMessage());
-        } catch (UnsupportedJwtException ex) {
-            System.err.println("JWT unsupported: " + ex.getMessage());
-        } catch (MalformedJwtException ex) {
-            System.err.println("JWT malformed: " + ex.getMessage());
-        } catch (SecurityException ex) {
-            System.err.println("JWT signature invalid: " + ex.getMessage());
-        } catch (IllegalArgumentException ex) {
-            System.err.println("JWT claims string is empty: " + ex.getMessage());
-        }
-        return false;
+        return verify(token) != null;
     }
 
     /**
@@ -82,9 +164,29 @@ public class JwtTokenUtil {
     /**
      * Extracts roles list from the JWT token.
      */
-    @SuppressWarnings("unchecked")
     public List<String> getRolesFromToken(String token) {
-        Object roles = parseClaims(token).get("roles");
+        return rolesOf(parseClaims(token));
+    }
+
+    public VerifiedTokenCache.Stats getCacheStats() {
+        return cache.stats();
+    }
+
+    private static JwtPrincipal toPrincipal(Claims claims) {
+        return new JwtPrincipal(claims.getSubject(), rolesOf(claims), claims.getId(), issuedAtOf(claims),
+                claims.getExpiration().toInstant());
+    }
+
+    private static Instant issuedAtOf(Claims claims) {
+        if (claims.get(ISSUED_AT_MS_CLAIM) instanceof Number millis) {
+            return Instant.ofEpochMilli(millis.longValue());
+        }
+        Date issuedAt = claims.getIssuedAt();
+        return issuedAt == null ? null : issuedAt.toInstant();
+    }
+
+    private static List<String> rolesOf(Claims claims) {
+        Object roles = claims.get("roles");
         if (roles instanceof List) {
             return ((List<?>) roles)
                     .stream()
@@ -94,14 +196,27 @@ public class JwtTokenUtil {
         return Collections.emptyList();
     }
 
+    private Claims parseOrNull(String token) {
+        try {
+            return parseClaims(token);
+        } catch (ExpiredJwtException ex) {
+            System.err.println("JWT expired: " + ex.getMessage());
+        } catch (UnsupportedJwtException ex) {
+            System.err.println("JWT unsupported: " + ex.getMessage());
+        } catch (MalformedJwtException ex) {
+            System.err.println("JWT malformed: " + ex.getMessage());
+        } catch (SecurityException ex) {
+            System.err.println("JWT signature invalid: " + ex.getMessage());
+        } catch (IllegalArgumentException ex) {
+            System.err.println("JWT claims string is empty: " + ex.getMessage());
+        }
+        return null;
+    }
+
     /**
      * Helper to parse claims from token safely.
      */
     private Claims parseClaims(String token) {
-        return Jwts.parserBuilder()
-                .setSigningKey(key)
-                .build()
-                .parseClaimsJws(token)
-                .getBody();
+        return parser.parseClaimsJws(token).getBody();
     }
 }
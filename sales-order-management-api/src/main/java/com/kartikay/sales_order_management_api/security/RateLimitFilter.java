@@ -0,0 +1,213 @@
+package com.kartikay.sales_order_management_api.security;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import jakarta.servlet.AsyncEvent;
+import jakarta.servlet.AsyncListener;
+import jakarta.servlet.FilterChain;
+import jakarta.servlet.ServletException;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.security.authentication.AnonymousAuthenticationToken;
+import org.springframework.security.core.Authentication;
+import org.springframework.security.core.GrantedAuthority;
+import org.springframework.security.core.context.SecurityContextHolder;
+import org.springframework.stereotype.Component;
+import org.springframework.web.filter.OncePerRequestFilter;
+
+import java.io.IOException;
+import java.time.LocalDateTime;
+import java.util.EnumMap;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.concurrent.Semaphore;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * Admission control, placed right after {@link JwtAuthenticationFilter}: a per-user rate limit chosen by role,
+ * then a concurrency cap per endpoint group. Rejected requests never reach a controller or open a transaction.
+ */
+@Component
+public class RateLimitFilter extends OncePerRequestFilter {
+
+    /**
+     * Endpoint groups that get their own concurrency cap. Exports hold their permit while the response streams,
+     * so they are kept apart from the short order reads.
+     */
+    public enum EndpointGroup { ORDER_WRITES, ORDER_READS, ORDER_EXPORTS, CATALOG }
+
+    private final boolean enabled;
+    private final GcraRateLimiter rateLimiter = new GcraRateLimiter();
+    private final GcraRateLimiter.Limit userLimit;
+    private final GcraRateLimiter.Limit adminLimit;
+    private final GcraRateLimiter.Limit anonymousLimit;
+    private final Map<EndpointGroup, Integer> maxConcurrent = new EnumMap<>(EndpointGroup.class);
+    private final Map<EndpointGroup, Semaphore> concurrency = new EnumMap<>(EndpointGroup.class);
+    private final ObjectMapper objectMapper;
+
+    private final LongAdder rateLimited = new LongAdder();
+    private final Map<EndpointGroup, LongAdder> concurrencyRejected = new EnumMap<>(EndpointGroup.class);
+
+    public RateLimitFilter(ObjectMapper objectMapper,
+                           @Value("${rate-limit.enabled:true}") boolean enabled,
+                           @Value("${rate-limit.user.requests-per-second:50}") double userRate,
+                           @Value("${rate-limit.user.burst:100}") int userBurst,
+                           @Value("${rate-limit.admin.requests-per-second:200}") double adminRate,
+                           @Value("${rate-limit.admin.burst:400}") int adminBurst,
+                           @Value("${rate-limit.anonymous.requests-per-second:10}") double anonymousRate,
+                           @Value("${rate-limit.anonymous.burst:20}") int anonymousBurst,
+                           @Value("${rate-limit.concurrency.order-writes:8}") int orderWrites,
+                           @Value("${rate-limit.concurrency.order-reads:16}") int orderReads,
+                           @Value("${rate-limit.concurrency.order-exports:2}") int orderExports,
+                           @Value("${rate-limit.concurrency.catalog:64}") int catalog) {
+        this.objectMapper = objectMapper;
+        this.enabled = enabled;
+        this.userLimit = new GcraRateLimiter.Limit(userRate, userBurst);
+        this.adminLimit = new GcraRateLimiter.Limit(adminRate, adminBurst);
+        this.anonymousLimit = new GcraRateLimiter.Limit(anonymousRate, anonymousBurst);
+        maxConcurrent.put(EndpointGroup.ORDER_WRITES, orderWrites);
+        maxConcurrent.put(EndpointGroup.ORDER_READS, orderReads);
+        maxConcurrent.put(EndpointGroup.ORDER_EXPORTS, orderExports);
+        maxConcurrent.put(EndpointGroup.CATALOG, catalog);
+        for (EndpointGroup group : EndpointGroup.values()) {
+            concurrency.put(group, new Semaphore(maxConcurrent.get(group)));
+            concurrencyRejected.put(group, new LongAdder());
+        }
+    }
+
+    @Override
+    protected boolean shouldNotFilter(HttpServletRequest request) {
+        return !enabled || !request.getRequestURI().startsWith("/api/");
+    }
+
+    @Override
+    protected void doFilterInternal(HttpServletRequest request,
+                                    HttpServletResponse response,
+                                    FilterChain filterChain)
+            throws ServletException, IOException {
+
+        // 1. Per-user rate limit, keyed by role and username (remote address when unauthenticated)
+        Authentication auth = SecurityContextHolder.getContext().getAuthentication();
+        String key;
+        GcraRateLimiter.Limit limit;
+        if (auth == null || !auth.isAuthenticated() || auth instanceof AnonymousAuthenticationToken) {
+            key = "anonymous:" + request.getRemoteAddr();
+            limit = anonymousLimit;
+        } else if (hasRole(auth, "ROLE_ADMIN")) {
+            key = "admin:" + auth.getName();
+            limit = adminLimit;
+        } else {
+            key = "user:" + auth.getName();
+            limit = userLimit;
+        }
+
+        long waitNanos = rateLimiter.tryAcquire(key, limit);
+        if (waitNanos > 0) {
+            rateLimited.increment();
+            reject(response, HttpStatus.TOO_MANY_REQUESTS, retryAfterSeconds(waitNanos), "Rate limit exceeded");
+            return;
+        }
+
+        // 2. Global concurrency cap for the endpoint group
+        EndpointGroup group = groupOf(request);
+        if (group == null) {
+            filterChain.doFilter(request, response);
+            return;
+        }
+
+        Semaphore permits = concurrency.get(group);
+        if (!permits.tryAcquire()) {
+            concurrencyRejected.get(group).increment();
+            reject(response, HttpStatus.SERVICE_UNAVAILABLE, 1, "Server busy, please retry");
+            return;
+        }
+
+        AtomicBoolean released = new AtomicBoolean();
+        Runnable release = () -> {
+            if (released.compareAndSet(false, true)) {
+                permits.release();
+            }
+        };
+        try {
+            filterChain.doFilter(request, response);
+        } finally {
+            if (request.isAsyncStarted()) {
+                // Streaming responses keep the permit until the async request completes
+                request.getAsyncContext().addListener(new ReleasingListener(release));
+            } else {
+                release.run();
+            }
+        }
+    }
+
+    static EndpointGroup groupOf(HttpServletRequest request) {
+        String uri = request.getRequestURI();
+        if (uri.startsWith("/api/v1/orders/export")) {
+            return EndpointGroup.ORDER_EXPORTS;
+        }
+        if (uri.startsWith("/api/v1/orders")) {
+            return "GET".equals(request.getMethod()) ? EndpointGroup.ORDER_READS : EndpointGroup.ORDER_WRITES;
+        }
+        if (uri.startsWith("/api/v1/catalog")) {
+            return EndpointGroup.CATALOG;
+        }
+        return null;
+    }
+
+    private static boolean hasRole(Authentication auth, String role) {
+        for (GrantedAuthority authority : auth.getAuthorities()) {
+            if (role.equals(authority.getAuthority())) {
+                return true;
+            }
+        }
+        return false;
+    }
+
+    private static long retryAfterSeconds(long waitNanos) {
+        return Math.max(1, (waitNanos + TimeUnit.SECONDS.toNanos(1) - 1) / TimeUnit.SECONDS.toNanos(1));
+    }
+
+    private void reject(HttpServletResponse response, HttpStatus status, long retryAfterSeconds, String message)
+            throws IOException {
+        Map<String, Object> body = new LinkedHashMap<>();
+        body.put("timestamp", LocalDateTime.now());
+        body.put("error", status.getReasonPhrase());
+        body.put("message", message);
+
+        response.setStatus(status.value());
+        response.setHeader(HttpHeaders.RETRY_AFTER, String.valueOf(retryAfterSeconds));
+        response.setContentType(MediaType.APPLICATION_JSON_VALUE);
+        objectMapper.writeValue(response.getOutputStream(), body);
+    }
+
+    @Scheduled(fixedDelay = 60_000)
+    public void evictIdleBuckets() {
+        rateLimiter.evictIdle();
+    }
+
+    public RateLimitStats getStats() {
+        Map<EndpointGroup, Long> rejected = new EnumMap<>(EndpointGroup.class);
+        Map<EndpointGroup, Integer> inFlight = new EnumMap<>(EndpointGroup.class);
+        for (EndpointGroup group : EndpointGroup.values()) {
+            rejected.put(group, concurrencyRejected.get(group).sum());
+            inFlight.put(group, maxConcurrent.get(group) - concurrency.get(group).availablePermits());
+        }
+        return new RateLimitStats(rateLimited.sum(), rejected, inFlight, rateLimiter.size());
+    }
+
+    public record RateLimitStats(long rateLimited, Map<EndpointGroup, Long> concurrencyRejected,
+                                 Map<EndpointGroup, Integer> inFlight, int trackedKeys) {}
+
+    private record ReleasingListener(Runnable release) implements AsyncListener {
+        @Override public void onComplete(AsyncEvent event) { release.run(); }
+        @Override public void onTimeout(AsyncEvent event) { release.run(); }
+        @Override public void onError(AsyncEvent event) { release.run(); }
+        @Override public void onStartAsync(AsyncEvent event) { }
+    }
+}
@@ -0,0 +1,103 @@
+package com.kartikay.sales_order_management_api.security;
+
+import java.nio.ByteBuffer;
+import java.nio.charset.StandardCharsets;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.time.Instant;
+import java.util.Iterator;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * Bounded cache of already verified tokens, keyed by the SHA-256 digest of the raw token so the
+ * cache never holds bearer credentials. Entries are only served while the token itself is unexpired.
+ */
+public class VerifiedTokenCache {
+
+    private static final ThreadLocal<MessageDigest> SHA_256 = ThreadLocal.withInitial(() -> {
+        try {
+            return MessageDigest.getInstance("SHA-256");
+        } catch (NoSuchAlgorithmException ex) {
+            throw new IllegalStateException("SHA-256 not available", ex);
+        }
+    });
+
+    private final Map<ByteBuffer, JwtPrincipal> entries = new ConcurrentHashMap<>();
+    private final int maxEntries;
+
+    private final LongAdder hits = new LongAdder();
+    private final LongAdder misses = new LongAdder();
+    private final LongAdder evictions = new LongAdder();
+
+    public VerifiedTokenCache(int maxEntries) {
+        this.maxEntries = maxEntries;
+    }
+
+    public boolean isEnabled() {
+        return maxEntries > 0;
+    }
+
+    /**
+     * Returns the cached principal for {@code token}, or {@code null} when absent or expired.
+     */
+    public JwtPrincipal get(String token, Instant now) {
+        ByteBuffer key = digest(token);
+        JwtPrincipal principal = entries.get(key);
+        if (principal != null && principal.isExpired(now)) {
+            entries.remove(key, principal);
+            principal = null;
+        }
+        if (principal == null) {
+            misses.increment();
+        } else {
+            hits.increment();
+        }
+        return principal;
+    }
+
+    public void put(String token, JwtPrincipal principal, Instant now) {
+        if (entries.size() >= maxEntries) {
+            evict(now);
+        }
+        entries.put(digest(token), principal);
+    }
+
+    public void clear() {
+        entries.clear();
+    }
+
+    /**
+     * Drops expired entries; if the cache is still full, drops about a tenth of the remaining ones.
+     */
+    private void evict(Instant now) {
+        entries.values().removeIf(p -> {
+            boolean expired = p.isExpired(now);
+            if (expired) evictions.increment();
+            return expired;
+        });
+
+        int excess = entries.size() - maxEntries + Math.max(1, maxEntries / 10);
+        Iterator<ByteBuffer> it = entries.keySet().iterator();
+        while (excess-- > 0 && it.hasNext()) {
+            it.next();
+            it.remove();
+            evictions.increment();
+        }
+    }
+
+    private static ByteBuffer digest(String token) {
+        MessageDigest md = SHA_256.get();
+        md.reset();
+        return ByteBuffer.wrap(md.digest(token.getBytes(StandardCharsets.US_ASCII)));
+    }
+
+    public Stats stats() {
+        long h = hits.sum();
+        long m = misses.sum();
+        return new Stats(entries.size(), h, m, evictions.sum(), h + m == 0 ? 0.0 : (double) h / (h + m));
+    }
+
+    public record Stats(int size, long hits, long misses, long evictions, double hitRate) {}
+}
@@ -0,0 +1,428 @@
+package com.kartikay.sales_order_management_api.service;
+
+import com.kartikay.sales_order_management_api.cache.RecentOrderCache;
+import com.kartikay.sales_order_management_api.columnar.OrderColumnStore;
+import com.kartikay.sales_order_management_api.domain.Order;
+import com.kartikay.sales_order_management_api.domain.OrderItem;
+import com.kartikay.sales_order_management_api.exception.InvalidOperationException;
+import com.kartikay.sales_order_management_api.exception.ResourceNotFoundException;
+import com.kartikay.sales_order_management_api.exception.ServiceBusyException;
+import com.kartikay.sales_order_management_api.journal.OrderJournal;
+import com.kartikay.sales_order_management_api.report.SalesRollupService;
+import com.kartikay.sales_order_management_api.repository.OrderRepository;
+import com.kartikay.sales_order_management_api.search.OrderSearchIndex;
+import io.micrometer.core.annotation.Timed;
+import jakarta.annotation.PreDestroy;
+import jakarta.persistence.EntityManager;
+import jakarta.persistence.PersistenceContext;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.core.NestedExceptionUtils;
+import org.springframework.dao.DataAccessResourceFailureException;
+import org.springframework.dao.TransientDataAccessException;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.CannotCreateTransactionException;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.io.*;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Path;
+import java.time.LocalDate;
+import java.util.*;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.concurrent.locks.ReentrantLock;
+
+/**
+ * Opt-in asynchronous order acceptance. An order is validated and priced like a synchronous one, appended to
+ * the local {@link OrderJournal} and acknowledged once its group commit is on disk; a background drainer then
+ * writes journaled orders to the database in batched transactions. The journal is replayed on startup, so an
+ * acknowledged order is written even if the process stops before the drainer reached it.
+ */
+@Service
+public class AsyncOrderService {
+
+    public enum Status { ACCEPTED, CREATED, FAILED }
+
+    private static final byte RECORD_VERSION = 1;
+    private static final int MAX_REMEMBERED_FAILURES = 10_000;
+
+    private final OrderService orderService;
+    private final CatalogService catalogService;
+    private final OrderRepository orderRepository;
+    private final TransactionTemplate transactionTemplate;
+    private final OrderMetrics orderMetrics;
+    private final OrderSearchIndex searchIndex;
+    private final OrderColumnStore columnStore;
+    private final RecentOrderCache recentOrders;
+    private final SalesRollupService salesRollups;
+    private final long durableTimeoutMs;
+    private final int drainBatchSize;
+    private final long drainIntervalMs;
+
+    @PersistenceContext
+    private EntityManager entityManager;
+
+    // null when asynchronous acceptance is disabled
+    private final OrderJournal journal;
+    private final ScheduledExecutorService drainer;
+
+    // references journaled but not written yet, and recent drain failures by reference
+    private final Set<String> accepted = ConcurrentHashMap.newKeySet();
+    private final Map<String, String> failed = Collections.synchronizedMap(
+            new LinkedHashMap<String, String>() {
+                @Override
+                protected boolean removeEldestEntry(Map.Entry<String, String> eldest) {
+                    return size() > MAX_REMEMBERED_FAILURES;
+                }
+            });
+
+    // guarded by drainLock
+    private final ReentrantLock drainLock = new ReentrantLock();
+    private OrderJournal.Cursor cursor;
+    // records up to this sequence may already be in the database (replay after a crash or a failed drain)
+    private long verifyUpTo;
+
+    private final LongAdder created = new LongAdder();
+    private final LongAdder failures = new LongAdder();
+    private final LongAdder drainErrors = new LongAdder();
+    private volatile long lastDrainMicros;
+
+    public AsyncOrderService(OrderService orderService, CatalogService catalogService,
+                             OrderRepository orderRepository, PlatformTransactionManager transactionManager,
+                             OrderMetrics orderMetrics, OrderSearchIndex searchIndex, OrderColumnStore columnStore,
+                             RecentOrderCache recentOrders, SalesRollupService salesRollups,
+                             @Value("${orders.async.enabled:false}") boolean enabled,
+                             @Value("${orders.async.journal-dir:data/order-journal}") String journalDir,
+                             @Value("${orders.async.segment-mb:64}") int segmentMb,
+                             @Value("${orders.async.group-commit-interval-ms:2}") long groupCommitIntervalMs,
+                             @Value("${orders.async.durable-timeout-ms:5000}") long durableTimeoutMs,
+                             @Value("${orders.async.drain-batch-size:1000}") int drainBatchSize,
+                             @Value("${orders.async.drain-interval-ms:50}") long drainIntervalMs)
+            throws IOException {
+        this.orderService = orderService;
+        this.catalogService = catalogService;
+        this.orderRepository = orderRepository;
+        this.transactionTemplate = new TransactionTemplate(transactionManager);
+        this.orderMetrics = orderMetrics;
+        this.searchIndex = searchIndex;
+        this.columnStore = columnStore;
+        this.recentOrders = recentOrders;
+        this.salesRollups = salesRollups;
+        this.durableTimeoutMs = durableTimeoutMs;
+        this.drainBatchSize = drainBatchSize;
+        this.drainIntervalMs = drainIntervalMs;
+
+        if (!enabled) {
+            this.journal = null;
+            this.drainer = null;
+            return;
+        }
+        this.journal = new OrderJournal(Path.of(journalDir), segmentMb << 20,
+                TimeUnit.MILLISECONDS.toNanos(groupCommitIntervalMs));
+        this.cursor = journal.cursor(journal.drainedSequence());
+        this.verifyUpTo = journal.recoveredSequence();
+        this.drainer = Executors.newSingleThreadScheduledExecutor(runnable -> {
+            Thread thread = new Thread(runnable, "order-journal-drain");
+            thread.setDaemon(true);
+            return thread;
+        });
+
+        // orders acknowledged before a restart but not written yet are pending again
+        OrderJournal.Cursor replay = journal.cursor(journal.drainedSequence());
+        for (List<OrderJournal.Record> records = replay.next(drainBatchSize); !records.isEmpty();
+             records = replay.next(drainBatchSize)) {
+            records.forEach(record -> accepted.add(decode(record.payload()).getOrderReference()));
+        }
+        System.out.println("Order journal opened at " + Path.of(journalDir).toAbsolutePath() + " with "
+                + accepted.size() + " orders to write");
+    }
+
+    @EventListener(ApplicationReadyEvent.class)
+    public void startDrainer() {
+        if (drainer != null) {
+            drainer.scheduleWithFixedDelay(this::scheduledDrain, 0, drainIntervalMs, TimeUnit.MILLISECONDS);
+        }
+    }
+
+    @PreDestroy
+    public void shutdown() throws IOException, InterruptedException {
+        if (drainer == null) {
+            return;
+        }
+        drainer.shutdown();
+        drainer.awaitTermination(10, TimeUnit.SECONDS);
+        journal.close();
+    }
+
+    /**
+     * Validates, prices and journals an order; returns its reference once the journal write is durable.
+     */
+    @Timed(value = "orders.service", extraTags = {"operation", "accept"}, percentiles = {0.5, 0.95, 0.99})
+    public String accept(String customerName, List<OrderService.OrderItemRequest> items) {
+        if (journal == null) {
+            throw new InvalidOperationException("Asynchronous order acceptance is disabled");
+        }
+        Order order = orderService.buildOrder(customerName, items, catalogService::resolve);
+        String reference = UUID.randomUUID().toString();
+        byte[] payload = encode(reference, order);
+        if (payload.length > journal.maxPayloadBytes()) {
+            throw new InvalidOperationException("Order is too large to accept asynchronously");
+        }
+
+        accepted.add(reference);
+        try {
+            long sequence = journal.append(payload);
+            if (!journal.awaitDurable(sequence, durableTimeoutMs, TimeUnit.MILLISECONDS)) {
+                // the record may still reach the disk, so the reference stays known
+                throw new ServiceBusyException("Order journal did not confirm the write in time", 1);
+            }
+        } catch (IOException ex) {
+            accepted.remove(reference);
+            throw new ServiceBusyException("Order journal is unavailable: " + ex.getMessage(), 5);
+        } catch (InterruptedException ex) {
+            Thread.currentThread().interrupt();
+            throw new ServiceBusyException("Interrupted while waiting for the order journal", 1);
+        }
+        return reference;
+    }
+
+    /**
+     * Where an accepted order stands: still journaled, written (with its id), or failed.
+     */
+    public AcceptedOrderStatus status(String reference) {
+        if (accepted.contains(reference)) {
+            return new AcceptedOrderStatus(reference, Status.ACCEPTED, null, null);
+        }
+        String error = failed.get(reference);
+        if (error != null) {
+            return new AcceptedOrderStatus(reference, Status.FAILED, null, error);
+        }
+        // references leave `accepted` only after their order has committed
+        return orderRepository.findIdByOrderReference(reference)
+                .map(id -> new AcceptedOrderStatus(reference, Status.CREATED, id, null))
+                .orElseThrow(() -> new ResourceNotFoundException("No accepted order with reference: " + reference));
+    }
+
+    private void scheduledDrain() {
+        try {
+            drain();
+        } catch (RuntimeException ex) {
+            // nothing is lost: the next run rereads from the checkpoint and skips orders already written
+            drainErrors.increment();
+            System.err.println("Order journal drain failed: " + ex.getMessage());
+        }
+    }
+
+    /**
+     * Writes every durable journaled order to the database, one transaction per batch, advancing the journal
+     * checkpoint after each. Returns the orders created.
+     */
+    public int drain() {
+        if (journal == null) {
+            return 0;
+        }
+        drainLock.lock();
+        try {
+            long started = System.nanoTime();
+            int written = 0;
+            for (List<OrderJournal.Record> records = cursor.next(drainBatchSize); !records.isEmpty();
+                 records = cursor.next(drainBatchSize)) {
+                written += drainBatch(records);
+                journal.markDrained(records.get(records.size() - 1).sequence());
+            }
+            lastDrainMicros = (System.nanoTime() - started) / 1_000;
+            return written;
+        } catch (IOException | RuntimeException ex) {
+            // part of the batch may have committed; reread it and check references before writing again
+            cursor = journal.cursor(journal.drainedSequence());
+            verifyUpTo = Math.max(verifyUpTo, journal.durableSequence());
+            throw ex instanceof IOException io ? new UncheckedIOException(io) : (RuntimeException) ex;
+        } finally {
+            drainLock.unlock();
+        }
+    }
+
+    private int drainBatch(List<OrderJournal.Record> records) {
+        List<Order> orders = new ArrayList<>(records.size());
+        for (OrderJournal.Record record : records) {
+            orders.add(decode(record.payload()));
+        }
+        if (records.get(0).sequence() <= verifyUpTo) {
+            orders = skipWritten(orders);
+            if (orders.isEmpty()) {
+                return 0;
+            }
+        }
+
+        List<Order> batch = orders;
+        try {
+            transactionTemplate.executeWithoutResult(status -> {
+                orderRepository.saveAll(batch);
+                orderRepository.flush();
+                salesRollups.recordCreated(batch);
+            });
+            batch.forEach(this::onWritten);
+            return batch.size();
+        } catch (RuntimeException batchFailure) {
+            entityManager.clear();
+            return drainOneByOne(records, batch);
+        } finally {
+            entityManager.clear();
+        }
+    }
+
+    /**
+     * Retries a failed batch order by order, so one bad order does not hold back its neighbours. An
+     * unreachable database stops the drain instead, to be retried as a whole.
+     */
+    private int drainOneByOne(List<OrderJournal.Record> records, List<Order> batch) {
+        Set<String> pending = new HashSet<>();
+        batch.forEach(order -> pending.add(order.getOrderReference()));
+        int written = 0;
+        for (OrderJournal.Record record : records) {
+            Order order = decode(record.payload());
+            if (!pending.contains(order.getOrderReference())) {
+                continue;
+            }
+            try {
+                Order saved = transactionTemplate.execute(status -> {
+                    Order single = orderRepository.saveAndFlush(order);
+                    salesRollups.recordCreated(single);
+                    return single;
+                });
+                onWritten(saved);
+                written++;
+            } catch (TransientDataAccessException | DataAccessResourceFailureException
+                     | CannotCreateTransactionException ex) {
+                throw ex;
+            } catch (RuntimeException ex) {
+                failures.increment();
+                failed.put(order.getOrderReference(), NestedExceptionUtils.getMostSpecificCause(ex).getMessage());
+                accepted.remove(order.getOrderReference());
+            } finally {
+                entityManager.clear();
+            }
+        }
+        return written;
+    }
+
+    private List<Order> skipWritten(List<Order> orders) {
+        List<String> references = orders.stream().map(Order::getOrderReference).toList();
+        Set<String> written = new HashSet<>(orderRepository.findOrderReferencesIn(references));
+        if (written.isEmpty()) {
+            return orders;
+        }
+        written.forEach(accepted::remove);
+        return orders.stream().filter(order -> !written.contains(order.getOrderReference())).toList();
+    }
+
+    private void onWritten(Order order) {
+        created.increment();
+        orderMetrics.recordCreated(order, OrderMetrics.SOURCE_ASYNC);
+        searchIndex.onCreated(order);
+        columnStore.onCreated(order);
+        recentOrders.onCreated(order);
+        accepted.remove(order.getOrderReference());
+    }
+
+    // ---- journal record format ----
+
+    /**
+     * Serialises a priced order: version, reference, customer, creation day, amounts in minor units and lines.
+     */
+    static byte[] encode(String reference, Order order) {
+        ByteArrayOutputStream bytes = new ByteArrayOutputStream(96 + order.getItems().size() * 40);
+        try (DataOutputStream out = new DataOutputStream(bytes)) {
+            out.writeByte(RECORD_VERSION);
+            writeString(out, reference);
+            writeString(out, order.getCustomerName());
+            out.writeLong(order.getCreationDate().toEpochDay());
+            out.writeLong(Money.toMinorUnits(order.getSubtotal()));
+            out.writeLong(Money.toMinorUnits(order.getVat()));
+            out.writeLong(Money.toMinorUnits(order.getTotal()));
+            out.writeInt(order.getItems().size());
+            for (OrderItem item : order.getItems()) {
+                out.writeLong(item.getCatalogItemId());
+                writeString(out, item.getItemName());
+                out.writeLong(Money.toMinorUnits(item.getUnitPrice()));
+                out.writeInt(item.getQuantity());
+            }
+        } catch (IOException ex) {
+            throw new UncheckedIOException(ex);
+        }
+        return bytes.toByteArray();
+    }
+
+    /**
+     * Rebuilds the unsaved order written by {@link #encode}.
+     */
+    static Order decode(byte[] payload) {
+        try (DataInputStream in = new DataInputStream(new ByteArrayInputStream(payload))) {
+            byte version = in.readByte();
+            if (version != RECORD_VERSION) {
+                throw new IllegalStateException("Unsupported order journal record version " + version);
+            }
+            Order order = new Order();
+            order.setOrderReference(readString(in));
+            order.setCustomerName(readString(in));
+            order.setCreationDate(LocalDate.ofEpochDay(in.readLong()));
+            order.setSubtotal(Money.fromMinorUnits(in.readLong()));
+            order.setVat(Money.fromMinorUnits(in.readLong()));
+            order.setTotal(Money.fromMinorUnits(in.readLong()));
+            int lines = in.readInt();
+            for (int i = 0; i < lines; i++) {
+                OrderItem item = new OrderItem();
+                item.setCatalogItemId(in.readLong());
+                item.setItemName(readString(in));
+                item.setUnitPrice(Money.fromMinorUnits(in.readLong()));
+                item.setQuantity(in.readInt());
+                order.addItem(item);
+            }
+            return order;
+        } catch (IOException ex) {
+            throw new UncheckedIOException(ex);
+        }
+    }
+
+    private static void writeString(DataOutputStream out, String value) throws IOException {
+        byte[] utf8 = value.getBytes(StandardCharsets.UTF_8);
+        out.writeInt(utf8.length);
+        out.write(utf8);
+    }
+
+    private static String readString(DataInputStream in) throws IOException {
+        byte[] utf8 = new byte[in.readInt()];
+        in.readFully(utf8);
+        return new String(utf8, StandardCharsets.UTF_8);
+    }
+
+    public AsyncStats getStats() {
+        return new AsyncStats(
+                journal != null,
+                accepted.size(),
+                created.sum(),
+                failures.sum(),
+                drainErrors.sum(),
+                lastDrainMicros,
+                journal == null ? null : journal.getStats()
+        );
+    }
+
+    public record AcceptedOrderStatus(String reference, Status status, Long orderId, String error) {}
+
+    public record AsyncStats(
+            boolean enabled,
+            int pending,
+            long created,
+            long failed,
+            long drainErrors,
+            long lastDrainMicros,
+            OrderJournal.JournalStats journal
+    ) {}
+}
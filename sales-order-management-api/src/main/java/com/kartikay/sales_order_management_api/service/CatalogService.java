@@ -1,25 +1,115 @@
 package com.kartikay.sales_order_management_api.service;
 
 import com.kartikay.sales_order_management_api.domain.CatalogItem;
+import com.kartikay.sales_order_management_api.exception.InvalidOperationException;
 import com.kartikay.sales_order_management_api.exception.ResourceNotFoundException;
+import com.kartikay.sales_order_management_api.jfr.CatalogResolutionEvent;
 import com.kartikay.sales_order_management_api.repository.CatalogRepository;
+import com.kartikay.sales_order_management_api.support.AfterCommit;
+import io.micrometer.core.annotation.Timed;
+import org.springframework.scheduling.annotation.Scheduled;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
 
 import java.math.BigDecimal;
+import java.util.ArrayList;
+import java.util.Arrays;
 import java.util.List;
+import java.util.Optional;
+import java.util.concurrent.atomic.LongAdder;
 
+/**
+ * Catalog reads are served from an in-memory {@link CatalogSnapshot}; writes go to the database and
+ * publish a fresh snapshot once their transaction has committed.
+ */
 @Service
 public class CatalogService {
 
     private final CatalogRepository catalogRepository;
 
+    // Readers only ever do a single volatile read of this field
+    private volatile CatalogSnapshot snapshot;
+
+    private final Object rebuildLock = new Object();
+    private long nextVersion = 1;
+
+    private final LongAdder hits = new LongAdder();
+    private final LongAdder misses = new LongAdder();
+    private final LongAdder rebuilds = new LongAdder();
+    private volatile long lastRebuildNanos;
+    private final LongAdder totalRebuildNanos = new LongAdder();
+
     public CatalogService(CatalogRepository catalogRepository) {
         this.catalogRepository = catalogRepository;
     }
 
+    /**
+     * Current catalog snapshot, built on first use.
+     */
+    public CatalogSnapshot snapshot() {
+        CatalogSnapshot current = snapshot;
+        return current != null ? current : refreshSnapshot();
+    }
+
+    @Timed(value = "catalog.reads", extraTags = {"operation", "all"}, percentiles = {0.5, 0.95, 0.99})
     public List<CatalogItem> getAllItems() {
-        return catalogRepository.findAll();
+        return snapshot().all();
+    }
+
+    @Timed(value = "catalog.reads", extraTags = {"operation", "by-id"}, percentiles = {0.5, 0.95, 0.99})
+    public CatalogItem getItemById(Long id) {
+        CatalogItem item = lookup(snapshot(), id);
+        if (item != null) {
+            return item;
+        }
+        return catalogRepository.findById(id)
+                .orElseThrow(() -> new ResourceNotFoundException("Catalog item not found: " + id));
+    }
+
+    public Optional<CatalogItem> findByName(String name) {
+        CatalogItem item = snapshot().getByName(name);
+        record(item != null);
+        return Optional.ofNullable(item);
+    }
+
+    /**
+     * Resolves catalog items for the given ids (sorted, distinct) into an aligned array.
+     * Ids missing from the snapshot are re-checked against the database in one query; entries still
+     * unknown after that are left {@code null}.
+     */
+    @Timed(value = "catalog.reads", extraTags = {"operation", "resolve"}, percentiles = {0.5, 0.95, 0.99})
+    public CatalogItem[] resolve(long[] sortedIds) {
+        CatalogResolutionEvent event = new CatalogResolutionEvent();
+        event.begin();
+
+        CatalogSnapshot current = snapshot();
+        CatalogItem[] resolved = new CatalogItem[sortedIds.length];
+        List<Long> missing = null;
+
+        for (int i = 0; i < sortedIds.length; i++) {
+            resolved[i] = current.get(sortedIds[i]);
+            if (resolved[i] == null) {
+                if (missing == null) missing = new ArrayList<>();
+                missing.add(sortedIds[i]);
+            }
+        }
+        hits.add(sortedIds.length - (missing == null ? 0 : missing.size()));
+
+        if (missing != null) {
+            misses.add(missing.size());
+            for (CatalogItem item : catalogRepository.findAllById(missing)) {
+                int idx = Arrays.binarySearch(sortedIds, item.getId());
+                if (idx >= 0) resolved[idx] = item;
+            }
+        }
+
+        if (event.shouldCommit()) {
+            event.requestedItems = sortedIds.length;
+            event.snapshotMisses = missing == null ? 0 : missing.size();
+            event.snapshotVersion = current.getVersion();
+            event.commit();
+        }
+        return resolved;
     }
 
     @Transactional
@@ -27,24 +117,92 @@ public class CatalogService {
         CatalogItem item = catalogRepository.findById(id)
                 .orElseThrow(() -> new ResourceNotFoundException("Catalog item not found with id: " + id));
 
-        item.setPrice(newPrice);
-        return catalogRepository.save(item);
-    }
-
-    public CatalogItem getItemById(Long id) {
-        return catalogRepository.findById(id)
-                .orElseThrow(() -> new ResourceNotFoundException("Catalog item not found: " + id));
+        item.setPrice(Money.fromMinorUnits(Money.toMinorUnits(newPrice)));
+        CatalogItem saved = catalogRepository.save(item);
+        refreshAfterCommit();
+        return saved;
     }
 
+    @Transactional
     public CatalogItem createItem(String name, BigDecimal price) {
+        if (snapshot().getByName(name) != null) {
+            throw new InvalidOperationException("Catalog item already exists: " + name);
+        }
         CatalogItem item = new CatalogItem();
         item.setName(name);
-        item.setPrice(price);
-        return catalogRepository.save(item);
+        item.setPrice(Money.fromMinorUnits(Money.toMinorUnits(price)));
+        CatalogItem saved = catalogRepository.save(item);
+        refreshAfterCommit();
+        return saved;
     }
 
+    @Transactional
     public void deleteItem(Long id) {
         catalogRepository.deleteById(id);
+        refreshAfterCommit();
+    }
+
+    /**
+     * Reloads the catalog and atomically publishes it as the new snapshot.
+     */
+    public CatalogSnapshot refreshSnapshot() {
+        synchronized (rebuildLock) {
+            long started = System.nanoTime();
+            CatalogSnapshot rebuilt = new CatalogSnapshot(nextVersion++, catalogRepository.findAll(),
+                    System.currentTimeMillis());
+            snapshot = rebuilt;
+
+            long elapsed = System.nanoTime() - started;
+            lastRebuildNanos = elapsed;
+            totalRebuildNanos.add(elapsed);
+            rebuilds.increment();
+            return rebuilt;
+        }
+    }
+
+    /**
+     * Periodic refresh so changes committed by other instances are picked up too.
+     */
+    @Scheduled(fixedDelayString = "${catalog.snapshot.refresh-interval-ms:60000}",
+            initialDelayString = "${catalog.snapshot.refresh-interval-ms:60000}")
+    public void scheduledRefresh() {
+        refreshSnapshot();
+    }
+
+    public CatalogCacheStats getCacheStats() {
+        CatalogSnapshot current = snapshot;
+        return new CatalogCacheStats(
+                current == null ? 0 : current.getVersion(),
+                current == null ? 0 : current.size(),
+                hits.sum(),
+                misses.sum(),
+                rebuilds.sum(),
+                lastRebuildNanos / 1_000,
+                totalRebuildNanos.sum() / 1_000
+        );
+    }
+
+    private CatalogItem lookup(CatalogSnapshot current, Long id) {
+        CatalogItem item = current.get(id);
+        record(item != null);
+        return item;
+    }
+
+    private void record(boolean hit) {
+        if (hit) hits.increment(); else misses.increment();
+    }
+
+    private void refreshAfterCommit() {
+        AfterCommit.run("catalog snapshot refresh", this::refreshSnapshot);
     }
 
+    public record CatalogCacheStats(
+            long version,
+            int size,
+            long hits,
+            long misses,
+            long rebuilds,
+            long lastRebuildMicros,
+            long totalRebuildMicros
+    ) {}
 }
@@ -0,0 +1,97 @@
+package com.kartikay.sales_order_management_api.service;
+
+import com.kartikay.sales_order_management_api.domain.CatalogItem;
+
+import java.util.*;
+
+/**
+ * Immutable, versioned view of the whole catalog.
+ * Items are detached copies indexed by primitive id and by lower-cased name; callers must treat them as read-only.
+ */
+public final class CatalogSnapshot {
+
+    private final long version;
+    private final long[] ids;
+    private final CatalogItem[] items;
+    private final Map<String, CatalogItem> byName;
+    private final List<CatalogItem> all;
+    private final long builtAtMillis;
+
+    CatalogSnapshot(long version, List<CatalogItem> source, long builtAtMillis) {
+        CatalogItem[] sorted = source.stream()
+                .map(CatalogSnapshot::copyOf)
+                .sorted(Comparator.comparing(CatalogItem::getId))
+                .toArray(CatalogItem[]::new);
+
+        Map<String, CatalogItem> names = new HashMap<>(sorted.length * 2);
+        long[] sortedIds = new long[sorted.length];
+        for (int i = 0; i < sorted.length; i++) {
+            sortedIds[i] = sorted[i].getId();
+            names.put(normalize(sorted[i].getName()), sorted[i]);
+        }
+
+        this.version = version;
+        this.ids = sortedIds;
+        this.items = sorted;
+        this.byName = Collections.unmodifiableMap(names);
+        this.all = List.of(sorted);
+        this.builtAtMillis = builtAtMillis;
+    }
+
+    public long getVersion() {
+        return version;
+    }
+
+    public long getBuiltAtMillis() {
+        return builtAtMillis;
+    }
+
+    public int size() {
+        return items.length;
+    }
+
+    /**
+     * Returns the item with the given id, or {@code null} when it is not in this snapshot.
+     */
+    public CatalogItem get(long id) {
+        int idx = Arrays.binarySearch(ids, id);
+        return idx >= 0 ? items[idx] : null;
+    }
+
+    /**
+     * Resolves sorted, distinct ids into an aligned array; unknown ids are left {@code null}.
+     */
+    public CatalogItem[] resolve(long[] sortedIds) {
+        CatalogItem[] resolved = new CatalogItem[sortedIds.length];
+        for (int i = 0; i < sortedIds.length; i++) {
+            resolved[i] = get(sortedIds[i]);
+        }
+        return resolved;
+    }
+
+    /**
+     * Case-insensitive lookup by item name, or {@code null} when absent.
+     */
+    public CatalogItem getByName(String name) {
+        return name == null ? null : byName.get(normalize(name));
+    }
+
+    /**
+     * All items ordered by id.
+     */
+    public List<CatalogItem> all() {
+        return all;
+    }
+
+    static String normalize(String name) {
+        return name.toLowerCase(Locale.ROOT);
+    }
+
+    private static CatalogItem copyOf(CatalogItem source) {
+        CatalogItem copy = new CatalogItem();
+        copy.setId(source.getId());
+        copy.setName(source.getName());
+        copy.setPrice(source.getPrice());
+        return copy;
+    }
+}
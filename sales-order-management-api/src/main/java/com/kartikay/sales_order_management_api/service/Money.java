@@ -0,0 +1,61 @@
+package com.kartikay.sales_order_management_api.service;
+
+import java.math.BigDecimal;
+import java.math.RoundingMode;
+
+/**
+ * Fixed-point money arithmetic on {@code long} minor units (cents).
+ * All amounts are scale-2; rounding is HALF_UP, matching how NUMERIC(19,2) columns store values.
+ * Only {@link #toMinorUnits} and {@link #fromMinorUnits} touch {@link BigDecimal}; everything else is
+ * allocation-free and throws {@link ArithmeticException} on overflow instead of wrapping.
+ */
+public final class Money {
+
+    public static final int SCALE = 2;
+
+    // 12% VAT, in basis points (1/100 of a percent)
+    public static final long VAT_RATE_BASIS_POINTS = 1_200;
+
+    private static final long BASIS_POINTS = 10_000;
+
+    private Money() {}
+
+    /**
+     * Converts an amount to minor units, rounding HALF_UP to two decimals.
+     */
+    public static long toMinorUnits(BigDecimal amount) {
+        return amount.setScale(SCALE, RoundingMode.HALF_UP).unscaledValue().longValueExact();
+    }
+
+    public static BigDecimal fromMinorUnits(long minorUnits) {
+        return BigDecimal.valueOf(minorUnits, SCALE);
+    }
+
+    public static long lineTotal(long unitPriceMinor, int quantity) {
+        return Math.multiplyExact(unitPriceMinor, quantity);
+    }
+
+    public static long add(long a, long b) {
+        return Math.addExact(a, b);
+    }
+
+    /**
+     * VAT on a subtotal, rounded HALF_UP to whole minor units.
+     */
+    public static long vat(long subtotalMinor) {
+        return applyRate(subtotalMinor, VAT_RATE_BASIS_POINTS);
+    }
+
+    /**
+     * {@code amount * basisPoints / 10000}, rounded HALF_UP (away from zero on ties).
+     */
+    static long applyRate(long amountMinor, long basisPoints) {
+        long product = Math.multiplyExact(amountMinor, basisPoints);
+        long quotient = product / BASIS_POINTS;
+        long remainder = product % BASIS_POINTS;
+        if (Math.abs(remainder) * 2 >= BASIS_POINTS) {
+            quotient += Long.signum(product);
+        }
+        return quotient;
+    }
+}
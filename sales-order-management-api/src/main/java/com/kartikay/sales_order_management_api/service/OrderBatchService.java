@@ -0,0 +1,222 @@
+package com.kartikay.sales_order_management_api.service;
+
+import com.fasterxml.jackson.core.JsonParser;
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.core.JsonToken;
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.kartikay.sales_order_management_api.cache.RecentOrderCache;
+import com.kartikay.sales_order_management_api.columnar.OrderColumnStore;
+import com.kartikay.sales_order_management_api.domain.Order;
+import com.kartikay.sales_order_management_api.domain.OrderItem;
+import com.kartikay.sales_order_management_api.dto.BatchOrderResponseDTO;
+import com.kartikay.sales_order_management_api.dto.BatchOrderResultDTO;
+import com.kartikay.sales_order_management_api.dto.OrderRequestDTO;
+import com.kartikay.sales_order_management_api.exception.InvalidOperationException;
+import com.kartikay.sales_order_management_api.report.SalesRollupService;
+import com.kartikay.sales_order_management_api.repository.OrderRepository;
+import com.kartikay.sales_order_management_api.search.OrderSearchIndex;
+import jakarta.persistence.EntityManager;
+import jakarta.persistence.PersistenceContext;
+import jakarta.validation.ConstraintViolation;
+import jakarta.validation.Validator;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.core.NestedExceptionUtils;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.List;
+import java.util.Set;
+import java.util.stream.Collectors;
+
+/**
+ * Ingests a JSON array of orders read incrementally from the request body.
+ * Every order is priced against one catalog snapshot and persisted in chunked transactions;
+ * the outcome is reported per order.
+ */
+@Service
+public class OrderBatchService {
+
+    private final OrderService orderService;
+    private final CatalogService catalogService;
+    private final OrderRepository orderRepository;
+    private final ObjectMapper objectMapper;
+    private final Validator validator;
+    private final TransactionTemplate transactionTemplate;
+    private final OrderMetrics orderMetrics;
+    private final OrderSearchIndex searchIndex;
+    private final OrderColumnStore columnStore;
+    private final RecentOrderCache recentOrders;
+    private final SalesRollupService salesRollups;
+    private final int chunkSize;
+
+    @PersistenceContext
+    private EntityManager entityManager;
+
+    public OrderBatchService(OrderService orderService, CatalogService catalogService,
+                             OrderRepository orderRepository, ObjectMapper objectMapper, Validator validator,
+                             PlatformTransactionManager transactionManager, OrderMetrics orderMetrics,
+                             OrderSearchIndex searchIndex, OrderColumnStore columnStore,
+                             RecentOrderCache recentOrders, SalesRollupService salesRollups,
+                             @Value("${orders.batch.chunk-size:500}") int chunkSize) {
+        this.orderService = orderService;
+        this.catalogService = catalogService;
+        this.orderRepository = orderRepository;
+        this.objectMapper = objectMapper;
+        this.validator = validator;
+        this.transactionTemplate = new TransactionTemplate(transactionManager);
+        this.orderMetrics = orderMetrics;
+        this.searchIndex = searchIndex;
+        this.columnStore = columnStore;
+        this.recentOrders = recentOrders;
+        this.salesRollups = salesRollups;
+        this.chunkSize = chunkSize;
+    }
+
+    public BatchOrderResponseDTO ingest(InputStream body) throws IOException {
+        CatalogSnapshot catalog = catalogService.snapshot();
+        List<BatchOrderResultDTO> results = new ArrayList<>();
+        List<PendingOrder> chunk = new ArrayList<>(chunkSize);
+        int index = 0;
+
+        try (JsonParser parser = objectMapper.getFactory().createParser(body)) {
+            if (parser.nextToken() != JsonToken.START_ARRAY) {
+                throw new InvalidOperationException("Batch body must be a JSON array of orders");
+            }
+            try {
+                for (JsonToken token = parser.nextToken(); token != JsonToken.END_ARRAY; token = parser.nextToken()) {
+                    if (token == null) {
+                        results.add(BatchOrderResultDTO.failed(index, "Unexpected end of input"));
+                        break;
+                    }
+                    JsonNode node = parser.readValueAsTree();
+                    PendingOrder pending = prepare(index, node, catalog, results);
+                    if (pending != null) {
+                        chunk.add(pending);
+                        if (chunk.size() >= chunkSize) {
+                            persist(chunk, results);
+                        }
+                    }
+                    index++;
+                }
+            } catch (JsonProcessingException ex) {
+                results.add(BatchOrderResultDTO.failed(index, "Malformed JSON: " + ex.getOriginalMessage()));
+            }
+        }
+        persist(chunk, results);
+
+        results.sort(Comparator.comparingInt(BatchOrderResultDTO::index));
+        int created = (int) results.stream().filter(r -> r.orderId() != null).count();
+        return new BatchOrderResponseDTO(results.size(), created, results.size() - created, results);
+    }
+
+    /**
+     * Binds, validates and prices one order; failures are recorded and {@code null} is returned.
+     * The priced order is what {@link #persist} writes, so each order is priced once.
+     */
+    private PendingOrder prepare(int index, JsonNode node, CatalogSnapshot catalog,
+                                 List<BatchOrderResultDTO> results) {
+        try {
+            OrderRequestDTO request = objectMapper.treeToValue(node, OrderRequestDTO.class);
+            Set<ConstraintViolation<OrderRequestDTO>> violations = validator.validate(request);
+            if (!violations.isEmpty()) {
+                results.add(BatchOrderResultDTO.failed(index, violations.stream()
+                        .map(v -> v.getPropertyPath() + ": " + v.getMessage())
+                        .sorted()
+                        .collect(Collectors.joining("; "))));
+                return null;
+            }
+
+            List<OrderService.OrderItemRequest> items = request.items().stream()
+                    .map(i -> new OrderService.OrderItemRequest(i.catalogItemId(), i.quantity()))
+                    .toList();
+            // price now so catalog errors are reported before anything is written
+            return new PendingOrder(index, orderService.buildOrder(request.customerName(), items, catalog::resolve));
+        } catch (JsonProcessingException ex) {
+            results.add(BatchOrderResultDTO.failed(index, "Invalid order: " + ex.getOriginalMessage()));
+        } catch (RuntimeException ex) {
+            results.add(BatchOrderResultDTO.failed(index, ex.getMessage()));
+        }
+        return null;
+    }
+
+    /**
+     * Writes a chunk in one transaction. If the chunk fails, each order is retried on its own
+     * so a single bad order does not fail its neighbours.
+     */
+    private void persist(List<PendingOrder> chunk, List<BatchOrderResultDTO> results) {
+        if (chunk.isEmpty()) {
+            return;
+        }
+        try {
+            List<Order> orders = transactionTemplate.execute(status -> {
+                List<Order> built = chunk.stream().map(PendingOrder::order).toList();
+                orderRepository.saveAll(built);
+                orderRepository.flush();
+                salesRollups.recordCreated(built);
+                return built;
+            });
+            for (int i = 0; i < chunk.size(); i++) {
+                results.add(BatchOrderResultDTO.created(chunk.get(i).index(), orders.get(i).getId()));
+                orderMetrics.recordCreated(orders.get(i), OrderMetrics.SOURCE_BATCH);
+                searchIndex.onCreated(orders.get(i));
+                columnStore.onCreated(orders.get(i));
+                recentOrders.onCreated(orders.get(i));
+            }
+        } catch (RuntimeException chunkFailure) {
+            entityManager.clear();
+            for (PendingOrder pending : chunk) {
+                try {
+                    Order saved = transactionTemplate.execute(status -> {
+                        Order order = orderRepository.saveAndFlush(pending.copy());
+                        salesRollups.recordCreated(order);
+                        return order;
+                    });
+                    results.add(BatchOrderResultDTO.created(pending.index(), saved.getId()));
+                    orderMetrics.recordCreated(saved, OrderMetrics.SOURCE_BATCH);
+                    searchIndex.onCreated(saved);
+                    columnStore.onCreated(saved);
+                    recentOrders.onCreated(saved);
+                } catch (RuntimeException ex) {
+                    results.add(BatchOrderResultDTO.failed(pending.index(),
+                            NestedExceptionUtils.getMostSpecificCause(ex).getMessage()));
+                } finally {
+                    entityManager.clear();
+                }
+            }
+        } finally {
+            entityManager.clear();
+            chunk.clear();
+        }
+    }
+
+    private record PendingOrder(int index, Order order) {
+
+        /**
+         * A new, unsaved copy of the priced order, for retrying it alone after its chunk rolled back (the
+         * original may already carry an id and version from the failed flush).
+         */
+        Order copy() {
+            Order copy = new Order();
+            copy.setCustomerName(order.getCustomerName());
+            copy.setCreationDate(order.getCreationDate());
+            copy.setSubtotal(order.getSubtotal());
+            copy.setVat(order.getVat());
+            copy.setTotal(order.getTotal());
+            for (OrderItem item : order.getItems()) {
+                OrderItem line = new OrderItem();
+                line.setCatalogItemId(item.getCatalogItemId());
+                line.setItemName(item.getItemName());
+                line.setUnitPrice(item.getUnitPrice());
+                line.setQuantity(item.getQuantity());
+                copy.addItem(line);
+            }
+            return copy;
+        }
+    }
+}
@@ -0,0 +1,132 @@
+package com.kartikay.sales_order_management_api.service;
+
+import com.kartikay.sales_order_management_api.cache.RecentOrderCache;
+import com.kartikay.sales_order_management_api.columnar.OrderColumnStore;
+import com.kartikay.sales_order_management_api.domain.Order;
+import com.kartikay.sales_order_management_api.dto.BulkOrderRequestDTO;
+import com.kartikay.sales_order_management_api.dto.BulkOrderResponseDTO;
+import com.kartikay.sales_order_management_api.exception.InvalidOperationException;
+import com.kartikay.sales_order_management_api.report.SalesRollupService;
+import com.kartikay.sales_order_management_api.repository.OrderRepository;
+import com.kartikay.sales_order_management_api.repository.OrderSpecification;
+import com.kartikay.sales_order_management_api.search.OrderSearchIndex;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.data.domain.Sort;
+import org.springframework.data.jpa.domain.Specification;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.time.LocalDate;
+import java.util.List;
+import java.util.function.ToIntFunction;
+
+/**
+ * Set-based cancel and purge. The matching ids are selected and locked once, then each chunk of
+ * {@value #IN_CHUNK} ids gets one INSERT ... SELECT of sales rollup deltas and one UPDATE or DELETE,
+ * instead of loading every order and its items.
+ */
+@Service
+public class OrderBulkService {
+
+    // keeps each IN list well below driver bind-parameter limits
+    static final int IN_CHUNK = 1_000;
+
+    // rollup delta INSERT ... SELECT plus the UPDATE or DELETE
+    static final int STATEMENTS_PER_CHUNK = 2;
+
+    private final OrderRepository orderRepository;
+    private final OrderMetrics orderMetrics;
+    private final OrderSearchIndex searchIndex;
+    private final OrderColumnStore columnStore;
+    private final RecentOrderCache recentOrders;
+    private final SalesRollupService salesRollups;
+    private final int maxOrders;
+
+    public OrderBulkService(OrderRepository orderRepository, OrderMetrics orderMetrics, OrderSearchIndex searchIndex,
+                            OrderColumnStore columnStore, RecentOrderCache recentOrders,
+                            SalesRollupService salesRollups,
+                            @Value("${orders.bulk.max-orders:100000}") int maxOrders) {
+        this.orderRepository = orderRepository;
+        this.orderMetrics = orderMetrics;
+        this.searchIndex = searchIndex;
+        this.columnStore = columnStore;
+        this.recentOrders = recentOrders;
+        this.salesRollups = salesRollups;
+        this.maxOrders = maxOrders;
+    }
+
+    /**
+     * Cancels every matching order that is not cancelled yet.
+     */
+    @Transactional
+    public BulkOrderResponseDTO cancel(BulkOrderRequestDTO request) {
+        List<Long> ids = matchingIds(filter(request).and(OrderSpecification.notCancelled()));
+        LocalDate today = LocalDate.now();
+        BulkOrderResponseDTO result = inChunks(ids, chunk -> {
+            salesRollups.recordCancelled(chunk);
+            return orderRepository.cancelByIds(chunk, today);
+        });
+
+        orderMetrics.recordCancelled(result.affected());
+        searchIndex.onCancelled(ids);
+        columnStore.onCancelled(ids);
+        recentOrders.onCancelled(ids);
+        return result;
+    }
+
+    /**
+     * Permanently deletes every matching order together with its items.
+     */
+    @Transactional
+    public BulkOrderResponseDTO purge(BulkOrderRequestDTO request) {
+        List<Long> ids = matchingIds(filter(request));
+        BulkOrderResponseDTO result = inChunks(ids, chunk -> {
+            salesRollups.recordDeleted(chunk);
+            return orderRepository.deleteByIds(chunk);
+        });
+
+        orderMetrics.recordDeleted(result.affected());
+        searchIndex.onDeleted(ids);
+        columnStore.onDeleted(ids);
+        recentOrders.onDeleted(ids);
+        return result;
+    }
+
+    private Specification<Order> filter(BulkOrderRequestDTO request) {
+        boolean hasIds = request.ids() != null && !request.ids().isEmpty();
+        boolean hasCustomer = request.customerName() != null && !request.customerName().isBlank();
+        boolean hasCreated = request.start() != null && request.end() != null;
+        boolean hasCancelled = request.cancelledStart() != null && request.cancelledEnd() != null;
+        if (!hasIds && !hasCustomer && !hasCreated && !hasCancelled) {
+            // an empty filter would match the whole table
+            throw new InvalidOperationException("Provide ids, a customer name or a complete date range");
+        }
+
+        return OrderSpecification.idIn(request.ids())
+                .and(OrderSpecification.hasCustomerName(request.customerName()))
+                .and(OrderSpecification.createdBetween(request.start(), request.end()))
+                .and(OrderSpecification.cancelledBetween(request.cancelledStart(), request.cancelledEnd()));
+    }
+
+    /**
+     * Selects and write-locks the matching ids, so the rollup deltas computed from those rows still hold
+     * when they are changed.
+     */
+    private List<Long> matchingIds(Specification<Order> spec) {
+        List<Long> ids = orderRepository.lockIds(spec, Sort.by("id"), maxOrders + 1);
+        if (ids.size() > maxOrders) {
+            throw new InvalidOperationException("More than " + maxOrders + " orders match; narrow the filter");
+        }
+        return ids;
+    }
+
+    private static BulkOrderResponseDTO inChunks(List<Long> ids, ToIntFunction<List<Long>> statement) {
+        int affected = 0;
+        int statements = 0;
+        for (int from = 0; from < ids.size(); from += IN_CHUNK) {
+            affected += statement.applyAsInt(ids.subList(from, Math.min(ids.size(), from + IN_CHUNK)));
+            statements += STATEMENTS_PER_CHUNK;
+        }
+        return new BulkOrderResponseDTO(ids.size(), affected, statements);
+    }
+}
@@ -0,0 +1,181 @@
+package com.kartikay.sales_order_management_api.service;
+
+import com.fasterxml.jackson.core.JsonGenerator;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.kartikay.sales_order_management_api.dto.OrderItemDTO;
+import com.kartikay.sales_order_management_api.dto.OrderResponseDTO;
+import com.kartikay.sales_order_management_api.exception.InvalidOperationException;
+import com.kartikay.sales_order_management_api.repository.OrderLineJdbcRepository;
+import com.kartikay.sales_order_management_api.repository.OrderLineJdbcRepository.OrderLineRow;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.io.*;
+import java.math.BigDecimal;
+import java.nio.charset.StandardCharsets;
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Locale;
+
+/**
+ * Writes filtered orders straight to an output stream, one order (NDJSON) or one line (CSV) at a time.
+ * Only the order currently being written is held in memory.
+ */
+@Service
+public class OrderExportService {
+
+    public enum Format {
+        NDJSON, CSV;
+
+        /**
+         * Case-insensitive lookup of the {@code format} request parameter.
+         */
+        public static Format parse(String name) {
+            try {
+                return valueOf(name.toUpperCase(Locale.ROOT));
+            } catch (IllegalArgumentException ex) {
+                throw new InvalidOperationException("Unsupported export format: " + name);
+            }
+        }
+    }
+
+    private static final String CSV_HEADER = "order_id,customer_name,creation_date,cancellation_date,"
+            + "subtotal,vat,total,catalog_item_id,item_name,unit_price,quantity\n";
+
+    private final OrderLineJdbcRepository orderLineRepository;
+    private final ObjectMapper objectMapper;
+
+    public OrderExportService(OrderLineJdbcRepository orderLineRepository, ObjectMapper objectMapper) {
+        this.orderLineRepository = orderLineRepository;
+        this.objectMapper = objectMapper;
+    }
+
+    @Transactional(readOnly = true)
+    public void export(Format format, String customerName, LocalDate start, LocalDate end,
+                       OutputStream out) throws IOException {
+        switch (format) {
+            case NDJSON -> writeNdjson(customerName, start, end, out);
+            case CSV -> writeCsv(customerName, start, end, out);
+        }
+    }
+
+    /**
+     * One JSON document per line, shaped like {@link OrderResponseDTO}.
+     */
+    private void writeNdjson(String customerName, LocalDate start, LocalDate end, OutputStream out) throws IOException {
+        JsonGenerator generator = objectMapper.getFactory().createGenerator(out);
+        generator.disable(JsonGenerator.Feature.AUTO_CLOSE_TARGET);
+        generator.setRootValueSeparator(null);
+
+        OrderAccumulator current = new OrderAccumulator();
+        orderLineRepository.streamLines(customerName, start, end, row -> {
+            if (current.started && current.orderId != row.getOrderId()) {
+                writeOrder(generator, current.toResponse());
+                current.clear();
+            }
+            current.accept(row);
+        });
+        if (current.started) {
+            writeOrder(generator, current.toResponse());
+        }
+        generator.flush();
+    }
+
+    private void writeOrder(JsonGenerator generator, OrderResponseDTO order) {
+        try {
+            objectMapper.writeValue(generator, order);
+            generator.writeRaw('\n');
+        } catch (IOException ex) {
+            throw new UncheckedIOException(ex);
+        }
+    }
+
+    /**
+     * One CSV record per order line; orders without lines get a single record with empty line columns.
+     */
+    private void writeCsv(String customerName, LocalDate start, LocalDate end, OutputStream out) throws IOException {
+        Writer writer = new BufferedWriter(new OutputStreamWriter(out, StandardCharsets.UTF_8), 64 * 1024);
+        writer.write(CSV_HEADER);
+
+        StringBuilder line = new StringBuilder(256);
+        orderLineRepository.streamLines(customerName, start, end, row -> {
+            line.setLength(0);
+            line.append(row.getOrderId()).append(',');
+            appendCsv(line, row.getCustomerName()).append(',');
+            appendCsv(line, row.getCreationDate()).append(',');
+            appendCsv(line, row.getCancellationDate()).append(',');
+            appendCsv(line, row.getSubtotal()).append(',');
+            appendCsv(line, row.getVat()).append(',');
+            appendCsv(line, row.getTotal()).append(',');
+            appendCsv(line, row.getCatalogItemId()).append(',');
+            appendCsv(line, row.getItemName()).append(',');
+            appendCsv(line, row.getUnitPrice()).append(',');
+            appendCsv(line, row.getQuantity()).append('\n');
+            try {
+                writer.append(line);
+            } catch (IOException ex) {
+                throw new UncheckedIOException(ex);
+            }
+        });
+        writer.flush();
+    }
+
+    private static StringBuilder appendCsv(StringBuilder sb, Object value) {
+        if (value == null) {
+            return sb;
+        }
+        if (value instanceof BigDecimal amount) {
+            return sb.append(amount.toPlainString());
+        }
+        if (!(value instanceof String text)) {
+            return sb.append(value);
+        }
+        if (text.indexOf(',') < 0 && text.indexOf('"') < 0 && text.indexOf('\n') < 0 && text.indexOf('\r') < 0) {
+            return sb.append(text);
+        }
+        return sb.append('"').append(text.replace("\"", "\"\"")).append('"');
+    }
+
+    /**
+     * Collects the lines of the order currently being streamed.
+     */
+    private static final class OrderAccumulator {
+        private boolean started;
+        private long orderId;
+        private String customerName;
+        private LocalDate creationDate;
+        private LocalDate cancellationDate;
+        private BigDecimal subtotal;
+        private BigDecimal vat;
+        private BigDecimal total;
+        private final List<OrderItemDTO> items = new ArrayList<>();
+
+        void accept(OrderLineRow row) {
+            if (!started) {
+                started = true;
+                orderId = row.getOrderId();
+                customerName = row.getCustomerName();
+                creationDate = row.getCreationDate();
+                cancellationDate = row.getCancellationDate();
+                subtotal = row.getSubtotal();
+                vat = row.getVat();
+                total = row.getTotal();
+            }
+            if (row.hasLine()) {
+                items.add(new OrderItemDTO(row.getCatalogItemId(), row.getItemName(), row.getUnitPrice(),
+                        row.getQuantity()));
+            }
+        }
+
+        OrderResponseDTO toResponse() {
+            return new OrderResponseDTO(orderId, customerName, creationDate, cancellationDate,
+                    subtotal, vat, total, List.copyOf(items));
+        }
+
+        void clear() {
+            started = false;
+            items.clear();
+        }
+    }
+}
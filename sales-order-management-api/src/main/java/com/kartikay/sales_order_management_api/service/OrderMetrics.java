@@ -0,0 +1,100 @@
+package com.kartikay.sales_order_management_api.service;
+
+import com.kartikay.sales_order_management_api.analytics.OrderStreamAnalytics;
+import com.kartikay.sales_order_management_api.domain.Order;
+import com.kartikay.sales_order_management_api.support.AfterCommit;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.DistributionSummary;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.springframework.stereotype.Component;
+
+/**
+ * Business meters for orders. Counts are recorded after commit, so rolled-back orders are never counted.
+ * Committed creations and cancellations also feed the sliding-window {@link OrderStreamAnalytics}.
+ */
+@Component
+public class OrderMetrics {
+
+    public static final String SOURCE_API = "api";
+    public static final String SOURCE_BATCH = "batch";
+    public static final String SOURCE_ASYNC = "async";
+
+    private final Counter createdByApi;
+    private final Counter createdByBatch;
+    private final Counter createdByAsync;
+    private final Counter cancelled;
+    private final Counter deleted;
+    private final DistributionSummary linesPerOrder;
+    private final DistributionSummary orderTotal;
+    private final OrderStreamAnalytics analytics;
+
+    public OrderMetrics(MeterRegistry registry, OrderStreamAnalytics analytics) {
+        this.analytics = analytics;
+        this.createdByApi = created(registry, SOURCE_API);
+        this.createdByBatch = created(registry, SOURCE_BATCH);
+        this.createdByAsync = created(registry, SOURCE_ASYNC);
+        this.cancelled = Counter.builder("orders.cancelled").description("Orders cancelled").register(registry);
+        this.deleted = Counter.builder("orders.deleted").description("Orders deleted").register(registry);
+        this.linesPerOrder = DistributionSummary.builder("orders.lines")
+                .description("Order lines per created order")
+                .baseUnit("lines")
+                .publishPercentiles(0.5, 0.95, 0.99)
+                .publishPercentileHistogram()
+                .minimumExpectedValue(1.0)
+                .maximumExpectedValue(1_000.0)
+                .register(registry);
+        this.orderTotal = DistributionSummary.builder("orders.amount")
+                .description("Order total including VAT, in major currency units")
+                .publishPercentiles(0.5, 0.95, 0.99)
+                .publishPercentileHistogram()
+                .minimumExpectedValue(1.0)
+                .maximumExpectedValue(1_000_000.0)
+                .register(registry);
+    }
+
+    private static Counter created(MeterRegistry registry, String source) {
+        return Counter.builder("orders.placed")
+                .description("Orders placed")
+                .tag("source", source)
+                .register(registry);
+    }
+
+    public void recordCreated(Order order, String source) {
+        int lines = order.getItems().size();
+        double total = order.getTotal() == null ? 0.0 : order.getTotal().doubleValue();
+        Counter counter = switch (source) {
+            case SOURCE_BATCH -> createdByBatch;
+            case SOURCE_ASYNC -> createdByAsync;
+            default -> createdByApi;
+        };
+        afterCommit(() -> {
+            counter.increment();
+            linesPerOrder.record(lines);
+            orderTotal.record(total);
+            analytics.onCreated(order);
+        });
+    }
+
+    public void recordCancelled() {
+        recordCancelled(1);
+    }
+
+    public void recordCancelled(int count) {
+        afterCommit(() -> {
+            cancelled.increment(count);
+            analytics.onCancelled(count);
+        });
+    }
+
+    public void recordDeleted() {
+        recordDeleted(1);
+    }
+
+    public void recordDeleted(int count) {
+        afterCommit(() -> deleted.increment(count));
+    }
+
+    private static void afterCommit(Runnable action) {
+        AfterCommit.run("order metrics update", action);
+    }
+}
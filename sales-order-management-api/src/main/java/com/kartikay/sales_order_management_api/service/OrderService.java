@@ -1,41 +1,91 @@
 package com.kartikay.sales_order_management_api.service;
 
+import com.kartikay.sales_order_management_api.cache.RecentOrderCache;
+import com.kartikay.sales_order_management_api.columnar.OrderColumnStore;
 import com.kartikay.sales_order_management_api.domain.CatalogItem;
 import com.kartikay.sales_order_management_api.domain.Order;
 import com.kartikay.sales_order_management_api.domain.OrderItem;
+import com.kartikay.sales_order_management_api.dto.OrderCursor;
 import com.kartikay.sales_order_management_api.exception.InvalidOperationException;
 import com.kartikay.sales_order_management_api.exception.ResourceNotFoundException;
-import com.kartikay.sales_order_management_api.repository.CatalogRepository;
+import com.kartikay.sales_order_management_api.jfr.OrderPersistenceEvent;
+import com.kartikay.sales_order_management_api.jfr.OrderPricingEvent;
+import com.kartikay.sales_order_management_api.report.SalesRollupService;
 import com.kartikay.sales_order_management_api.repository.OrderRepository;
 import com.kartikay.sales_order_management_api.repository.OrderSpecification;
+import com.kartikay.sales_order_management_api.search.OrderSearchIndex;
+import io.micrometer.core.annotation.Timed;
 import org.springframework.data.domain.*;
 import org.springframework.data.jpa.domain.Specification;
+import org.springframework.orm.ObjectOptimisticLockingFailureException;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
 
 import java.math.BigDecimal;
 import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.HashMap;
 import java.util.List;
+import java.util.Map;
+import java.util.function.Function;
 
 @Service
 public class OrderService {
 
     private final OrderRepository orderRepository;
-    private final CatalogRepository catalogRepository;
+    private final CatalogService catalogService;
+    private final OrderMetrics orderMetrics;
+    private final OrderSearchIndex searchIndex;
+    private final OrderColumnStore columnStore;
+    private final RecentOrderCache recentOrders;
+    private final SalesRollupService salesRollups;
 
-    // Maintain single point for tax logic
-    private static final BigDecimal VAT_RATE = new BigDecimal("0.12"); // 12% VAT
+    private static final Sort KEYSET_SORT = Sort.by(Sort.Direction.DESC, "creationDate", "id");
 
-    public OrderService(OrderRepository orderRepository, CatalogRepository catalogRepository) {
+    public OrderService(OrderRepository orderRepository, CatalogService catalogService, OrderMetrics orderMetrics,
+                        OrderSearchIndex searchIndex, OrderColumnStore columnStore, RecentOrderCache recentOrders,
+                        SalesRollupService salesRollups) {
         this.orderRepository = orderRepository;
-        this.catalogRepository = catalogRepository;
+        this.catalogService = catalogService;
+        this.orderMetrics = orderMetrics;
+        this.searchIndex = searchIndex;
+        this.columnStore = columnStore;
+        this.recentOrders = recentOrders;
+        this.salesRollups = salesRollups;
     }
 
     /**
      * Create a new order for a customer
      */
     @Transactional
+    @Timed(value = "orders.service", extraTags = {"operation", "create"}, percentiles = {0.5, 0.95, 0.99})
     public Order createOrder(String customerName, List<OrderItemRequest> items) {
+        Order built = buildOrder(customerName, items, catalogService::resolve);
+
+        OrderPersistenceEvent event = new OrderPersistenceEvent();
+        event.begin();
+        Order order = orderRepository.save(built);
+        if (event.shouldCommit()) {
+            event.orderId = order.getId() == null ? 0 : order.getId();
+            event.lineCount = order.getItems().size();
+            event.commit();
+        }
+
+        salesRollups.recordCreated(order);
+        orderMetrics.recordCreated(order, OrderMetrics.SOURCE_API);
+        searchIndex.onCreated(order);
+        columnStore.onCreated(order);
+        recentOrders.onCreated(order);
+        return order;
+    }
+
+    /**
+     * Prices the requested lines and builds an unsaved order.
+     * {@code resolver} maps sorted, distinct catalog ids to an aligned array of items (null when unknown).
+     */
+    public Order buildOrder(String customerName, List<OrderItemRequest> items,
+                            Function<long[], CatalogItem[]> resolver) {
         if (items == null || items.isEmpty()) {
             throw new InvalidOperationException("Order must have at least one item");
         }
@@ -44,40 +94,55 @@ public class OrderService {
         order.setCustomerName(customerName);
         order.setCreationDate(LocalDate.now());
 
-        BigDecimal subtotal = BigDecimal.ZERO;
+        ResolvedCatalog catalog = resolveCatalogItems(items, resolver);
 
-        for (OrderItemRequest request : items) {
-            CatalogItem catalogItem = catalogRepository.findById(request.catalogItemId())
-                    .orElseThrow(() -> new ResourceNotFoundException("Catalog item not found: " + request.catalogItemId()));
+        OrderPricingEvent event = new OrderPricingEvent();
+        event.begin();
 
-            BigDecimal price = catalogItem.getPrice();
-            BigDecimal lineTotal = price.multiply(BigDecimal.valueOf(request.quantity()));
-            subtotal = subtotal.add(lineTotal);
+        long subtotal = 0;
+        long vat;
+        long total;
+        try {
+            for (OrderItemRequest request : items) {
+                int idx = catalog.indexOf(request.catalogItemId());
+                CatalogItem catalogItem = catalog.items()[idx];
 
-            // Build order item
-            OrderItem orderItem = new OrderItem();
-            orderItem.setCatalogItemId(catalogItem.getId());
-            orderItem.setItemName(catalogItem.getName());
-            orderItem.setUnitPrice(price);
-            orderItem.setQuantity(request.quantity());
-            order.addItem(orderItem);
-        }
+                subtotal = Money.add(subtotal, Money.lineTotal(catalog.unitPriceMinor()[idx], request.quantity()));
+
+                // Build order item
+                OrderItem orderItem = new OrderItem();
+                orderItem.setCatalogItemId(catalogItem.getId());
+                orderItem.setItemName(catalogItem.getName());
+                orderItem.setUnitPrice(catalog.unitPrice()[idx]);
+                orderItem.setQuantity(request.quantity());
+                order.addItem(orderItem);
+            }
 
-        // Calculate tax + total
-        BigDecimal vat = subtotal.multiply(VAT_RATE);
-        BigDecimal total = subtotal.add(vat);
+            // Calculate tax + total
+            vat = Money.vat(subtotal);
+            total = Money.add(subtotal, vat);
+        } catch (ArithmeticException ex) {
+            throw new InvalidOperationException("Order amount exceeds the supported range");
+        }
 
-        order.setSubtotal(subtotal);
-        order.setVat(vat);
-        order.setTotal(total);
+        order.setSubtotal(Money.fromMinorUnits(subtotal));
+        order.setVat(Money.fromMinorUnits(vat));
+        order.setTotal(Money.fromMinorUnits(total));
 
-        return orderRepository.save(order);
+        if (event.shouldCommit()) {
+            event.lineCount = items.size();
+            event.distinctItems = catalog.ids().length;
+            event.totalMinor = total;
+            event.commit();
+        }
+        return order;
     }
 
     /**
      * Cancel an existing order
      */
     @Transactional
+    @Timed(value = "orders.service", extraTags = {"operation", "cancel"}, percentiles = {0.5, 0.95, 0.99})
     public Order cancelOrder(Long id) {
         Order order = orderRepository.findByIdWithItems(id)
                 .orElseThrow(() -> new ResourceNotFoundException("Order not found with id: " + id));
@@ -86,23 +151,71 @@ public class OrderService {
             throw new InvalidOperationException("Order is already cancelled");
         }
 
+        salesRollups.recordCancelled(order);
         order.setCancellationDate(LocalDate.now());
-        return orderRepository.save(order);
+        Order saved = orderRepository.save(order);
+        orderMetrics.recordCancelled();
+        searchIndex.onCancelled(id);
+        columnStore.onCancelled(id);
+        recentOrders.onCancelled(id);
+        return saved;
     }
 
     /**
      * List all orders with filters (customerName, date range, pagination)
+     * Pages over ids first, then loads that page's orders with their items in one query.
      */
     @Transactional(readOnly = true)
+    @Timed(value = "orders.service", extraTags = {"operation", "list"}, percentiles = {0.5, 0.95, 0.99})
     public Page<Order> listOrders(String customerName, LocalDate start, LocalDate end, Pageable pageable) {
-        Specification<Order> spec = Specification
-                .where(OrderSpecification.hasCustomerName(customerName))
+        Specification<Order> spec = OrderSpecification.hasCustomerName(customerName)
+                .and(OrderSpecification.createdBetween(start, end));
+
+        Page<Long> ids = orderRepository.findIds(spec, pageable);
+        return new PageImpl<>(loadWithItems(ids.getContent()), pageable, ids.getTotalElements());
+    }
+
+    /**
+     * Keyset listing ordered by newest first: returns up to {@code size} orders strictly after {@code after}
+     * (or from the newest order when {@code after} is null). Never issues a count query.
+     */
+    @Transactional(readOnly = true)
+    @Timed(value = "orders.service", extraTags = {"operation", "list-cursor"}, percentiles = {0.5, 0.95, 0.99})
+    public Slice<Order> listOrdersAfter(String customerName, LocalDate start, LocalDate end,
+                                        OrderCursor after, int size) {
+        Specification<Order> spec = OrderSpecification.hasCustomerName(customerName)
                 .and(OrderSpecification.createdBetween(start, end));
+        if (after != null) {
+            spec = spec.and(OrderSpecification.seekAfter(after.creationDate(), after.id()));
+        }
+
+        List<Long> ids = orderRepository.findIds(spec, KEYSET_SORT, size + 1);
+        boolean hasNext = ids.size() > size;
+        List<Long> pageIds = hasNext ? ids.subList(0, size) : ids;
+
+        return new SliceImpl<>(loadWithItems(pageIds), PageRequest.of(0, size, KEYSET_SORT), hasNext);
+    }
 
-        Page<Order> orders = orderRepository.findAll(spec, pageable);
+    /**
+     * Loads orders with their items for the given ids, preserving the order of {@code ids}.
+     */
+    private List<Order> loadWithItems(List<Long> ids) {
+        if (ids.isEmpty()) {
+            return List.of();
+        }
+        Map<Long, Order> byId = new HashMap<>(ids.size() * 2);
+        for (Order order : orderRepository.findAllWithItemsByIdIn(ids)) {
+            byId.put(order.getId(), order);
+        }
 
-        orders.forEach(o -> o.getItems().size());
-        return orders;
+        List<Order> ordered = new ArrayList<>(ids.size());
+        for (Long id : ids) {
+            Order order = byId.get(id);
+            if (order != null) {
+                ordered.add(order);
+            }
+        }
+        return ordered;
     }
 
     /**
@@ -119,10 +232,75 @@ public class OrderService {
      */
     @Transactional
     public void deleteOrder(Long id) {
-        if (!orderRepository.existsById(id)) {
-            throw new ResourceNotFoundException("Order not found with id: " + id);
+        Order order = orderRepository.findByIdWithItems(id)
+                .orElseThrow(() -> new ResourceNotFoundException("Order not found with id: " + id));
+        salesRollups.recordDeleted(order);
+
+        // one DELETE; items are removed by ON DELETE CASCADE rather than deleted one by one.
+        // The version check keeps the rollup delta above in step with a concurrent cancel.
+        if (orderRepository.deleteByIdAndVersion(id, order.getVersion()) == 0) {
+            throw new ObjectOptimisticLockingFailureException(Order.class, id);
+        }
+        orderMetrics.recordDeleted();
+        searchIndex.onDeleted(id);
+        columnStore.onDeleted(id);
+        recentOrders.onDeleted(id);
+    }
+
+    /**
+     * Resolves every distinct catalog item referenced by the order in one lookup.
+     * All unknown ids are reported together instead of failing on the first one.
+     */
+    private ResolvedCatalog resolveCatalogItems(List<OrderItemRequest> items,
+                                                Function<long[], CatalogItem[]> resolver) {
+        long[] ids = new long[items.size()];
+        for (int i = 0; i < ids.length; i++) {
+            Long id = items.get(i).catalogItemId();
+            if (id == null) {
+                throw new InvalidOperationException("Catalog item id is required for every order line");
+            }
+            ids[i] = id;
+        }
+        ids = Arrays.stream(ids).sorted().distinct().toArray();
+
+        ResolvedCatalog catalog = new ResolvedCatalog(ids, resolver.apply(ids));
+
+        List<Long> missing = catalog.missingIds();
+        if (!missing.isEmpty()) {
+            throw new ResourceNotFoundException("Catalog items not found: " + missing);
+        }
+        return catalog;
+    }
+
+    /**
+     * Catalog items resolved for one order, indexed by primitive id (sorted ids + parallel arrays).
+     * Unit prices are converted to minor units once per distinct item, not once per line.
+     */
+    private record ResolvedCatalog(long[] ids, CatalogItem[] items, long[] unitPriceMinor, BigDecimal[] unitPrice) {
+
+        ResolvedCatalog(long[] ids, CatalogItem[] items) {
+            this(ids, items, new long[ids.length], new BigDecimal[ids.length]);
+            for (int i = 0; i < ids.length; i++) {
+                if (items[i] != null) {
+                    unitPriceMinor[i] = Money.toMinorUnits(items[i].getPrice());
+                    unitPrice[i] = Money.fromMinorUnits(unitPriceMinor[i]);
+                }
+            }
+        }
+
+        int indexOf(long id) {
+            return Arrays.binarySearch(ids, id);
+        }
+
+        List<Long> missingIds() {
+            List<Long> missing = new ArrayList<>();
+            for (int i = 0; i < ids.length; i++) {
+                if (items[i] == null) {
+                    missing.add(ids[i]);
+                }
+            }
+            return missing;
         }
-        orderRepository.deleteById(id);
     }
 
     // DTO for request items
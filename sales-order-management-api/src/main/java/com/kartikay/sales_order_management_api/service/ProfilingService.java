@@ -0,0 +1,116 @@
+package com.kartikay.sales_order_management_api.service;
+
+import com.kartikay.sales_order_management_api.exception.InvalidOperationException;
+import com.kartikay.sales_order_management_api.jfr.*;
+import jdk.jfr.Configuration;
+import jdk.jfr.Recording;
+import jdk.jfr.RecordingState;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Service;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.text.ParseException;
+import java.time.Duration;
+import java.time.Instant;
+import java.util.List;
+
+/**
+ * On-demand JDK Flight Recorder sessions. At most one recording runs at a time, and every recording is
+ * capped in duration and size so a forgotten session cannot fill the disk.
+ */
+@Service
+public class ProfilingService {
+
+    private static final List<Class<? extends jdk.jfr.Event>> APP_EVENTS = List.of(
+            CatalogResolutionEvent.class, OrderPricingEvent.class, OrderPersistenceEvent.class,
+            OrderMappingEvent.class, TokenVerificationEvent.class);
+
+    private final Duration maxDuration;
+    private final long maxSizeBytes;
+
+    private Recording recording;
+
+    public ProfilingService(@Value("${profiling.max-duration-seconds:600}") long maxDurationSeconds,
+                            @Value("${profiling.max-size-mb:100}") long maxSizeMb) {
+        this.maxDuration = Duration.ofSeconds(maxDurationSeconds);
+        this.maxSizeBytes = maxSizeMb * 1024 * 1024;
+    }
+
+    /**
+     * Starts a recording with the given JDK settings ("default" or "profile") plus all app events.
+     * It stops by itself after {@code duration} (capped at the configured maximum).
+     */
+    public synchronized RecordingStatus start(Duration duration, String settings) {
+        if (recording != null && recording.getState() == RecordingState.RUNNING) {
+            throw new InvalidOperationException("A profiling recording is already running");
+        }
+        discard();
+
+        Duration bounded = duration == null || duration.isNegative() || duration.isZero()
+                || duration.compareTo(maxDuration) > 0 ? maxDuration : duration;
+
+        Recording r;
+        try {
+            r = new Recording(Configuration.getConfiguration(settings == null ? "profile" : settings));
+        } catch (IOException | ParseException ex) {
+            throw new InvalidOperationException("Unknown JFR settings: " + settings);
+        }
+        for (Class<? extends jdk.jfr.Event> type : APP_EVENTS) {
+            r.enable(type).withThreshold(Duration.ZERO);
+        }
+        r.setName("sales-order-api-" + Instant.now().toEpochMilli());
+        r.setToDisk(true);
+        r.setDuration(bounded);
+        r.setMaxSize(maxSizeBytes);
+        r.start();
+
+        recording = r;
+        return status(r);
+    }
+
+    /**
+     * Stops the current (or auto-stopped) recording and dumps it to a temporary file, which the caller
+     * must delete after streaming it.
+     */
+    public synchronized Path stop() throws IOException {
+        if (recording == null) {
+            throw new InvalidOperationException("No profiling recording to stop");
+        }
+        Recording r = recording;
+        recording = null;
+        try {
+            if (r.getState() == RecordingState.RUNNING) {
+                r.stop();
+            }
+            Path file = Files.createTempFile(r.getName() + "-", ".jfr");
+            r.dump(file);
+            return file;
+        } finally {
+            r.close();
+        }
+    }
+
+    public synchronized RecordingStatus status() {
+        if (recording == null) {
+            throw new InvalidOperationException("No profiling recording");
+        }
+        return status(recording);
+    }
+
+    private void discard() {
+        if (recording != null) {
+            recording.close();
+            recording = null;
+        }
+    }
+
+    private static RecordingStatus status(Recording r) {
+        return new RecordingStatus(r.getName(), r.getState().name(), r.getStartTime(),
+                r.getDuration() == null ? 0 : r.getDuration().toSeconds(), r.getMaxSize(), r.getSize());
+    }
+
+    public record RecordingStatus(String name, String state, Instant startTime, long durationSeconds,
+                                  long maxSizeBytes, long sizeBytes) {}
+}
@@ -0,0 +1,130 @@
+package com.kartikay.sales_order_management_api.service;
+
+import com.kartikay.sales_order_management_api.domain.RevokedToken;
+import com.kartikay.sales_order_management_api.domain.UserTokenEpoch;
+import com.kartikay.sales_order_management_api.repository.RevokedTokenRepository;
+import com.kartikay.sales_order_management_api.repository.UserTokenEpochRepository;
+import com.kartikay.sales_order_management_api.security.JwtPrincipal;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.dao.DataIntegrityViolationException;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+
+import java.time.Instant;
+import java.time.temporal.ChronoUnit;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * Token revocation backed by the revoked_tokens / user_token_epochs tables and mirrored in memory,
+ * so the per-request check in the JWT filter never touches the database.
+ */
+@Service
+public class TokenRevocationService {
+
+    private final RevokedTokenRepository revokedTokenRepository;
+    private final UserTokenEpochRepository epochRepository;
+
+    // A not-before epoch older than the longest token lifetime can no longer match any live token
+    private final long maxTokenLifetimeMs;
+
+    // jti -> token expiry
+    private final Map<String, Instant> revokedTokens = new ConcurrentHashMap<>();
+    // username -> not-before epoch
+    private final Map<String, Instant> notBefore = new ConcurrentHashMap<>();
+
+    public TokenRevocationService(RevokedTokenRepository revokedTokenRepository,
+                                  UserTokenEpochRepository epochRepository,
+                                  @Value("${jwt.expirationMs}") long accessExpirationMs,
+                                  @Value("${jwt.refreshExpirationMs:2592000000}") long refreshExpirationMs) {
+        this.revokedTokenRepository = revokedTokenRepository;
+        this.epochRepository = epochRepository;
+        this.maxTokenLifetimeMs = Math.max(accessExpirationMs, refreshExpirationMs);
+    }
+
+    /** True if the token was revoked on its own or issued before its user's not-before epoch */
+    public boolean isRevoked(JwtPrincipal principal) {
+        String tokenId = principal.tokenId();
+        if (tokenId != null && !revokedTokens.isEmpty() && revokedTokens.containsKey(tokenId)) {
+            return true;
+        }
+        if (notBefore.isEmpty()) {
+            return false;
+        }
+        Instant epoch = notBefore.get(principal.username());
+        if (epoch == null) {
+            return false;
+        }
+        // Tokens without iat predate epochs and cannot prove they were issued afterwards
+        return principal.issuedAt() == null || !principal.issuedAt().isAfter(epoch);
+    }
+
+    /**
+     * Revoke a single token until it expires. Returns true only for the call that revoked it, here or on any
+     * instance sharing the database, so a refresh token can be exchanged once. Returns false for tokens that
+     * carry no jti, which can only be cut off with {@link #revokeAllFor(String)}.
+     */
+    public boolean revoke(JwtPrincipal principal) {
+        if (principal.tokenId() == null) {
+            return false;
+        }
+        if (revokedTokens.putIfAbsent(principal.tokenId(), principal.expiresAt()) != null) {
+            return false;
+        }
+        try {
+            revokedTokenRepository.insert(principal.tokenId(), principal.username(), principal.expiresAt());
+            return true;
+        } catch (DataIntegrityViolationException ex) {
+            // already revoked by another instance
+            return false;
+        }
+    }
+
+    /**
+     * Revoke every token issued to {@code username} up to now. Tokens carry their issue time in milliseconds,
+     * so a login right after the revoke is not caught by it; tokens with only a second-precision iat are
+     * rejected if issued within the same second.
+     */
+    public Instant revokeAllFor(String username) {
+        Instant epoch = Instant.now().truncatedTo(ChronoUnit.MILLIS);
+        epochRepository.save(new UserTokenEpoch(username, epoch));
+        notBefore.merge(username, epoch, (a, b) -> a.isAfter(b) ? a : b);
+        return epoch;
+    }
+
+    @EventListener(ApplicationReadyEvent.class)
+    public void load() {
+        sync();
+    }
+
+    /**
+     * Purges entries that can no longer match a live token and pulls in revocations made by other instances.
+     */
+    @Scheduled(fixedDelayString = "${security.revocation.sync-interval-ms:30000}",
+            initialDelayString = "${security.revocation.sync-interval-ms:30000}")
+    public void sync() {
+        Instant now = Instant.now();
+        Instant epochCutoff = now.minusMillis(maxTokenLifetimeMs);
+
+        revokedTokenRepository.deleteExpired(now);
+        epochRepository.deleteOlderThan(epochCutoff);
+
+        for (RevokedToken token : revokedTokenRepository.findByExpiresAtAfter(now)) {
+            revokedTokens.put(token.getJti(), token.getExpiresAt());
+        }
+        for (UserTokenEpoch epoch : epochRepository.findByNotBeforeAfter(epochCutoff)) {
+            notBefore.merge(epoch.getUsername(), epoch.getNotBefore(), (a, b) -> a.isAfter(b) ? a : b);
+        }
+
+        revokedTokens.values().removeIf(expiresAt -> !expiresAt.isAfter(now));
+        notBefore.values().removeIf(epoch -> !epoch.isAfter(epochCutoff));
+    }
+
+    public RevocationStats getStats() {
+        return new RevocationStats(revokedTokens.size(), notBefore.size());
+    }
+
+    public record RevocationStats(int revokedTokens, int userEpochs) {}
+}
@@ -3,6 +3,7 @@ package com.kartikay.sales_order_management_api.service.impl;
 import com.kartikay.sales_order_management_api.domain.User;
 import com.kartikay.sales_order_management_api.repository.UserRepository;
 
+import org.springframework.beans.factory.annotation.Value;
 import org.springframework.security.core.userdetails.UserDetails;
 import org.springframework.security.core.userdetails.UserDetailsService;
 import org.springframework.security.core.userdetails.UsernameNotFoundException;
@@ -10,19 +11,57 @@ import org.springframework.security.core.GrantedAuthority;
 import org.springframework.security.core.authority.SimpleGrantedAuthority;
 import org.springframework.stereotype.Service;
 
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
 import java.util.stream.Collectors;
 
 @Service
 public class UserDetailsServiceImpl implements UserDetailsService {
 
+    private static final int MAX_ENTRIES = 10_000;
+
     private final UserRepository userRepository;
 
-    public UserDetailsServiceImpl(UserRepository repo) {
+    // Short-lived cache for deployments that keep the per-request account lookup; 0 disables it
+    private final long cacheTtlNanos;
+    private final Map<String, CachedUser> cache = new ConcurrentHashMap<>();
+
+    public UserDetailsServiceImpl(UserRepository repo,
+                                  @Value("${security.user-cache.ttl-ms:0}") long cacheTtlMs) {
         this.userRepository = repo;
+        this.cacheTtlNanos = cacheTtlMs * 1_000_000L;
     }
 
     @Override
     public UserDetails loadUserByUsername(String username) throws UsernameNotFoundException {
+        if (cacheTtlNanos <= 0) {
+            return load(username);
+        }
+
+        long now = System.nanoTime();
+        CachedUser cached = cache.get(username);
+        if (cached == null || now - cached.loadedAt() >= cacheTtlNanos) {
+            cached = new CachedUser(load(username), now);
+            if (cache.size() >= MAX_ENTRIES) {
+                cache.values().removeIf(c -> now - c.loadedAt() >= cacheTtlNanos);
+            }
+            cache.put(username, cached);
+        }
+        // Callers may erase credentials on what they get back, so never hand out the cached instance
+        return org.springframework.security.core.userdetails.User.withUserDetails(cached.user()).build();
+    }
+
+    /** Drop a cached account, e.g. after its roles or password changed */
+    public void evict(String username) {
+        cache.remove(username);
+    }
+
+    /** Drop every cached account */
+    public void evictAll() {
+        cache.clear();
+    }
+
+    private UserDetails load(String username) {
         User user = userRepository.findByUsername(username)
                 .orElseThrow(() -> new UsernameNotFoundException("User not found: " + username));
 
@@ -37,5 +76,6 @@ public class UserDetailsServiceImpl implements UserDetailsService {
                 authorities
         );
     }
-}
 
+    private record CachedUser(UserDetails user, long loadedAt) {}
+}
@@ -0,0 +1,38 @@
+package com.kartikay.sales_order_management_api.support;
+
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+/**
+ * Runs in-memory side effects of a write (caches, indexes, metrics) once its transaction has committed, or
+ * right away when no transaction is active.
+ * <p>
+ * A failing action is logged and swallowed: the write is already committed, so it must not turn into an
+ * error response or stop the actions registered after it.
+ */
+public final class AfterCommit {
+
+    private AfterCommit() {
+    }
+
+    public static void run(String description, Runnable action) {
+        if (TransactionSynchronizationManager.isSynchronizationActive()) {
+            TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+                @Override
+                public void afterCommit() {
+                    runGuarded(description, action);
+                }
+            });
+        } else {
+            runGuarded(description, action);
+        }
+    }
+
+    private static void runGuarded(String description, Runnable action) {
+        try {
+            action.run();
+        } catch (RuntimeException ex) {
+            System.err.println("After-commit " + description + " failed: " + ex);
+        }
+    }
+}
@@ -0,0 +1,41 @@
+package db.migration;
+
+import org.flywaydb.core.api.migration.BaseJavaMigration;
+import org.flywaydb.core.api.migration.Context;
+
+import java.sql.Connection;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.sql.Statement;
+
+/**
+ * Creates the pooled sequences used for {@code orders} and {@code order_items} ids.
+ * Written in Java so the start value can be derived from existing rows on both H2 and PostgreSQL.
+ */
+public class V2__Order_id_sequences extends BaseJavaMigration {
+
+    // Must match allocationSize on the entities' @SequenceGenerator
+    private static final int ALLOCATION_SIZE = 50;
+
+    @Override
+    public void migrate(Context context) throws Exception {
+        Connection connection = context.getConnection();
+        createSequence(connection, "orders_seq", "orders");
+        createSequence(connection, "order_items_seq", "order_items");
+    }
+
+    private void createSequence(Connection connection, String sequence, String table) throws SQLException {
+        try (Statement statement = connection.createStatement()) {
+            long maxId;
+            try (ResultSet rs = statement.executeQuery("SELECT COALESCE(MAX(id), 0) FROM " + table)) {
+                rs.next();
+                maxId = rs.getLong(1);
+            }
+            // Hibernate's pooled optimizer reads any value other than the initial one (1) as the
+            // upper end of a block, so start one full block above the current maximum.
+            long start = maxId == 0 ? 1 : maxId + ALLOCATION_SIZE;
+            statement.execute("CREATE SEQUENCE " + sequence
+                    + " START WITH " + start + " INCREMENT BY " + ALLOCATION_SIZE);
+        }
+    }
+}
@@ -0,0 +1,14 @@
+-- === Revoked tokens (logout); rows are purged once the token has expired ===
+CREATE TABLE revoked_tokens (
+  jti VARCHAR(64) PRIMARY KEY,
+  username VARCHAR(100) NOT NULL,
+  expires_at TIMESTAMP WITH TIME ZONE NOT NULL
+);
+
+CREATE INDEX idx_revoked_tokens_expires_at ON revoked_tokens (expires_at);
+
+-- === Per-user "not before" epochs (revoke every token of a user) ===
+CREATE TABLE user_token_epochs (
+  username VARCHAR(100) PRIMARY KEY,
+  not_before TIMESTAMP WITH TIME ZONE NOT NULL
+);
@@ -0,0 +1,9 @@
+-- === Order listing access paths ===
+-- Default listing and keyset paging: ORDER BY creation_date DESC, id DESC, date range filters
+CREATE INDEX idx_orders_creation_date_id ON orders (creation_date, id);
+
+-- Listing sorted by customer (id breaks ties so pages are stable)
+CREATE INDEX idx_orders_customer_name_id ON orders (customer_name, id);
+
+-- Every item fetch joins on order_id; Postgres does not index foreign keys on its own
+CREATE INDEX idx_order_items_order_id ON order_items (order_id);
@@ -0,0 +1,73 @@
+-- === Sales rollups: additive order figures keyed by the order's creation date ===
+-- "cancelled_*" columns hold the subset of those orders cancelled since; net = gross - cancelled.
+CREATE TABLE sales_daily_rollup (
+  sales_date DATE PRIMARY KEY,
+  orders BIGINT NOT NULL,
+  units BIGINT NOT NULL,
+  subtotal NUMERIC(19,2) NOT NULL,
+  vat NUMERIC(19,2) NOT NULL,
+  total NUMERIC(19,2) NOT NULL,
+  cancelled_orders BIGINT NOT NULL,
+  cancelled_units BIGINT NOT NULL,
+  cancelled_subtotal NUMERIC(19,2) NOT NULL,
+  cancelled_vat NUMERIC(19,2) NOT NULL,
+  cancelled_total NUMERIC(19,2) NOT NULL
+);
+
+-- Per catalog item and day; subtotal is the sum of line totals (VAT is only known per order)
+CREATE TABLE sales_item_rollup (
+  catalog_item_id BIGINT NOT NULL,
+  sales_date DATE NOT NULL,
+  orders BIGINT NOT NULL,
+  units BIGINT NOT NULL,
+  subtotal NUMERIC(19,2) NOT NULL,
+  cancelled_orders BIGINT NOT NULL,
+  cancelled_units BIGINT NOT NULL,
+  cancelled_subtotal NUMERIC(19,2) NOT NULL,
+  PRIMARY KEY (catalog_item_id, sales_date)
+);
+
+CREATE INDEX idx_sales_item_rollup_date ON sales_item_rollup (sales_date);
+
+-- Signed changes written by order transactions and folded into the rollups in the background,
+-- so concurrent orders never contend on today's rollup row. catalog_item_id NULL = daily row.
+CREATE TABLE sales_rollup_delta (
+  id BIGSERIAL PRIMARY KEY,
+  sales_date DATE NOT NULL,
+  catalog_item_id BIGINT,
+  orders BIGINT NOT NULL,
+  units BIGINT NOT NULL,
+  subtotal NUMERIC(19,2) NOT NULL,
+  vat NUMERIC(19,2) NOT NULL,
+  total NUMERIC(19,2) NOT NULL,
+  cancelled_orders BIGINT NOT NULL,
+  cancelled_units BIGINT NOT NULL,
+  cancelled_subtotal NUMERIC(19,2) NOT NULL,
+  cancelled_vat NUMERIC(19,2) NOT NULL,
+  cancelled_total NUMERIC(19,2) NOT NULL
+);
+
+-- === Backfill from existing orders ===
+INSERT INTO sales_daily_rollup (sales_date, orders, units, subtotal, vat, total,
+                                cancelled_orders, cancelled_units, cancelled_subtotal, cancelled_vat, cancelled_total)
+SELECT o.creation_date, COUNT(*), SUM(o.units), SUM(o.subtotal), SUM(o.vat), SUM(o.total),
+       SUM(CASE WHEN o.cancellation_date IS NOT NULL THEN 1 ELSE 0 END),
+       SUM(CASE WHEN o.cancellation_date IS NOT NULL THEN o.units ELSE 0 END),
+       SUM(CASE WHEN o.cancellation_date IS NOT NULL THEN o.subtotal ELSE 0 END),
+       SUM(CASE WHEN o.cancellation_date IS NOT NULL THEN o.vat ELSE 0 END),
+       SUM(CASE WHEN o.cancellation_date IS NOT NULL THEN o.total ELSE 0 END)
+FROM (SELECT creation_date, cancellation_date, subtotal, COALESCE(vat, 0) AS vat, COALESCE(total, 0) AS total,
+             (SELECT COALESCE(SUM(i.quantity), 0) FROM order_items i WHERE i.order_id = orders.id) AS units
+      FROM orders) o
+GROUP BY o.creation_date;
+
+INSERT INTO sales_item_rollup (catalog_item_id, sales_date, orders, units, subtotal,
+                               cancelled_orders, cancelled_units, cancelled_subtotal)
+SELECT i.catalog_item_id, o.creation_date, COUNT(DISTINCT o.id), SUM(i.quantity), SUM(i.unit_price * i.quantity),
+       COUNT(DISTINCT CASE WHEN o.cancellation_date IS NOT NULL THEN o.id END),
+       SUM(CASE WHEN o.cancellation_date IS NOT NULL THEN i.quantity ELSE 0 END),
+       SUM(CASE WHEN o.cancellation_date IS NOT NULL THEN i.unit_price * i.quantity ELSE 0 END)
+FROM orders o
+JOIN order_items i ON i.order_id = o.id
+WHERE i.catalog_item_id IS NOT NULL
+GROUP BY i.catalog_item_id, o.creation_date;
@@ -0,0 +1,6 @@
+-- === Asynchronous order acceptance ===
+-- Reference handed out when an order is accepted into the journal, before it has an id.
+-- Unique so that replaying the journal after a crash can skip orders that were already written;
+-- NULL for orders created synchronously.
+ALTER TABLE orders ADD COLUMN order_reference VARCHAR(36);
+CREATE UNIQUE INDEX idx_orders_order_reference ON orders (order_reference);
@@ -0,0 +1,145 @@
+package com.kartikay.sales_order_management_api.analytics;
+
+import com.kartikay.sales_order_management_api.domain.Order;
+import com.kartikay.sales_order_management_api.domain.OrderItem;
+import com.kartikay.sales_order_management_api.exception.InvalidOperationException;
+import org.junit.jupiter.api.Test;
+
+import java.math.BigDecimal;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Random;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+import static org.assertj.core.api.Assertions.within;
+
+class OrderStreamAnalyticsTest {
+
+    // 10-second buckets, one hour retained
+    private final OrderStreamAnalytics analytics = new OrderStreamAnalytics(10, 360, 16);
+    private final long now = 1_700_000_000_000L;
+
+    @Test
+    void distinctCustomersAreEstimatedWithinAFewPercentAndIgnoreCase() {
+        HyperLogLog sketch = new HyperLogLog();
+        for (int i = 0; i < 100_000; i++) {
+            sketch.add(Hashing.hashIgnoreCase("customer-" + i));
+            sketch.add(Hashing.hashIgnoreCase("CUSTOMER-" + i));
+        }
+        assertThat((double) sketch.estimate()).isCloseTo(100_000, within(5_000.0));
+
+        HyperLogLog small = new HyperLogLog();
+        for (int i = 0; i < 50; i++) {
+            small.add(Hashing.hashIgnoreCase("c" + i));
+        }
+        assertThat(small.estimate()).isBetween(48L, 52L);
+    }
+
+    @Test
+    void quantilesStayWithinTheRelativeAccuracy() {
+        QuantileSketch sketch = new QuantileSketch();
+        for (long cents = 1; cents <= 100_000; cents++) {
+            sketch.add(cents);
+        }
+        long[] q = sketch.quantiles(0.5, 0.95, 0.99);
+        assertThat((double) q[0]).isCloseTo(50_000, within(50_000 * 0.011));
+        assertThat((double) q[1]).isCloseTo(95_000, within(95_000 * 0.011));
+        assertThat((double) q[2]).isCloseTo(99_000, within(99_000 * 0.011));
+        assertThat(new QuantileSketch().quantiles(0.5)).containsExactly(0);
+    }
+
+    @Test
+    void windowsOnlyCoverTheirOwnBuckets() {
+        analytics.onCreated(order("Old", "100.00", 1L, 5), now - 30 * 60_000);
+        analytics.onCreated(order("Acme", "10.00", 1L, 2), now - 4 * 60_000);
+        analytics.onCreated(order("acme", "20.00", 2L, 9), now);
+        analytics.onCancelled(3, now);
+
+        List<OrderStreamAnalytics.WindowSnapshot> windows = analytics.snapshot(List.of(1, 5, 60), 10, now).windows();
+
+        OrderStreamAnalytics.WindowSnapshot lastMinute = windows.get(0);
+        assertThat(lastMinute.ordersPlaced()).isEqualTo(1);
+        assertThat(lastMinute.ordersCancelled()).isEqualTo(3);
+        assertThat(lastMinute.totalP50().doubleValue()).isCloseTo(20.00, within(0.20));
+
+        OrderStreamAnalytics.WindowSnapshot lastFive = windows.get(1);
+        assertThat(lastFive.ordersPlaced()).isEqualTo(2);
+        assertThat(lastFive.distinctCustomers()).isEqualTo(1);
+        assertThat(lastFive.topItems()).extracting(OrderStreamAnalytics.TopItem::catalogItemId).containsExactly(2L, 1L);
+
+        OrderStreamAnalytics.WindowSnapshot lastHour = windows.get(2);
+        assertThat(lastHour.ordersPlaced()).isEqualTo(3);
+        assertThat(lastHour.distinctCustomers()).isEqualTo(2);
+        assertThat(lastHour.topItems().get(0)).isEqualTo(new OrderStreamAnalytics.TopItem(2L, 9, 9, 9));
+        assertThat(lastHour.topItems().get(1).units()).isEqualTo(7);
+
+        // an hour later the ring slots are reused and the old buckets drop out
+        long later = now + 61 * 60_000;
+        analytics.onCreated(order("Later", "1.00", 3L, 1), later);
+        assertThat(analytics.snapshot(List.of(60), 10, later).windows().get(0).ordersPlaced()).isEqualTo(1);
+    }
+
+    @Test
+    void heavyHittersSurviveEvictionsWithHonestBounds() {
+        Random random = new Random(42);
+        for (int i = 0; i < 20_000; i++) {
+            // items 1-3 are hot, the rest a long tail that keeps evicting counters
+            long item = i % 4 != 0 ? 1 + (i % 3) : 100 + random.nextInt(5_000);
+            analytics.onCreated(order("c" + i, "1.00", item, 1), now);
+        }
+
+        List<OrderStreamAnalytics.TopItem> top = analytics.snapshot(List.of(1), 3, now).windows().get(0).topItems();
+        assertThat(top).extracting(OrderStreamAnalytics.TopItem::catalogItemId).containsExactlyInAnyOrder(1L, 2L, 3L);
+        for (OrderStreamAnalytics.TopItem item : top) {
+            assertThat(5_000L).isBetween(item.minUnits(), item.maxUnits());
+        }
+    }
+
+    @Test
+    void concurrentWritersAreAllCounted() throws Exception {
+        ExecutorService pool = Executors.newFixedThreadPool(8);
+        try {
+            List<Future<?>> futures = new ArrayList<>();
+            for (int t = 0; t < 8; t++) {
+                int thread = t;
+                futures.add(pool.submit(() -> {
+                    for (int i = 0; i < 5_000; i++) {
+                        analytics.onCreated(order("t" + thread + "-" + i, "5.00", 7L, 1), now);
+                    }
+                }));
+            }
+            for (Future<?> future : futures) {
+                future.get();
+            }
+        } finally {
+            pool.shutdown();
+        }
+
+        OrderStreamAnalytics.WindowSnapshot window = analytics.snapshot(List.of(1), 1, now).windows().get(0);
+        assertThat(window.ordersPlaced()).isEqualTo(40_000);
+        assertThat(window.topItems().get(0).units()).isEqualTo(40_000);
+        assertThat((double) window.distinctCustomers()).isCloseTo(40_000, within(2_000.0));
+    }
+
+    @Test
+    void windowLengthsAreValidated() {
+        assertThatThrownBy(() -> analytics.snapshot(List.of(61), 10, now)).isInstanceOf(InvalidOperationException.class);
+        assertThatThrownBy(() -> analytics.snapshot(List.of(0), 10, now)).isInstanceOf(InvalidOperationException.class);
+        assertThatThrownBy(() -> analytics.snapshot(List.of(5), 101, now)).isInstanceOf(InvalidOperationException.class);
+    }
+
+    private static Order order(String customer, String total, long catalogItemId, int quantity) {
+        Order order = new Order();
+        order.setCustomerName(customer);
+        order.setTotal(new BigDecimal(total));
+        OrderItem item = new OrderItem();
+        item.setCatalogItemId(catalogItemId);
+        item.setQuantity(quantity);
+        order.addItem(item);
+        return order;
+    }
+}
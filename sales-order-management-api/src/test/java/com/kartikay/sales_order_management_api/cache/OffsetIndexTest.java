@@ -0,0 +1,47 @@
+package com.kartikay.sales_order_management_api.cache;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.HashMap;
+import java.util.Map;
+import java.util.Random;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class OffsetIndexTest {
+
+    @Test
+    void behavesLikeAMapUnderRandomPutsAndRemovals() {
+        Random random = new Random(11);
+        OffsetIndex index = new OffsetIndex(16);
+        Map<Long, Long> expected = new HashMap<>();
+        for (int i = 0; i < 20_000; i++) {
+            long id = random.nextInt(3_000);
+            if (random.nextInt(3) == 0) {
+                assertThat(index.remove(id)).isEqualTo(expected.remove(id) != null);
+            } else {
+                long offset = random.nextInt(1 << 20);
+                index.put(id, offset);
+                expected.put(id, offset);
+            }
+        }
+
+        assertThat(index.size()).isEqualTo(expected.size());
+        for (long id = 0; id < 3_000; id++) {
+            assertThat(index.get(id)).isEqualTo(expected.getOrDefault(id, -1L));
+        }
+    }
+
+    @Test
+    void conditionalRemoveOnlyMatchesTheCurrentOffset() {
+        OffsetIndex index = new OffsetIndex(16);
+        index.put(9, 100);
+        index.put(9, 250);
+
+        assertThat(index.remove(9, 100)).isFalse();
+        assertThat(index.get(9)).isEqualTo(250);
+        assertThat(index.remove(9, 250)).isTrue();
+        assertThat(index.get(9)).isEqualTo(-1);
+        assertThat(index.size()).isZero();
+    }
+}
@@ -0,0 +1,158 @@
+package com.kartikay.sales_order_management_api.cache;
+
+import com.kartikay.sales_order_management_api.domain.Order;
+import com.kartikay.sales_order_management_api.domain.OrderItem;
+import com.kartikay.sales_order_management_api.dto.OrderItemDTO;
+import com.kartikay.sales_order_management_api.dto.OrderResponseDTO;
+import org.junit.jupiter.api.Test;
+
+import java.math.BigDecimal;
+import java.time.Clock;
+import java.time.Instant;
+import java.time.LocalDate;
+import java.time.ZoneOffset;
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class RecentOrderCacheTest {
+
+    private static final LocalDate TODAY = LocalDate.of(2025, 3, 10);
+    private static final Instant NOW = TODAY.atTime(12, 0).toInstant(ZoneOffset.UTC);
+
+    @Test
+    void responsesRoundTripExactly() {
+        RecentOrderCache cache = cache(1);
+        List<OrderItemDTO> items = List.of(
+                new OrderItemDTO(7L, "Widget", new BigDecimal("4.00"), 3),
+                new OrderItemDTO(null, "Ünïcode ☕", new BigDecimal("0.125"), 1));
+        OrderResponseDTO response = new OrderResponseDTO(42L, "Acme Ltd", TODAY, null,
+                new BigDecimal("12.13"), new BigDecimal("1.46"), new BigDecimal("13.59"), items);
+
+        assertThat(cache.get(42)).isNull();
+        cache.fill(response, cache.stamp());
+
+        assertThat(cache.get(42)).isEqualTo(response);
+        RecentOrderCache.CacheStats stats = cache.getStats();
+        assertThat(stats.entries()).isEqualTo(1);
+        assertThat(stats.hits()).isEqualTo(1);
+        assertThat(stats.misses()).isEqualTo(1);
+    }
+
+    @Test
+    void cancelPatchesAndDeleteRemovesTheCachedOrder() {
+        RecentOrderCache cache = cache(1);
+        cache.onCreated(order(1, TODAY, "Acme"));
+        cache.onCreated(order(2, TODAY, "Globex"));
+        assertThat(cache.get(1).cancellationDate()).isNull();
+
+        cache.onCancelled(1);
+        cache.onDeleted(List.of(2L));
+
+        OrderResponseDTO cancelled = cache.get(1);
+        assertThat(cancelled.cancellationDate()).isEqualTo(TODAY);
+        assertThat(cancelled.customerName()).isEqualTo("Acme");
+        assertThat(cache.get(2)).isNull();
+    }
+
+    @Test
+    void fillLoadedBeforeAnInvalidationIsDiscarded() {
+        RecentOrderCache cache = cache(1);
+        long stamp = cache.stamp();
+        OrderResponseDTO loaded = response(5, TODAY, "Acme");
+
+        // the order is cancelled between the database read and the fill
+        cache.onCancelled(5);
+        cache.fill(loaded, stamp);
+
+        assertThat(cache.get(5)).isNull();
+        assertThat(cache.getStats().staleFills()).isEqualTo(1);
+        cache.fill(loaded, cache.stamp());
+        assertThat(cache.get(5)).isEqualTo(loaded);
+    }
+
+    @Test
+    void oldestOrdersAreEvictedWhenTheBufferIsFull() {
+        RecentOrderCache cache = cache(1);
+        // about 40 KB each, so roughly 25 fit in 1 MB
+        String customer = "x".repeat(40_000);
+        for (long id = 1; id <= 100; id++) {
+            cache.fill(response(id, TODAY, customer + id), cache.stamp());
+        }
+
+        RecentOrderCache.CacheStats stats = cache.getStats();
+        assertThat(stats.sizeEvictions()).isEqualTo(100 - stats.entries());
+        assertThat(stats.bytesUsed()).isLessThanOrEqualTo(stats.capacityBytes());
+        assertThat(cache.get(1)).isNull();
+        assertThat(cache.get(100).customerName()).isEqualTo(customer + 100);
+        for (long id = 101 - stats.entries(); id <= 100; id++) {
+            assertThat(cache.get(id)).isNotNull();
+        }
+    }
+
+    @Test
+    void ordersOutsideTheRecentWindowAreNotCached() {
+        RecentOrderCache cache = cache(1);
+        cache.fill(response(1, TODAY.minusDays(10), "Old"), cache.stamp());
+        cache.fill(response(2, TODAY, "New"), cache.stamp());
+
+        assertThat(cache.get(1)).isNull();
+        assertThat(cache.get(2)).isNotNull();
+    }
+
+    @Test
+    void recordsExpireByTheTimeTheyWereStored() {
+        RecentOrderCache cache = cache(1);
+        cache.fill(response(1, TODAY, "Acme"), cache.stamp());
+        cache.setClock(Clock.fixed(NOW.plusSeconds(20), ZoneOffset.UTC));
+        // stored later, so it outlives the first record
+        cache.fill(response(2, TODAY, "Globex"), cache.stamp());
+
+        cache.setClock(Clock.fixed(NOW.plusSeconds(30), ZoneOffset.UTC));
+
+        assertThat(cache.get(1)).isNull();
+        assertThat(cache.get(2)).isNotNull();
+        assertThat(cache.getStats().ageEvictions()).isEqualTo(1);
+        assertThat(cache.getStats().entries()).isEqualTo(1);
+    }
+
+    @Test
+    void oversizedOrdersAndDisabledCacheAreNotStored() {
+        RecentOrderCache cache = cache(1);
+        cache.fill(response(1, TODAY, "x".repeat(200_000)), cache.stamp());
+        assertThat(cache.get(1)).isNull();
+
+        RecentOrderCache disabled = new RecentOrderCache(false, 64, 3, 30);
+        disabled.onCreated(order(2, LocalDate.now(), "Acme"));
+        assertThat(disabled.get(2)).isNull();
+        assertThat(disabled.getStats().capacityBytes()).isZero();
+    }
+
+    private static RecentOrderCache cache(int maxMb) {
+        RecentOrderCache cache = new RecentOrderCache(true, maxMb, 3, 30);
+        cache.setClock(Clock.fixed(NOW, ZoneOffset.UTC));
+        return cache;
+    }
+
+    private static OrderResponseDTO response(long id, LocalDate created, String customer) {
+        return new OrderResponseDTO(id, customer, created, null, new BigDecimal("8.00"), new BigDecimal("0.96"),
+                new BigDecimal("8.96"), List.of(new OrderItemDTO(3L, "Gadget", new BigDecimal("8.00"), 1)));
+    }
+
+    private static Order order(long id, LocalDate created, String customer) {
+        Order order = new Order();
+        order.setId(id);
+        order.setCustomerName(customer);
+        order.setCreationDate(created);
+        order.setSubtotal(new BigDecimal("8.00"));
+        order.setVat(new BigDecimal("0.96"));
+        order.setTotal(new BigDecimal("8.96"));
+        OrderItem item = new OrderItem();
+        item.setCatalogItemId(3L);
+        item.setItemName("Gadget");
+        item.setUnitPrice(new BigDecimal("8.00"));
+        item.setQuantity(1);
+        order.addItem(item);
+        return order;
+    }
+}
@@ -0,0 +1,203 @@
+package com.kartikay.sales_order_management_api.columnar;
+
+import com.kartikay.sales_order_management_api.columnar.OrderColumnStore.AggregateQuery;
+import com.kartikay.sales_order_management_api.columnar.OrderColumnStore.AggregateRow;
+import com.kartikay.sales_order_management_api.columnar.OrderColumnStore.GroupBy;
+import com.kartikay.sales_order_management_api.domain.Order;
+import com.kartikay.sales_order_management_api.domain.OrderItem;
+import com.kartikay.sales_order_management_api.exception.InvalidOperationException;
+import com.kartikay.sales_order_management_api.exception.ServiceBusyException;
+import com.kartikay.sales_order_management_api.repository.OrderLineJdbcRepository;
+import com.kartikay.sales_order_management_api.search.OrderSearchIndex.Status;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.datasource.DriverManagerDataSource;
+
+import java.math.BigDecimal;
+import java.time.LocalDate;
+import java.util.List;
+import java.util.UUID;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+class OrderColumnStoreTest {
+
+    private static final LocalDate DAY_1 = LocalDate.of(2024, 3, 1);
+    private static final LocalDate DAY_2 = LocalDate.of(2024, 3, 2);
+
+    private JdbcTemplate jdbc;
+    private OrderColumnStore store;
+
+    @BeforeEach
+    void setUp() {
+        DriverManagerDataSource dataSource = new DriverManagerDataSource(
+                "jdbc:h2:mem:columns-" + UUID.randomUUID() + ";DB_CLOSE_DELAY=-1", "sa", "");
+        jdbc = new JdbcTemplate(dataSource);
+        jdbc.execute("CREATE TABLE orders (id BIGINT PRIMARY KEY, customer_name VARCHAR(255), creation_date DATE,"
+                + " cancellation_date DATE, subtotal NUMERIC(19,2), vat NUMERIC(19,2), total NUMERIC(19,2))");
+        jdbc.execute("CREATE TABLE order_items (id BIGINT AUTO_INCREMENT PRIMARY KEY, order_id BIGINT,"
+                + " catalog_item_id BIGINT, item_name VARCHAR(255), unit_price NUMERIC(19,2), quantity INT)");
+
+        // ids spread over several load chunks
+        insert(1, "Acme Corp", DAY_1, null, "33.60");
+        line(1, 10L, "Widget", "10.00", 2);
+        line(1, 20L, "Gadget", "5.00", 2);
+        insert(60_000, "ACME corp", DAY_2, DAY_2, "11.20");
+        line(60_000, 10L, "Widget", "10.00", 1);
+        insert(120_000, "Globex", DAY_2, null, "5.60");
+        line(120_000, null, "Legacy part", "5.00", 1);
+
+        store = new OrderColumnStore(new OrderLineJdbcRepository(dataSource, 100), true, 3, 2);
+    }
+
+    @AfterEach
+    void tearDown() {
+        store.shutdown();
+    }
+
+    @Test
+    void aggregatesAreUnavailableUntilLoaded() {
+        assertThatThrownBy(() -> store.aggregate(query(null, null, GroupBy.NONE)))
+                .isInstanceOf(ServiceBusyException.class);
+    }
+
+    @Test
+    void loadEncodesOrdersAndLinesAcrossChunks() {
+        OrderColumnStore.StoreStats stats = store.rebuild();
+
+        assertThat(stats.ready()).isTrue();
+        assertThat(stats.orders()).isEqualTo(3);
+        assertThat(stats.lines()).isEqualTo(4);
+        assertThat(stats.customers()).isEqualTo(2);
+        assertThat(stats.catalogItems()).isEqualTo(2);
+
+        AggregateRow all = single(store.aggregate(query(null, null, GroupBy.NONE)));
+        assertThat(all.orders()).isEqualTo(3);
+        assertThat(all.ordersTotal()).isEqualTo(3360 + 1120 + 560);
+        assertThat(all.lines()).isEqualTo(4);
+        assertThat(all.units()).isEqualTo(6);
+        assertThat(all.amount()).isEqualTo(2000 + 1000 + 1000 + 500);
+    }
+
+    @Test
+    void filtersAndGroups() {
+        store.rebuild();
+
+        List<AggregateRow> byDay = store.aggregate(query(null, null, GroupBy.DAY)).rows();
+        assertThat(byDay).extracting(AggregateRow::date).containsExactly(DAY_1, DAY_2);
+        assertThat(byDay).extracting(AggregateRow::orders).containsExactly(1L, 2L);
+
+        List<AggregateRow> byItem = store.aggregate(query(null, null, GroupBy.ITEM)).rows();
+        assertThat(byItem).extracting(AggregateRow::itemName).containsExactly("Widget", "Gadget", "Legacy part");
+        assertThat(byItem).extracting(AggregateRow::catalogItemId).containsExactly(10L, 20L, null);
+        assertThat(byItem.get(0).orders()).isEqualTo(2);
+
+        // the customer filter is exact but ignores case, so both Acme orders match
+        AggregateRow acme = single(store.aggregate(new AggregateQuery(null, null, " acme CORP", null, Status.ALL,
+                GroupBy.NONE, 10)));
+        assertThat(acme.orders()).isEqualTo(2);
+
+        AggregateRow openWidgets = single(store.aggregate(new AggregateQuery(DAY_1, DAY_2, null, 10L, Status.OPEN,
+                GroupBy.NONE, 10)));
+        assertThat(openWidgets.orders()).isEqualTo(1);
+        assertThat(openWidgets.amount()).isEqualTo(2000);
+        assertThat(openWidgets.ordersTotal()).isEqualTo(3360);
+
+        List<AggregateRow> cancelledDay2 = store.aggregate(new AggregateQuery(DAY_2, DAY_2, null, null,
+                Status.CANCELLED, GroupBy.DAY, 10)).rows();
+        assertThat(cancelledDay2).extracting(AggregateRow::units).containsExactly(1L);
+
+        AggregateRow unknown = single(store.aggregate(new AggregateQuery(null, null, "Nobody", null, Status.ALL,
+                GroupBy.NONE, 10)));
+        assertThat(unknown.lines()).isZero();
+        assertThat(store.aggregate(query(null, null, GroupBy.ITEM, 1)).rows()).hasSize(1);
+    }
+
+    @Test
+    void committedWritesAreAppendedAcrossSegments() {
+        store.rebuild();
+
+        // enough lines to fill the first appended segment and start another
+        int orders = OrderSegment.CAPACITY / 2 + 10;
+        for (int i = 0; i < orders; i++) {
+            store.onCreated(order(200_000 + i, i % 2 == 0 ? "Initech" : "Hooli", DAY_1));
+        }
+        store.onCancelled(200_000);
+        store.onDeleted(List.of(200_001L, 1L));
+        // one segment per loaded chunk plus two appended ones
+        assertThat(store.getStats().segments()).isEqualTo(5);
+
+        // orders 1 and 200001 are deleted; every new order has two lines of 3 units
+        List<AggregateRow> byDay = store.aggregate(query(DAY_1, DAY_2, GroupBy.DAY, 10)).rows();
+        long live = orders - 1;
+        assertThat(byDay.get(0).date()).isEqualTo(DAY_1);
+        assertThat(byDay.get(0).orders()).isEqualTo(live);
+        assertThat(byDay.get(0).lines()).isEqualTo(live * 2);
+        assertThat(byDay.get(0).units()).isEqualTo(live * 6);
+        assertThat(byDay.get(1).orders()).isEqualTo(2);
+
+        AggregateRow cancelled = single(store.aggregate(new AggregateQuery(DAY_1, DAY_1, null, null,
+                Status.CANCELLED, GroupBy.NONE, 10)));
+        assertThat(cancelled.orders()).isEqualTo(1);
+
+        // a reload reflects the database again
+        store.rebuild();
+        assertThat(store.getStats().orders()).isEqualTo(3);
+    }
+
+    @Test
+    void queriesAreValidated() {
+        store.rebuild();
+
+        assertThatThrownBy(() -> store.aggregate(query(DAY_2, DAY_1, GroupBy.NONE)))
+                .isInstanceOf(InvalidOperationException.class);
+        assertThatThrownBy(() -> store.aggregate(query(DAY_1, null, GroupBy.NONE)))
+                .isInstanceOf(InvalidOperationException.class);
+        assertThatThrownBy(() -> store.aggregate(query(null, null, GroupBy.NONE, 0)))
+                .isInstanceOf(InvalidOperationException.class);
+        assertThatThrownBy(() -> GroupBy.parse("customer")).isInstanceOf(InvalidOperationException.class);
+    }
+
+    private static AggregateQuery query(LocalDate start, LocalDate end, GroupBy groupBy) {
+        return query(start, end, groupBy, 100);
+    }
+
+    private static AggregateQuery query(LocalDate start, LocalDate end, GroupBy groupBy, int limit) {
+        return new AggregateQuery(start, end, null, null, Status.ALL, groupBy, limit);
+    }
+
+    private static AggregateRow single(OrderColumnStore.AggregateResult result) {
+        assertThat(result.rows()).hasSize(1);
+        return result.rows().get(0);
+    }
+
+    private void insert(long id, String customer, LocalDate created, LocalDate cancelled, String total) {
+        jdbc.update("INSERT INTO orders (id, customer_name, creation_date, cancellation_date, subtotal, vat, total)"
+                + " VALUES (?, ?, ?, ?, 0, 0, ?)", id, customer, created, cancelled, new BigDecimal(total));
+    }
+
+    private void line(long orderId, Long catalogItemId, String name, String price, int quantity) {
+        jdbc.update("INSERT INTO order_items (order_id, catalog_item_id, item_name, unit_price, quantity)"
+                + " VALUES (?, ?, ?, ?, ?)", orderId, catalogItemId, name, new BigDecimal(price), quantity);
+    }
+
+    private static Order order(long id, String customer, LocalDate created) {
+        Order order = new Order();
+        order.setId(id);
+        order.setCustomerName(customer);
+        order.setCreationDate(created);
+        order.setTotal(new BigDecimal("7.84"));
+        for (long catalogItemId = 30; catalogItemId <= 31; catalogItemId++) {
+            OrderItem item = new OrderItem();
+            item.setCatalogItemId(catalogItemId);
+            item.setItemName("Part-" + catalogItemId);
+            item.setUnitPrice(new BigDecimal("1.00"));
+            item.setQuantity(3);
+            order.addItem(item);
+        }
+        return order;
+    }
+}
@@ -0,0 +1,197 @@
+package com.kartikay.sales_order_management_api.controller;
+
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.kartikay.sales_order_management_api.support.StatementBudget;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.MediaType;
+import org.springframework.test.web.servlet.MockMvc;
+import org.springframework.test.web.servlet.MvcResult;
+import org.springframework.test.web.servlet.request.MockHttpServletRequestBuilder;
+
+import java.time.LocalDate;
+import java.util.UUID;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.*;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+/**
+ * Statement budgets per endpoint of the order, catalog and auth controllers, measured through the
+ * X-DB-Statements header. Listing budgets hold regardless of page size; a lazy association or a
+ * per-line lookup sneaking back in breaks them.
+ */
+@SpringBootTest(properties = {
+        "spring.datasource.url=jdbc:h2:mem:budgetdb;DB_CLOSE_DELAY=-1",
+        "rate-limit.enabled=false",
+        "jdbc.accounting.response-headers=true",
+        "orders.async.enabled=true",
+        "orders.async.journal-dir=${java.io.tmpdir}/budget-journal-${random.uuid}",
+        "orders.cache.enabled=true"
+})
+@AutoConfigureMockMvc
+class EndpointStatementBudgetTest {
+
+    @Autowired
+    private MockMvc mockMvc;
+
+    @Autowired
+    private ObjectMapper objectMapper;
+
+    private String adminToken;
+    private long itemA;
+    private long itemB;
+
+    @BeforeEach
+    void setUp() throws Exception {
+        adminToken = login("admin", "adminpass").get("token").asText();
+        itemA = createItem();
+        itemB = createItem();
+    }
+
+    @Test
+    void orderEndpoints() throws Exception {
+        String body = "{\"customerName\":\"Acme\",\"items\":["
+                + "{\"catalogItemId\":" + itemA + ",\"quantity\":2},"
+                + "{\"catalogItemId\":" + itemB + ",\"quantity\":1}]}";
+        MvcResult created = perform(post("/api/v1/orders").contentType(MediaType.APPLICATION_JSON).content(body));
+        long orderId = json(created).get("id").asLong();
+        for (int i = 0; i < 30; i++) {
+            perform(post("/api/v1/orders").contentType(MediaType.APPLICATION_JSON).content(body));
+        }
+
+        // order + batched lines + batched rollup deltas, plus an occasional sequence fetch when the id block runs out
+        assertStatements(post("/api/v1/orders").contentType(MediaType.APPLICATION_JSON).content(body), 5);
+        // Served from the recent orders cache, filled when the order was created
+        assertStatements(get("/api/v1/orders/{id}", orderId), 0);
+
+        // Priced from the catalog snapshot and journaled; only the background drainer writes to the database
+        MvcResult accepted = perform(post("/api/v1/orders/async")
+                .contentType(MediaType.APPLICATION_JSON).content(body));
+        assertStatements(post("/api/v1/orders/async").contentType(MediaType.APPLICATION_JSON).content(body), 0);
+        // still journaled (none) or written (lookup by reference)
+        assertStatements(get("/api/v1/orders/async/{reference}", json(accepted).get("reference").asText()), 1);
+
+        int smallPage = statements(get("/api/v1/orders").param("size", "5"));
+        int largePage = statements(get("/api/v1/orders").param("size", "25"));
+        assertThat(largePage).isEqualTo(smallPage).isLessThanOrEqualTo(3);
+
+        int smallSlice = statements(get("/api/v1/orders").param("cursor", "").param("size", "5"));
+        int largeSlice = statements(get("/api/v1/orders").param("cursor", "").param("size", "25"));
+        assertThat(largeSlice).isEqualTo(smallSlice).isLessThanOrEqualTo(2);
+
+        // Served from the in-memory search index
+        assertStatements(get("/api/v1/orders/search").param("customer", "acm"), 0);
+
+        // load, rollup deltas, versioned write
+        assertStatements(put("/api/v1/orders/{id}/cancel", orderId), 3);
+        // the cached copy is patched in place
+        assertStatements(get("/api/v1/orders/{id}", orderId), 0);
+        assertStatements(delete("/api/v1/orders/{id}", orderId), 3);
+
+        // Answered from the rollups and pending deltas in one statement each
+        String today = LocalDate.now().toString();
+        assertStatements(get("/api/v1/reports/sales").param("start", "2020-01-01").param("end", today), 1);
+        assertStatements(get("/api/v1/reports/items").param("start", "2020-01-01").param("end", today), 1);
+        // Scanned from the in-memory order columns
+        assertStatements(get("/api/v1/reports/aggregate").param("groupBy", "item"), 0);
+
+        // locking id select plus one rollup INSERT ... SELECT and one set-based write, however many orders match
+        String filter = "{\"customerName\":\"Acme\"}";
+        assertStatements(post("/api/v1/orders/bulk/cancel").contentType(MediaType.APPLICATION_JSON).content(filter), 3);
+        assertStatements(post("/api/v1/orders/bulk/purge").contentType(MediaType.APPLICATION_JSON).content(filter), 3);
+    }
+
+    @Test
+    void catalogEndpoints() throws Exception {
+        // Reads are served from the in-memory snapshot
+        assertStatements(get("/api/v1/catalog"), 0);
+        assertStatements(get("/api/v1/catalog/{id}", itemA), 0);
+        assertStatements(get("/api/v1/catalog/stats"), 0);
+
+        assertStatements(put("/api/v1/catalog/{id}/price", itemA).param("newPrice", "12.50"), 3);
+        assertStatements(post("/api/v1/catalog").contentType(MediaType.APPLICATION_JSON)
+                .content("{\"name\":\"Budget-" + UUID.randomUUID() + "\",\"price\":1.00}"), 2);
+        assertStatements(delete("/api/v1/catalog/{id}", itemB), 3);
+    }
+
+    @Test
+    void authEndpoints() throws Exception {
+        String username = "budget-" + UUID.randomUUID();
+        String credentials = "{\"username\":\"" + username + "\",\"password\":\"secret\"}";
+
+        MvcResult registered = mockMvc.perform(post("/api/v1/auth/register")
+                        .contentType(MediaType.APPLICATION_JSON).content(credentials))
+                .andExpect(status().isOk())
+                .andExpect(StatementBudget.atMost(5))
+                .andReturn();
+        assertThat(StatementBudget.statements(registered)).isPositive();
+
+        MvcResult login = mockMvc.perform(post("/api/v1/auth/login")
+                        .contentType(MediaType.APPLICATION_JSON).content(credentials))
+                .andExpect(status().isOk())
+                .andExpect(StatementBudget.atMost(3))
+                .andReturn();
+        JsonNode tokens = json(login);
+
+        MvcResult refreshed = mockMvc.perform(post("/api/v1/auth/refresh")
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content("{\"refreshToken\":\"" + tokens.get("refreshToken").asText() + "\"}"))
+                .andExpect(status().isOk())
+                .andExpect(StatementBudget.atMost(4))
+                .andReturn();
+        String accessToken = json(refreshed).get("token").asText();
+
+        mockMvc.perform(post("/api/v1/auth/logout")
+                        .header(HttpHeaders.AUTHORIZATION, "Bearer " + accessToken))
+                .andExpect(status().is2xxSuccessful())
+                .andExpect(StatementBudget.atMost(2));
+
+        assertStatements(get("/api/v1/auth/token-cache/stats"), 0);
+        assertStatements(post("/api/v1/auth/users/{username}/revoke", username), 2);
+    }
+
+    private void assertStatements(MockHttpServletRequestBuilder request, int budget) throws Exception {
+        mockMvc.perform(request.header(HttpHeaders.AUTHORIZATION, "Bearer " + adminToken))
+                .andExpect(status().is2xxSuccessful())
+                .andExpect(StatementBudget.atMost(budget));
+    }
+
+    private MvcResult perform(MockHttpServletRequestBuilder request) throws Exception {
+        return mockMvc.perform(request.header(HttpHeaders.AUTHORIZATION, "Bearer " + adminToken))
+                .andExpect(status().is2xxSuccessful())
+                .andReturn();
+    }
+
+    private int statements(MockHttpServletRequestBuilder request) throws Exception {
+        return StatementBudget.statements(perform(request));
+    }
+
+    private long createItem() throws Exception {
+        MvcResult result = mockMvc.perform(post("/api/v1/catalog")
+                        .header(HttpHeaders.AUTHORIZATION, "Bearer " + adminToken)
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content("{\"name\":\"Item-" + UUID.randomUUID() + "\",\"price\":10.00}"))
+                .andExpect(status().isOk())
+                .andReturn();
+        return json(result).get("id").asLong();
+    }
+
+    private JsonNode login(String username, String password) throws Exception {
+        MvcResult result = mockMvc.perform(post("/api/v1/auth/login")
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content("{\"username\":\"" + username + "\",\"password\":\"" + password + "\"}"))
+                .andExpect(status().isOk())
+                .andReturn();
+        return json(result);
+    }
+
+    private JsonNode json(MvcResult result) throws Exception {
+        return objectMapper.readTree(result.getResponse().getContentAsString());
+    }
+}
@@ -0,0 +1,34 @@
+package com.kartikay.sales_order_management_api.controller;
+
+import com.kartikay.sales_order_management_api.exception.InvalidOperationException;
+import org.junit.jupiter.api.Test;
+import org.springframework.data.domain.Sort;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+class OrderControllerSortTest {
+
+    @Test
+    void defaultSortAppendsIdTieBreaker() {
+        assertThat(OrderController.parseSort("creationDate,desc"))
+                .isEqualTo(Sort.by(Sort.Direction.DESC, "creationDate", "id"));
+    }
+
+    @Test
+    void directionAppliesToTieBreakerToo() {
+        assertThat(OrderController.parseSort("customerName,asc"))
+                .isEqualTo(Sort.by(Sort.Direction.ASC, "customerName", "id"));
+        assertThat(OrderController.parseSort("id,asc"))
+                .isEqualTo(Sort.by(Sort.Direction.ASC, "id"));
+    }
+
+    @Test
+    void unindexedFieldsAreRejected() {
+        assertThatThrownBy(() -> OrderController.parseSort("total,desc"))
+                .isInstanceOf(InvalidOperationException.class)
+                .hasMessageContaining("total");
+        assertThatThrownBy(() -> OrderController.parseSort("items.quantity"))
+                .isInstanceOf(InvalidOperationException.class);
+    }
+}
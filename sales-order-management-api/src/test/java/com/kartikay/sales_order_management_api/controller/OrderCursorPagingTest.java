@@ -0,0 +1,152 @@
+package com.kartikay.sales_order_management_api.controller;
+
+import com.kartikay.sales_order_management_api.analytics.OrderStreamAnalytics;
+import com.kartikay.sales_order_management_api.cache.RecentOrderCache;
+import com.kartikay.sales_order_management_api.columnar.OrderColumnStore;
+import com.kartikay.sales_order_management_api.domain.Order;
+import com.kartikay.sales_order_management_api.dto.CursorPageDTO;
+import com.kartikay.sales_order_management_api.dto.OrderCursor;
+import com.kartikay.sales_order_management_api.dto.OrderResponseDTO;
+import com.kartikay.sales_order_management_api.exception.InvalidOperationException;
+import com.kartikay.sales_order_management_api.report.SalesRollupService;
+import com.kartikay.sales_order_management_api.repository.OrderLineJdbcRepository;
+import com.kartikay.sales_order_management_api.repository.OrderRepository;
+import com.kartikay.sales_order_management_api.repository.SalesRollupRepository;
+import com.kartikay.sales_order_management_api.search.OrderSearchIndex;
+import com.kartikay.sales_order_management_api.service.CatalogService;
+import com.kartikay.sales_order_management_api.service.OrderMetrics;
+import com.kartikay.sales_order_management_api.service.OrderService;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
+import org.springframework.boot.test.autoconfigure.orm.jpa.TestEntityManager;
+import org.springframework.context.annotation.Import;
+
+import java.math.BigDecimal;
+import java.nio.charset.StandardCharsets;
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.Base64;
+import java.util.Comparator;
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+@DataJpaTest
+@Import({OrderService.class, CatalogService.class, OrderMetrics.class, OrderStreamAnalytics.class,
+        SimpleMeterRegistry.class, OrderSearchIndex.class, OrderColumnStore.class, RecentOrderCache.class,
+        OrderLineJdbcRepository.class, SalesRollupService.class, SalesRollupRepository.class})
+class OrderCursorPagingTest {
+
+    private static final LocalDate DAY = LocalDate.of(2025, 3, 10);
+
+    @Autowired
+    private OrderService orderService;
+
+    @Autowired
+    private OrderRepository orderRepository;
+
+    @Autowired
+    private TestEntityManager entityManager;
+
+    private final List<Order> seeded = new ArrayList<>();
+
+    @BeforeEach
+    void seedOrders() {
+        // five orders share DAY, so most page boundaries fall inside a creation date; ids do not follow dates
+        save("Acme", DAY);
+        save("Globex", DAY.minusDays(1));
+        save("Acme", DAY);
+        save("Initech", DAY.plusDays(1));
+        save("Globex", DAY);
+        save("Acme", DAY.minusDays(1));
+        save("Acme", DAY);
+        save("Hooli", DAY);
+        entityManager.flush();
+        entityManager.clear();
+    }
+
+    @Test
+    void walkingThePagesReturnsEveryOrderOnceNewestFirst() {
+        List<Long> expected = seeded.stream()
+                .sorted(Comparator.comparing(Order::getCreationDate).thenComparing(Order::getId).reversed())
+                .map(Order::getId)
+                .toList();
+
+        assertThat(walk(null, 2)).isEqualTo(expected);
+        assertThat(walk(null, 3)).isEqualTo(expected);
+        assertThat(walk(null, 100)).isEqualTo(expected);
+    }
+
+    @Test
+    void filtersApplyOnEveryPage() {
+        List<Long> expected = seeded.stream()
+                .filter(order -> order.getCustomerName().equals("Acme"))
+                .sorted(Comparator.comparing(Order::getCreationDate).thenComparing(Order::getId).reversed())
+                .map(Order::getId)
+                .toList();
+
+        assertThat(walk("acme", 2)).isEqualTo(expected);
+    }
+
+    @Test
+    void theLastPageHasNoNextCursor() {
+        CursorPageDTO<OrderResponseDTO> first = page(null, null, 4);
+        assertThat(first.hasNext()).isTrue();
+        assertThat(first.nextCursor()).isNotNull();
+
+        // exactly the remaining four: a full last page still ends the walk
+        CursorPageDTO<OrderResponseDTO> last = page(null, first.nextCursor(), 4);
+        assertThat(last.size()).isEqualTo(4);
+        assertThat(last.hasNext()).isFalse();
+        assertThat(last.nextCursor()).isNull();
+    }
+
+    @Test
+    void cursorsRoundTripAndGarbledOnesAreRejected() {
+        OrderCursor cursor = new OrderCursor(DAY, 42L);
+        assertThat(OrderCursor.decode(cursor.encode())).isEqualTo(cursor);
+        assertThat(OrderCursor.decode("")).isNull();
+
+        String noSeparator = Base64.getUrlEncoder().encodeToString("20157".getBytes(StandardCharsets.US_ASCII));
+        for (String garbled : List.of("not a cursor!", noSeparator, cursor.encode().substring(1))) {
+            assertThatThrownBy(() -> OrderCursor.decode(garbled))
+                    .isInstanceOf(InvalidOperationException.class)
+                    .hasMessage("Invalid cursor: " + garbled);
+        }
+    }
+
+    /**
+     * Follows {@code nextCursor} from the first page to the last, checking each page on the way.
+     */
+    private List<Long> walk(String customerName, int size) {
+        List<Long> ids = new ArrayList<>();
+        String cursor = null;
+        do {
+            CursorPageDTO<OrderResponseDTO> page = page(customerName, cursor, size);
+            assertThat(page.size()).isEqualTo(page.content().size()).isLessThanOrEqualTo(size);
+            assertThat(page.hasNext()).isEqualTo(page.nextCursor() != null);
+            page.content().forEach(order -> ids.add(order.id()));
+            cursor = page.nextCursor();
+        } while (cursor != null);
+        return ids;
+    }
+
+    private CursorPageDTO<OrderResponseDTO> page(String customerName, String cursor, int size) {
+        return OrderController.toCursorPage(
+                orderService.listOrdersAfter(customerName, null, null, OrderCursor.decode(cursor), size));
+    }
+
+    private void save(String customer, LocalDate created) {
+        Order order = new Order();
+        order.setCustomerName(customer);
+        order.setCreationDate(created);
+        order.setSubtotal(new BigDecimal("5.00"));
+        order.setVat(new BigDecimal("0.60"));
+        order.setTotal(new BigDecimal("5.60"));
+        seeded.add(orderRepository.save(order));
+    }
+}
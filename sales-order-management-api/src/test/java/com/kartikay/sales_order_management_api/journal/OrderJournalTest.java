@@ -0,0 +1,150 @@
+package com.kartikay.sales_order_management_api.journal;
+
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+import java.util.stream.Stream;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class OrderJournalTest {
+
+    private static final long FLUSH_NANOS = TimeUnit.MILLISECONDS.toNanos(1);
+
+    @TempDir
+    Path directory;
+
+    @Test
+    void concurrentAppendsShareGroupCommits() throws Exception {
+        try (OrderJournal journal = new OrderJournal(directory, 1 << 20, FLUSH_NANOS)) {
+            ExecutorService pool = Executors.newFixedThreadPool(8);
+            List<Future<Long>> appended = new ArrayList<>();
+            for (int i = 0; i < 400; i++) {
+                byte[] payload = bytes("order-" + i);
+                appended.add(pool.submit(() -> {
+                    long sequence = journal.append(payload);
+                    assertThat(journal.awaitDurable(sequence, 5, TimeUnit.SECONDS)).isTrue();
+                    return sequence;
+                }));
+            }
+            for (Future<Long> future : appended) {
+                future.get();
+            }
+            pool.shutdown();
+
+            OrderJournal.JournalStats stats = journal.getStats();
+            assertThat(stats.durableSequence()).isEqualTo(400);
+            assertThat(stats.groupCommits()).isLessThan(400);
+
+            List<OrderJournal.Record> records = journal.cursor(0).next(1_000);
+            assertThat(records).extracting(OrderJournal.Record::sequence)
+                    .containsExactlyElementsOf(Stream.iterate(1L, s -> s + 1).limit(400).toList());
+        }
+    }
+
+    @Test
+    void recordsSurviveReopenAndRollAcrossSegments() throws Exception {
+        // room for three 100-byte records per segment
+        int segmentBytes = 3 * (OrderJournal.HEADER_BYTES + 100) + 10;
+        try (OrderJournal journal = new OrderJournal(directory, segmentBytes, FLUSH_NANOS)) {
+            for (int i = 1; i <= 7; i++) {
+                appendDurably(journal, payload(i));
+            }
+            assertThat(journal.getStats().segments()).isEqualTo(3);
+        }
+
+        try (OrderJournal reopened = new OrderJournal(directory, segmentBytes, FLUSH_NANOS)) {
+            assertThat(reopened.recoveredSequence()).isEqualTo(7);
+            OrderJournal.Cursor cursor = reopened.cursor(0);
+            List<OrderJournal.Record> records = cursor.next(5);
+            records.addAll(cursor.next(5));
+            assertThat(records).hasSize(7);
+            assertThat(records.get(6).payload()).isEqualTo(payload(7));
+
+            // appends go on from the recovered sequence, in a new segment
+            assertThat(appendDurably(reopened, payload(8))).isEqualTo(8);
+            assertThat(cursor.next(5)).extracting(OrderJournal.Record::sequence).containsExactly(8L);
+        }
+    }
+
+    @Test
+    void tornTailIsIgnoredOnReopen() throws Exception {
+        try (OrderJournal journal = new OrderJournal(directory, 1 << 16, FLUSH_NANOS)) {
+            appendDurably(journal, bytes("first"));
+            appendDurably(journal, bytes("second"));
+        }
+        Path segment;
+        try (Stream<Path> files = Files.list(directory)) {
+            segment = files.filter(p -> p.toString().endsWith(".journal")).findFirst().orElseThrow();
+        }
+        // corrupt the second record's payload as a torn write would
+        int second = OrderJournal.HEADER_BYTES + "first".length();
+        try (FileChannel channel = FileChannel.open(segment, StandardOpenOption.WRITE)) {
+            channel.write(ByteBuffer.wrap(bytes("XX")), second + OrderJournal.HEADER_BYTES);
+        }
+
+        try (OrderJournal reopened = new OrderJournal(directory, 1 << 16, FLUSH_NANOS)) {
+            assertThat(reopened.recoveredSequence()).isEqualTo(1);
+            assertThat(appendDurably(reopened, bytes("third"))).isEqualTo(2);
+            assertThat(reopened.cursor(0).next(10)).extracting(r -> new String(r.payload(), StandardCharsets.UTF_8))
+                    .containsExactly("first", "third");
+        }
+    }
+
+    @Test
+    void checkpointDeletesDrainedSegmentsAndSurvivesReopen() throws Exception {
+        int segmentBytes = 2 * (OrderJournal.HEADER_BYTES + 100);
+        try (OrderJournal journal = new OrderJournal(directory, segmentBytes, FLUSH_NANOS)) {
+            for (int i = 1; i <= 6; i++) {
+                appendDurably(journal, payload(i));
+            }
+            assertThat(segmentFiles()).isEqualTo(3);
+
+            journal.markDrained(4);
+            assertThat(segmentFiles()).isEqualTo(1);
+            assertThat(journal.cursor(journal.drainedSequence()).next(10))
+                    .extracting(OrderJournal.Record::sequence).containsExactly(5L, 6L);
+        }
+
+        try (OrderJournal reopened = new OrderJournal(directory, segmentBytes, FLUSH_NANOS)) {
+            assertThat(reopened.drainedSequence()).isEqualTo(4);
+            assertThat(reopened.cursor(reopened.drainedSequence()).next(10))
+                    .extracting(OrderJournal.Record::sequence).containsExactly(5L, 6L);
+        }
+    }
+
+    private long segmentFiles() throws IOException {
+        try (Stream<Path> files = Files.list(directory)) {
+            return files.filter(p -> p.toString().endsWith(".journal")).count();
+        }
+    }
+
+    private static long appendDurably(OrderJournal journal, byte[] payload) throws Exception {
+        long sequence = journal.append(payload);
+        assertThat(journal.awaitDurable(sequence, 5, TimeUnit.SECONDS)).isTrue();
+        return sequence;
+    }
+
+    private static byte[] payload(int i) {
+        byte[] payload = new byte[100];
+        payload[0] = (byte) i;
+        return payload;
+    }
+
+    private static byte[] bytes(String value) {
+        return value.getBytes(StandardCharsets.UTF_8);
+    }
+}
@@ -0,0 +1,184 @@
+package com.kartikay.sales_order_management_api.report;
+
+import com.kartikay.sales_order_management_api.analytics.OrderStreamAnalytics;
+import com.kartikay.sales_order_management_api.cache.RecentOrderCache;
+import com.kartikay.sales_order_management_api.columnar.OrderColumnStore;
+import com.kartikay.sales_order_management_api.domain.CatalogItem;
+import com.kartikay.sales_order_management_api.domain.Order;
+import com.kartikay.sales_order_management_api.dto.BulkOrderRequestDTO;
+import com.kartikay.sales_order_management_api.exception.InvalidOperationException;
+import com.kartikay.sales_order_management_api.repository.CatalogRepository;
+import com.kartikay.sales_order_management_api.repository.OrderLineJdbcRepository;
+import com.kartikay.sales_order_management_api.repository.OrderRepository;
+import com.kartikay.sales_order_management_api.repository.SalesRollupRepository;
+import com.kartikay.sales_order_management_api.search.OrderSearchIndex;
+import com.kartikay.sales_order_management_api.service.CatalogService;
+import com.kartikay.sales_order_management_api.service.OrderBulkService;
+import com.kartikay.sales_order_management_api.service.OrderMetrics;
+import com.kartikay.sales_order_management_api.service.OrderService;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
+import org.springframework.boot.test.autoconfigure.orm.jpa.TestEntityManager;
+import org.springframework.context.annotation.Import;
+
+import java.math.BigDecimal;
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+@DataJpaTest
+@Import({SalesRollupService.class, SalesRollupRepository.class, OrderService.class, OrderBulkService.class,
+        CatalogService.class, OrderMetrics.class, OrderStreamAnalytics.class, SimpleMeterRegistry.class,
+        OrderSearchIndex.class, OrderColumnStore.class, RecentOrderCache.class, OrderLineJdbcRepository.class})
+class SalesRollupServiceTest {
+
+    private static final LocalDate TODAY = LocalDate.now();
+    private static final LocalDate LAST_WEEK = TODAY.minusDays(7);
+
+    @Autowired
+    private SalesRollupService rollups;
+
+    @Autowired
+    private OrderService orderService;
+
+    @Autowired
+    private OrderBulkService bulkService;
+
+    @Autowired
+    private OrderRepository orderRepository;
+
+    @Autowired
+    private CatalogRepository catalogRepository;
+
+    @Autowired
+    private CatalogService catalogService;
+
+    @Autowired
+    private TestEntityManager entityManager;
+
+    private Long widget;
+    private Long gadget;
+
+    @BeforeEach
+    void seedCatalog() {
+        widget = catalogItem("Rollup-Widget", "2.50");
+        gadget = catalogItem("Rollup-Gadget", "4.00");
+        entityManager.flush();
+        catalogService.refreshSnapshot();
+    }
+
+    @Test
+    void incrementalRollupsMatchARebuildFromTheOrders() {
+        Order first = order("Acme", 2, 1);
+        Order second = order("Acme", 0, 3);
+        Order third = order("Globex", 5, 0);
+        Order fourth = order("Initech", 1, 1);
+        orderOn(LAST_WEEK, "Hooli", 4, 2);
+        List<Long> bulk = List.of(order("Bulk", 1, 0).getId(), order("Bulk", 0, 2).getId(),
+                order("Bulk", 3, 3).getId());
+        entityManager.flush();
+        entityManager.clear();
+
+        orderService.cancelOrder(first.getId());
+        orderService.cancelOrder(third.getId());
+        orderService.deleteOrder(third.getId());
+        orderService.deleteOrder(fourth.getId());
+        bulkService.cancel(new BulkOrderRequestDTO(bulk, null, null, null, null, null));
+        bulkService.purge(new BulkOrderRequestDTO(bulk.subList(0, 1), null, null, null, null, null));
+        entityManager.flush();
+
+        assertThat(rollups.applyPending()).isPositive();
+        assertThat(rollups.getStats().pendingDeltas()).isZero();
+        Map<LocalDate, SalesFigures> incremental = rollups.daily(LAST_WEEK, TODAY);
+        Map<Long, SalesFigures> incrementalItems = rollups.items(LAST_WEEK, TODAY, null, 10);
+
+        // first, second and the two remaining bulk orders are left today; first and both bulk are cancelled
+        SalesFigures today = incremental.get(TODAY);
+        assertThat(today.getOrders()).isEqualTo(4);
+        assertThat(today.getUnits()).isEqualTo(3 + 3 + 2 + 6);
+        assertThat(today.getCancelledOrders()).isEqualTo(3);
+        assertThat(today.getCancelledUnits()).isEqualTo(3 + 2 + 6);
+        assertThat(today.getTotal() - today.getCancelledTotal())
+                .isEqualTo(minor(orderRepository.findById(second.getId()).orElseThrow().getTotal()));
+        assertThat(incremental.get(LAST_WEEK).getOrders()).isEqualTo(1);
+
+        // widget: 2 + 3 today and 4 last week; gadget: 1 + 3 + 2 + 3 today and 2 last week
+        assertThat(incrementalItems.get(widget).getUnits()).isEqualTo(9);
+        assertThat(incrementalItems.get(widget).getSubtotal()).isEqualTo(9 * 250);
+        assertThat(incrementalItems.get(gadget).getUnits()).isEqualTo(11);
+        assertThat(incrementalItems.get(gadget).getCancelledOrders()).isEqualTo(3);
+
+        SalesRollupService.RebuildResult rebuilt = rollups.rebuild();
+        assertThat(rebuilt.days()).isEqualTo(2);
+        assertSameFigures(rollups.daily(LAST_WEEK, TODAY), incremental);
+        assertSameFigures(rollups.items(LAST_WEEK, TODAY, null, 10), incrementalItems);
+    }
+
+    @Test
+    void reportsIncludeDeltasNotAppliedYet() {
+        order("Acme", 1, 1);
+        order("Acme", 2, 0);
+        entityManager.flush();
+
+        Map<LocalDate, SalesFigures> pending = rollups.daily(TODAY, TODAY);
+        assertThat(rollups.getStats().pendingDeltas()).isPositive();
+        assertThat(pending.get(TODAY).getOrders()).isEqualTo(2);
+        assertThat(rollups.items(TODAY, TODAY, gadget, 10)).containsOnlyKeys(gadget);
+
+        rollups.applyPending();
+        assertSameFigures(rollups.daily(TODAY, TODAY), pending);
+    }
+
+    @Test
+    void dateRangeIsValidated() {
+        assertThatThrownBy(() -> rollups.daily(TODAY, TODAY.minusDays(1)))
+                .isInstanceOf(InvalidOperationException.class);
+        assertThatThrownBy(() -> rollups.daily(TODAY.minusYears(20), TODAY))
+                .isInstanceOf(InvalidOperationException.class);
+        assertThatThrownBy(() -> rollups.items(null, TODAY, null, 10))
+                .isInstanceOf(InvalidOperationException.class);
+    }
+
+    private Order order(String customer, int widgets, int gadgets) {
+        return orderService.createOrder(customer, lines(widgets, gadgets));
+    }
+
+    private void orderOn(LocalDate date, String customer, int widgets, int gadgets) {
+        Order order = orderService.buildOrder(customer, lines(widgets, gadgets), catalogService::resolve);
+        order.setCreationDate(date);
+        rollups.recordCreated(orderRepository.save(order));
+    }
+
+    private List<OrderService.OrderItemRequest> lines(int widgets, int gadgets) {
+        List<OrderService.OrderItemRequest> lines = new ArrayList<>();
+        if (widgets > 0) lines.add(new OrderService.OrderItemRequest(widget, widgets));
+        if (gadgets > 0) lines.add(new OrderService.OrderItemRequest(gadget, gadgets));
+        return lines;
+    }
+
+    private Long catalogItem(String name, String price) {
+        CatalogItem item = new CatalogItem();
+        item.setName(name);
+        item.setPrice(new BigDecimal(price));
+        return catalogRepository.save(item).getId();
+    }
+
+    private static long minor(BigDecimal amount) {
+        return amount.movePointRight(2).longValueExact();
+    }
+
+    private static <K> void assertSameFigures(Map<K, SalesFigures> actual, Map<K, SalesFigures> expected) {
+        assertThat(actual).containsOnlyKeys(expected.keySet());
+        expected.forEach((key, figures) -> assertThat(actual.get(key))
+                .as("figures for %s", key)
+                .usingRecursiveComparison()
+                .isEqualTo(figures));
+    }
+}
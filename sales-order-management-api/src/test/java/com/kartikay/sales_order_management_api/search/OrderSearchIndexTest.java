@@ -0,0 +1,140 @@
+package com.kartikay.sales_order_management_api.search;
+
+import com.kartikay.sales_order_management_api.domain.Order;
+import com.kartikay.sales_order_management_api.domain.OrderItem;
+import com.kartikay.sales_order_management_api.exception.InvalidOperationException;
+import com.kartikay.sales_order_management_api.exception.ServiceBusyException;
+import com.kartikay.sales_order_management_api.repository.OrderLineJdbcRepository;
+import com.kartikay.sales_order_management_api.search.OrderSearchIndex.Status;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.datasource.DriverManagerDataSource;
+
+import java.math.BigDecimal;
+import java.time.LocalDate;
+import java.util.UUID;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+class OrderSearchIndexTest {
+
+    private JdbcTemplate jdbc;
+    private OrderSearchIndex index;
+
+    @BeforeEach
+    void setUp() {
+        DriverManagerDataSource dataSource = new DriverManagerDataSource(
+                "jdbc:h2:mem:search-" + UUID.randomUUID() + ";DB_CLOSE_DELAY=-1", "sa", "");
+        jdbc = new JdbcTemplate(dataSource);
+        jdbc.execute("CREATE TABLE orders (id BIGINT PRIMARY KEY, customer_name VARCHAR(255), creation_date DATE,"
+                + " cancellation_date DATE, subtotal NUMERIC(19,2), vat NUMERIC(19,2), total NUMERIC(19,2))");
+        jdbc.execute("CREATE TABLE order_items (id BIGINT AUTO_INCREMENT PRIMARY KEY, order_id BIGINT,"
+                + " catalog_item_id BIGINT, item_name VARCHAR(255), unit_price NUMERIC(19,2), quantity INT)");
+
+        // ids spread over several rebuild chunks
+        insert(1, "Acme Corp", false, "Widget-A", "Gadget");
+        insert(60_000, "ACME Industries", true, "Widget-B");
+        insert(120_000, "Globex", false, "widget-a");
+        insert(180_000, "Initech", false);
+
+        index = new OrderSearchIndex(new OrderLineJdbcRepository(dataSource, 100), 3);
+    }
+
+    @Test
+    void searchIsUnavailableUntilBuilt() {
+        assertThatThrownBy(() -> index.search("acme", null, Status.ALL, 10))
+                .isInstanceOf(ServiceBusyException.class);
+    }
+
+    @Test
+    void rebuildIndexesCustomersAndItemsAcrossChunks() {
+        OrderSearchIndex.IndexStats stats = index.rebuild();
+
+        assertThat(stats.ready()).isTrue();
+        assertThat(stats.indexedOrders()).isEqualTo(4);
+        assertThat(stats.cancelledOrders()).isEqualTo(1);
+        assertThat(index.search("acme", null, Status.ALL, 10).orderIds()).containsExactly(60_000L, 1L);
+        assertThat(index.search(null, "WIDGET-A", Status.ALL, 10).orderIds()).containsExactly(120_000L, 1L);
+        assertThat(index.search("acme", "widget", Status.ALL, 10).orderIds()).containsExactly(60_000L, 1L);
+        assertThat(index.search("acme", "gadget", Status.ALL, 10).orderIds()).containsExactly(1L);
+    }
+
+    @Test
+    void shortTermsAndUnknownTermsAreHandled() {
+        index.rebuild();
+
+        assertThat(index.search("ex", null, Status.ALL, 10).orderIds()).containsExactly(120_000L);
+        assertThat(index.search("zzz", null, Status.ALL, 10).totalMatches()).isZero();
+        assertThat(index.search(" In ", null, Status.ALL, 10).orderIds()).containsExactly(180_000L, 60_000L);
+    }
+
+    @Test
+    void statusFilterAndLimit() {
+        index.rebuild();
+
+        assertThat(index.search(null, "widget", Status.OPEN, 10).orderIds()).containsExactly(120_000L, 1L);
+        assertThat(index.search(null, "widget", Status.CANCELLED, 10).orderIds()).containsExactly(60_000L);
+
+        OrderSearchIndex.SearchResult limited = index.search(null, "widget", Status.ALL, 2);
+        assertThat(limited.totalMatches()).isEqualTo(3);
+        assertThat(limited.orderIds()).containsExactly(120_000L, 60_000L);
+    }
+
+    @Test
+    void incrementalUpdatesAreVisibleWithoutRebuild() {
+        index.rebuild();
+
+        index.onCreated(order(200_000, "Acme Retail", "Sprocket"));
+        assertThat(index.search("acme", null, Status.ALL, 10).orderIds()).containsExactly(200_000L, 60_000L, 1L);
+        assertThat(index.search(null, "sprock", Status.ALL, 10).orderIds()).containsExactly(200_000L);
+
+        index.onCancelled(200_000);
+        assertThat(index.search("acme", null, Status.CANCELLED, 10).orderIds()).containsExactly(200_000L, 60_000L);
+
+        index.onDeleted(1);
+        assertThat(index.search("acme", null, Status.ALL, 10).orderIds()).containsExactly(200_000L, 60_000L);
+        assertThat(index.getStats().deletedTombstones()).isEqualTo(1);
+
+        // the tombstone goes away once the deletion is reflected in the database
+        jdbc.update("DELETE FROM order_items WHERE order_id = 1");
+        jdbc.update("DELETE FROM orders WHERE id = 1");
+        assertThat(index.rebuild().deletedTombstones()).isZero();
+        assertThat(index.search("acme", null, Status.ALL, 10).orderIds()).containsExactly(60_000L);
+    }
+
+    @Test
+    void invalidQueriesAreRejected() {
+        index.rebuild();
+
+        assertThatThrownBy(() -> index.search(" ", null, Status.ALL, 10))
+                .isInstanceOf(InvalidOperationException.class);
+        assertThatThrownBy(() -> index.search("acme", null, Status.ALL, 0))
+                .isInstanceOf(InvalidOperationException.class);
+    }
+
+    private void insert(long id, String customer, boolean cancelled, String... items) {
+        jdbc.update("INSERT INTO orders (id, customer_name, creation_date, cancellation_date, subtotal)"
+                        + " VALUES (?, ?, ?, ?, 1.00)",
+                id, customer, LocalDate.now(), cancelled ? LocalDate.now() : null);
+        for (String item : items) {
+            jdbc.update("INSERT INTO order_items (order_id, catalog_item_id, item_name, unit_price, quantity)"
+                    + " VALUES (?, 1, ?, 1.00, 1)", id, item);
+        }
+    }
+
+    private static Order order(long id, String customer, String... items) {
+        Order order = new Order();
+        order.setId(id);
+        order.setCustomerName(customer);
+        for (String name : items) {
+            OrderItem item = new OrderItem();
+            item.setItemName(name);
+            item.setUnitPrice(BigDecimal.ONE);
+            item.setQuantity(1);
+            order.addItem(item);
+        }
+        return order;
+    }
+}
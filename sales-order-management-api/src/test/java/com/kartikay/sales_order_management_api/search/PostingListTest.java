@@ -0,0 +1,56 @@
+package com.kartikay.sales_order_management_api.search;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.Random;
+import java.util.TreeSet;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class PostingListTest {
+
+    @Test
+    void appendsStayCompact() {
+        PostingList list = new PostingList();
+        for (long id = 1_000_000; id < 1_001_000; id++) {
+            assertThat(list.add(id)).isTrue();
+        }
+
+        assertThat(list.size()).isEqualTo(1_000);
+        // first id takes three bytes, every following gap of one takes a single byte
+        assertThat(list.byteSize()).isEqualTo(3 + 999);
+        assertThat(list.toArray()).startsWith(1_000_000L, 1_000_001L).endsWith(1_000_999L);
+    }
+
+    @Test
+    void outOfOrderInsertsAndRemovalsKeepTheListSorted() {
+        Random random = new Random(7);
+        PostingList list = new PostingList();
+        TreeSet<Long> expected = new TreeSet<>();
+        for (int i = 0; i < 2_000; i++) {
+            long id = random.nextInt(5_000) + (random.nextBoolean() ? 0 : 1L << 40);
+            assertThat(list.add(id)).isEqualTo(expected.add(id));
+            if (i % 5 == 0) {
+                long victim = random.nextInt(5_000);
+                assertThat(list.remove(victim)).isEqualTo(expected.remove(victim));
+            }
+        }
+
+        assertThat(list.toArray()).containsExactly(expected.stream().mapToLong(Long::longValue).toArray());
+        assertThat(list.size()).isEqualTo(expected.size());
+    }
+
+    @Test
+    void decodeIntoAppendsAtOffset() {
+        PostingList list = PostingList.of(3, 9, 200_000);
+        long[] target = new long[5];
+        target[0] = -1;
+
+        int end = list.decodeInto(target, 1);
+
+        assertThat(end).isEqualTo(4);
+        assertThat(target).containsExactly(-1, 3, 9, 200_000, 0);
+        assertThat(list.add(9)).isFalse();
+        assertThat(list.remove(10)).isFalse();
+    }
+}
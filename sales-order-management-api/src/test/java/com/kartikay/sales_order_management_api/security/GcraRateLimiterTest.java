@@ -0,0 +1,56 @@
+package com.kartikay.sales_order_management_api.security;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.concurrent.atomic.AtomicLong;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class GcraRateLimiterTest {
+
+    private final AtomicLong clock = new AtomicLong(-5_000_000_000L);
+    private final GcraRateLimiter limiter = new GcraRateLimiter(clock::get);
+    private final GcraRateLimiter.Limit tenPerSecond = new GcraRateLimiter.Limit(10, 5);
+
+    @Test
+    void admitsBurstThenRejectsWithWaitTime() {
+        for (int i = 0; i < 5; i++) {
+            assertThat(limiter.tryAcquire("alice", tenPerSecond)).isZero();
+        }
+
+        long wait = limiter.tryAcquire("alice", tenPerSecond);
+        assertThat(wait).isEqualTo(100_000_000L);
+    }
+
+    @Test
+    void refillsAtTheSustainedRate() {
+        for (int i = 0; i < 5; i++) {
+            limiter.tryAcquire("alice", tenPerSecond);
+        }
+
+        clock.addAndGet(100_000_000L);
+        assertThat(limiter.tryAcquire("alice", tenPerSecond)).isZero();
+        assertThat(limiter.tryAcquire("alice", tenPerSecond)).isPositive();
+    }
+
+    @Test
+    void keysAreIndependent() {
+        for (int i = 0; i < 5; i++) {
+            limiter.tryAcquire("alice", tenPerSecond);
+        }
+
+        assertThat(limiter.tryAcquire("alice", tenPerSecond)).isPositive();
+        assertThat(limiter.tryAcquire("bob", tenPerSecond)).isZero();
+    }
+
+    @Test
+    void idleBucketsAreEvicted() {
+        limiter.tryAcquire("alice", tenPerSecond);
+        limiter.evictIdle();
+        assertThat(limiter.size()).isEqualTo(1);
+
+        clock.addAndGet(1_000_000_000L);
+        limiter.evictIdle();
+        assertThat(limiter.size()).isZero();
+    }
+}
@@ -0,0 +1,108 @@
+package com.kartikay.sales_order_management_api.security;
+
+import com.kartikay.sales_order_management_api.repository.RevokedTokenRepository;
+import com.kartikay.sales_order_management_api.repository.UserTokenEpochRepository;
+import com.kartikay.sales_order_management_api.service.TokenRevocationService;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.mock.web.MockFilterChain;
+import org.springframework.mock.web.MockHttpServletRequest;
+import org.springframework.mock.web.MockHttpServletResponse;
+import org.springframework.security.core.Authentication;
+import org.springframework.security.core.GrantedAuthority;
+import org.springframework.security.core.authority.SimpleGrantedAuthority;
+import org.springframework.security.core.context.SecurityContextHolder;
+import org.springframework.security.core.userdetails.User;
+import org.springframework.security.core.userdetails.UserDetailsService;
+import org.springframework.test.util.ReflectionTestUtils;
+
+import java.util.List;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.Mockito.mock;
+
+class JwtAuthenticationFilterTest {
+
+    private final AtomicInteger lookups = new AtomicInteger();
+    private final UserDetailsService users = username -> {
+        lookups.incrementAndGet();
+        return new User(username, "{noop}secret", List.of(new SimpleGrantedAuthority("ROLE_USER")));
+    };
+
+    private JwtTokenUtil jwtUtil;
+    private TokenRevocationService revocations;
+
+    @BeforeEach
+    void setUp() {
+        jwtUtil = new JwtTokenUtil();
+        ReflectionTestUtils.setField(jwtUtil, "secret", "test-secret-test-secret-test-secret-0123");
+        ReflectionTestUtils.setField(jwtUtil, "jwtExpirationMs", 60_000L);
+        jwtUtil.init();
+        revocations = new TokenRevocationService(mock(RevokedTokenRepository.class),
+                mock(UserTokenEpochRepository.class), 60_000L, 60_000L);
+    }
+
+    @AfterEach
+    void clearContext() {
+        SecurityContextHolder.clearContext();
+    }
+
+    @Test
+    void statelessModeAuthenticatesFromClaimsWithoutLookup() throws Exception {
+        String token = jwtUtil.generateToken("alice", List.of("ROLE_ADMIN"));
+
+        Authentication auth = filter(true, token);
+
+        assertThat(lookups).hasValue(0);
+        assertThat(auth.getName()).isEqualTo("alice");
+        assertThat(auth.getAuthorities()).extracting(GrantedAuthority::getAuthority).containsExactly("ROLE_ADMIN");
+    }
+
+    @Test
+    void statelessModeFallsBackToLookupWhenTokenHasNoRoles() throws Exception {
+        String token = jwtUtil.generateToken("alice", List.of());
+
+        Authentication auth = filter(true, token);
+
+        assertThat(lookups).hasValue(1);
+        assertThat(auth.getAuthorities()).extracting(GrantedAuthority::getAuthority).containsExactly("ROLE_USER");
+    }
+
+    @Test
+    void lookupModeLoadsTheAccountOnEveryRequest() throws Exception {
+        String token = jwtUtil.generateToken("alice", List.of("ROLE_ADMIN"));
+
+        filter(false, token);
+        SecurityContextHolder.clearContext();
+        Authentication auth = filter(false, token);
+
+        assertThat(lookups).hasValue(2);
+        assertThat(auth.getAuthorities()).extracting(GrantedAuthority::getAuthority).containsExactly("ROLE_ADMIN");
+    }
+
+    @Test
+    void revokedTokensAreRejectedWithoutLookup() throws Exception {
+        String revoked = jwtUtil.generateToken("alice", List.of("ROLE_USER"));
+        String other = jwtUtil.generateToken("alice", List.of("ROLE_USER"));
+        revocations.revoke(jwtUtil.verify(revoked));
+
+        assertThat(filter(true, revoked)).isNull();
+        assertThat(filter(true, other)).isNotNull();
+    }
+
+    @Test
+    void invalidTokenLeavesRequestUnauthenticated() throws Exception {
+        assertThat(filter(true, "not-a-jwt")).isNull();
+        assertThat(lookups).hasValue(0);
+    }
+
+    private Authentication filter(boolean stateless, String token) throws Exception {
+        MockHttpServletRequest request = new MockHttpServletRequest("GET", "/api/v1/orders");
+        request.addHeader("Authorization", "Bearer " + token);
+        new JwtAuthenticationFilter(jwtUtil, users, revocations, stateless)
+                .doFilter(request, new MockHttpServletResponse(), new MockFilterChain());
+        return SecurityContextHolder.getContext().getAuthentication();
+    }
+}
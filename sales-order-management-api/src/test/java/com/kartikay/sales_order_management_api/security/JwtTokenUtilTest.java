@@ -0,0 +1,105 @@
+package com.kartikay.sales_order_management_api.security;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.test.util.ReflectionTestUtils;
+
+import java.time.Instant;
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class JwtTokenUtilTest {
+
+    private static final String SECRET = "test-secret-test-secret-test-secret-0123";
+
+    private JwtTokenUtil jwtUtil;
+
+    @BeforeEach
+    void setUp() {
+        jwtUtil = newUtil(SECRET, 60_000, 100);
+    }
+
+    @Test
+    void verifyReturnsSubjectRolesAndExpiry() {
+        String token = jwtUtil.generateToken("alice", List.of("ROLE_USER", "ROLE_ADMIN"));
+
+        JwtPrincipal principal = jwtUtil.verify(token);
+
+        assertThat(principal).isNotNull();
+        assertThat(principal.username()).isEqualTo("alice");
+        assertThat(principal.roles()).containsExactly("ROLE_USER", "ROLE_ADMIN");
+        assertThat(principal.expiresAt()).isAfter(Instant.now());
+        assertThat(principal.tokenId()).isNotBlank();
+        assertThat(principal.issuedAt()).isBefore(principal.expiresAt());
+    }
+
+    @Test
+    void repeatedVerificationIsServedFromCache() {
+        String token = jwtUtil.generateToken("alice", List.of("ROLE_USER"));
+
+        JwtPrincipal first = jwtUtil.verify(token);
+        JwtPrincipal second = jwtUtil.verify(token);
+
+        assertThat(second).isSameAs(first);
+        VerifiedTokenCache.Stats stats = jwtUtil.getCacheStats();
+        assertThat(stats.hits()).isEqualTo(1);
+        assertThat(stats.misses()).isEqualTo(1);
+        assertThat(stats.hitRate()).isEqualTo(0.5);
+    }
+
+    @Test
+    void tamperedAndForeignTokensAreRejected() {
+        String token = jwtUtil.generateToken("alice", List.of("ROLE_USER"));
+        String foreign = newUtil("another-secret-another-secret-another-0", 60_000, 100)
+                .generateToken("alice", List.of("ROLE_ADMIN"));
+
+        assertThat(jwtUtil.verify(token.substring(0, token.length() - 2) + "xx")).isNull();
+        assertThat(jwtUtil.verify(foreign)).isNull();
+        assertThat(jwtUtil.verify("not-a-jwt")).isNull();
+    }
+
+    @Test
+    void refreshTokensAreNotAcceptedAsBearerTokens() {
+        String refresh = jwtUtil.generateRefreshToken("alice");
+        String access = jwtUtil.generateToken("alice", List.of("ROLE_USER"));
+
+        assertThat(jwtUtil.verify(refresh)).isNull();
+        assertThat(jwtUtil.verifyRefreshToken(refresh).username()).isEqualTo("alice");
+        assertThat(jwtUtil.verifyRefreshToken(access)).isNull();
+    }
+
+    @Test
+    void cachedEntryIsNotServedPastTokenExpiry() throws InterruptedException {
+        JwtTokenUtil shortLived = newUtil(SECRET, 2_000, 100);
+        String token = shortLived.generateToken("alice", List.of("ROLE_USER"));
+        assertThat(shortLived.verify(token)).isNotNull();
+
+        // exp has second precision, so the token lives for at most two seconds
+        Thread.sleep(2_100);
+
+        assertThat(shortLived.verify(token)).isNull();
+        assertThat(shortLived.getCacheStats().size()).isZero();
+    }
+
+    @Test
+    void cacheStaysBounded() {
+        JwtTokenUtil small = newUtil(SECRET, 60_000, 10);
+        for (int i = 0; i < 50; i++) {
+            assertThat(small.verify(small.generateToken("user" + i, List.of("ROLE_USER")))).isNotNull();
+        }
+
+        assertThat(small.getCacheStats().size()).isLessThanOrEqualTo(10);
+        assertThat(small.getCacheStats().evictions()).isPositive();
+    }
+
+    private static JwtTokenUtil newUtil(String secret, long expirationMs, int cacheEntries) {
+        JwtTokenUtil util = new JwtTokenUtil();
+        ReflectionTestUtils.setField(util, "secret", secret);
+        ReflectionTestUtils.setField(util, "jwtExpirationMs", expirationMs);
+        ReflectionTestUtils.setField(util, "refreshExpirationMs", 3_600_000L);
+        ReflectionTestUtils.setField(util, "cacheMaxEntries", cacheEntries);
+        util.init();
+        return util;
+    }
+}
@@ -0,0 +1,56 @@
+package com.kartikay.sales_order_management_api.security;
+
+import com.kartikay.sales_order_management_api.exception.ServiceBusyException;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.security.authentication.BadCredentialsException;
+
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+class PasswordHashingExecutorTest {
+
+    private final PasswordHashingExecutor executor = new PasswordHashingExecutor(1, 1, 2);
+
+    @AfterEach
+    void tearDown() {
+        executor.shutdown();
+    }
+
+    @Test
+    void returnsResultAndRethrowsTaskExceptionsUnchanged() {
+        assertThat(executor.execute(() -> "hash")).isEqualTo("hash");
+        assertThatThrownBy(() -> executor.execute(() -> {
+            throw new BadCredentialsException("nope");
+        })).isInstanceOf(BadCredentialsException.class);
+    }
+
+    @Test
+    void rejectsWithRetryAfterOnceWorkersAndQueueAreFull() throws Exception {
+        CountDownLatch started = new CountDownLatch(1);
+        CountDownLatch release = new CountDownLatch(1);
+        CompletableFuture<String> running = CompletableFuture.supplyAsync(() -> executor.execute(() -> {
+            started.countDown();
+            release.await();
+            return "first";
+        }));
+        assertThat(started.await(5, TimeUnit.SECONDS)).isTrue();
+        CompletableFuture<String> queued = CompletableFuture.supplyAsync(() -> executor.execute(() -> "second"));
+        while (executor.getQueueDepth() == 0) {
+            Thread.onSpinWait();
+        }
+
+        assertThatThrownBy(() -> executor.execute(() -> "third"))
+                .isInstanceOfSatisfying(ServiceBusyException.class,
+                        ex -> assertThat(ex.getRetryAfterSeconds()).isEqualTo(2));
+        assertThat(executor.getRejectedCount()).isEqualTo(1);
+
+        release.countDown();
+        assertThat(running.get(5, TimeUnit.SECONDS)).isEqualTo("first");
+        assertThat(queued.get(5, TimeUnit.SECONDS)).isEqualTo("second");
+    }
+}
@@ -0,0 +1,108 @@
+package com.kartikay.sales_order_management_api.security;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.datatype.jsr310.JavaTimeModule;
+import jakarta.servlet.FilterChain;
+import jakarta.servlet.ServletException;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.mock.web.MockFilterChain;
+import org.springframework.mock.web.MockHttpServletRequest;
+import org.springframework.mock.web.MockHttpServletResponse;
+import org.springframework.security.authentication.UsernamePasswordAuthenticationToken;
+import org.springframework.security.core.authority.SimpleGrantedAuthority;
+import org.springframework.security.core.context.SecurityContextHolder;
+
+import java.io.IOException;
+import java.util.List;
+import java.util.concurrent.atomic.AtomicReference;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class RateLimitFilterTest {
+
+    private final RateLimitFilter filter = new RateLimitFilter(new ObjectMapper().registerModule(new JavaTimeModule()),
+            true, 1, 2, 1, 4, 1, 1, 1, 1, 1, 1);
+
+    @AfterEach
+    void clearContext() {
+        SecurityContextHolder.clearContext();
+    }
+
+    @Test
+    void limitsPerUserWithRoleSpecificBurst() throws Exception {
+        authenticate("alice", "ROLE_USER");
+        assertThat(run("GET", "/api/v1/orders").getStatus()).isEqualTo(200);
+        assertThat(run("GET", "/api/v1/orders").getStatus()).isEqualTo(200);
+
+        MockHttpServletResponse rejected = run("GET", "/api/v1/orders");
+        assertThat(rejected.getStatus()).isEqualTo(429);
+        assertThat(rejected.getHeader("Retry-After")).isEqualTo("1");
+        assertThat(rejected.getContentAsString()).contains("\"error\":\"Too Many Requests\"");
+
+        authenticate("root", "ROLE_ADMIN");
+        for (int i = 0; i < 4; i++) {
+            assertThat(run("GET", "/api/v1/orders").getStatus()).isEqualTo(200);
+        }
+        assertThat(filter.getStats().rateLimited()).isEqualTo(1);
+    }
+
+    @Test
+    void capsConcurrentRequestsPerEndpointGroup() throws Exception {
+        authenticate("alice", "ROLE_USER");
+        AtomicReference<MockHttpServletResponse> nested = new AtomicReference<>();
+
+        // While one order write is in flight, a second one is shed; a catalog read is not
+        FilterChain holdsPermit = (req, res) -> {
+            authenticate("bob", "ROLE_USER");
+            nested.set(run("POST", "/api/v1/orders"));
+            authenticate("carol", "ROLE_USER");
+            assertThat(run("GET", "/api/v1/catalog").getStatus()).isEqualTo(200);
+        };
+        MockHttpServletRequest request = new MockHttpServletRequest("POST", "/api/v1/orders");
+        filter.doFilter(request, new MockHttpServletResponse(), holdsPermit);
+
+        assertThat(nested.get().getStatus()).isEqualTo(503);
+        assertThat(nested.get().getHeader("Retry-After")).isEqualTo("1");
+        assertThat(filter.getStats().concurrencyRejected().get(RateLimitFilter.EndpointGroup.ORDER_WRITES)).isEqualTo(1);
+        assertThat(filter.getStats().inFlight().get(RateLimitFilter.EndpointGroup.ORDER_WRITES)).isZero();
+    }
+
+    @Test
+    void exportsDoNotTakeOrderReadPermits() throws Exception {
+        authenticate("root", "ROLE_ADMIN");
+        AtomicReference<MockHttpServletResponse> secondExport = new AtomicReference<>();
+
+        // While an export streams, order reads still get through and a second export is shed
+        FilterChain holdsPermit = (req, res) -> {
+            assertThat(run("GET", "/api/v1/orders/42").getStatus()).isEqualTo(200);
+            secondExport.set(run("GET", "/api/v1/orders/export"));
+        };
+        filter.doFilter(new MockHttpServletRequest("GET", "/api/v1/orders/export"), new MockHttpServletResponse(),
+                holdsPermit);
+
+        assertThat(secondExport.get().getStatus()).isEqualTo(503);
+        assertThat(filter.getStats().concurrencyRejected().get(RateLimitFilter.EndpointGroup.ORDER_EXPORTS))
+                .isEqualTo(1);
+        assertThat(filter.getStats().concurrencyRejected().get(RateLimitFilter.EndpointGroup.ORDER_READS)).isZero();
+    }
+
+    @Test
+    void nonApiPathsAreNotLimited() throws Exception {
+        for (int i = 0; i < 5; i++) {
+            assertThat(run("GET", "/h2-console").getStatus()).isEqualTo(200);
+        }
+    }
+
+    private MockHttpServletResponse run(String method, String uri) throws ServletException, IOException {
+        MockHttpServletRequest request = new MockHttpServletRequest(method, uri);
+        MockHttpServletResponse response = new MockHttpServletResponse();
+        filter.doFilter(request, response, new MockFilterChain());
+        return response;
+    }
+
+    private static void authenticate(String username, String role) {
+        SecurityContextHolder.getContext().setAuthentication(new UsernamePasswordAuthenticationToken(
+                username, null, List.of(new SimpleGrantedAuthority(role))));
+    }
+}
@@ -0,0 +1,194 @@
+package com.kartikay.sales_order_management_api.service;
+
+import com.kartikay.sales_order_management_api.analytics.OrderStreamAnalytics;
+import com.kartikay.sales_order_management_api.cache.RecentOrderCache;
+import com.kartikay.sales_order_management_api.columnar.OrderColumnStore;
+import com.kartikay.sales_order_management_api.domain.CatalogItem;
+import com.kartikay.sales_order_management_api.domain.Order;
+import com.kartikay.sales_order_management_api.exception.InvalidOperationException;
+import com.kartikay.sales_order_management_api.exception.ResourceNotFoundException;
+import com.kartikay.sales_order_management_api.report.SalesRollupService;
+import com.kartikay.sales_order_management_api.repository.CatalogRepository;
+import com.kartikay.sales_order_management_api.repository.OrderLineJdbcRepository;
+import com.kartikay.sales_order_management_api.repository.OrderRepository;
+import com.kartikay.sales_order_management_api.repository.SalesRollupRepository;
+import com.kartikay.sales_order_management_api.search.OrderSearchIndex;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
+import org.springframework.boot.test.autoconfigure.orm.jpa.TestEntityManager;
+import org.springframework.context.ApplicationContext;
+import org.springframework.context.annotation.Import;
+import org.springframework.transaction.PlatformTransactionManager;
+
+import java.math.BigDecimal;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+@DataJpaTest
+@Import({OrderService.class, CatalogService.class, OrderMetrics.class, OrderStreamAnalytics.class,
+        SimpleMeterRegistry.class, OrderSearchIndex.class, OrderColumnStore.class, RecentOrderCache.class,
+        OrderLineJdbcRepository.class, SalesRollupService.class, SalesRollupRepository.class})
+class AsyncOrderServiceTest {
+
+    @Autowired
+    private ApplicationContext context;
+
+    @Autowired
+    private OrderService orderService;
+
+    @Autowired
+    private CatalogService catalogService;
+
+    @Autowired
+    private OrderRepository orderRepository;
+
+    @Autowired
+    private CatalogRepository catalogRepository;
+
+    @Autowired
+    private TestEntityManager entityManager;
+
+    @TempDir
+    Path journalDir;
+
+    private final List<AsyncOrderService> opened = new ArrayList<>();
+    private Long catalogId;
+
+    @BeforeEach
+    void seedCatalog() {
+        CatalogItem item = new CatalogItem();
+        item.setName("Async-Item");
+        item.setPrice(new BigDecimal("4.00"));
+        catalogId = catalogRepository.save(item).getId();
+        entityManager.flush();
+        catalogService.refreshSnapshot();
+    }
+
+    @AfterEach
+    void closeJournals() throws Exception {
+        for (AsyncOrderService service : opened) {
+            service.shutdown();
+        }
+    }
+
+    @Test
+    void acceptedOrdersAreWrittenByTheDrainer() {
+        AsyncOrderService service = open(true);
+
+        String reference = service.accept("Acme", items(3));
+        assertThat(service.status(reference).status()).isEqualTo(AsyncOrderService.Status.ACCEPTED);
+        assertThat(orderRepository.count()).isZero();
+
+        assertThat(service.drain()).isEqualTo(1);
+
+        AsyncOrderService.AcceptedOrderStatus status = service.status(reference);
+        assertThat(status.status()).isEqualTo(AsyncOrderService.Status.CREATED);
+        entityManager.clear();
+        Order order = orderRepository.findByIdWithItems(status.orderId()).orElseThrow();
+        assertThat(order.getOrderReference()).isEqualTo(reference);
+        assertThat(order.getCustomerName()).isEqualTo("Acme");
+        assertThat(order.getItems()).singleElement()
+                .satisfies(item -> assertThat(item.getQuantity()).isEqualTo(3));
+        assertThat(order.getTotal()).isEqualByComparingTo("13.44");
+        assertThat(service.getStats().journal().drainedSequence()).isEqualTo(1);
+    }
+
+    @Test
+    void undrainedOrdersAreReplayedAfterRestart() throws Exception {
+        AsyncOrderService first = open(true);
+        String a = first.accept("Acme", items(1));
+        String b = first.accept("Globex", items(2));
+        first.shutdown();
+        opened.remove(first);
+
+        AsyncOrderService restarted = open(true);
+        assertThat(restarted.getStats().pending()).isEqualTo(2);
+        assertThat(restarted.status(a).status()).isEqualTo(AsyncOrderService.Status.ACCEPTED);
+
+        assertThat(restarted.drain()).isEqualTo(2);
+        assertThat(restarted.status(b).status()).isEqualTo(AsyncOrderService.Status.CREATED);
+    }
+
+    @Test
+    void replayWithALostCheckpointSkipsOrdersAlreadyWritten() throws Exception {
+        AsyncOrderService first = open(true);
+        String reference = first.accept("Acme", items(1));
+        first.drain();
+        first.shutdown();
+        opened.remove(first);
+        // as if the process stopped between the database commit and the checkpoint write
+        Files.delete(journalDir.resolve("checkpoint"));
+
+        AsyncOrderService restarted = open(true);
+        assertThat(restarted.drain()).isZero();
+        assertThat(orderRepository.count()).isEqualTo(1);
+        assertThat(restarted.status(reference).status()).isEqualTo(AsyncOrderService.Status.CREATED);
+    }
+
+    @Test
+    void invalidOrdersAndUnknownReferencesAreRejected() {
+        AsyncOrderService service = open(true);
+
+        assertThatThrownBy(() -> service.accept("Acme", List.of(new OrderService.OrderItemRequest(-1L, 1))))
+                .isInstanceOf(ResourceNotFoundException.class);
+        assertThatThrownBy(() -> service.status("no-such-reference"))
+                .isInstanceOf(ResourceNotFoundException.class);
+        assertThatThrownBy(() -> open(false).accept("Acme", items(1)))
+                .isInstanceOf(InvalidOperationException.class);
+    }
+
+    @Test
+    void journalRecordRoundTrips() {
+        Order order = orderService.buildOrder("Ünïcode Ltd", items(5), catalogService::resolve);
+
+        Order decoded = AsyncOrderService.decode(AsyncOrderService.encode("ref-1", order));
+
+        assertThat(decoded.getOrderReference()).isEqualTo("ref-1");
+        assertThat(decoded.getCustomerName()).isEqualTo("Ünïcode Ltd");
+        assertThat(decoded.getCreationDate()).isEqualTo(order.getCreationDate());
+        assertThat(decoded.getSubtotal()).isEqualTo(order.getSubtotal());
+        assertThat(decoded.getVat()).isEqualTo(order.getVat());
+        assertThat(decoded.getTotal()).isEqualTo(order.getTotal());
+        assertThat(decoded.getItems()).singleElement().satisfies(item -> {
+            assertThat(item.getCatalogItemId()).isEqualTo(catalogId);
+            assertThat(item.getItemName()).isEqualTo("Async-Item");
+            assertThat(item.getUnitPrice()).isEqualTo(new BigDecimal("4.00"));
+            assertThat(item.getQuantity()).isEqualTo(5);
+            assertThat(item.getOrder()).isSameAs(decoded);
+        });
+    }
+
+    private List<OrderService.OrderItemRequest> items(int quantity) {
+        return List.of(new OrderService.OrderItemRequest(catalogId, quantity));
+    }
+
+    /**
+     * A service over the shared journal directory, wired like the bean but without a background drainer.
+     */
+    private AsyncOrderService open(boolean enabled) {
+        try {
+            AsyncOrderService service = new AsyncOrderService(orderService, catalogService, orderRepository,
+                    context.getBean(PlatformTransactionManager.class), context.getBean(OrderMetrics.class),
+                    context.getBean(OrderSearchIndex.class), context.getBean(OrderColumnStore.class),
+                    context.getBean(RecentOrderCache.class),
+                    context.getBean(SalesRollupService.class), enabled, journalDir.toString(), 1, 1, 5_000, 100,
+                    50);
+            // injects the @PersistenceContext entity manager
+            context.getAutowireCapableBeanFactory().autowireBean(service);
+            opened.add(service);
+            return service;
+        } catch (Exception ex) {
+            throw new IllegalStateException(ex);
+        }
+    }
+}
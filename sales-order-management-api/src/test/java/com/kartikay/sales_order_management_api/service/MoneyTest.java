@@ -0,0 +1,76 @@
+package com.kartikay.sales_order_management_api.service;
+
+import org.junit.jupiter.api.Test;
+
+import java.math.BigDecimal;
+import java.math.RoundingMode;
+import java.util.Random;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+class MoneyTest {
+
+    private static final BigDecimal VAT_RATE = new BigDecimal("0.12");
+
+    /**
+     * Randomised equivalence check against the original BigDecimal pricing, rounded to 2 dp.
+     */
+    @Test
+    void matchesBigDecimalPricingForRandomOrders() {
+        Random random = new Random(20261018L);
+
+        for (int run = 0; run < 20_000; run++) {
+            int lines = 1 + random.nextInt(60);
+            long[] unitMinor = new long[lines];
+            int[] quantities = new int[lines];
+            for (int i = 0; i < lines; i++) {
+                // mostly everyday prices, occasionally very large ones
+                unitMinor[i] = random.nextInt(10) == 0
+                        ? 1 + (random.nextLong() & Long.MAX_VALUE) % 10_000_000_000L
+                        : 1 + random.nextInt(1_000_000);
+                quantities[i] = 1 + random.nextInt(random.nextBoolean() ? 5 : 10_000);
+            }
+
+            BigDecimal expectedSubtotal = BigDecimal.ZERO;
+            long subtotal = 0;
+            for (int i = 0; i < lines; i++) {
+                BigDecimal price = BigDecimal.valueOf(unitMinor[i], 2);
+                expectedSubtotal = expectedSubtotal.add(price.multiply(BigDecimal.valueOf(quantities[i])));
+                subtotal = Money.add(subtotal, Money.lineTotal(unitMinor[i], quantities[i]));
+            }
+            BigDecimal expectedVat = expectedSubtotal.multiply(VAT_RATE);
+            BigDecimal expectedTotal = expectedSubtotal.add(expectedVat);
+
+            long vat = Money.vat(subtotal);
+            long total = Money.add(subtotal, vat);
+
+            assertThat(Money.fromMinorUnits(subtotal)).isEqualTo(expectedSubtotal.setScale(2, RoundingMode.HALF_UP));
+            assertThat(Money.fromMinorUnits(vat)).isEqualTo(expectedVat.setScale(2, RoundingMode.HALF_UP));
+            assertThat(Money.fromMinorUnits(total)).isEqualTo(expectedTotal.setScale(2, RoundingMode.HALF_UP));
+        }
+    }
+
+    @Test
+    void roundsRateHalfUp() {
+        assertThat(Money.applyRate(125, 400)).isEqualTo(5);    // 5.00
+        assertThat(Money.applyRate(125, 420)).isEqualTo(5);    // 5.25
+        assertThat(Money.applyRate(125, 440)).isEqualTo(6);    // 5.50
+        assertThat(Money.applyRate(-125, 440)).isEqualTo(-6);
+        assertThat(Money.vat(4)).isZero();                     // 0.0048
+        assertThat(Money.vat(21)).isEqualTo(3);                // 0.0252
+    }
+
+    @Test
+    void convertsAtTheBoundary() {
+        assertThat(Money.toMinorUnits(new BigDecimal("10.005"))).isEqualTo(1001);
+        assertThat(Money.toMinorUnits(new BigDecimal("20"))).isEqualTo(2000);
+        assertThat(Money.fromMinorUnits(2005)).isEqualTo(new BigDecimal("20.05"));
+    }
+
+    @Test
+    void failsInsteadOfOverflowing() {
+        assertThatThrownBy(() -> Money.lineTotal(Long.MAX_VALUE / 2, 3)).isInstanceOf(ArithmeticException.class);
+        assertThatThrownBy(() -> Money.vat(Long.MAX_VALUE / 100)).isInstanceOf(ArithmeticException.class);
+    }
+}
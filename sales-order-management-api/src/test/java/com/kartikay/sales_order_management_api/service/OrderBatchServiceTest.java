@@ -0,0 +1,165 @@
+package com.kartikay.sales_order_management_api.service;
+
+import com.kartikay.sales_order_management_api.analytics.OrderStreamAnalytics;
+import com.kartikay.sales_order_management_api.cache.RecentOrderCache;
+import com.kartikay.sales_order_management_api.columnar.OrderColumnStore;
+import com.kartikay.sales_order_management_api.domain.CatalogItem;
+import com.kartikay.sales_order_management_api.domain.Order;
+import com.kartikay.sales_order_management_api.dto.BatchOrderResponseDTO;
+import com.kartikay.sales_order_management_api.dto.BatchOrderResultDTO;
+import com.kartikay.sales_order_management_api.exception.InvalidOperationException;
+import com.kartikay.sales_order_management_api.report.SalesFigures;
+import com.kartikay.sales_order_management_api.report.SalesRollupService;
+import com.kartikay.sales_order_management_api.repository.CatalogRepository;
+import com.kartikay.sales_order_management_api.repository.OrderLineJdbcRepository;
+import com.kartikay.sales_order_management_api.repository.OrderRepository;
+import com.kartikay.sales_order_management_api.repository.SalesRollupRepository;
+import com.kartikay.sales_order_management_api.search.OrderSearchIndex;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.autoconfigure.ImportAutoConfiguration;
+import org.springframework.boot.autoconfigure.jackson.JacksonAutoConfiguration;
+import org.springframework.boot.autoconfigure.validation.ValidationAutoConfiguration;
+import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
+import org.springframework.context.annotation.Import;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.transaction.annotation.Propagation;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.io.ByteArrayInputStream;
+import java.io.InputStream;
+import java.math.BigDecimal;
+import java.nio.charset.StandardCharsets;
+import java.time.LocalDate;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+/**
+ * Runs without a test transaction: a failing chunk has to really roll back before its orders are retried alone.
+ */
+@DataJpaTest(properties = "orders.batch.chunk-size=2")
+@Transactional(propagation = Propagation.NOT_SUPPORTED)
+@ImportAutoConfiguration({JacksonAutoConfiguration.class, ValidationAutoConfiguration.class})
+@Import({OrderBatchService.class, OrderService.class, CatalogService.class, OrderMetrics.class,
+        OrderStreamAnalytics.class, SimpleMeterRegistry.class, OrderSearchIndex.class, OrderColumnStore.class,
+        RecentOrderCache.class, OrderLineJdbcRepository.class, SalesRollupService.class, SalesRollupRepository.class})
+class OrderBatchServiceTest {
+
+    @Autowired
+    private OrderBatchService batchService;
+
+    @Autowired
+    private CatalogService catalogService;
+
+    @Autowired
+    private CatalogRepository catalogRepository;
+
+    @Autowired
+    private OrderRepository orderRepository;
+
+    @Autowired
+    private SalesRollupService rollups;
+
+    @Autowired
+    private JdbcTemplate jdbc;
+
+    private Long catalogId;
+
+    @BeforeEach
+    void seedCatalog() {
+        CatalogItem item = new CatalogItem();
+        item.setName("Batch-Item");
+        item.setPrice(new BigDecimal("2.50"));
+        catalogId = catalogRepository.save(item).getId();
+        catalogService.refreshSnapshot();
+    }
+
+    @AfterEach
+    void cleanUp() {
+        for (String table : new String[]{"order_items", "orders", "sales_rollup_delta", "sales_daily_rollup",
+                "sales_item_rollup", "catalog"}) {
+            jdbc.update("DELETE FROM " + table);
+        }
+    }
+
+    @Test
+    void aFailedChunkIsRetriedOrderByOrderAndReportedPerIndex() throws Exception {
+        String tooLong = "x".repeat(300);
+        BatchOrderResponseDTO response = batchService.ingest(body("["
+                + order("Acme", catalogId, 2) + ","
+                + "{\"customerName\":\"\",\"items\":[]},"
+                + order("Globex", -1L, 1) + ","
+                // passes @NotBlank, then fails the VARCHAR(255) column and rolls back its chunk with Acme
+                + order(tooLong, catalogId, 1) + ","
+                + order("Initech", catalogId, 3)
+                + "]"));
+
+        assertThat(response.received()).isEqualTo(5);
+        assertThat(response.created()).isEqualTo(2);
+        assertThat(response.failed()).isEqualTo(3);
+        assertThat(response.results()).extracting(BatchOrderResultDTO::index).containsExactly(0, 1, 2, 3, 4);
+        assertThat(response.results()).extracting(BatchOrderResultDTO::status)
+                .containsExactly("CREATED", "FAILED", "FAILED", "FAILED", "CREATED");
+        assertThat(response.results().get(1).error())
+                .isEqualTo("customerName: must not be blank; items: Order must have at least one item");
+        assertThat(response.results().get(2).error()).isEqualTo("Catalog items not found: [-1]");
+        assertThat(response.results().get(3).error()).containsIgnoringCase("too long");
+
+        Order acme = orderRepository.findByIdWithItems(response.results().get(0).orderId()).orElseThrow();
+        assertThat(acme.getCustomerName()).isEqualTo("Acme");
+        assertThat(acme.getItems()).singleElement().satisfies(item -> {
+            assertThat(item.getCatalogItemId()).isEqualTo(catalogId);
+            assertThat(item.getQuantity()).isEqualTo(2);
+        });
+        assertThat(acme.getTotal()).isEqualByComparingTo("5.60");
+        assertThat(orderRepository.findById(response.results().get(4).orderId()).orElseThrow().getCustomerName())
+                .isEqualTo("Initech");
+        assertThat(orderRepository.count()).isEqualTo(2);
+        assertThat(jdbc.queryForObject("SELECT COUNT(*) FROM order_items", Long.class)).isEqualTo(2);
+
+        // the rolled-back chunk left no deltas behind; only the two created orders count
+        rollups.applyPending();
+        SalesFigures today = rollups.daily(LocalDate.now(), LocalDate.now()).get(LocalDate.now());
+        assertThat(today.getOrders()).isEqualTo(2);
+        assertThat(today.getUnits()).isEqualTo(5);
+        assertThat(today.getSubtotal()).isEqualTo(5 * 250);
+    }
+
+    @Test
+    void aBodyThatIsNotAnArrayIsRejected() {
+        assertThatThrownBy(() -> batchService.ingest(body(order("Acme", catalogId, 1))))
+                .isInstanceOf(InvalidOperationException.class)
+                .hasMessage("Batch body must be a JSON array of orders");
+        assertThat(orderRepository.count()).isZero();
+    }
+
+    @Test
+    void aTruncatedArrayKeepsTheOrdersReadBeforeTheCut() throws Exception {
+        BatchOrderResponseDTO midElement = batchService.ingest(body("["
+                + order("Acme", catalogId, 1) + ",{\"customerName\":\"Glo"));
+
+        assertThat(midElement.results()).extracting(BatchOrderResultDTO::status).containsExactly("CREATED", "FAILED");
+        assertThat(midElement.results().get(1).index()).isEqualTo(1);
+        assertThat(midElement.results().get(1).error()).startsWith("Malformed JSON: ");
+
+        BatchOrderResponseDTO afterComma = batchService.ingest(body("[" + order("Globex", catalogId, 1) + ","));
+
+        assertThat(afterComma.results()).containsExactly(
+                BatchOrderResultDTO.created(0, afterComma.results().get(0).orderId()),
+                BatchOrderResultDTO.failed(1, "Malformed JSON: Unexpected end-of-input within/between Array entries"));
+        assertThat(orderRepository.count()).isEqualTo(2);
+    }
+
+    private static String order(String customer, Long catalogItemId, int quantity) {
+        return "{\"customerName\":\"" + customer + "\",\"items\":[{\"catalogItemId\":" + catalogItemId
+                + ",\"quantity\":" + quantity + "}]}";
+    }
+
+    private static InputStream body(String json) {
+        return new ByteArrayInputStream(json.getBytes(StandardCharsets.UTF_8));
+    }
+}
@@ -0,0 +1,165 @@
+package com.kartikay.sales_order_management_api.service;
+
+import com.kartikay.sales_order_management_api.analytics.OrderStreamAnalytics;
+import com.kartikay.sales_order_management_api.cache.RecentOrderCache;
+import com.kartikay.sales_order_management_api.columnar.OrderColumnStore;
+import com.kartikay.sales_order_management_api.domain.CatalogItem;
+import com.kartikay.sales_order_management_api.domain.Order;
+import com.kartikay.sales_order_management_api.dto.BulkOrderRequestDTO;
+import com.kartikay.sales_order_management_api.dto.BulkOrderResponseDTO;
+import com.kartikay.sales_order_management_api.exception.InvalidOperationException;
+import com.kartikay.sales_order_management_api.exception.ResourceNotFoundException;
+import com.kartikay.sales_order_management_api.report.SalesRollupService;
+import com.kartikay.sales_order_management_api.repository.CatalogRepository;
+import com.kartikay.sales_order_management_api.repository.OrderLineJdbcRepository;
+import com.kartikay.sales_order_management_api.repository.OrderRepository;
+import com.kartikay.sales_order_management_api.repository.SalesRollupRepository;
+import com.kartikay.sales_order_management_api.search.OrderSearchIndex;
+import com.kartikay.sales_order_management_api.support.SqlStatementCounter;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
+import org.springframework.boot.test.autoconfigure.orm.jpa.TestEntityManager;
+import org.springframework.context.annotation.Import;
+
+import java.math.BigDecimal;
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+@DataJpaTest(properties =
+        "spring.jpa.properties.hibernate.session_factory.statement_inspector="
+                + "com.kartikay.sales_order_management_api.support.SqlStatementCounter")
+@Import({OrderBulkService.class, OrderService.class, CatalogService.class, OrderMetrics.class,
+        OrderStreamAnalytics.class, SimpleMeterRegistry.class, OrderSearchIndex.class, OrderColumnStore.class,
+        RecentOrderCache.class, OrderLineJdbcRepository.class, SalesRollupService.class, SalesRollupRepository.class})
+class OrderBulkServiceTest {
+
+    @Autowired
+    private OrderBulkService bulkService;
+
+    @Autowired
+    private OrderService orderService;
+
+    @Autowired
+    private OrderRepository orderRepository;
+
+    @Autowired
+    private CatalogRepository catalogRepository;
+
+    @Autowired
+    private CatalogService catalogService;
+
+    @Autowired
+    private TestEntityManager entityManager;
+
+    private Long catalogId;
+
+    @BeforeEach
+    void seedCatalog() {
+        CatalogItem item = new CatalogItem();
+        item.setName("Bulk-Item");
+        item.setPrice(new BigDecimal("2.50"));
+        catalogId = catalogRepository.save(item).getId();
+        entityManager.flush();
+        catalogService.refreshSnapshot();
+    }
+
+    @Test
+    void cancelByFilterIsOneSelectAndOneUpdate() {
+        List<Long> acme = createOrders("Acme", 20);
+        createOrders("Globex", 10);
+        orderService.cancelOrder(acme.get(0));
+        entityManager.flush();
+        long versionBefore = orderRepository.findById(acme.get(1)).orElseThrow().getVersion();
+        entityManager.clear();
+        SqlStatementCounter.reset();
+
+        BulkOrderResponseDTO result = bulkService.cancel(filterByCustomer("acme"));
+
+        assertThat(result.matched()).isEqualTo(19);
+        assertThat(result.affected()).isEqualTo(19);
+        assertThat(SqlStatementCounter.total()).isEqualTo(2);
+
+        Order reloaded = orderRepository.findById(acme.get(1)).orElseThrow();
+        assertThat(reloaded.getCancellationDate()).isEqualTo(LocalDate.now());
+        assertThat(reloaded.getVersion()).isEqualTo(versionBefore + 1);
+        assertThat(openOrders()).isEqualTo(10);
+    }
+
+    @Test
+    void purgeByIdsChunksTheInListAndCascadesToItems() {
+        List<Long> ids = createOrders("Initech", OrderBulkService.IN_CHUNK + 50);
+        List<Long> kept = createOrders("Hooli", 3);
+        entityManager.clear();
+        SqlStatementCounter.reset();
+
+        BulkOrderResponseDTO result = bulkService.purge(
+                new BulkOrderRequestDTO(ids, null, null, null, null, null));
+
+        assertThat(result.matched()).isEqualTo(ids.size());
+        assertThat(result.affected()).isEqualTo(ids.size());
+        assertThat(result.statements()).isEqualTo(2 * OrderBulkService.STATEMENTS_PER_CHUNK);
+        // one locking id select plus one DELETE per chunk; no per-order or per-item statements.
+        // The rollup delta INSERT ... SELECT per chunk goes through JDBC and is not counted here.
+        assertThat(SqlStatementCounter.total()).isEqualTo(3);
+        assertThat(orderRepository.count()).isEqualTo(kept.size());
+        assertThat(itemRows()).isEqualTo(kept.size());
+    }
+
+    @Test
+    void emptyFilterIsRejected() {
+        assertThatThrownBy(() -> bulkService.purge(new BulkOrderRequestDTO(List.of(), " ", null, null, null, null)))
+                .isInstanceOf(InvalidOperationException.class);
+        // half a date range does not count as a filter either
+        assertThatThrownBy(() -> bulkService.cancel(
+                new BulkOrderRequestDTO(null, null, LocalDate.now(), null, null, null)))
+                .isInstanceOf(InvalidOperationException.class);
+    }
+
+    @Test
+    void singleDeleteDoesNotTouchItemsOneByOne() {
+        Long id = createOrders("Acme", 1).get(0);
+        entityManager.clear();
+        SqlStatementCounter.reset();
+
+        orderService.deleteOrder(id);
+
+        // the order with its items in one select, then one versioned DELETE
+        assertThat(SqlStatementCounter.total()).isEqualTo(2);
+        assertThat(itemRows()).isZero();
+        assertThatThrownBy(() -> orderService.deleteOrder(id)).isInstanceOf(ResourceNotFoundException.class);
+    }
+
+    private List<Long> createOrders(String customer, int count) {
+        List<Long> ids = new ArrayList<>(count);
+        for (int i = 0; i < count; i++) {
+            ids.add(orderService.createOrder(customer,
+                    List.of(new OrderService.OrderItemRequest(catalogId, 1))).getId());
+        }
+        entityManager.flush();
+        return ids;
+    }
+
+    private long itemRows() {
+        return count("SELECT count(*) FROM order_items");
+    }
+
+    private long openOrders() {
+        return count("SELECT count(*) FROM orders WHERE cancellation_date IS NULL");
+    }
+
+    private long count(String sql) {
+        return ((Number) entityManager.getEntityManager()
+                .createNativeQuery(sql).getSingleResult()).longValue();
+    }
+
+    private static BulkOrderRequestDTO filterByCustomer(String customer) {
+        return new BulkOrderRequestDTO(null, customer, null, null, null, null);
+    }
+}
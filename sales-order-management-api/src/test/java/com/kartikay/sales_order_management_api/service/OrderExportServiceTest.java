@@ -0,0 +1,141 @@
+package com.kartikay.sales_order_management_api.service;
+
+import com.kartikay.sales_order_management_api.domain.Order;
+import com.kartikay.sales_order_management_api.domain.OrderItem;
+import com.kartikay.sales_order_management_api.exception.InvalidOperationException;
+import com.kartikay.sales_order_management_api.repository.OrderLineJdbcRepository;
+import com.kartikay.sales_order_management_api.repository.OrderRepository;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.autoconfigure.ImportAutoConfiguration;
+import org.springframework.boot.autoconfigure.jackson.JacksonAutoConfiguration;
+import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
+import org.springframework.boot.test.autoconfigure.orm.jpa.TestEntityManager;
+import org.springframework.context.annotation.Import;
+
+import java.io.ByteArrayOutputStream;
+import java.math.BigDecimal;
+import java.nio.charset.StandardCharsets;
+import java.time.LocalDate;
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+@DataJpaTest
+@ImportAutoConfiguration(JacksonAutoConfiguration.class)
+@Import({OrderExportService.class, OrderLineJdbcRepository.class})
+class OrderExportServiceTest {
+
+    @Autowired
+    private OrderExportService exportService;
+
+    @Autowired
+    private OrderRepository orderRepository;
+
+    @Autowired
+    private TestEntityManager entityManager;
+
+    private long acme;
+    private long globex;
+    private long initech;
+
+    @BeforeEach
+    void seedOrders() {
+        acme = save(order("Acme, \"West\"", LocalDate.of(2025, 3, 1), null, "9.00", "1.08", "10.08",
+                line(1L, "Widget", "2.50", 2), line(2L, "Gadget\nLarge", "4.00", 1)));
+        globex = save(order("Globex", LocalDate.of(2025, 3, 5), LocalDate.of(2025, 3, 6), "0.00", "0.00", "0.00"));
+        initech = save(order("Initech", LocalDate.of(2025, 4, 1), null, "1000000.00", "120000.00", "1120000.00",
+                line(3L, "Server", "1000000.00", 1)));
+        entityManager.flush();
+        entityManager.clear();
+    }
+
+    @Test
+    void ndjsonWritesOneDocumentPerOrderWithItsLinesMerged() throws Exception {
+        assertThat(export(OrderExportService.Format.NDJSON, null, null, null)).containsExactly(
+                "{\"id\":" + acme + ",\"customerName\":\"Acme, \\\"West\\\"\",\"creationDate\":\"01/03/2025\","
+                        + "\"cancellationDate\":null,\"subtotal\":9.00,\"vat\":1.08,\"total\":10.08,\"items\":["
+                        + "{\"catalogItemId\":1,\"itemName\":\"Widget\",\"unitPrice\":2.50,\"quantity\":2},"
+                        + "{\"catalogItemId\":2,\"itemName\":\"Gadget\\nLarge\",\"unitPrice\":4.00,\"quantity\":1}]}",
+                "{\"id\":" + globex + ",\"customerName\":\"Globex\",\"creationDate\":\"05/03/2025\","
+                        + "\"cancellationDate\":\"06/03/2025\",\"subtotal\":0.00,\"vat\":0.00,\"total\":0.00,"
+                        + "\"items\":[]}",
+                "{\"id\":" + initech + ",\"customerName\":\"Initech\",\"creationDate\":\"01/04/2025\","
+                        + "\"cancellationDate\":null,\"subtotal\":1000000.00,\"vat\":120000.00,"
+                        + "\"total\":1120000.00,\"items\":["
+                        + "{\"catalogItemId\":3,\"itemName\":\"Server\",\"unitPrice\":1000000.00,\"quantity\":1}]}");
+    }
+
+    @Test
+    void csvWritesOneRecordPerLineAndQuotesWhereNeeded() throws Exception {
+        // the quoted newline inside Gadget's name splits its record across two physical lines
+        assertThat(export(OrderExportService.Format.CSV, null, null, null)).containsExactly(
+                "order_id,customer_name,creation_date,cancellation_date,subtotal,vat,total,"
+                        + "catalog_item_id,item_name,unit_price,quantity",
+                acme + ",\"Acme, \"\"West\"\"\",2025-03-01,,9.00,1.08,10.08,1,Widget,2.50,2",
+                acme + ",\"Acme, \"\"West\"\"\",2025-03-01,,9.00,1.08,10.08,2,\"Gadget",
+                "Large\",4.00,1",
+                globex + ",Globex,2025-03-05,2025-03-06,0.00,0.00,0.00,,,,",
+                initech + ",Initech,2025-04-01,,1000000.00,120000.00,1120000.00,3,Server,1000000.00,1");
+    }
+
+    @Test
+    void filtersByCustomerNameAndCreationDate() throws Exception {
+        List<String> all = export(OrderExportService.Format.CSV, null, null, null);
+        assertThat(export(OrderExportService.Format.CSV, "acme", null, null)).isEqualTo(all.subList(0, 4));
+
+        List<String> inMarch = export(OrderExportService.Format.NDJSON, null,
+                LocalDate.of(2025, 3, 2), LocalDate.of(2025, 3, 31));
+        assertThat(inMarch).singleElement().asString().startsWith("{\"id\":" + globex + ",");
+
+        assertThat(export(OrderExportService.Format.NDJSON, "nobody", null, null)).isEmpty();
+    }
+
+    @Test
+    void formatsAreParsedCaseInsensitivelyAndUnknownOnesRejected() {
+        assertThat(OrderExportService.Format.parse("csv")).isEqualTo(OrderExportService.Format.CSV);
+        assertThat(OrderExportService.Format.parse("NdJson")).isEqualTo(OrderExportService.Format.NDJSON);
+        assertThatThrownBy(() -> OrderExportService.Format.parse("xml"))
+                .isInstanceOf(InvalidOperationException.class)
+                .hasMessage("Unsupported export format: xml");
+    }
+
+    private List<String> export(OrderExportService.Format format, String customerName, LocalDate start,
+                                LocalDate end) throws Exception {
+        ByteArrayOutputStream out = new ByteArrayOutputStream();
+        exportService.export(format, customerName, start, end, out);
+        String text = out.toString(StandardCharsets.UTF_8);
+        assertThat(text.isEmpty() || text.endsWith("\n")).isTrue();
+        return text.lines().toList();
+    }
+
+    private long save(Order order) {
+        return orderRepository.save(order).getId();
+    }
+
+    private static Order order(String customer, LocalDate created, LocalDate cancelled, String subtotal, String vat,
+                               String total, OrderItem... lines) {
+        Order order = new Order();
+        order.setCustomerName(customer);
+        order.setCreationDate(created);
+        order.setCancellationDate(cancelled);
+        order.setSubtotal(new BigDecimal(subtotal));
+        order.setVat(new BigDecimal(vat));
+        order.setTotal(new BigDecimal(total));
+        for (OrderItem line : lines) {
+            order.addItem(line);
+        }
+        return order;
+    }
+
+    private static OrderItem line(Long catalogItemId, String name, String unitPrice, int quantity) {
+        OrderItem item = new OrderItem();
+        item.setCatalogItemId(catalogItemId);
+        item.setItemName(name);
+        item.setUnitPrice(new BigDecimal(unitPrice));
+        item.setQuantity(quantity);
+        return item;
+    }
+}
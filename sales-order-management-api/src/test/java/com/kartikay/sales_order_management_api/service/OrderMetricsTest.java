@@ -0,0 +1,70 @@
+package com.kartikay.sales_order_management_api.service;
+
+import com.kartikay.sales_order_management_api.analytics.OrderStreamAnalytics;
+import com.kartikay.sales_order_management_api.domain.Order;
+import com.kartikay.sales_order_management_api.domain.OrderItem;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import java.math.BigDecimal;
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class OrderMetricsTest {
+
+    private final SimpleMeterRegistry registry = new SimpleMeterRegistry();
+    private final OrderStreamAnalytics analytics = new OrderStreamAnalytics(30, 120, 32);
+    private final OrderMetrics metrics = new OrderMetrics(registry, analytics);
+
+    @AfterEach
+    void clearSynchronization() {
+        if (TransactionSynchronizationManager.isSynchronizationActive()) {
+            TransactionSynchronizationManager.clearSynchronization();
+        }
+    }
+
+    @Test
+    void recordsCountLinesAndTotalOutsideTransactions() {
+        metrics.recordCreated(order(3, "120.50"), OrderMetrics.SOURCE_BATCH);
+
+        assertThat(registry.get("orders.placed").tag("source", "batch").counter().count()).isEqualTo(1);
+        assertThat(registry.get("orders.placed").tag("source", "api").counter().count()).isZero();
+        assertThat(registry.get("orders.lines").summary().totalAmount()).isEqualTo(3);
+        assertThat(registry.get("orders.amount").summary().totalAmount()).isEqualTo(120.50);
+    }
+
+    @Test
+    void recordsOnlyOnceTheTransactionCommits() {
+        TransactionSynchronizationManager.initSynchronization();
+        metrics.recordCreated(order(1, "10.00"), OrderMetrics.SOURCE_API);
+        metrics.recordCancelled();
+
+        assertThat(registry.get("orders.placed").tag("source", "api").counter().count()).isZero();
+        assertThat(registry.get("orders.cancelled").counter().count()).isZero();
+        assertThat(lastMinute().ordersPlaced()).isZero();
+
+        TransactionSynchronizationManager.getSynchronizations().forEach(TransactionSynchronization::afterCommit);
+
+        assertThat(registry.get("orders.placed").tag("source", "api").counter().count()).isEqualTo(1);
+        assertThat(registry.get("orders.cancelled").counter().count()).isEqualTo(1);
+        assertThat(lastMinute().ordersPlaced()).isEqualTo(1);
+        assertThat(lastMinute().ordersCancelled()).isEqualTo(1);
+    }
+
+    private OrderStreamAnalytics.WindowSnapshot lastMinute() {
+        return analytics.snapshot(List.of(1), 0).windows().get(0);
+    }
+
+    private static Order order(int lines, String total) {
+        Order order = new Order();
+        for (int i = 0; i < lines; i++) {
+            order.addItem(new OrderItem());
+        }
+        order.setTotal(new BigDecimal(total));
+        return order;
+    }
+}
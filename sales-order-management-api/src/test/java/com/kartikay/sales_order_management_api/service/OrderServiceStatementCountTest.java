@@ -0,0 +1,149 @@
+package com.kartikay.sales_order_management_api.service;
+
+import com.kartikay.sales_order_management_api.analytics.OrderStreamAnalytics;
+import com.kartikay.sales_order_management_api.cache.RecentOrderCache;
+import com.kartikay.sales_order_management_api.columnar.OrderColumnStore;
+import com.kartikay.sales_order_management_api.domain.CatalogItem;
+import com.kartikay.sales_order_management_api.domain.Order;
+import com.kartikay.sales_order_management_api.exception.ResourceNotFoundException;
+import com.kartikay.sales_order_management_api.report.SalesRollupService;
+import com.kartikay.sales_order_management_api.repository.CatalogRepository;
+import com.kartikay.sales_order_management_api.repository.OrderLineJdbcRepository;
+import com.kartikay.sales_order_management_api.repository.SalesRollupRepository;
+import com.kartikay.sales_order_management_api.search.OrderSearchIndex;
+import com.kartikay.sales_order_management_api.support.SqlStatementCounter;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.hibernate.Hibernate;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
+import org.springframework.boot.test.autoconfigure.orm.jpa.TestEntityManager;
+import org.springframework.context.annotation.Import;
+import org.springframework.data.domain.Page;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.data.domain.Sort;
+
+import java.math.BigDecimal;
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+@DataJpaTest(properties =
+        "spring.jpa.properties.hibernate.session_factory.statement_inspector="
+                + "com.kartikay.sales_order_management_api.support.SqlStatementCounter")
+@Import({OrderService.class, CatalogService.class, OrderMetrics.class, OrderStreamAnalytics.class,
+        SimpleMeterRegistry.class, OrderSearchIndex.class, OrderColumnStore.class, RecentOrderCache.class,
+        OrderLineJdbcRepository.class, SalesRollupService.class, SalesRollupRepository.class})
+class OrderServiceStatementCountTest {
+
+    @Autowired
+    private OrderService orderService;
+
+    @Autowired
+    private CatalogService catalogService;
+
+    @Autowired
+    private CatalogRepository catalogRepository;
+
+    @Autowired
+    private TestEntityManager entityManager;
+
+    private final List<Long> catalogIds = new ArrayList<>();
+
+    @BeforeEach
+    void seedCatalog() {
+        for (int i = 0; i < 40; i++) {
+            CatalogItem item = new CatalogItem();
+            item.setName("Bench-Item-" + i);
+            item.setPrice(new BigDecimal("1.25").add(BigDecimal.valueOf(i)));
+            catalogIds.add(catalogRepository.save(item).getId());
+        }
+        entityManager.flush();
+        entityManager.clear();
+        catalogService.refreshSnapshot();
+    }
+
+    @Test
+    void catalogSelectsStayFlatAsLineCountGrows() {
+        int singleLine = selectsForOrderWithLines(1);
+        int fortyLines = selectsForOrderWithLines(40);
+
+        assertThat(fortyLines).isEqualTo(singleLine);
+        assertThat(fortyLines).isZero();
+    }
+
+    @Test
+    void orderInsertsAreSentAsOneBatchPerTable() {
+        List<OrderService.OrderItemRequest> items = new ArrayList<>();
+        for (int i = 0; i < 20; i++) {
+            items.add(new OrderService.OrderItemRequest(catalogIds.get(i), 1));
+        }
+        entityManager.clear();
+        SqlStatementCounter.reset();
+
+        orderService.createOrder("Acme", items);
+        entityManager.flush();
+
+        // one statement for the order row and one batched statement for all 20 lines
+        assertThat(SqlStatementCounter.inserts()).isEqualTo(2);
+    }
+
+    @Test
+    void reportsAllMissingCatalogItemsTogether() {
+        List<OrderService.OrderItemRequest> items = List.of(
+                new OrderService.OrderItemRequest(catalogIds.get(0), 1),
+                new OrderService.OrderItemRequest(-1L, 1),
+                new OrderService.OrderItemRequest(-2L, 1));
+
+        assertThatThrownBy(() -> orderService.createOrder("Acme", items))
+                .isInstanceOf(ResourceNotFoundException.class)
+                .hasMessageContaining("-2")
+                .hasMessageContaining("-1");
+    }
+
+    @Test
+    void listingStatementsStayFlatAsPageSizeGrows() {
+        for (int i = 0; i < 30; i++) {
+            orderService.createOrder("Customer-" + i, List.of(
+                    new OrderService.OrderItemRequest(catalogIds.get(i), 1),
+                    new OrderService.OrderItemRequest(catalogIds.get(i + 1), 2)));
+        }
+        entityManager.flush();
+
+        int smallPage = statementsForListingPage(5);
+        int largePage = statementsForListingPage(25);
+
+        assertThat(largePage).isEqualTo(smallPage);
+        assertThat(largePage).isLessThanOrEqualTo(3);
+    }
+
+    private int statementsForListingPage(int size) {
+        entityManager.clear();
+        SqlStatementCounter.reset();
+
+        Page<Order> page = orderService.listOrders(null, null, null,
+                PageRequest.of(0, size, Sort.by(Sort.Direction.DESC, "creationDate")));
+
+        assertThat(page.getContent()).hasSize(size);
+        assertThat(page.getContent()).allSatisfy(order -> {
+            assertThat(Hibernate.isInitialized(order.getItems())).isTrue();
+            assertThat(order.getItems()).hasSize(2);
+        });
+        return SqlStatementCounter.total();
+    }
+
+    private int selectsForOrderWithLines(int lines) {
+        List<OrderService.OrderItemRequest> items = new ArrayList<>();
+        for (int i = 0; i < lines; i++) {
+            items.add(new OrderService.OrderItemRequest(catalogIds.get(i % catalogIds.size()), 2));
+        }
+        entityManager.clear();
+        SqlStatementCounter.reset();
+        orderService.createOrder("Acme", items);
+        entityManager.flush();
+        return SqlStatementCounter.selects();
+    }
+}
@@ -0,0 +1,67 @@
+package com.kartikay.sales_order_management_api.service;
+
+import com.kartikay.sales_order_management_api.exception.InvalidOperationException;
+import com.kartikay.sales_order_management_api.security.JwtTokenUtil;
+import jdk.jfr.consumer.RecordedEvent;
+import jdk.jfr.consumer.RecordingFile;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.test.util.ReflectionTestUtils;
+
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.time.Duration;
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+class ProfilingServiceTest {
+
+    private final ProfilingService profilingService = new ProfilingService(30, 10);
+    private Path file;
+
+    @AfterEach
+    void cleanUp() throws Exception {
+        if (file != null) {
+            Files.deleteIfExists(file);
+        }
+    }
+
+    @Test
+    void recordsAppEventsWithTheirFields() throws Exception {
+        JwtTokenUtil jwtUtil = new JwtTokenUtil();
+        ReflectionTestUtils.setField(jwtUtil, "secret", "test-secret-test-secret-test-secret-0123");
+        ReflectionTestUtils.setField(jwtUtil, "jwtExpirationMs", 60_000L);
+        ReflectionTestUtils.setField(jwtUtil, "cacheMaxEntries", 100);
+        jwtUtil.init();
+        String token = jwtUtil.generateToken("alice", List.of("ROLE_USER"));
+
+        ProfilingService.RecordingStatus status = profilingService.start(Duration.ofSeconds(10), "default");
+        assertThat(status.state()).isEqualTo("RUNNING");
+        assertThat(status.durationSeconds()).isEqualTo(10);
+
+        jwtUtil.verify(token);
+        jwtUtil.verify(token);
+        jwtUtil.verify("not-a-jwt");
+        file = profilingService.stop();
+
+        List<RecordedEvent> events = RecordingFile.readAllEvents(file).stream()
+                .filter(e -> e.getEventType().getName().equals("com.kartikay.security.TokenVerification"))
+                .toList();
+        assertThat(events).extracting(e -> e.getBoolean("cacheHit")).containsExactly(false, true, false);
+        assertThat(events).extracting(e -> e.getBoolean("valid")).containsExactly(true, true, false);
+    }
+
+    @Test
+    void onlyOneRecordingAtATimeAndDurationIsCapped() throws Exception {
+        ProfilingService.RecordingStatus status = profilingService.start(Duration.ofHours(5), "default");
+        assertThat(status.durationSeconds()).isEqualTo(30);
+
+        assertThatThrownBy(() -> profilingService.start(Duration.ofSeconds(5), "default"))
+                .isInstanceOf(InvalidOperationException.class);
+
+        file = profilingService.stop();
+        assertThatThrownBy(profilingService::stop).isInstanceOf(InvalidOperationException.class);
+    }
+}
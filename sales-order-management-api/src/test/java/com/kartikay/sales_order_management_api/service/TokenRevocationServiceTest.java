@@ -0,0 +1,106 @@
+package com.kartikay.sales_order_management_api.service;
+
+import com.kartikay.sales_order_management_api.domain.RevokedToken;
+import com.kartikay.sales_order_management_api.domain.UserTokenEpoch;
+import com.kartikay.sales_order_management_api.repository.RevokedTokenRepository;
+import com.kartikay.sales_order_management_api.repository.UserTokenEpochRepository;
+import com.kartikay.sales_order_management_api.security.JwtPrincipal;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.dao.DataIntegrityViolationException;
+
+import java.time.Instant;
+import java.time.temporal.ChronoUnit;
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.*;
+
+class TokenRevocationServiceTest {
+
+    private static final long HOUR_MS = 3_600_000L;
+
+    private RevokedTokenRepository revokedTokenRepository;
+    private UserTokenEpochRepository epochRepository;
+    private TokenRevocationService service;
+
+    @BeforeEach
+    void setUp() {
+        revokedTokenRepository = mock(RevokedTokenRepository.class);
+        epochRepository = mock(UserTokenEpochRepository.class);
+        service = new TokenRevocationService(revokedTokenRepository, epochRepository, HOUR_MS, 24 * HOUR_MS);
+    }
+
+    @Test
+    void revokedTokenIsRejectedAndPersisted() {
+        JwtPrincipal token = token("alice", "jti-1", Instant.now().minusSeconds(5));
+        JwtPrincipal sibling = token("alice", "jti-2", Instant.now().minusSeconds(5));
+
+        assertThat(service.revoke(token)).isTrue();
+
+        assertThat(service.isRevoked(token)).isTrue();
+        assertThat(service.isRevoked(sibling)).isFalse();
+        verify(revokedTokenRepository).insert(eq("jti-1"), eq("alice"), any());
+    }
+
+    @Test
+    void onlyTheFirstRevocationOfATokenSucceeds() {
+        JwtPrincipal token = token("alice", "jti-1", Instant.now().minusSeconds(5));
+        JwtPrincipal revokedElsewhere = token("alice", "jti-2", Instant.now().minusSeconds(5));
+        when(revokedTokenRepository.insert(eq("jti-2"), any(), any()))
+                .thenThrow(new DataIntegrityViolationException("duplicate jti"));
+
+        assertThat(service.revoke(token)).isTrue();
+        assertThat(service.revoke(token)).isFalse();
+        assertThat(service.revoke(revokedElsewhere)).isFalse();
+        assertThat(service.isRevoked(revokedElsewhere)).isTrue();
+        verify(revokedTokenRepository, times(1)).insert(eq("jti-1"), any(), any());
+    }
+
+    @Test
+    void tokenWithoutJtiCannotBeRevokedIndividually() {
+        JwtPrincipal legacy = token("alice", null, null);
+
+        assertThat(service.revoke(legacy)).isFalse();
+        assertThat(service.isRevoked(legacy)).isFalse();
+        verifyNoInteractions(revokedTokenRepository);
+    }
+
+    @Test
+    void revokeAllRejectsTokensIssuedUpToTheEpochOnly() {
+        Instant epoch = service.revokeAllFor("alice");
+
+        assertThat(service.isRevoked(token("alice", "a", epoch.minusSeconds(60)))).isTrue();
+        assertThat(service.isRevoked(token("alice", "b", epoch))).isTrue();
+        // a login later within the same second keeps its token
+        assertThat(service.isRevoked(token("alice", "c", epoch.plusMillis(1)))).isFalse();
+        // a token with only a second-precision iat from that second cannot prove it came later
+        assertThat(service.isRevoked(token("alice", "e", epoch.truncatedTo(ChronoUnit.SECONDS)))).isTrue();
+        assertThat(service.isRevoked(token("bob", "d", epoch.minusSeconds(60)))).isFalse();
+        verify(epochRepository).save(any(UserTokenEpoch.class));
+    }
+
+    @Test
+    void syncLoadsPersistedRevocationsAndDropsExpiredOnes() {
+        Instant now = Instant.now();
+        when(revokedTokenRepository.findByExpiresAtAfter(any()))
+                .thenReturn(List.of(new RevokedToken("remote", "alice", now.plusSeconds(600))));
+        when(epochRepository.findByNotBeforeAfter(any()))
+                .thenReturn(List.of(new UserTokenEpoch("bob", now.truncatedTo(ChronoUnit.SECONDS))));
+        service.revoke(new JwtPrincipal("carol", List.of(), "stale", now.minusSeconds(120), now.minusSeconds(1)));
+
+        service.sync();
+
+        assertThat(service.isRevoked(token("alice", "remote", now))).isTrue();
+        assertThat(service.isRevoked(token("bob", "x", now.minusSeconds(30)))).isTrue();
+        assertThat(service.getStats().revokedTokens()).isEqualTo(1);
+        verify(revokedTokenRepository).deleteExpired(any());
+        verify(epochRepository).deleteOlderThan(any());
+    }
+
+    private static JwtPrincipal token(String username, String jti, Instant issuedAt) {
+        return new JwtPrincipal(username, List.of("ROLE_USER"), jti, issuedAt, Instant.now().plusSeconds(3600));
+    }
+}
@@ -0,0 +1,82 @@
+package com.kartikay.sales_order_management_api.service.impl;
+
+import com.kartikay.sales_order_management_api.domain.Role;
+import com.kartikay.sales_order_management_api.domain.User;
+import com.kartikay.sales_order_management_api.repository.UserRepository;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.security.core.CredentialsContainer;
+import org.springframework.security.core.GrantedAuthority;
+import org.springframework.security.core.userdetails.UserDetails;
+import org.springframework.security.core.userdetails.UsernameNotFoundException;
+
+import java.util.Optional;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+import static org.mockito.Mockito.*;
+
+class UserDetailsServiceImplTest {
+
+    private UserRepository userRepository;
+
+    @BeforeEach
+    void setUp() {
+        userRepository = mock(UserRepository.class);
+        User alice = new User();
+        alice.setUsername("alice");
+        alice.setPassword("hash");
+        alice.getRoles().add(new Role(1L, "ROLE_USER"));
+        when(userRepository.findByUsername("alice")).thenReturn(Optional.of(alice));
+        when(userRepository.findByUsername("ghost")).thenReturn(Optional.empty());
+    }
+
+    @Test
+    void withoutTtlEveryCallHitsTheRepository() {
+        UserDetailsServiceImpl service = new UserDetailsServiceImpl(userRepository, 0);
+
+        service.loadUserByUsername("alice");
+        service.loadUserByUsername("alice");
+
+        verify(userRepository, times(2)).findByUsername("alice");
+    }
+
+    @Test
+    void cachedAccountIsReusedUntilEvicted() {
+        UserDetailsServiceImpl service = new UserDetailsServiceImpl(userRepository, 60_000);
+
+        UserDetails first = service.loadUserByUsername("alice");
+        UserDetails second = service.loadUserByUsername("alice");
+        verify(userRepository, times(1)).findByUsername("alice");
+        assertThat(second.getAuthorities()).extracting(GrantedAuthority::getAuthority).containsExactly("ROLE_USER");
+
+        // Erasing credentials on a returned copy must not leak into the cache
+        ((CredentialsContainer) first).eraseCredentials();
+        assertThat(service.loadUserByUsername("alice").getPassword()).isEqualTo("hash");
+
+        service.evict("alice");
+        service.loadUserByUsername("alice");
+        verify(userRepository, times(2)).findByUsername("alice");
+    }
+
+    @Test
+    void expiredEntryIsReloaded() throws InterruptedException {
+        UserDetailsServiceImpl service = new UserDetailsServiceImpl(userRepository, 20);
+
+        service.loadUserByUsername("alice");
+        Thread.sleep(30);
+        service.loadUserByUsername("alice");
+
+        verify(userRepository, times(2)).findByUsername("alice");
+    }
+
+    @Test
+    void unknownUsersAreNotCached() {
+        UserDetailsServiceImpl service = new UserDetailsServiceImpl(userRepository, 60_000);
+
+        assertThatThrownBy(() -> service.loadUserByUsername("ghost")).isInstanceOf(UsernameNotFoundException.class);
+        assertThatThrownBy(() -> service.loadUserByUsername("ghost")).isInstanceOf(UsernameNotFoundException.class);
+
+        verify(userRepository, times(2)).findByUsername("ghost");
+    }
+}
@@ -0,0 +1,50 @@
+package com.kartikay.sales_order_management_api.support;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+import org.springframework.transaction.support.TransactionSynchronizationUtils;
+
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class AfterCommitTest {
+
+    @AfterEach
+    void clearSynchronization() {
+        if (TransactionSynchronizationManager.isSynchronizationActive()) {
+            TransactionSynchronizationManager.clearSynchronization();
+        }
+    }
+
+    @Test
+    void actionsWaitForTheCommitAndAFailureDoesNotStopTheRest() {
+        List<String> ran = new ArrayList<>();
+        TransactionSynchronizationManager.initSynchronization();
+
+        AfterCommit.run("first", () -> ran.add("first"));
+        AfterCommit.run("failing", () -> {
+            throw new IllegalStateException("boom");
+        });
+        AfterCommit.run("last", () -> ran.add("last"));
+        assertThat(ran).isEmpty();
+
+        TransactionSynchronizationUtils.invokeAfterCommit(TransactionSynchronizationManager.getSynchronizations());
+
+        assertThat(ran).containsExactly("first", "last");
+    }
+
+    @Test
+    void withoutATransactionActionsRunAtOnceAndFailuresAreSwallowed() {
+        List<String> ran = new ArrayList<>();
+
+        AfterCommit.run("failing", () -> {
+            throw new IllegalStateException("boom");
+        });
+        AfterCommit.run("next", () -> ran.add("next"));
+
+        assertThat(ran).containsExactly("next");
+    }
+}
@@ -0,0 +1,55 @@
+package com.kartikay.sales_order_management_api.support;
+
+import org.hibernate.resource.jdbc.spi.StatementInspector;
+
+import java.util.Locale;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * Hibernate {@link StatementInspector} that counts the SQL statements prepared by the session factory.
+ * Register it with {@code spring.jpa.properties.hibernate.session_factory.statement_inspector}.
+ */
+public class SqlStatementCounter implements StatementInspector {
+
+    private static final AtomicInteger selects = new AtomicInteger();
+    private static final AtomicInteger inserts = new AtomicInteger();
+    private static final AtomicInteger total = new AtomicInteger();
+
+    @Override
+    public String inspect(String sql) {
+        String normalized = sql.stripLeading().toLowerCase(Locale.ROOT);
+        if (normalized.startsWith("select") && !isSequenceCall(normalized)) {
+            selects.incrementAndGet();
+        } else if (normalized.startsWith("insert")) {
+            inserts.incrementAndGet();
+        }
+        total.incrementAndGet();
+        return sql;
+    }
+
+    // id allocation is accounted separately from queries
+    private static boolean isSequenceCall(String sql) {
+        return sql.contains("next value for") || sql.contains("nextval(");
+    }
+
+    public static void reset() {
+        selects.set(0);
+        inserts.set(0);
+        total.set(0);
+    }
+
+    /**
+     * SELECT statements, excluding sequence fetches for id allocation.
+     */
+    public static int selects() {
+        return selects.get();
+    }
+
+    public static int inserts() {
+        return inserts.get();
+    }
+
+    public static int total() {
+        return total.get();
+    }
+}
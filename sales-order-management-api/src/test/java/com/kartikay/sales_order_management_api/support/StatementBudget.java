@@ -0,0 +1,44 @@
+package com.kartikay.sales_order_management_api.support;
+
+import com.kartikay.sales_order_management_api.jdbc.QueryAccountingFilter;
+import org.springframework.test.web.servlet.MvcResult;
+import org.springframework.test.web.servlet.ResultMatcher;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * MockMvc matchers over the per-request JDBC accounting headers, e.g.
+ * {@code mockMvc.perform(get("/api/v1/orders")).andExpect(StatementBudget.atMost(3))}.
+ * A fixed budget makes an N+1 regression fail the build instead of showing up in production latency.
+ */
+public final class StatementBudget {
+
+    private StatementBudget() {
+    }
+
+    public static ResultMatcher atMost(int statements) {
+        return result -> assertThat(statements(result))
+                .as("JDBC statements for %s %s", result.getRequest().getMethod(), result.getRequest().getRequestURI())
+                .isLessThanOrEqualTo(statements);
+    }
+
+    public static ResultMatcher exactly(int statements) {
+        return result -> assertThat(statements(result))
+                .as("JDBC statements for %s %s", result.getRequest().getMethod(), result.getRequest().getRequestURI())
+                .isEqualTo(statements);
+    }
+
+    public static int statements(MvcResult result) {
+        return header(result, QueryAccountingFilter.STATEMENTS_HEADER);
+    }
+
+    public static int rows(MvcResult result) {
+        return header(result, QueryAccountingFilter.ROWS_HEADER);
+    }
+
+    private static int header(MvcResult result, String name) {
+        String value = result.getResponse().getHeader(name);
+        assertThat(value).as("%s header (is jdbc.accounting.response-headers off?)", name).isNotNull();
+        return Integer.parseInt(value);
+    }
+}